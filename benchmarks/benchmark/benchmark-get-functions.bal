@@ -17,6 +17,7 @@ function addFunctions() {
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addCloneFunctions();
 }
 
 function addJSONFunctions() {
@@ -140,3 +141,13 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addCloneFunctions() {
+    functions["benchmarkCloneLargeMap"] = benchmarktypes:benchmarkCloneLargeMap;
+    functions["benchmarkCloneReadOnlyLargeMap"] = benchmarktypes:benchmarkCloneReadOnlyLargeMap;
+    functions["benchmarkCloneFrozenLargeMap"] = benchmarktypes:benchmarkCloneFrozenLargeMap;
+    functions["benchmarkCloneLargeArray"] = benchmarktypes:benchmarkCloneLargeArray;
+    functions["benchmarkCloneReadOnlyLargeArray"] = benchmarktypes:benchmarkCloneReadOnlyLargeArray;
+    functions["benchmarkCloneFrozenLargeArray"] = benchmarktypes:benchmarkCloneFrozenLargeArray;
+    functions["benchmarkCloneAndUpdateLargeArray"] = benchmarktypes:benchmarkCloneAndUpdateLargeArray;
+}
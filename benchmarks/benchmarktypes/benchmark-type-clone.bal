@@ -0,0 +1,49 @@
+final map<int> largeMap = createLargeMap();
+final map<int> frozenLargeMap = largeMap.cloneReadOnly();
+final int[] largeArray = createLargeArray();
+final int[] frozenLargeArray = largeArray.cloneReadOnly();
+
+public function benchmarkCloneLargeMap() {
+    map<int> m = largeMap.clone();
+}
+
+public function benchmarkCloneReadOnlyLargeMap() {
+    map<int> m = largeMap.cloneReadOnly();
+}
+
+public function benchmarkCloneFrozenLargeMap() {
+    map<int> m = frozenLargeMap.cloneReadOnly();
+}
+
+public function benchmarkCloneLargeArray() {
+    int[] a = largeArray.clone();
+}
+
+public function benchmarkCloneReadOnlyLargeArray() {
+    int[] a = largeArray.cloneReadOnly();
+}
+
+public function benchmarkCloneFrozenLargeArray() {
+    int[] a = frozenLargeArray.cloneReadOnly();
+}
+
+public function benchmarkCloneAndUpdateLargeArray() {
+    int[] a = largeArray.clone();
+    a[0] = 1;
+}
+
+function createLargeMap() returns map<int> {
+    map<int> m = {};
+    foreach int i in 0 ..< 10000 {
+        m["key" + i.toString()] = i;
+    }
+    return m;
+}
+
+function createLargeArray() returns int[] {
+    int[] a = [];
+    foreach int i in 0 ..< 10000 {
+        a[i] = i;
+    }
+    return a;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.net.http.BasePathTrie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Micro-benchmark of resolving the base path of a request among the services registered on a listener. It compares
+ * the linear scan over the base paths sorted by length with the {@link BasePathTrie} used by the HTTP dispatcher.
+ * <p>
+ * Usage: {@code HttpRoutingBenchmark <warmup_iterations> <benchmark_iterations> [<number_of_services>]}
+ *
+ * @since 1.2.0
+ */
+public class HttpRoutingBenchmark {
+
+    private static final int DEFAULT_SERVICE_COUNT = 300;
+
+    public static void main(String... args) {
+        if (args.length < 2) {
+            System.err.println("ERROR: Please specify the number of warm-up iterations and benchmark iterations.");
+            return;
+        }
+        int warmupIterations = Integer.parseInt(args[0]);
+        int benchmarkIterations = Integer.parseInt(args[1]);
+        int serviceCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SERVICE_COUNT;
+
+        List<String> sortedBasePaths = new ArrayList<>();
+        for (int i = 0; i < serviceCount; i++) {
+            sortedBasePaths.add("/api/v" + (i % 3) + "/service" + i);
+        }
+        sortedBasePaths.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+        String[] requestPaths = new String[serviceCount];
+        for (int i = 0; i < serviceCount; i++) {
+            requestPaths[i] = "/api/v" + (i % 3) + "/service" + i + "/resource/" + i;
+        }
+
+        BasePathTrie basePathTrie = new BasePathTrie(sortedBasePaths);
+        executeBenchmark("benchmarkLinearBasePathMatch", path -> findByLinearScan(path, sortedBasePaths),
+                         requestPaths, warmupIterations, benchmarkIterations);
+        executeBenchmark("benchmarkTrieBasePathMatch", basePathTrie::findMostSpecificBasePath,
+                         requestPaths, warmupIterations, benchmarkIterations);
+    }
+
+    private static void executeBenchmark(String functionName, Function<String, String> matcher, String[] requestPaths,
+                                         int warmupIterations, int benchmarkIterations) {
+        int matches = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            matches += matcher.apply(requestPaths[i % requestPaths.length]) != null ? 1 : 0;
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < benchmarkIterations; i++) {
+            matches += matcher.apply(requestPaths[i % requestPaths.length]) != null ? 1 : 0;
+        }
+        long totalTime = System.nanoTime() - startTime;
+        if (matches != warmupIterations + benchmarkIterations) {
+            throw new IllegalStateException(functionName + " failed to match all the request paths");
+        }
+
+        double avgLatency = (double) totalTime / benchmarkIterations;
+        System.out.println(String.format("%s,%10.2f,%10.2f", functionName, totalTime / 1000000.0,
+                                         1000000000.0 / avgLatency));
+    }
+
+    // Base path resolution used by the HTTP dispatcher before the base path trie
+    private static String findByLinearScan(String requestPath, List<String> sortedBasePaths) {
+        for (String basePath : sortedBasePaths) {
+            if (!requestPath.toLowerCase().contains(basePath.toLowerCase())) {
+                continue;
+            }
+            if (requestPath.length() <= basePath.length()) {
+                return basePath;
+            }
+            if (requestPath.startsWith(basePath.concat("/"))) {
+                return basePath;
+            }
+        }
+        return null;
+    }
+}
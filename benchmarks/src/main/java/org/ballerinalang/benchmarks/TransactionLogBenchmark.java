@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.benchmarks;
+
+import io.ballerina.transactions.TransactionLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of the commits per second of the transaction coordinator log, with and without group commit. Each
+ * commit makes its decision durable and then ends it, as the coordinator does for a transaction with one remote
+ * participant.
+ * <p>
+ * Usage: {@code TransactionLogBenchmark <warmup_commits> <benchmark_commits> [<number_of_threads>]}
+ *
+ * @since 1.2.0
+ */
+public class TransactionLogBenchmark {
+
+    private static final int DEFAULT_THREAD_COUNT = 32;
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    public static void main(String... args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("ERROR: Please specify the number of warm-up commits and benchmark commits.");
+            return;
+        }
+        int warmupCommits = Integer.parseInt(args[0]);
+        int benchmarkCommits = Integer.parseInt(args[1]);
+        int threadCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREAD_COUNT;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            executeBenchmark("benchmarkTransactionLogSyncPerCommit", false, executor, warmupCommits,
+                             benchmarkCommits);
+            executeBenchmark("benchmarkTransactionLogGroupCommit", true, executor, warmupCommits, benchmarkCommits);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void executeBenchmark(String functionName, boolean groupCommit, ExecutorService executor,
+                                         int warmupCommits, int benchmarkCommits) throws Exception {
+        Path directory = Files.createTempDirectory("transaction-log-benchmark");
+        try {
+            TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, groupCommit);
+            AtomicInteger transactionCount = new AtomicInteger();
+            commit(transactionLog, transactionCount, executor, warmupCommits);
+            long startTime = System.nanoTime();
+            commit(transactionLog, transactionCount, executor, benchmarkCommits);
+            long totalTime = System.nanoTime() - startTime;
+
+            System.out.println(String.format("%s,%10.2f,%10.2f", functionName, totalTime / 1000000.0,
+                                             benchmarkCommits * 1000000000.0 / totalTime));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void commit(TransactionLog transactionLog, AtomicInteger transactionCount,
+                               ExecutorService executor, int commits) throws Exception {
+        List<Future<?>> results = new ArrayList<>(commits);
+        for (int i = 0; i < commits; i++) {
+            String transactionId = "transaction-" + transactionCount.incrementAndGet();
+            results.add(executor.submit(() -> {
+                transactionLog.logDecision(new TransactionLog.Decision(transactionId, "0", "commit",
+                        new String[] { "participant" }, new String[] { "http://localhost:8080/participant/2pc/0" },
+                        System.currentTimeMillis()));
+                transactionLog.logEnd(transactionId);
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Micro-benchmark of structural type checks between record, map and union types. It checks a small set of type
+ * pairs, whose outcomes stay in the type check cache of {@link TypeChecker}, and a set of pairs larger than the cache,
+ * so that most of the checks walk the fields of the types.
+ * <p>
+ * Usage: {@code TypeCheckBenchmark <warmup_iterations> <benchmark_iterations>}
+ *
+ * @since 1.2.0
+ */
+public class TypeCheckBenchmark {
+
+    private static final BPackage PKG = new BPackage("benchmark", "types");
+    private static final int CACHED_PAIR_COUNT = 64;
+    private static final int UNCACHED_PAIR_COUNT = 16384;
+    private static final int FIELD_COUNT = 10;
+
+    public static void main(String... args) {
+        if (args.length < 2) {
+            System.err.println("ERROR: Please specify the number of warm-up iterations and benchmark iterations.");
+            return;
+        }
+        int warmupIterations = Integer.parseInt(args[0]);
+        int benchmarkIterations = Integer.parseInt(args[1]);
+
+        executeBenchmark("benchmarkCachedStructuralTypeCheck", createTypePairs(CACHED_PAIR_COUNT), warmupIterations,
+                         benchmarkIterations);
+        executeBenchmark("benchmarkUncachedStructuralTypeCheck", createTypePairs(UNCACHED_PAIR_COUNT),
+                         warmupIterations, benchmarkIterations);
+    }
+
+    private static void executeBenchmark(String functionName, BType[][] typePairs, int warmupIterations,
+                                         int benchmarkIterations) {
+        int matches = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            BType[] typePair = typePairs[i % typePairs.length];
+            matches += TypeChecker.checkIsType(typePair[0], typePair[1]) ? 1 : 0;
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < benchmarkIterations; i++) {
+            BType[] typePair = typePairs[i % typePairs.length];
+            matches += TypeChecker.checkIsType(typePair[0], typePair[1]) ? 1 : 0;
+        }
+        long totalTime = System.nanoTime() - startTime;
+        if (matches != warmupIterations + benchmarkIterations) {
+            throw new IllegalStateException(functionName + " failed to match all the type pairs");
+        }
+
+        double avgLatency = (double) totalTime / benchmarkIterations;
+        System.out.println(String.format("%s,%10.2f,%10.2f", functionName, totalTime / 1000000.0,
+                                         1000000000.0 / avgLatency));
+    }
+
+    // Each record type is checked against a structurally equal record type, a map type and a union type
+    private static BType[][] createTypePairs(int count) {
+        BType[][] typePairs = new BType[count][];
+        BType anydataMapType = new BMapType(BTypes.typeAnydata);
+        for (int i = 0; i < count; i++) {
+            BRecordType sourceType = createRecordType("Source" + i);
+            switch (i % 3) {
+                case 0:
+                    typePairs[i] = new BType[]{sourceType, createRecordType("Target" + i)};
+                    break;
+                case 1:
+                    typePairs[i] = new BType[]{sourceType, anydataMapType};
+                    break;
+                default:
+                    BType unionType = new BUnionType(Arrays.asList(BTypes.typeString, createRecordType("Other" + i),
+                                                                   createRecordType("Target" + i)));
+                    typePairs[i] = new BType[]{sourceType, unionType};
+                    break;
+            }
+        }
+        return typePairs;
+    }
+
+    private static BRecordType createRecordType(String name) {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            String fieldName = "field" + i;
+            BType fieldType = i % 2 == 0 ? BTypes.typeString : BTypes.typeInt;
+            if (name.startsWith("Other") && i == FIELD_COUNT - 1) {
+                // the last field does not match, hence the whole record has to be checked
+                fieldType = BTypes.typeBoolean;
+            }
+            fields.put(fieldName, new BField(fieldType, fieldName, Flags.REQUIRED));
+        }
+        return new BRecordType(name, PKG, 0, fields, null, true, 0);
+    }
+}
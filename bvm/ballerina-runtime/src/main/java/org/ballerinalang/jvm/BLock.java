@@ -20,52 +20,253 @@ package org.ballerinalang.jvm;
 import org.ballerinalang.jvm.scheduling.State;
 import org.ballerinalang.jvm.scheduling.Strand;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The lock is acquired with a CAS on the lock state, hence an uncontended lock and unlock never enter a monitor.
+ * Strands which cannot acquire the lock are queued and yielded. The lock is fair: a strand only takes a free lock
+ * if nobody is queued, and an unlock hands the lock over to the longest waiting strand before waking it up, so that
+ * strands arriving later cannot overtake the queued ones.
+ * <p>
+ * The lock can also be held in shared mode, by any number of strands which only read the guarded variables. The code
+ * generator does not emit shared locks yet, so every lock statement takes the lock exclusively. A strand holding a
+ * share must not acquire the lock again, as it would wait for its own share to be released once another strand is
+ * queued.
+ * <p>
+ * A strand the lock is handed over to holds it from then on, and takes it when it calls lock after resuming. If the
+ * strand panics before that, for instance because it was cancelled, the scheduler releases the lock on its behalf
+ * through {@link #releaseHandedOver(Strand)}.
  *
  * @since 1.0.0
  */
 public class BLock {
 
-    private ArrayDeque<Strand> current;
+    private static final int UNLOCKED = 0;
+    private static final int WRITE_LOCKED = -1;
 
-    private ArrayDeque<Strand> waitingForLock;
+    private static final AtomicIntegerFieldUpdater<BLock> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(BLock.class, "state");
 
-    public BLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
+    /**
+     * {@link #UNLOCKED}, {@link #WRITE_LOCKED} if the lock is held exclusively, or else the number of shares held.
+     */
+    private volatile int state;
+
+    private volatile Strand owner;
+
+    /**
+     * Number of times the owner acquired the lock. Only accessed by the owner, or by the unlocking strand while
+     * handing the lock over.
+     */
+    private int holdCount;
+
+    private final ConcurrentLinkedQueue<Waiter> waitingForLock = new ConcurrentLinkedQueue<>();
+
+    public boolean lock(Strand strand) {
+        if (strand.handedOverLock == this) {
+            strand.handedOverLock = null;
+            return true;
+        }
+        if (owner == strand) {
+            holdCount++;
+            return true;
+        }
+        if (waitingForLock.isEmpty() && tryLock(strand)) {
+            return true;
+        }
+        return waitForLock(strand, false);
+    }
+
+    public void unlock() {
+        //owner cannot be null as unlock cannot be called without lock being called first.
+        if (--holdCount > 0) {
+            return;
+        }
+        Waiter next = pollWaiter();
+        if (next != null) {
+            handOver(next);
+            return;
+        }
+        owner = null;
+        state = UNLOCKED;
+        wakeUpNext();
+    }
+
+    public boolean lockShared(Strand strand) {
+        if (strand.handedOverLock == this) {
+            strand.handedOverLock = null;
+            return true;
+        }
+        if (owner == strand) {
+            // a share of the lock held exclusively is the exclusive lock itself
+            holdCount++;
+            return true;
+        }
+        if (waitingForLock.isEmpty() && tryLockShared()) {
+            return true;
+        }
+        return waitForLock(strand, true);
+    }
+
+    public void unlockShared() {
+        if (state == WRITE_LOCKED) {
+            // the owner acquired the lock in shared mode while holding it exclusively
+            unlock();
+            return;
+        }
+        if (STATE_UPDATER.decrementAndGet(this) == UNLOCKED) {
+            wakeUpNext();
+        }
+    }
+
+    /**
+     * Releases the lock handed over to a strand which ended before it resumed to take the lock.
+     *
+     * @param strand strand which ended
+     */
+    public static void releaseHandedOver(Strand strand) {
+        BLock lock = strand.handedOverLock;
+        if (lock == null) {
+            return;
+        }
+        strand.handedOverLock = null;
+        if (lock.owner == strand) {
+            lock.unlock();
+        } else {
+            lock.unlockShared();
+        }
     }
 
-    public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
-            current.offerLast(strand);
+    private boolean tryLock(Strand strand) {
+        if (state == UNLOCKED && STATE_UPDATER.compareAndSet(this, UNLOCKED, WRITE_LOCKED)) {
+            owner = strand;
+            holdCount = 1;
             return true;
         }
+        return false;
+    }
 
-        waitingForLock.offerLast(strand);
+    private boolean tryLockShared() {
+        for (int current = state; current != WRITE_LOCKED; current = state) {
+            if (STATE_UPDATER.compareAndSet(this, current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        // Strand state change
+    private boolean waitForLock(Strand strand, boolean shared) {
+        // Strand state change, done before queueing since an unlock may wake up the strand right after that
         strand.setState(State.BLOCK_AND_YIELD);
         strand.blockedOnExtern = false;
+        Waiter waiter = new Waiter(strand, shared);
+        waitingForLock.add(waiter);
+
+        // the lock may have been released before the strand was queued, take it if no one is ahead of this strand
+        if (waitingForLock.peek() != waiter || !(shared ? tryLockShared() : tryLock(strand))) {
+            return false;
+        }
+        if (waiter.claim()) {
+            waitingForLock.remove(waiter);
+            strand.setState(State.RUNNABLE);
+            return true;
+        }
+        // A share handed over along with the head of the queue can be taken again here, before the strand is
+        // woken up. The strand holds the handed over share, hence this one is not the last and is simply given back.
+        STATE_UPDATER.decrementAndGet(this);
         return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = waitingForLock.removeFirst();
-            strand.scheduler.unblockStrand(strand);
+    /**
+     * Removes the head of the queue, skipping the strands which took the lock by themselves.
+     *
+     * @return head of the queue claimed for a hand over, or null if the queue is empty
+     */
+    private Waiter pollWaiter() {
+        for (Waiter waiter = waitingForLock.poll(); waiter != null; waiter = waitingForLock.poll()) {
+            if (waiter.claim()) {
+                return waiter;
+            }
         }
+        return null;
     }
 
-    private boolean isLockFree() {
-        return current.isEmpty();
+    /**
+     * Hands the released lock over to the queued strands, if any.
+     */
+    private void wakeUpNext() {
+        // a strand may have been queued after the lock was released, while its own attempt still saw it being held
+        while (!waitingForLock.isEmpty() && STATE_UPDATER.compareAndSet(this, UNLOCKED, WRITE_LOCKED)) {
+            Waiter next = pollWaiter();
+            if (next != null) {
+                handOver(next);
+                return;
+            }
+            state = UNLOCKED;
+        }
     }
 
-    private boolean lockedBySameContext(Strand ctx) {
-        return current.getLast() == ctx;
+    /**
+     * Passes the exclusively held lock to the head of the queue. A strand waiting for a share gets it along with the
+     * strands waiting for a share right behind it. The strands complete the acquisition when they call lock after
+     * resuming.
+     *
+     * @param next head of the queue, already removed from it
+     */
+    private void handOver(Waiter next) {
+        if (!next.shared) {
+            holdCount = 1;
+            owner = next.strand;
+            wakeUp(next.strand);
+            return;
+        }
+
+        List<Strand> sharing = new ArrayList<>();
+        sharing.add(next.strand);
+        // queued strands cannot take a share by themselves while the lock is still held exclusively
+        for (Waiter waiter = waitingForLock.peek(); waiter != null && waiter.shared; waiter = waitingForLock.peek()) {
+            if (waitingForLock.remove(waiter) && waiter.claim()) {
+                sharing.add(waiter.strand);
+            }
+        }
+        owner = null;
+        // the shares are counted before any of the strands can resume and release its share
+        state = sharing.size();
+        for (Strand strand : sharing) {
+            wakeUp(strand);
+        }
+    }
+
+    private void wakeUp(Strand strand) {
+        strand.handedOverLock = this;
+        strand.scheduler.unblockStrand(strand);
+    }
+
+    /**
+     * A strand queued for the lock. Either the lock is handed over to the strand or the strand takes it by itself,
+     * whichever claims the waiter first.
+     */
+    private static class Waiter {
+
+        private static final AtomicIntegerFieldUpdater<Waiter> CLAIMED_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(Waiter.class, "claimed");
+
+        private final Strand strand;
+        private final boolean shared;
+        private volatile int claimed;
+
+        private Waiter(Strand strand, boolean shared) {
+            this.strand = strand;
+            this.shared = shared;
+        }
+
+        private boolean claim() {
+            return CLAIMED_UPDATER.compareAndSet(this, 0, 1);
+        }
     }
 }
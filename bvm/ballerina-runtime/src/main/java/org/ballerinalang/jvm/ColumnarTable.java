@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BStructureType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.RefValue;
+import org.ballerinalang.jvm.values.TableIterator;
+import org.ballerinalang.jvm.values.utils.StringUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * {@code ColumnarTable} is a native in-memory store for the rows of a table. The values of each field of the
+ * constraint type are kept in a column array of their own, rows are looked up by primary key through a hash index,
+ * and iterators read the column arrays directly.
+ * <p>
+ * Column storage is never modified in place below the row count seen by an iterator. Rows are appended past it and
+ * deleted rows are only marked, until the table is compacted into new column arrays. Hence iterators can read the
+ * rows without holding the lock of the table.
+ *
+ * @since 1.2.0
+ */
+public class ColumnarTable {
+
+    private static final String UNASSIGNABLE_UNIONTYPE_EXCEPTION =
+            "Corresponding Union type in the record is not an assignable nillable type";
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final BStructureType type;
+    private final BField[] fields;
+    private final int[] columnTypeTags;
+    private final Column[] columns;
+    private final int[] keyColumns;
+    private final Map<Object, Integer> keyIndex;
+    private final List<ColumnDefinition> columnDefs;
+    private int capacity;
+    private int rowCount;
+    private BitSet deletedRows = new BitSet();
+    private int deletedCount;
+
+    public ColumnarTable(BStructureType type, ArrayValue primaryKeys) {
+        this.type = type;
+        this.fields = type.getFields().values().toArray(new BField[0]);
+        this.columnTypeTags = new int[fields.length];
+        this.columns = new Column[fields.length];
+        this.capacity = INITIAL_CAPACITY;
+        for (int i = 0; i < fields.length; i++) {
+            columnTypeTags[i] = getColumnTypeTag(fields[i]);
+            columns[i] = createColumn(columnTypeTags[i], capacity);
+        }
+        this.keyColumns = getKeyColumns(primaryKeys);
+        this.keyIndex = keyColumns.length > 0 ? new HashMap<>() : null;
+        this.columnDefs = TableIterator.generateColumnDefinitions(type);
+    }
+
+    /**
+     * Inserts a row into the table.
+     *
+     * @param data the record to be inserted
+     */
+    public synchronized void insert(MapValueImpl<String, Object> data) {
+        Object[] values = readRow(data);
+        Object key = null;
+        if (keyIndex != null) {
+            for (int keyColumn : keyColumns) {
+                if (values[keyColumn] == null) {
+                    throw TableUtils.createTableOperationError("execute update failed: NULL not allowed for column \""
+                            + fields[keyColumn].getFieldName() + "\"");
+                }
+            }
+            key = createKey(values);
+            if (keyIndex.containsKey(key)) {
+                throw TableUtils.createTableOperationError(
+                        "execute update failed: Unique index or primary key violation: \"PRIMARY KEY ON "
+                                + type.getName() + getKeyColumnNames() + "\"");
+            }
+        }
+
+        if (rowCount == capacity) {
+            capacity = capacity * 2;
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(rowCount, values[i]);
+        }
+        if (keyIndex != null) {
+            keyIndex.put(key, rowCount);
+        }
+        rowCount++;
+    }
+
+    /**
+     * Deletes the rows which are equal to the given record.
+     *
+     * @param data the record to be deleted
+     */
+    public synchronized void delete(MapValueImpl<String, Object> data) {
+        Object[] values = readRow(data);
+        if (keyIndex != null) {
+            Object key = createKey(values);
+            Integer row = keyIndex.get(key);
+            if (row != null && isRowEqual(row, values)) {
+                keyIndex.remove(key);
+                markDeleted(row);
+            }
+        } else {
+            for (int row = 0; row < rowCount; row++) {
+                if (!deletedRows.get(row) && isRowEqual(row, values)) {
+                    markDeleted(row);
+                }
+            }
+        }
+
+        // reclaim the space of deleted rows once they make up half of the table
+        if (deletedCount > 0 && deletedCount >= rowCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Creates an iterator over the rows the table has at the moment.
+     *
+     * @return iterator over the rows of the table
+     */
+    public synchronized DataIterator createIterator() {
+        Column[] columnViews = new Column[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnViews[i] = columns[i].view();
+        }
+        BitSet deleted = deletedCount > 0 ? (BitSet) deletedRows.clone() : null;
+        return new ColumnarTableIterator(columnViews, deleted, rowCount);
+    }
+
+    private Object[] readRow(MapValueImpl<String, Object> data) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            String fieldName = fields[i].getFieldName();
+            switch (columnTypeTags[i]) {
+            case TypeTags.STRING_TAG:
+                values[i] = data.getStringValue(fieldName);
+                break;
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                values[i] = data.get(fieldName);
+                break;
+            default:
+                // mutable values are copied, so that later updates to the record do not leak into the table
+                values[i] = copyValue(data.get(fieldName));
+                break;
+            }
+        }
+        return values;
+    }
+
+    private boolean isRowEqual(int row, Object[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            Object value = columns[i].get(row);
+            if (value == null || values[i] == null) {
+                if (value != values[i]) {
+                    return false;
+                }
+            } else if (!TypeChecker.isEqual(value, values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markDeleted(int row) {
+        deletedRows.set(row);
+        deletedCount++;
+    }
+
+    private void compact() {
+        int liveRowCount = rowCount - deletedCount;
+        int newCapacity = Math.max(INITIAL_CAPACITY, liveRowCount * 2);
+        for (int i = 0; i < columns.length; i++) {
+            // rows are moved to new column arrays, since open iterators may still read the current ones
+            Column column = createColumn(columnTypeTags[i], newCapacity);
+            int newRow = 0;
+            for (int row = deletedRows.nextClearBit(0); row < rowCount; row = deletedRows.nextClearBit(row + 1)) {
+                column.set(newRow++, columns[i].get(row));
+            }
+            columns[i] = column;
+        }
+
+        capacity = newCapacity;
+        rowCount = liveRowCount;
+        deletedRows = new BitSet();
+        deletedCount = 0;
+        if (keyIndex != null) {
+            keyIndex.clear();
+            Object[] values = new Object[columns.length];
+            for (int row = 0; row < rowCount; row++) {
+                for (int keyColumn : keyColumns) {
+                    values[keyColumn] = columns[keyColumn].get(row);
+                }
+                keyIndex.put(createKey(values), row);
+            }
+        }
+    }
+
+    private Object createKey(Object[] values) {
+        if (keyColumns.length == 1) {
+            return getKeyValue(values[keyColumns[0]]);
+        }
+
+        Object[] key = new Object[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            key[i] = getKeyValue(values[keyColumns[i]]);
+        }
+        return Arrays.asList(key);
+    }
+
+    private static Object getKeyValue(Object value) {
+        if (value instanceof DecimalValue) {
+            // decimals which only differ in scale are the same key
+            return ((DecimalValue) value).value().stripTrailingZeros();
+        }
+        if (value instanceof RefValue) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private String getKeyColumnNames() {
+        StringJoiner names = new StringJoiner(",", "(", ")");
+        for (int keyColumn : keyColumns) {
+            names.add(fields[keyColumn].getFieldName());
+        }
+        return names.toString();
+    }
+
+    private int[] getKeyColumns(ArrayValue primaryKeys) {
+        if (primaryKeys == null) {
+            return new int[0];
+        }
+
+        int[] keys = new int[primaryKeys.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = getColumnIndex(primaryKeys.getString(i));
+        }
+        return keys;
+    }
+
+    private int getColumnIndex(String columnName) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getFieldName().equals(columnName)) {
+                return i;
+            }
+        }
+        throw TableUtils.createTableOperationError("Column \"" + columnName + "\" not found");
+    }
+
+    private static int getColumnTypeTag(BField field) {
+        BType fieldType = field.getFieldType();
+        switch (fieldType.getTag()) {
+        case TypeTags.INT_TAG:
+        case TypeTags.STRING_TAG:
+        case TypeTags.FLOAT_TAG:
+        case TypeTags.DECIMAL_TAG:
+        case TypeTags.BOOLEAN_TAG:
+        case TypeTags.JSON_TAG:
+        case TypeTags.XML_TAG:
+        case TypeTags.ARRAY_TAG:
+            return fieldType.getTag();
+        case TypeTags.UNION_TAG:
+            List<BType> members = ((BUnionType) fieldType).getMemberTypes();
+            if (members.size() != 2) {
+                throw TableUtils.createTableOperationError(UNASSIGNABLE_UNIONTYPE_EXCEPTION);
+            }
+            BType memberType;
+            if (members.get(0).getTag() == TypeTags.NULL_TAG) {
+                memberType = members.get(1);
+            } else if (members.get(1).getTag() == TypeTags.NULL_TAG) {
+                memberType = members.get(0);
+            } else {
+                throw TableUtils.createTableOperationError(UNASSIGNABLE_UNIONTYPE_EXCEPTION);
+            }
+            switch (memberType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.XML_TAG:
+            case TypeTags.ARRAY_TAG:
+                return memberType.getTag();
+            default:
+                throw TableUtils.createTableOperationError(
+                        "Unsupported nillable field for table : " + fieldType);
+            }
+        default:
+            throw TableUtils.createTableOperationError("Unsupported column type for table : " + fieldType);
+        }
+    }
+
+    private static Column createColumn(int typeTag, int capacity) {
+        switch (typeTag) {
+        case TypeTags.INT_TAG:
+            return new IntColumn(new long[capacity], new boolean[capacity]);
+        case TypeTags.FLOAT_TAG:
+            return new FloatColumn(new double[capacity], new boolean[capacity]);
+        case TypeTags.BOOLEAN_TAG:
+            return new BooleanColumn(new boolean[capacity], new boolean[capacity]);
+        default:
+            return new RefColumn(new Object[capacity]);
+        }
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof RefValue) {
+            return ((RefValue) value).copy(new IdentityHashMap<>());
+        }
+        return value;
+    }
+
+    /**
+     * Storage of the values of a single column.
+     */
+    private abstract static class Column {
+
+        abstract void grow(int capacity);
+
+        abstract void set(int row, Object value);
+
+        abstract Object get(int row);
+
+        /**
+         * Returns a column which shares the current storage of this column, for iterators to read from.
+         *
+         * @return column sharing the current storage
+         */
+        abstract Column view();
+    }
+
+    private static class IntColumn extends Column {
+
+        private long[] values;
+        private boolean[] nulls;
+
+        IntColumn(long[] values, boolean[] nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            nulls = Arrays.copyOf(nulls, capacity);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) {
+                nulls[row] = true;
+            } else {
+                values[row] = (Long) value;
+                nulls[row] = false;
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls[row] ? null : values[row];
+        }
+
+        @Override
+        Column view() {
+            return new IntColumn(values, nulls);
+        }
+    }
+
+    private static class FloatColumn extends Column {
+
+        private double[] values;
+        private boolean[] nulls;
+
+        FloatColumn(double[] values, boolean[] nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            nulls = Arrays.copyOf(nulls, capacity);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) {
+                nulls[row] = true;
+            } else {
+                values[row] = (Double) value;
+                nulls[row] = false;
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls[row] ? null : values[row];
+        }
+
+        @Override
+        Column view() {
+            return new FloatColumn(values, nulls);
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+
+        private boolean[] values;
+        private boolean[] nulls;
+
+        BooleanColumn(boolean[] values, boolean[] nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            nulls = Arrays.copyOf(nulls, capacity);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) {
+                nulls[row] = true;
+            } else {
+                values[row] = (Boolean) value;
+                nulls[row] = false;
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls[row] ? null : values[row];
+        }
+
+        @Override
+        Column view() {
+            return new BooleanColumn(values, nulls);
+        }
+    }
+
+    private static class RefColumn extends Column {
+
+        private Object[] values;
+
+        RefColumn(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        Column view() {
+            return new RefColumn(values);
+        }
+    }
+
+    /**
+     * Iterator over a snapshot of the rows of a {@code ColumnarTable}. Column indexes start from one, as in the
+     * iterators over database result sets.
+     */
+    private class ColumnarTableIterator implements DataIterator {
+
+        private final Column[] columnViews;
+        private final BitSet deleted;
+        private final int rowCount;
+        private int cursor = -1;
+
+        ColumnarTableIterator(Column[] columnViews, BitSet deleted, int rowCount) {
+            this.columnViews = columnViews;
+            this.deleted = deleted;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean next() {
+            do {
+                cursor++;
+            } while (cursor < rowCount && deleted != null && deleted.get(cursor));
+            return cursor < rowCount;
+        }
+
+        @Override
+        public void close() {
+            cursor = rowCount;
+        }
+
+        @Override
+        public void reset() {
+            close();
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            Object value = getValue(columnIndex);
+            if (value == null) {
+                return null;
+            }
+
+            if (columnTypeTags[columnIndex - 1] == TypeTags.JSON_TAG) {
+                return StringUtils.getJsonString(value);
+            }
+            if (value instanceof ArrayValue && ((ArrayValue) value).getElementType().getTag() == TypeTags.BYTE_TAG) {
+                return new String(((ArrayValue) value).getBytes());
+            }
+            return String.valueOf(value);
+        }
+
+        @Override
+        public Long getInt(int columnIndex) {
+            return (Long) getValue(columnIndex);
+        }
+
+        @Override
+        public Double getFloat(int columnIndex) {
+            return (Double) getValue(columnIndex);
+        }
+
+        @Override
+        public Boolean getBoolean(int columnIndex) {
+            return (Boolean) getValue(columnIndex);
+        }
+
+        @Override
+        public String getBlob(int columnIndex) {
+            ArrayValue value = (ArrayValue) getValue(columnIndex);
+            return value == null ? null : new String(value.getBytes());
+        }
+
+        @Override
+        public DecimalValue getDecimal(int columnIndex) {
+            return (DecimalValue) getValue(columnIndex);
+        }
+
+        @Override
+        public Object[] getStruct(int columnIndex) {
+            // record typed columns are not supported in tables
+            return null;
+        }
+
+        @Override
+        public Object[] getArray(int columnIndex) {
+            return TableUtils.getArrayData((ArrayValue) getValue(columnIndex));
+        }
+
+        @Override
+        public MapValue<String, Object> generateNext() {
+            MapValue<String, Object> row = new MapValueImpl<>(type);
+            for (int i = 0; i < columnViews.length; i++) {
+                row.put(fields[i].getFieldName(), copyValue(columnViews[i].get(cursor)));
+            }
+            return row;
+        }
+
+        @Override
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefs;
+        }
+
+        @Override
+        public BStructureType getStructType() {
+            return type;
+        }
+
+        private Object getValue(int columnIndex) {
+            return columnViews[columnIndex - 1].get(cursor);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.StreamingJsonValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class serializes JSON values to a given {@link OutputStream} as UTF-8 encoded bytes. Unlike
+ * {@link JSONGenerator}, the characters are encoded directly into a byte buffer which is written to the output stream
+ * in blocks, without going through a {@link java.io.Writer} and a charset encoder.
+ * <p>
+ * The encoded field names of record types are computed once per type and reused, up to a fixed number of types,
+ * while the field names of maps are cached for the lifetime of the generator. The output is identical to that of a
+ * {@link JSONGenerator} which writes UTF-8.
+ *
+ * @since 1.2.0
+ */
+public class JSONByteGenerator {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CACHED_NAMES = 256;
+    private static final int MAX_CACHED_RECORD_TYPES = 1024;
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = ", ".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Map<BRecordType, Map<String, byte[]>> recordFieldNames = new ConcurrentHashMap<>();
+
+    private static final boolean[] escChars = new boolean[93];
+
+    static {
+        escChars['"'] = true;
+        escChars['\\'] = true;
+        escChars['\b'] = true;
+        escChars['\n'] = true;
+        escChars['\r'] = true;
+        escChars['\t'] = true;
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final Map<String, byte[]> mapFieldNames = new HashMap<>();
+    private int count;
+
+    public JSONByteGenerator(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the given JSON value. The content is written to the output stream only when the internal buffer is full
+     * or the generator is flushed.
+     *
+     * @param json JSON value to be written
+     * @throws IOException if an error occurs while writing to the output stream
+     */
+    @SuppressWarnings("unchecked")
+    public void serialize(Object json) throws IOException {
+        if (json == null) {
+            write(NULL);
+            return;
+        }
+
+        BType type = TypeChecker.getType(json);
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+                if (json instanceof StreamingJsonValue) {
+                    serializeStreamingJson((StreamingJsonValue) json);
+                    break;
+                }
+                write('[');
+                ArrayValue jsonArray = (ArrayValue) json;
+                for (int i = 0; i < jsonArray.size(); i++) {
+                    if (i > 0) {
+                        write(SEPARATOR);
+                    }
+                    serialize(jsonArray.get(i));
+                }
+                write(']');
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                write((Boolean) json ? TRUE : FALSE);
+                break;
+            case TypeTags.FLOAT_TAG:
+                writeAscii(Double.toString(((Number) json).doubleValue()));
+                break;
+            case TypeTags.DECIMAL_TAG:
+                writeAscii(((DecimalValue) json).value().toString());
+                break;
+            case TypeTags.INT_TAG:
+                writeAscii(Long.toString(((Number) json).longValue()));
+                break;
+            case TypeTags.BYTE_TAG:
+                writeAscii(Integer.toString(((Number) json).intValue()));
+                break;
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+                serializeObject((MapValueImpl<String, Object>) json, mapFieldNames);
+                break;
+            case TypeTags.RECORD_TYPE_TAG:
+                serializeObject((MapValueImpl<String, Object>) json, getFieldNames((BRecordType) type));
+                break;
+            case TypeTags.STRING_TAG:
+                writeString(json.toString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes the buffered content to the output stream and flushes it.
+     *
+     * @throws IOException if an error occurs while writing to the output stream
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void serializeObject(MapValueImpl<String, Object> map, Map<String, byte[]> fieldNames)
+            throws IOException {
+        write('{');
+        boolean first = true;
+        for (Entry<String, Object> entry : map.entrySet()) {
+            if (first) {
+                first = false;
+            } else {
+                write(SEPARATOR);
+            }
+            String fieldName = entry.getKey();
+            byte[] encodedName = fieldNames.get(fieldName);
+            if (encodedName == null) {
+                encodedName = encodeFieldName(fieldName);
+                if (fieldNames == mapFieldNames && mapFieldNames.size() < MAX_CACHED_NAMES) {
+                    mapFieldNames.put(fieldName, encodedName);
+                }
+            }
+            write(encodedName);
+            serialize(entry.getValue());
+        }
+        write('}');
+    }
+
+    private void serializeStreamingJson(StreamingJsonValue json) throws IOException {
+        // Streaming JSON values write through a JSONGenerator, hence the buffered content has to be written first.
+        flushBuffer();
+        JSONGenerator gen = new JSONGenerator(out, StandardCharsets.UTF_8);
+        json.serialize(gen);
+        gen.flush();
+    }
+
+    private static Map<String, byte[]> getFieldNames(BRecordType recordType) throws IOException {
+        Map<String, byte[]> fieldNames = recordFieldNames.get(recordType);
+        if (fieldNames == null) {
+            if (recordFieldNames.size() >= MAX_CACHED_RECORD_TYPES) {
+                // Record types created at runtime are not cached beyond the limit, hence the names are encoded as
+                // they are written, the same as for maps.
+                return Collections.emptyMap();
+            }
+            fieldNames = new HashMap<>();
+            for (String fieldName : recordType.getFields().keySet()) {
+                fieldNames.put(fieldName, encodeFieldName(fieldName));
+            }
+            recordFieldNames.put(recordType, fieldNames);
+        }
+        return fieldNames;
+    }
+
+    private static byte[] encodeFieldName(String fieldName) throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        JSONByteGenerator gen = new JSONByteGenerator(byteOut);
+        gen.writeString(fieldName);
+        gen.write(':');
+        gen.flushBuffer();
+        return byteOut.toByteArray();
+    }
+
+    private void writeString(String value) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = '"';
+        int length = value.length();
+        boolean escaped = false;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < escChars.length && escChars[ch]) {
+                escaped = true;
+                break;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (escaped) {
+                String escape = getEscape(ch);
+                if (escape != null) {
+                    writeAscii(escape);
+                    continue;
+                }
+            }
+            if (ch < 0x80) {
+                write(ch);
+            } else if (ch < 0x800) {
+                ensureCapacity(2);
+                buffer[count++] = (byte) (0xC0 | (ch >> 6));
+                buffer[count++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                    ensureCapacity(4);
+                    buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // Same as the replacement of the UTF-8 encoder for a malformed surrogate
+                    write('?');
+                }
+            } else {
+                ensureCapacity(3);
+                buffer[count++] = (byte) (0xE0 | (ch >> 12));
+                buffer[count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        write('"');
+    }
+
+    private static String getEscape(char ch) {
+        switch (ch) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '/':
+                return "\\/";
+            case '\b':
+                return "\\b";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\f':
+                return "\\f";
+            case '\t':
+                return "\\t";
+            default:
+                return null;
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void write(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > BUFFER_SIZE) {
+            flushBuffer();
+            out.write(bytes);
+            return;
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (count + length > BUFFER_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,654 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.commons.ArrayState;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON parser which reads UTF-8 encoded bytes directly, without decoding the input to characters first.
+ * <p>
+ * Field names are interned in a per thread cache, so that the names repeated across the objects of a payload share a
+ * single string. The parser can also bind a document straight to a record, map or array type, skipping the
+ * intermediate {@code map<json>} tree and the conversion from it.
+ * <p>
+ * The parser accepts the same documents as {@link JSONParser} and builds the same values. Any input it does not
+ * handle itself, including malformed documents, is handed over to {@link JSONParser}, hence the errors reported for
+ * malformed documents are identical. A document which does not match the target type is read to the end from the
+ * point of the mismatch, so that it is parsed again only once, either as json or by {@link JSONParser}.
+ *
+ * @since 1.2.0
+ */
+public class JSONByteParser {
+
+    private static final int MAX_DEPTH = 512;
+    private static final int NAME_CACHE_SIZE = 512;
+    private static final int MAX_CACHED_NAME_LENGTH = 64;
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+
+    private static final BMapType JSON_MAP_TYPE = new BMapType(BTypes.typeJSON);
+    private static final BArrayType JSON_ARRAY_TYPE = new BArrayType(BTypes.typeJSON);
+    private static final FallbackException FALLBACK = new FallbackException();
+
+    private static ThreadLocal<JSONByteParser> tlParser = ThreadLocal.withInitial(JSONByteParser::new);
+
+    private final String[] nameCache = new String[NAME_CACHE_SIZE];
+    private final StringBuilder builder = new StringBuilder();
+    private byte[] bytes;
+    private int pos;
+    private int end;
+    private int depth;
+    /**
+     * Whether the document read so far matches the target type.
+     */
+    private boolean bindable;
+
+    private JSONByteParser() {
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the given buffer and returns a json. The position of the buffer is not
+     * changed.
+     *
+     * @param input buffer which contains the JSON content
+     * @return JSON structure
+     * @throws BallerinaException for any parsing error
+     */
+    public static Object parse(ByteBuffer input) throws BallerinaException {
+        return parse(input, null);
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the given buffer and binds it to a value of the given type. Records,
+     * maps, arrays, optional types and the basic types json values belong to are bound directly. The position of the
+     * buffer is not changed.
+     *
+     * If the document can not be bound directly, the json value of it is returned instead, which has to be converted
+     * to the target type by the caller.
+     *
+     * @param input      buffer which contains the JSON content
+     * @param targetType type of the value to be created, or null to create a json
+     * @return value of the target type, or the json value of the document if it can not be bound directly
+     * @throws BallerinaException for any parsing error
+     */
+    public static Object parse(ByteBuffer input, BType targetType) throws BallerinaException {
+        byte[] content;
+        int offset;
+        int length = input.remaining();
+        if (input.hasArray()) {
+            content = input.array();
+            offset = input.arrayOffset() + input.position();
+        } else {
+            content = new byte[length];
+            input.duplicate().get(content);
+            offset = 0;
+        }
+
+        JSONByteParser parser = tlParser.get();
+        try {
+            if (targetType != null) {
+                Object value = parser.parseDocument(content, offset, length, targetType);
+                if (parser.bindable) {
+                    return value;
+                }
+                // The document is well formed but not directly bindable, hence parse it as a json.
+            }
+            return parser.parseDocument(content, offset, length, null);
+        } catch (FallbackException e) {
+            // Parse with the character based parser which reports the errors of a malformed document
+            return JSONParser.parse(new ByteArrayInputStream(content, offset, length),
+                                    StandardCharsets.UTF_8.name());
+        } finally {
+            // Do not hold on to the input after parsing.
+            parser.bytes = null;
+        }
+    }
+
+    private Object parseDocument(byte[] content, int offset, int length, BType targetType) {
+        this.bytes = content;
+        this.pos = offset;
+        this.end = offset + length;
+        this.depth = 0;
+        this.bindable = true;
+
+        Object value = targetType == null ? readValue() : readValue(targetType);
+        skipWhitespace();
+        if (pos != end) {
+            throw FALLBACK;
+        }
+        return value;
+    }
+
+    private Object readValue() {
+        switch (peekToken()) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+            case '\'':
+                return readString(false);
+            default:
+                return readNonStringValue();
+        }
+    }
+
+    private Object readValue(BType targetType) {
+        switch (targetType.getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+                return readRecord((BRecordType) targetType);
+            case TypeTags.MAP_TAG:
+                return readMap((BMapType) targetType);
+            case TypeTags.ARRAY_TAG:
+                return readArray((BArrayType) targetType);
+            case TypeTags.UNION_TAG:
+                return readOptional((BUnionType) targetType);
+            case TypeTags.JSON_TAG:
+                return readValue();
+            case TypeTags.STRING_TAG:
+                byte token = peekToken();
+                if (token != '"' && token != '\'') {
+                    return readUnboundValue();
+                }
+                return readString(false);
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.NULL_TAG:
+                return readScalar(targetType);
+            default:
+                return readUnboundValue();
+        }
+    }
+
+    /**
+     * Reads the value at the current position as a json, since it does not match the type it is bound to. The rest
+     * of the document is still read, only to find out whether it is well formed.
+     *
+     * @return json value
+     */
+    private Object readUnboundValue() {
+        bindable = false;
+        return readValue();
+    }
+
+    private MapValueImpl<String, Object> readObject() {
+        enterStructure();
+        MapValueImpl<String, Object> map = new MapValueImpl<>(JSON_MAP_TYPE);
+        if (!isEmptyStructure('}')) {
+            do {
+                String name = readFieldName();
+                map.put(name, readValue());
+            } while (readSeparator('}'));
+        }
+        exitStructure();
+        return map;
+    }
+
+    private ArrayValueImpl readArray() {
+        enterStructure();
+        ArrayValueImpl array = new ArrayValueImpl(JSON_ARRAY_TYPE);
+        if (!isEmptyStructure(']')) {
+            do {
+                array.append(readValue());
+            } while (readSeparator(']'));
+        }
+        exitStructure();
+        return array;
+    }
+
+    private Object readRecord(BRecordType recordType) {
+        if (peekToken() != '{') {
+            return readUnboundValue();
+        }
+        enterStructure();
+        MapValue<String, Object> record = BallerinaValues.createRecordValue(recordType.getPackage(),
+                                                                            recordType.getName());
+        Map<String, BField> fields = recordType.getFields();
+        if (!isEmptyStructure('}')) {
+            do {
+                String name = readFieldName();
+                BField field = fields.get(name);
+                Object value;
+                if (field != null) {
+                    value = readValue(field.getFieldType());
+                } else if (!recordType.sealed && recordType.restFieldType != null) {
+                    value = readValue(recordType.restFieldType);
+                } else {
+                    value = readUnboundValue();
+                }
+                if (bindable) {
+                    record.put(name, value);
+                }
+            } while (readSeparator('}'));
+        }
+        exitStructure();
+
+        for (BField field : fields.values()) {
+            if (Flags.isFlagOn(field.flags, Flags.REQUIRED) && !record.containsKey(field.getFieldName())) {
+                bindable = false;
+            }
+        }
+        return record;
+    }
+
+    private Object readMap(BMapType mapType) {
+        if (peekToken() != '{') {
+            return readUnboundValue();
+        }
+        enterStructure();
+        BType constrainedType = mapType.getConstrainedType();
+        MapValueImpl<String, Object> map = new MapValueImpl<>(mapType);
+        if (!isEmptyStructure('}')) {
+            do {
+                String name = readFieldName();
+                Object value = readValue(constrainedType);
+                if (bindable) {
+                    map.put(name, value);
+                }
+            } while (readSeparator('}'));
+        }
+        exitStructure();
+        return map;
+    }
+
+    private Object readArray(BArrayType arrayType) {
+        if (peekToken() != '[' || arrayType.getState() != ArrayState.UNSEALED) {
+            return readUnboundValue();
+        }
+        enterStructure();
+        BType elementType = arrayType.getElementType();
+        ArrayValueImpl array = new ArrayValueImpl(arrayType);
+        if (!isEmptyStructure(']')) {
+            long index = 0;
+            do {
+                Object value = readValue(elementType);
+                if (bindable) {
+                    array.add(index++, value);
+                }
+            } while (readSeparator(']'));
+        }
+        exitStructure();
+        return array;
+    }
+
+    private Object readOptional(BUnionType unionType) {
+        List<BType> memberTypes = unionType.getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return readUnboundValue();
+        }
+        BType memberType = memberTypes.get(0).getTag() == TypeTags.NULL_TAG ? memberTypes.get(1) :
+                memberTypes.get(0);
+        if (!unionType.isNilable() || memberType.getTag() == TypeTags.NULL_TAG) {
+            return readUnboundValue();
+        }
+        if (peekToken() == 'n') {
+            // only the null literal starts with an 'n'
+            return readNonStringValue();
+        }
+        return readValue(memberType);
+    }
+
+    private Object readScalar(BType targetType) {
+        byte token = peekToken();
+        if (token == '{' || token == '[' || token == '"' || token == '\'') {
+            return readUnboundValue();
+        }
+        Object value = readNonStringValue();
+        switch (targetType.getTag()) {
+            case TypeTags.BOOLEAN_TAG:
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                break;
+            case TypeTags.INT_TAG:
+                if (value instanceof Long) {
+                    return value;
+                }
+                break;
+            case TypeTags.FLOAT_TAG:
+                if (value instanceof Double) {
+                    return value;
+                }
+                if (value instanceof Long) {
+                    return TypeConverter.convertValues(targetType, value);
+                }
+                break;
+            case TypeTags.DECIMAL_TAG:
+                if (value instanceof Long || value instanceof Double) {
+                    return TypeConverter.convertValues(targetType, value);
+                }
+                break;
+            default:
+                if (value == null) {
+                    return null;
+                }
+                break;
+        }
+        bindable = false;
+        return value;
+    }
+
+    private String readFieldName() {
+        byte token = peekToken();
+        if (token != '"' && token != '\'') {
+            throw FALLBACK;
+        }
+        String name = readString(true);
+        if (peekToken() != ':') {
+            throw FALLBACK;
+        }
+        pos++;
+        return name;
+    }
+
+    private String readString(boolean isFieldName) {
+        byte quote = bytes[pos++];
+        int start = pos;
+        boolean ascii = true;
+        while (true) {
+            if (pos >= end) {
+                throw FALLBACK;
+            }
+            byte b = bytes[pos];
+            if (b == quote) {
+                break;
+            }
+            if (b == '\\') {
+                return readEscapedString(start, quote);
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            pos++;
+        }
+        int length = pos - start;
+        pos++;
+        if (!ascii) {
+            return new String(bytes, start, length, StandardCharsets.UTF_8);
+        }
+        if (isFieldName && length <= MAX_CACHED_NAME_LENGTH) {
+            return internName(start, length);
+        }
+        return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private String readEscapedString(int start, byte quote) {
+        builder.setLength(0);
+        appendBytes(start, pos);
+        while (true) {
+            if (pos >= end) {
+                throw FALLBACK;
+            }
+            byte b = bytes[pos];
+            if (b == quote) {
+                pos++;
+                return builder.toString();
+            }
+            if (b == '\\') {
+                pos++;
+                builder.append(readEscapedChar());
+                continue;
+            }
+            int segmentStart = pos;
+            while (pos < end && bytes[pos] != quote && bytes[pos] != '\\') {
+                pos++;
+            }
+            appendBytes(segmentStart, pos);
+        }
+    }
+
+    private char readEscapedChar() {
+        if (pos >= end) {
+            throw FALLBACK;
+        }
+        switch (bytes[pos++]) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (end - pos < 4) {
+                    throw FALLBACK;
+                }
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(bytes[pos++], 16);
+                    if (digit < 0) {
+                        throw FALLBACK;
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                return (char) codeUnit;
+            default:
+                throw FALLBACK;
+        }
+    }
+
+    private void appendBytes(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < 0) {
+                builder.append(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            builder.append((char) bytes[i]);
+        }
+    }
+
+    private String internName(int start, int length) {
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String cached = nameCache[slot];
+        if (cached != null && cached.length() == length && cached.hashCode() == hash) {
+            boolean matches = true;
+            for (int i = 0; i < length; i++) {
+                if (cached.charAt(i) != bytes[start + i]) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return cached;
+            }
+        }
+        String name = new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        nameCache[slot] = name;
+        return name;
+    }
+
+    private Object readNonStringValue() {
+        int start = pos;
+        boolean fractional = false;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                break;
+            }
+            if (b < 0) {
+                throw FALLBACK;
+            }
+            if (b == '.') {
+                fractional = true;
+            }
+            pos++;
+        }
+        int length = pos - start;
+        if (length == 0) {
+            throw FALLBACK;
+        }
+        if (fractional) {
+            try {
+                return Double.parseDouble(new String(bytes, start, length, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw FALLBACK;
+            }
+        }
+        switch (bytes[start]) {
+            case 't':
+                return matchesLiteral(start, length, "true") ? Boolean.TRUE : fail();
+            case 'f':
+                return matchesLiteral(start, length, "false") ? Boolean.FALSE : fail();
+            case 'n':
+                return matchesLiteral(start, length, "null") ? null : fail();
+            default:
+                return readLong(start, length);
+        }
+    }
+
+    private long readLong(int start, int length) {
+        int i = start;
+        boolean negative = false;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        int digits = start + length - i;
+        if (digits == 0) {
+            throw FALLBACK;
+        }
+        if (digits > MAX_SAFE_LONG_DIGITS) {
+            try {
+                return Long.parseLong(new String(bytes, start, length, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw FALLBACK;
+            }
+        }
+        long value = 0;
+        for (; i < start + length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw FALLBACK;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean matchesLiteral(int start, int length, String literal) {
+        if (length != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object fail() {
+        throw FALLBACK;
+    }
+
+    private boolean isEmptyStructure(char closingChar) {
+        pos++;
+        if (peekToken() == closingChar) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean readSeparator(char closingChar) {
+        byte token = peekToken();
+        pos++;
+        if (token == ',') {
+            return true;
+        }
+        if (token == closingChar) {
+            return false;
+        }
+        throw FALLBACK;
+    }
+
+    private void enterStructure() {
+        if (++depth > MAX_DEPTH) {
+            throw FALLBACK;
+        }
+    }
+
+    private void exitStructure() {
+        depth--;
+    }
+
+    private byte peekToken() {
+        skipWhitespace();
+        if (pos >= end) {
+            throw FALLBACK;
+        }
+        return bytes[pos];
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(bytes[pos])) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    /**
+     * Thrown when the input has to be handed over to {@link JSONParser}.
+     */
+    private static class FallbackException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        FallbackException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -196,6 +196,9 @@ public class JSONParser {
             this.column = 0;
             this.nodesStack = new ArrayDeque<>();
             this.fieldNames = new ArrayDeque<>();
+            // Discard any partially read value, which is left behind when parsing fails.
+            this.charBuffIndex = 0;
+            this.hexBuilder.setLength(0);
         }
 
         private static boolean isWhitespace(char ch) {
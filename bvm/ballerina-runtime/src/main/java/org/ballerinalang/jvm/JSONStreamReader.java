@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull based reader which reads the elements of a JSON array one at a time, hence the memory used while reading is
+ * bounded by the size of an element instead of the size of the whole document.
+ * <p>
+ * The array to be read is selected by a path of field names separated by '.', starting from the root of the document
+ * e.g. {@code $.orders.items}. An empty path, or {@code $}, selects the root. If the selected value is not an array,
+ * it is read as the only element. If the path does not exist in the document, there are no elements to be read.
+ * <p>
+ * Each element is parsed by {@link JSONParser}. The content outside the elements is only scanned for the structure
+ * of the document, and the content after the selected array is not read at all.
+ *
+ * @since 1.2.0
+ */
+public class JSONStreamReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String ROOT = "$";
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final String[] path;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder element = new StringBuilder();
+    private int pos;
+    private int limit;
+    private int line = 1;
+    private int column;
+    private State state = State.INITIAL;
+
+    /**
+     * Creates a reader for the elements of the root array of the document.
+     *
+     * @param reader reader which contains the JSON content
+     */
+    public JSONStreamReader(Reader reader) {
+        this(reader, null);
+    }
+
+    /**
+     * Creates a reader for the elements of the array at the given path.
+     *
+     * @param reader reader which contains the JSON content
+     * @param path   path of the array to be read, or null to read the root array
+     */
+    public JSONStreamReader(Reader reader, String path) {
+        this.reader = reader;
+        this.path = parsePath(path);
+    }
+
+    /**
+     * Checks whether there is an element left to be read.
+     *
+     * @return true if there is an element left to be read
+     * @throws BallerinaException if the document is malformed or can not be read
+     */
+    public boolean hasNext() throws BallerinaException {
+        switch (state) {
+            case INITIAL:
+                selectPath();
+                return hasNext();
+            case FIRST_ELEMENT:
+                if (peekToken() == ']') {
+                    read();
+                    state = State.END;
+                    return false;
+                }
+                state = State.ELEMENT;
+                return true;
+            case NEXT_ELEMENT:
+                int ch = peekToken();
+                read();
+                if (ch == ',') {
+                    state = State.ELEMENT;
+                    return true;
+                }
+                if (ch == ']') {
+                    state = State.END;
+                    return false;
+                }
+                throw createError("expected , or ]");
+            case ELEMENT:
+            case SINGLE_VALUE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reads the next element.
+     *
+     * @return the JSON value of the element
+     * @throws BallerinaException if the document is malformed or can not be read
+     * @throws NoSuchElementException if there are no elements left to be read
+     */
+    public Object next() throws BallerinaException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no more elements to be read");
+        }
+        int elementLine = line;
+        int elementColumn = column;
+        element.setLength(0);
+        readValue(element);
+        state = state == State.SINGLE_VALUE ? State.END : State.NEXT_ELEMENT;
+        try {
+            return JSONParser.parse(element.toString());
+        } catch (BallerinaException e) {
+            throw new BallerinaException("invalid element at line: " + elementLine + " column: " + (elementColumn + 1)
+                                                 + ": " + e.getMessage());
+        } finally {
+            if (element.capacity() > BUFFER_SIZE) {
+                // Do not hold on to the memory of a large element.
+                element.setLength(0);
+                element.trimToSize();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.END;
+        reader.close();
+    }
+
+    private static String[] parsePath(String path) {
+        if (path == null || path.isEmpty() || ROOT.equals(path)) {
+            return new String[0];
+        }
+        if (path.startsWith(ROOT + ".")) {
+            path = path.substring(ROOT.length() + 1);
+        }
+        return path.split("\\.", -1);
+    }
+
+    private void selectPath() {
+        for (String fieldName : path) {
+            if (peekToken() != '{' || !findField(fieldName)) {
+                state = State.END;
+                return;
+            }
+        }
+        if (peekToken() == '[') {
+            read();
+            state = State.FIRST_ELEMENT;
+        } else {
+            state = State.SINGLE_VALUE;
+        }
+    }
+
+    private boolean findField(String fieldName) {
+        read();
+        if (peekToken() == '}') {
+            return false;
+        }
+        while (true) {
+            int ch = peekToken();
+            if (ch != '"' && ch != '\'') {
+                throw createError("expected \"");
+            }
+            element.setLength(0);
+            readString(element);
+            Object name = JSONParser.parse(element.toString());
+            if (peekToken() != ':') {
+                throw createError("expected :");
+            }
+            read();
+            if (fieldName.equals(name)) {
+                return true;
+            }
+            readValue(null);
+            ch = peekToken();
+            read();
+            if (ch == '}') {
+                return false;
+            }
+            if (ch != ',') {
+                throw createError("expected , or }");
+            }
+        }
+    }
+
+    /**
+     * Reads the next value into the given builder, or skips it if the builder is null.
+     */
+    private void readValue(StringBuilder out) {
+        switch (peekToken()) {
+            case '{':
+            case '[':
+                readStructure(out);
+                break;
+            case '"':
+            case '\'':
+                readString(out);
+                break;
+            default:
+                readToken(out);
+        }
+    }
+
+    private void readStructure(StringBuilder out) {
+        int depth = 0;
+        do {
+            int ch = peek();
+            switch (ch) {
+                case EOF:
+                    throw createError("unexpected end of JSON document");
+                case '"':
+                case '\'':
+                    readString(out);
+                    continue;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+            append(out, read());
+        } while (depth > 0);
+    }
+
+    private void readString(StringBuilder out) {
+        int quote = read();
+        append(out, quote);
+        while (true) {
+            int ch = read();
+            if (ch == EOF) {
+                throw createError("unexpected end of JSON document");
+            }
+            append(out, ch);
+            if (ch == quote) {
+                return;
+            }
+            if (ch == '\\') {
+                ch = read();
+                if (ch == EOF) {
+                    throw createError("unexpected end of JSON document");
+                }
+                append(out, ch);
+            }
+        }
+    }
+
+    private void readToken(StringBuilder out) {
+        boolean empty = true;
+        while (true) {
+            int ch = peek();
+            if (ch == EOF || ch == ',' || ch == ']' || ch == '}' || isWhitespace(ch)) {
+                break;
+            }
+            append(out, read());
+            empty = false;
+        }
+        if (empty) {
+            throw createError(peek() == EOF ? "unexpected end of JSON document" :
+                                      "unrecognized token '" + (char) peek() + "'");
+        }
+    }
+
+    private static void append(StringBuilder out, int ch) {
+        if (out != null) {
+            out.append((char) ch);
+        }
+    }
+
+    private int peekToken() {
+        while (isWhitespace(peek())) {
+            read();
+        }
+        return peek();
+    }
+
+    private int peek() {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos];
+    }
+
+    private int read() {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        int ch = buffer[pos++];
+        if (ch == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return ch;
+    }
+
+    private boolean fill() {
+        try {
+            int count;
+            do {
+                count = reader.read(buffer, 0, BUFFER_SIZE);
+            } while (count == 0);
+            if (count < 0) {
+                return false;
+            }
+            pos = 0;
+            limit = count;
+            return true;
+        } catch (IOException e) {
+            throw new BallerinaException("Error reading JSON: " + e.getMessage());
+        }
+    }
+
+    private static boolean isWhitespace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+
+    private BallerinaException createError(String message) {
+        return new BallerinaException(message + " at line: " + line + " column: " + (column + 1));
+    }
+
+    /**
+     * Represents the position of the reader in the document.
+     */
+    private enum State {
+        INITIAL, FIRST_ELEMENT, ELEMENT, NEXT_ELEMENT, SINGLE_VALUE, END
+    }
+}
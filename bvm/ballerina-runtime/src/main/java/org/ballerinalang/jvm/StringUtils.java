@@ -19,6 +19,7 @@ package org.ballerinalang.jvm;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.BmpStringValue;
 import org.ballerinalang.jvm.values.NonBmpStringValue;
+import org.ballerinalang.jvm.values.RopeStringValue;
 import org.ballerinalang.jvm.values.api.BString;
 
 import java.io.BufferedInputStream;
@@ -28,8 +29,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.ballerinalang.jvm.util.BLangConstants.STRING_LANG_LIB;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.INDEX_OUT_OF_RANGE_ERROR_IDENTIFIER;
@@ -42,6 +41,9 @@ import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.getMod
  */
 public class StringUtils {
 
+    // shorter strings are cheaper to copy right away than to concatenate lazily
+    private static final int ROPE_MIN_CHAR_LENGTH = 256;
+
     /**
      * Check whether two strings are equal in value.
      * 
@@ -120,26 +122,43 @@ public class StringUtils {
     }
 
     public static BString fromString(String s) {
-        List<Integer> highSurrogates = null;
+        int highSurrogateCount = 0;
         for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (Character.isHighSurrogate(c)) {
-                if (highSurrogates == null) {
-                    highSurrogates = new ArrayList<>();
-                }
-                highSurrogates.add(i - highSurrogates.size());
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogateCount++;
             }
         }
-        if (highSurrogates == null) {
+        if (highSurrogateCount == 0) {
             return new BmpStringValue(s);
         }
 
-        int[] highSurrogatesArr = new int[highSurrogates.size()];
-
-        for (int i = 0; i < highSurrogates.size(); i++) {
-            Integer highSurrogate = highSurrogates.get(i);
-            highSurrogatesArr[i] = highSurrogate;
+        int[] highSurrogatesArr = new int[highSurrogateCount];
+        int surrogateIndex = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogatesArr[surrogateIndex] = i - surrogateIndex;
+                surrogateIndex++;
+            }
         }
         return new NonBmpStringValue(s, highSurrogatesArr);
     }
+
+    /**
+     * Concatenates two ballerina strings. Long results are represented as a concatenation of the two strings, so
+     * that their characters are copied only once the result is read.
+     *
+     * @param lhs string on the left hand side
+     * @param rhs string on the right hand side
+     * @return concatenated string
+     */
+    public static BString concat(BString lhs, BString rhs) {
+        int charLength = RopeStringValue.getCharLength(lhs) + RopeStringValue.getCharLength(rhs);
+        if (charLength >= ROPE_MIN_CHAR_LENGTH) {
+            return new RopeStringValue(lhs, rhs, charLength);
+        }
+        if (lhs instanceof BmpStringValue && rhs instanceof BmpStringValue) {
+            return new BmpStringValue(lhs.getValue().concat(rhs.getValue()));
+        }
+        return fromString(lhs.getValue().concat(rhs.getValue()));
+    }
 }
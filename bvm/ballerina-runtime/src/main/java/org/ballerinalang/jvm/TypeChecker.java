@@ -75,6 +75,10 @@ import static org.ballerinalang.jvm.util.BLangConstants.BBYTE_MIN_VALUE;
 @SuppressWarnings({ "rawtypes" })
 public class TypeChecker {
 
+    // must be a power of two
+    private static final int TYPE_CHECK_CACHE_SIZE = 1024;
+    private static final TypeCheckCacheEntry[] TYPE_CHECK_CACHE = new TypeCheckCacheEntry[TYPE_CHECK_CACHE_SIZE];
+
     public static Object checkCast(Object sourceVal, BType targetType) {
 
         if (checkIsType(sourceVal, targetType)) {
@@ -328,7 +332,7 @@ public class TypeChecker {
      */
     public static boolean checkDecimalEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-               lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0;
+               lhsValue.compareValue(rhsValue) == 0;
     }
 
     /**
@@ -367,7 +371,7 @@ public class TypeChecker {
             case ZERO:
             case OTHER:
                 return rhsValue.valueKind == DecimalValueKind.NEGATIVE_INFINITY || (isDecimalRealNumber(rhsValue) &&
-                        lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) > 0);
+                        lhsValue.compareValue(rhsValue) > 0);
             default:
                 return false;
         }
@@ -383,7 +387,7 @@ public class TypeChecker {
     public static boolean checkDecimalGreaterThanOrEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return checkDecimalGreaterThan(lhsValue, rhsValue) ||
                (isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-                lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0);
+                lhsValue.compareValue(rhsValue) == 0);
     }
 
     /**
@@ -503,13 +507,49 @@ public class TypeChecker {
             case TypeTags.HANDLE_TAG:
                 return sourceType.getTag() == TypeTags.HANDLE_TAG;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes != null) {
+                    return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
+                }
+                return checkIsRecursiveTypeCached(sourceType, targetType);
         }
     }
 
     // Private methods
 
+    /**
+     * Check a source type against a structured target type, reusing the outcome of an earlier check of the same
+     * pair of types. Only top level checks are cached, since the outcome of a nested check depends on the pairs
+     * assumed to hold further up in the recursion.
+     *
+     * @param sourceType type to check
+     * @param targetType type to compare with
+     * @return flag indicating whether the source type is a subtype of the target type
+     */
+    private static boolean checkIsRecursiveTypeCached(BType sourceType, BType targetType) {
+        int index = TypeCheckCacheEntry.indexOf(sourceType, targetType);
+        TypeCheckCacheEntry entry = TYPE_CHECK_CACHE[index];
+        if (entry != null && entry.sourceType == sourceType && entry.targetType == targetType) {
+            return entry.result;
+        }
+
+        boolean result = checkIsRecursiveType(sourceType, targetType, new ArrayList<>());
+        // entries are immutable, hence a racing write can only replace one valid entry with another
+        TYPE_CHECK_CACHE[index] = new TypeCheckCacheEntry(sourceType, targetType, result);
+        return result;
+    }
+
+    /**
+     * Check whether the outcome of checking the given pair of types is held in the type check cache.
+     *
+     * @param sourceType type to check
+     * @param targetType type to compare with
+     * @return true if a check of the same pair of types would be answered from the cache
+     */
+    static boolean isTypeCheckCached(BType sourceType, BType targetType) {
+        TypeCheckCacheEntry entry = TYPE_CHECK_CACHE[TypeCheckCacheEntry.indexOf(sourceType, targetType)];
+        return entry != null && entry.sourceType == sourceType && entry.targetType == targetType;
+    }
+
     private static boolean checkIsRecursiveType(BType sourceType, BType targetType, List<TypePair> unresolvedTypes) {
         switch (targetType.getTag()) {
             case TypeTags.MAP_TAG:
@@ -1596,6 +1636,29 @@ public class TypeChecker {
                 isEqual((MapValueImpl) lhsError.getDetails(), (MapValueImpl) rhsError.getDetails(), checkedValues);
     }
 
+    /**
+     * Outcome of a type check between two types, identified by reference. Entries are kept in a fixed size table
+     * indexed by the identity hashes of the two types, where a new entry simply replaces the one in its slot.
+     *
+     * @since 1.2.0
+     */
+    private static class TypeCheckCacheEntry {
+        final BType sourceType;
+        final BType targetType;
+        final boolean result;
+
+        TypeCheckCacheEntry(BType sourceType, BType targetType, boolean result) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.result = result;
+        }
+
+        static int indexOf(BType sourceType, BType targetType) {
+            int hash = 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+            return (hash ^ (hash >>> 16)) & (TYPE_CHECK_CACHE_SIZE - 1);
+        }
+    }
+
     /**
      * Type vector of size two, to hold the source and the target types.
      *
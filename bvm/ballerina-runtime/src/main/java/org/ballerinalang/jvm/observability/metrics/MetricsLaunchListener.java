@@ -25,6 +25,8 @@ import org.ballerinalang.jvm.observability.metrics.noop.NoOpMetricReporter;
 import org.ballerinalang.jvm.observability.metrics.spi.MetricProvider;
 import org.ballerinalang.jvm.observability.metrics.spi.MetricReporter;
 import org.ballerinalang.jvm.observability.tracer.InvalidConfigurationException;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.SchedulerStats;
 
 import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
@@ -112,20 +114,9 @@ public class MetricsLaunchListener implements LaunchListener {
     }
 
     private void registerBallerinaMetrics() {
-//        final BLangScheduler.SchedulerStats schedulerStats = BLangScheduler.getStats();
-//        final String prefix = "ballerina_scheduler_";
-//        PolledGauge.builder(prefix + "ready_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getReadyWorkerCount).register();
-//        PolledGauge.builder(prefix + "running_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getRunningWorkerCount).register();
-//        PolledGauge.builder(prefix + "excepted_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getExceptedWorkerCount).register();
-//        PolledGauge.builder(prefix + "paused_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getPausedWorkerCount).register();
-//        PolledGauge.builder(prefix + "waiting_for_response_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register();
-//        PolledGauge.builder(prefix + "waiting_for_lock_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register();
+        final SchedulerStats schedulerStats = Scheduler.getStats();
+        schedulerStats.enable();
+        schedulerStats.registerMetrics(DefaultMetricRegistry.getInstance());
     }
 
     @Override
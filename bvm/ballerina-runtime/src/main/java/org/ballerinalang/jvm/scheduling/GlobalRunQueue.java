@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Run queue which keeps all runnable items in a single queue shared by every worker thread.
+ *
+ * @since 1.2.0
+ */
+class GlobalRunQueue implements RunQueue {
+
+    private final BlockingQueue<SchedulerItem> runnableList = new LinkedBlockingDeque<>();
+
+    @Override
+    public void register() {
+        // all the workers share the same queue
+    }
+
+    @Override
+    public void spawn(SchedulerItem item) {
+        runnableList.add(item);
+    }
+
+    @Override
+    public void resume(SchedulerItem item) {
+        runnableList.add(item);
+    }
+
+    @Override
+    public void broadcast(SchedulerItem item) {
+        runnableList.add(item);
+    }
+
+    @Override
+    public SchedulerItem take() throws InterruptedException {
+        return runnableList.take();
+    }
+
+    @Override
+    public int size() {
+        return runnableList.size();
+    }
+}
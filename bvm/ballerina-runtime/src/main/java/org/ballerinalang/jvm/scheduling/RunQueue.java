@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+/**
+ * Holds the {@link SchedulerItem}s that are ready to be executed by the {@link Scheduler} worker threads.
+ *
+ * @since 1.2.0
+ */
+interface RunQueue {
+
+    /**
+     * Registers the calling thread as a worker of this queue. Called once by each scheduler thread before it
+     * starts taking items.
+     */
+    void register();
+
+    /**
+     * Adds a newly created strand's item. Implementations may prefer running it next on the current worker.
+     *
+     * @param item item of the newly spawned strand
+     */
+    void spawn(SchedulerItem item);
+
+    /**
+     * Adds an item of a strand which was yielded or unblocked.
+     *
+     * @param item item to be resumed
+     */
+    void resume(SchedulerItem item);
+
+    /**
+     * Adds an item that must be seen by some worker, regardless of the thread which adds it.
+     *
+     * @param item item to be added, e.g. the poison pill
+     */
+    void broadcast(SchedulerItem item);
+
+    /**
+     * Retrieves the next item to be executed by the calling worker, waiting if necessary.
+     *
+     * @return next runnable item
+     * @throws InterruptedException if interrupted while waiting
+     */
+    SchedulerItem take() throws InterruptedException;
+
+    /**
+     * @return approximate number of items waiting to be executed. Queues which run items on threads of their own
+     * also count the items in flight.
+     */
+    int size();
+
+    /**
+     * Releases the resources held by the queue. Called once the scheduler is poisoned and its threads are done
+     * taking items. Items which are still being run are not interrupted.
+     */
+    default void shutdown() {
+        // nothing to release by default
+    }
+}
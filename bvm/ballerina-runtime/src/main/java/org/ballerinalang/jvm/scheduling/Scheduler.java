@@ -16,6 +16,7 @@
  */
 package org.ballerinalang.jvm.scheduling;
 
+import org.ballerinalang.jvm.BLock;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BTypes;
@@ -31,10 +32,9 @@ import org.ballerinalang.jvm.values.connector.CallableUnitCallback;
 import java.io.PrintStream;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -56,20 +56,29 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<SchedulerItem> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
+
+    private static final String VIRTUAL_THREAD_WORKER_NAME = "jbal-strand-virtual";
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
     private AtomicInteger totalStrands = new AtomicInteger();
 
+    private static final SchedulerStats stats = new SchedulerStats(
+            Boolean.parseBoolean(System.getenv(BLangConstants.BALLERINA_SCHEDULER_STATS_ENV_VAR)));
+
     private static String poolSizeConf = System.getenv(BLangConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    private static String modeConf = System.getenv(BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
      */
     private final int numThreads;
 
+    private final SchedulerMode mode;
+
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
     private Semaphore mainBlockSem;
@@ -86,11 +95,58 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.mode = resolveMode(getConfiguredMode());
+        this.runnableList = createRunQueue();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.mode = resolveMode(getConfiguredMode());
+        this.runnableList = createRunQueue();
+    }
+
+    public Scheduler(int numThreads, boolean immortal, SchedulerMode mode) {
+        this.numThreads = numThreads;
+        this.immortal = immortal;
+        this.mode = resolveMode(mode);
+        this.runnableList = createRunQueue();
+    }
+
+    private SchedulerMode getConfiguredMode() {
+        try {
+            return SchedulerMode.fromValue(modeConf);
+        } catch (IllegalArgumentException e) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                    BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", " + e.getMessage());
+            return SchedulerMode.GLOBAL_QUEUE;
+        }
+    }
+
+    private SchedulerMode resolveMode(SchedulerMode mode) {
+        if (mode == SchedulerMode.VIRTUAL_THREAD && !VirtualThreadRunQueue.isSupported()) {
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, " +
+                    "falling back to scheduler mode '" + SchedulerMode.GLOBAL_QUEUE.value() + "'");
+            return SchedulerMode.GLOBAL_QUEUE;
+        }
+        return mode;
+    }
+
+    private RunQueue createRunQueue() {
+        switch (mode) {
+            case WORK_STEALING:
+                return new WorkStealingRunQueue(numThreads);
+            case VIRTUAL_THREAD:
+                return new VirtualThreadRunQueue(this::executeSafely);
+            case GLOBAL_QUEUE:
+            default:
+                return new GlobalRunQueue();
+        }
+    }
+
+    public static SchedulerStats getStats() {
+        return stats;
     }
 
     public static Strand getStrand() {
@@ -146,7 +202,8 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
-        runnableList.add(item);
+        stats.strandCreated(future.strand);
+        runnableList.spawn(item);
         return future;
     }
 
@@ -166,13 +223,16 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(consumer, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
-        runnableList.add(item);
+        stats.strandCreated(future.strand);
+        runnableList.spawn(item);
         return future;
     }
 
     public void start() {
-        this.mainBlockSem = new Semaphore(-(numThreads - 1));
-        for (int i = 0; i < numThreads - 1; i++) {
+        int workerThreads = getWorkerThreadCount();
+        this.mainBlockSem = new Semaphore(-(workerThreads - 1));
+        stats.schedulerStarted(this);
+        for (int i = 0; i < workerThreads - 1; i++) {
             new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
         }
         this.runSafely();
@@ -181,6 +241,8 @@ public class Scheduler {
         } catch (InterruptedException e) {
             RuntimeUtils.printCrashLog(e);
         }
+        runnableList.shutdown();
+        stats.schedulerStopped(this);
     }
 
     /**
@@ -194,10 +256,19 @@ public class Scheduler {
         }
     }
 
+    private void executeSafely(SchedulerItem item) {
+        try {
+            execute(item);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
+
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
     private void run() {
+        runnableList.register();
         while (true) {
             SchedulerItem item;
             try {
@@ -211,74 +282,99 @@ public class Scheduler {
                 break;
             }
 
-            Object result = null;
-            Throwable panic = null;
-            try {
-                strandHolder.get().strand = item.future.strand;
-                result = item.execute();
-            } catch (Throwable e) {
-                panic = createError(e);
-                notifyChannels(item, panic);
-              
-                if (!(panic instanceof ErrorValue)) {
-                    RuntimeUtils.printCrashLog(panic);
-                }
-                // Please refer #18763.
-                // This logs cases where errors have occurred while strand is blocked.
-                if (item.isYielded()) {
-                    RuntimeUtils.printCrashLog(panic);
-                }
-            } finally {
-                strandHolder.get().strand = null;
+            execute(item);
+        }
+    }
+
+    /**
+     * Runs the given item on the calling thread and hands it back based on the state it ended up in.
+     *
+     * @param item item to be executed
+     */
+    private void execute(SchedulerItem item) {
+        Object result = null;
+        Throwable panic = null;
+        StrandHolder holder = strandHolder.get();
+        if (holder.busyTime == null) {
+            holder.busyTime = stats.getWorkerBusyTime(getWorkerName());
+        }
+        AtomicLong busyTime = stats.isEnabled() ? holder.busyTime : null;
+        long startTime = busyTime != null ? System.nanoTime() : 0;
+        try {
+            holder.strand = item.future.strand;
+            result = item.execute();
+        } catch (Throwable e) {
+            panic = createError(e);
+            // a lock handed over to the strand is never taken once it panics, e.g. when resumed after a cancel
+            BLock.releaseHandedOver(item.future.strand);
+            notifyChannels(item, panic);
+
+            if (!(panic instanceof ErrorValue)) {
+                RuntimeUtils.printCrashLog(panic);
+            }
+            // Please refer #18763.
+            // This logs cases where errors have occurred while strand is blocked.
+            if (item.isYielded()) {
+                RuntimeUtils.printCrashLog(panic);
+            }
+        } finally {
+            holder.strand = null;
+            if (busyTime != null) {
+                busyTime.addAndGet(System.nanoTime() - startTime);
             }
+        }
 
-            switch (item.getState()) {
-                case BLOCK_AND_YIELD:
-                    item.future.strand.lock();
+        switch (item.getState()) {
+            case BLOCK_AND_YIELD:
+                synchronized (item.future.strand.stateLock) {
                     // need to recheck due to concurrency, unblockStrand() may have changed state
                     if (item.getState().getStatus() == State.YIELD.getStatus()) {
                         reschedule(item);
-                        item.future.strand.unlock();
-                        break;
-                    }
-                    item.parked = true;
-                    item.future.strand.unlock();
-                    break;
-                case BLOCK_ON_AND_YIELD:
-                    WaitContext waitContext = item.future.strand.waitContext;
-                    waitContext.lock();
-                    waitContext.intermediate = false;
-                    if (waitContext.runnable) {
-                        waitContext.completed = true;
-                        reschedule(item);
+                    } else {
+                        item.parked = true;
+                        stats.strandParked(item);
                     }
-                    waitContext.unLock();
-                    break;
-                case YIELD:
+                }
+                break;
+            case BLOCK_ON_AND_YIELD:
+                WaitContext waitContext = item.future.strand.waitContext;
+                waitContext.lock();
+                waitContext.intermediate = false;
+                if (waitContext.runnable) {
+                    waitContext.completed = true;
                     reschedule(item);
-                    break;
-                case RUNNABLE:
-                    item.future.result = result;
-                    item.future.isDone = true;
-                    item.future.panic = panic;
-                    // TODO clean, better move it to future value itself
-                    if (item.future.callback != null) {
-                        if (item.future.panic != null) {
-                            item.future.callback.notifyFailure(BallerinaErrors.createError(panic));
-                            if (item.future.strand.transactionLocalContext != null) {
-                                item.future.strand.transactionLocalContext.notifyLocalRemoteParticipantFailure();
-                            }
-                        } else {
-                            item.future.callback.notifySuccess();
+                } else {
+                    stats.strandWaiting(item);
+                }
+                waitContext.unLock();
+                break;
+            case YIELD:
+                reschedule(item);
+                break;
+            case RUNNABLE:
+                item.future.result = result;
+                item.future.isDone = true;
+                item.future.panic = panic;
+                // TODO clean, better move it to future value itself
+                if (item.future.callback != null) {
+                    if (item.future.panic != null) {
+                        item.future.callback.notifyFailure(BallerinaErrors.createError(panic));
+                        if (item.future.strand.transactionLocalContext != null) {
+                            item.future.strand.transactionLocalContext.notifyLocalRemoteParticipantFailure();
                         }
+                    } else {
+                        item.future.callback.notifySuccess();
                     }
+                }
 
-                    Strand justCompleted = item.future.strand;
-                    assert !justCompleted.getState().equals(State.DONE) : "Can't be completed twice";
-
-                    justCompleted.setState(State.DONE);
+                Strand justCompleted = item.future.strand;
+                assert !justCompleted.getState().equals(State.DONE) : "Can't be completed twice";
 
+                justCompleted.setState(State.DONE);
+                stats.strandCompleted(justCompleted);
 
+                // waiting contexts are only created when some other strand waits on this one
+                if (justCompleted.waitingContexts != null) {
                     for (WaitContext ctx : justCompleted.waitingContexts) {
                         ctx.lock();
                         if (!ctx.completed) {
@@ -287,30 +383,30 @@ public class Scheduler {
                                     ctx.runnable = true;
                                 } else {
                                     ctx.completed = true;
+                                    stats.strandWaitCompleted(ctx.schedulerItem);
                                     reschedule(ctx.schedulerItem);
                                 }
                             }
                         }
                         ctx.unLock();
                     }
+                }
 
-                    cleanUp(justCompleted);
+                cleanUp(justCompleted);
 
-                    int strandsLeft = totalStrands.decrementAndGet();
-                    if (strandsLeft == 0) {
-                        // (number of started stands - finished stands) = 0, all the work is done
-                        assert runnableList.size() == 0;
+                int strandsLeft = totalStrands.decrementAndGet();
+                if (strandsLeft == 0) {
+                    // (number of started stands - finished stands) = 0, all the work is done. Virtual threads
+                    // count themselves until they return, including the one running this item.
+                    assert mode == SchedulerMode.VIRTUAL_THREAD || runnableList.size() == 0;
 
-                        if (!immortal) {
-                            for (int i = 0; i < numThreads; i++) {
-                                runnableList.add(POISON_PILL);
-                            }
-                        }
+                    if (!immortal) {
+                        poison();
                     }
-                    break;
-                default:
-                    assert false : "illegal strand state during execute " + item.getState();
-            }
+                }
+                break;
+            default:
+                assert false : "illegal strand state during execute " + item.getState();
         }
     }
 
@@ -324,27 +420,61 @@ public class Scheduler {
     }
 
     public void unblockStrand(Strand strand) {
-        strand.lock();
-        if (strand.schedulerItem.parked) {
-            strand.schedulerItem.parked = false;
-            reschedule(strand.schedulerItem);
-        } else {
-            // item not returned to scheduler, yet.
-            // scheduler will simply reschedule since this is already unlocked.
-            strand.setState(State.YIELD);
+        synchronized (strand.stateLock) {
+            if (strand.schedulerItem.parked) {
+                strand.schedulerItem.parked = false;
+                stats.strandUnparked(strand.schedulerItem);
+                reschedule(strand.schedulerItem);
+            } else {
+                // item not returned to scheduler, yet.
+                // scheduler will simply reschedule since this is already unlocked.
+                strand.setState(State.YIELD);
+            }
         }
-        strand.unlock();
     }
 
     private void cleanUp(Strand justCompleted) {
+        recycleFrames(justCompleted);
         justCompleted.scheduler = null;
         justCompleted.frames = null;
         justCompleted.waitingContexts = null;
         //TODO: more cleanup , eg channels
     }
 
+    /**
+     * Returns a frame stack for a strand which yields for the first time, reusing the stack of a strand which
+     * completed on the current thread if there is one.
+     *
+     * @return empty frame stack
+     */
+    static Object[] borrowFrames() {
+        StrandHolder holder = strandHolder.get();
+        Object[] frames = holder.spareFrames;
+        if (frames == null) {
+            return new Object[Strand.INITIAL_FRAME_CAPACITY];
+        }
+        holder.spareFrames = null;
+        return frames;
+    }
+
+    private void recycleFrames(Strand justCompleted) {
+        if (mode == SchedulerMode.VIRTUAL_THREAD) {
+            // a virtual thread ends after running a single item, so a spare stack would never be borrowed
+            return;
+        }
+        Object[] frames = justCompleted.frames;
+        // all the frames of a normally completed strand are already popped, hence the stack is empty
+        if (frames == null || justCompleted.resumeIndex != 0 || frames.length > Strand.MAX_RECYCLED_FRAME_CAPACITY) {
+            return;
+        }
+        strandHolder.get().spareFrames = frames;
+    }
+
     private void notifyChannels(SchedulerItem item, Throwable panic) {
         Set<ChannelDetails> channels = item.future.strand.channelDetails;
+        if (channels == null) {
+            return;
+        }
 
         for (ChannelDetails details: channels) {
             WorkerDataChannel wdChannel;
@@ -367,7 +497,7 @@ public class Scheduler {
             if (!item.getState().equals(State.RUNNABLE)) {
                 // release if the same strand is waiting for others as well (wait multiple)
                 item.setState(State.RUNNABLE);
-                runnableList.add(item);
+                runnableList.resume(item);
             }
     }
 
@@ -377,14 +507,37 @@ public class Scheduler {
         if (parent != null) {
             newStrand.observerContext = parent.observerContext;
         }
-        FutureValue future = new FutureValue(newStrand, callback, constraint);
-        future.strand.frames = new Object[100];
-        return future;
+        return new FutureValue(newStrand, callback, constraint);
+    }
+
+    /**
+     * Returns the number of threads which take items from the run queue, each of which needs a poison pill to stop.
+     * With virtual threads only the thread running {@link #start()} takes items, waiting for the scheduler to be
+     * poisoned.
+     *
+     * @return number of threads taking items from the run queue
+     */
+    private int getWorkerThreadCount() {
+        return mode == SchedulerMode.VIRTUAL_THREAD ? 1 : numThreads;
+    }
+
+    /**
+     * Virtual threads are unnamed and short lived, hence their busy time is reported as a single worker.
+     *
+     * @return name of the worker to report the busy time of the current thread under
+     */
+    private String getWorkerName() {
+        return mode == SchedulerMode.VIRTUAL_THREAD ? VIRTUAL_THREAD_WORKER_NAME :
+                Thread.currentThread().getName();
+    }
+
+    int getRunnableQueueLength() {
+        return runnableList.size();
     }
 
     public void poison() {
-        for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
+        for (int i = 0; i < getWorkerThreadCount(); i++) {
+            runnableList.broadcast(POISON_PILL);
         }
     }
 }
@@ -399,6 +552,12 @@ class SchedulerItem {
     private Object[] params;
     final FutureValue future;
     boolean parked;
+    long parkedTime;
+    /**
+     * Epochs of the scheduler statistics the strand is counted as parked and as waiting in, or 0 if it is not.
+     */
+    int parkedEpoch;
+    int waitingEpoch;
 
     public static final SchedulerItem POISON_PILL = new SchedulerItem();
 
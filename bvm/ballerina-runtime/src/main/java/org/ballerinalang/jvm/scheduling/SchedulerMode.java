@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+/**
+ * Strategies the {@link Scheduler} can use to hand runnable strands to its worker threads.
+ *
+ * @since 1.2.0
+ */
+public enum SchedulerMode {
+
+    /**
+     * All the workers take from a single shared queue.
+     */
+    GLOBAL_QUEUE("global"),
+
+    /**
+     * Each worker has its own deque and idle workers steal from the others.
+     */
+    WORK_STEALING("work-stealing"),
+
+    /**
+     * Each runnable strand is executed on its own virtual thread. Requires a Java runtime with virtual thread
+     * support, otherwise the scheduler falls back to {@link #GLOBAL_QUEUE}.
+     */
+    VIRTUAL_THREAD("virtual");
+
+    private final String value;
+
+    SchedulerMode(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    /**
+     * Resolves the mode from its configuration value.
+     *
+     * @param value configured value, may be null
+     * @return matching mode, or {@link #GLOBAL_QUEUE} if the value is not set
+     */
+    public static SchedulerMode fromValue(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return GLOBAL_QUEUE;
+        }
+        for (SchedulerMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unknown scheduler mode '" + value + "'");
+    }
+}
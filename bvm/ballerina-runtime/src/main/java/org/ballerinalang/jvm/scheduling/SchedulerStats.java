@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.ballerinalang.jvm.observability.metrics.AbstractMetric;
+import org.ballerinalang.jvm.observability.metrics.Counter;
+import org.ballerinalang.jvm.observability.metrics.DefaultMetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.MetricId;
+import org.ballerinalang.jvm.observability.metrics.MetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.PolledGauge;
+import org.ballerinalang.jvm.observability.metrics.Tag;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics of all the {@link Scheduler}s in the runtime. Nothing is collected until the statistics
+ * are enabled, either by the metrics launch listener or by the BALLERINA_SCHEDULER_STATS environment variable.
+ * <p>
+ * Only strands created after the statistics are enabled are counted, so that enabling them on a running program
+ * keeps the counts consistent. The live strands themselves are only tracked for the strand dump if the environment
+ * variable is set or {@link #enableStrandTracking()} is called, since tracking them adds a shared set update to every
+ * strand creation and completion. Enabling metrics alone does not track them.
+ * <p>
+ * Each time the statistics are disabled a new epoch starts. Strands record the epoch they are counted in, so that
+ * the events of strands counted before the statistics were disabled are not counted once they are enabled again.
+ *
+ * @since 1.2.0
+ */
+public class SchedulerStats {
+
+    public static final String METRIC_PREFIX = "ballerina_scheduler_";
+    private static final String WORKER_TAG = "worker";
+
+    private volatile boolean enabled;
+    private volatile boolean trackStrands;
+    private volatile int epoch = 1;
+
+    private final Set<Scheduler> schedulers = ConcurrentHashMap.newKeySet();
+    private final Set<Strand> liveStrands = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> workerBusyTimes = new ConcurrentHashMap<>();
+
+    private final TotalCounter createdStrands = new TotalCounter("created_strands_total", "Strands created");
+    private final TotalCounter completedStrands = new TotalCounter("completed_strands_total", "Strands completed");
+    private final TotalCounter blockedTime = new TotalCounter("blocked_time_nanoseconds_total",
+            "Time strands spent blocked and yielded");
+    private final TotalCounter steals = new TotalCounter("steals_total", "Strands stolen by idle workers");
+    private final LongAdder parkedStrands = new LongAdder();
+    private final LongAdder waitingStrands = new LongAdder();
+
+    /**
+     * @param trackStrands whether to enable the statistics right away, tracking the live strands as well
+     */
+    SchedulerStats(boolean trackStrands) {
+        this.enabled = trackStrands;
+        this.trackStrands = trackStrands;
+    }
+
+    public void enable() {
+        this.enabled = true;
+    }
+
+    /**
+     * Enables the statistics along with the tracking of the live strands. Only strands created from then on are
+     * listed in the strand dump.
+     */
+    public void enableStrandTracking() {
+        this.trackStrands = true;
+        this.enabled = true;
+    }
+
+    /**
+     * Disables the statistics and the tracking of the live strands, and clears what was collected so far. Metrics
+     * registered earlier stay registered.
+     */
+    public synchronized void disable() {
+        this.enabled = false;
+        this.trackStrands = false;
+        this.epoch++;
+        liveStrands.clear();
+        createdStrands.reset();
+        completedStrands.reset();
+        blockedTime.reset();
+        steals.reset();
+        parkedStrands.reset();
+        waitingStrands.reset();
+        for (AtomicLong busyTime : workerBusyTimes.values()) {
+            busyTime.set(0);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers the scheduler statistics with the given registry. Totals are registered as counters and the
+     * current counts as gauges.
+     *
+     * @param registry metric registry to register with
+     */
+    public void registerMetrics(MetricRegistry registry) {
+        registry.register(createdStrands);
+        registry.register(completedStrands);
+        registry.register(blockedTime);
+        registry.register(steals);
+        registry.polledGauge(createMetricId("runnable_queue_length", "Strands waiting to be executed"), this,
+                SchedulerStats::getRunnableQueueLength);
+        registry.polledGauge(createMetricId("live_strand_count", "Strands created but not completed"), this,
+                SchedulerStats::getLiveStrandCount);
+        registry.polledGauge(createMetricId("parked_strand_count", "Strands blocked and yielded"), this,
+                SchedulerStats::getParkedStrandCount);
+        registry.polledGauge(createMetricId("waiting_strand_count", "Strands yielded on a wait action"), this,
+                SchedulerStats::getWaitingStrandCount);
+    }
+
+    void schedulerStarted(Scheduler scheduler) {
+        if (enabled) {
+            schedulers.add(scheduler);
+        }
+    }
+
+    void schedulerStopped(Scheduler scheduler) {
+        schedulers.remove(scheduler);
+    }
+
+    void strandCreated(Strand strand) {
+        if (enabled) {
+            strand.statsEpoch = epoch;
+            createdStrands.increment();
+            if (trackStrands) {
+                liveStrands.add(strand);
+            }
+        }
+    }
+
+    void strandCompleted(Strand strand) {
+        if (strand.statsEpoch == epoch) {
+            completedStrands.increment();
+            if (trackStrands) {
+                liveStrands.remove(strand);
+            }
+        }
+    }
+
+    void strandParked(SchedulerItem item) {
+        if (enabled) {
+            parkedStrands.increment();
+            item.parkedEpoch = epoch;
+            item.parkedTime = System.nanoTime();
+        }
+    }
+
+    void strandUnparked(SchedulerItem item) {
+        if (item.parkedEpoch != 0) {
+            if (item.parkedEpoch == epoch) {
+                parkedStrands.decrement();
+                blockedTime.increment(System.nanoTime() - item.parkedTime);
+            }
+            item.parkedEpoch = 0;
+        }
+    }
+
+    void strandWaiting(SchedulerItem item) {
+        if (enabled) {
+            waitingStrands.increment();
+            item.waitingEpoch = epoch;
+        }
+    }
+
+    void strandWaitCompleted(SchedulerItem item) {
+        if (item.waitingEpoch != 0) {
+            if (item.waitingEpoch == epoch) {
+                waitingStrands.decrement();
+            }
+            item.waitingEpoch = 0;
+        }
+    }
+
+    void itemStolen() {
+        if (enabled) {
+            steals.increment();
+        }
+    }
+
+    /**
+     * Returns the busy time counter of the given worker, registering it as a metric the first time.
+     *
+     * @param workerName name of the worker
+     * @return busy time of the worker in nanoseconds, or null if the statistics are disabled
+     */
+    AtomicLong getWorkerBusyTime(String workerName) {
+        if (!enabled) {
+            return null;
+        }
+        AtomicLong busyTime = workerBusyTimes.get(workerName);
+        if (busyTime != null) {
+            return busyTime;
+        }
+        busyTime = new AtomicLong();
+        AtomicLong existing = workerBusyTimes.putIfAbsent(workerName, busyTime);
+        if (existing != null) {
+            return existing;
+        }
+        if (DefaultMetricRegistry.getInstance() != null) {
+            PolledGauge.builder(METRIC_PREFIX + "worker_busy_time_nanoseconds", busyTime, AtomicLong::get)
+                    .description("Time spent by the scheduler worker executing strands")
+                    .tag(WORKER_TAG, workerName)
+                    .register();
+        }
+        return busyTime;
+    }
+
+    public long getRunnableQueueLength() {
+        long length = 0;
+        for (Scheduler scheduler : schedulers) {
+            length += scheduler.getRunnableQueueLength();
+        }
+        return length;
+    }
+
+    public long getCreatedStrandCount() {
+        return createdStrands.getValue();
+    }
+
+    public long getCompletedStrandCount() {
+        return completedStrands.getValue();
+    }
+
+    public long getLiveStrandCount() {
+        // a strand is only counted as completed if its creation was counted
+        return getCreatedStrandCount() - getCompletedStrandCount();
+    }
+
+    public long getParkedStrandCount() {
+        return parkedStrands.sum();
+    }
+
+    public long getWaitingStrandCount() {
+        return waitingStrands.sum();
+    }
+
+    public long getBlockedTime() {
+        return blockedTime.getValue();
+    }
+
+    public long getStealCount() {
+        return steals.getValue();
+    }
+
+    /**
+     * Creates a textual dump of the scheduler statistics and, if they are tracked, of each live strand.
+     *
+     * @return strand dump
+     */
+    public String getStrandDump() {
+        if (!enabled) {
+            return "Scheduler statistics are not enabled. Enable metrics or set the BALLERINA_SCHEDULER_STATS " +
+                    "environment variable to true.";
+        }
+        StringBuilder dump = new StringBuilder();
+        dump.append("Scheduler statistics:\n")
+                .append("\trunnable queue length: ").append(getRunnableQueueLength()).append('\n')
+                .append("\tlive strands: ").append(getLiveStrandCount()).append('\n')
+                .append("\tcreated strands: ").append(getCreatedStrandCount()).append('\n')
+                .append("\tcompleted strands: ").append(getCompletedStrandCount()).append('\n')
+                .append("\tparked strands: ").append(getParkedStrandCount()).append('\n')
+                .append("\twaiting strands: ").append(getWaitingStrandCount()).append('\n')
+                .append("\ttime blocked (ns): ").append(getBlockedTime()).append('\n')
+                .append("\tsteals: ").append(getStealCount()).append('\n');
+        for (Map.Entry<String, AtomicLong> worker : workerBusyTimes.entrySet()) {
+            dump.append("\tbusy time of ").append(worker.getKey()).append(" (ns): ")
+                    .append(worker.getValue().get()).append('\n');
+        }
+
+        if (!trackStrands) {
+            dump.append("Set the BALLERINA_SCHEDULER_STATS environment variable to true to list the live strands.\n");
+            return dump.toString();
+        }
+        dump.append("Live strands:\n");
+        for (Strand strand : liveStrands) {
+            dump.append("\tstrand ").append(strand.hashCode())
+                    .append(" [").append(strand.getState()).append(']');
+            if (strand.parent != null) {
+                dump.append(" parent ").append(strand.parent.hashCode());
+            }
+            synchronized (strand.stateLock) {
+                if (strand.waitingContexts != null && !strand.waitingContexts.isEmpty()) {
+                    dump.append(" waited on by");
+                    for (WaitContext ctx : strand.waitingContexts) {
+                        dump.append(' ').append(ctx.schedulerItem);
+                    }
+                }
+            }
+            dump.append('\n');
+        }
+        return dump.toString();
+    }
+
+    private static MetricId createMetricId(String name, String description) {
+        return new MetricId(METRIC_PREFIX + name, description, Collections.<Tag>emptySet());
+    }
+
+    /**
+     * Monotonic total of the scheduler, registered as a {@link Counter} so that its rate can be computed.
+     */
+    private static class TotalCounter extends AbstractMetric implements Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        TotalCounter(String name, String description) {
+            super(createMetricId(name, description));
+        }
+
+        @Override
+        public void reset() {
+            count.reset();
+        }
+
+        @Override
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public void increment(long amount) {
+            count.add(amount);
+        }
+
+        @Override
+        public long getValue() {
+            return count.sum();
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.jvm.scheduling;
 
+import org.ballerinalang.jvm.BLock;
 import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.observability.ObserverContext;
 import org.ballerinalang.jvm.transactions.TransactionLocalContext;
@@ -27,6 +28,7 @@ import org.ballerinalang.jvm.values.FutureValue;
 import org.ballerinalang.jvm.values.MapValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +50,16 @@ import static org.ballerinalang.jvm.scheduling.State.YIELD;
 
 public class Strand {
 
+    /**
+     * Initial size of the frame stack. The stack is only allocated once the strand yields and grows on demand.
+     */
+    static final int INITIAL_FRAME_CAPACITY = 8;
+
+    /**
+     * Frame stacks larger than this are not recycled when the strand completes.
+     */
+    static final int MAX_RECYCLED_FRAME_CAPACITY = 64;
+
     public Object[] frames;
     public int resumeIndex;
     public Object returnValue;
@@ -57,35 +69,72 @@ public class Strand {
     public FlushDetail flushDetail;
     public boolean blockedOnExtern;
     public Set<ChannelDetails> channelDetails;
-    public Set<SchedulerItem> dependants;
     public ObserverContext observerContext;
     public boolean cancel;
+    /**
+     * Lock handed over to the strand while it was queued for it, until the strand resumes and takes it.
+     */
+    public BLock handedOverLock;
 
     SchedulerItem schedulerItem;
+    /**
+     * Epoch of the scheduler statistics the strand was counted in when it was created, or 0 if it is not counted.
+     */
+    int statsEpoch;
+    /**
+     * Wait contexts of the strands waiting on this strand. Created on the first wait, guarded by the state lock.
+     */
     List<WaitContext> waitingContexts;
     WaitContext waitContext;
 
     private Map<String, Object> globalProps;
     public TransactionLocalContext transactionLocalContext;
+    /**
+     * Current state of the strand. Changes are made holding the state lock, which is also used to serialise
+     * waiters against the completion of the strand.
+     */
     private State state;
-    private final ReentrantLock strandLock;
-
+    /**
+     * Guards the state of the strand. Kept private to the scheduler, since the strand itself is reachable from
+     * generated and native code which could otherwise synchronize on it.
+     */
+    final Object stateLock = new Object();
 
     public Strand(Scheduler scheduler) {
         this.scheduler = scheduler;
         this.wdChannels = new WDChannels();
-        this.channelDetails = new HashSet<>();
-        this.globalProps = new HashMap<>();
         this.state = RUNNABLE;
-        this.dependants = new HashSet<>();
-        this.strandLock = new ReentrantLock();
-        this.waitingContexts = new ArrayList<>();
     }
 
     public Strand(Scheduler scheduler, Strand parent, Map<String, Object> properties) {
         this(scheduler);
         this.parent = parent;
-        this.globalProps = properties != null ? properties : new HashMap<>();
+        this.globalProps = properties;
+    }
+
+    /**
+     * Pushes the frame of a yielding function to the frame stack, growing the stack if needed.
+     *
+     * @param frame frame of the yielding function
+     */
+    public void pushFrame(Object frame) {
+        if (this.frames == null) {
+            this.frames = Scheduler.borrowFrames();
+        } else if (this.resumeIndex == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.frames.length << 1);
+        }
+        this.frames[this.resumeIndex++] = frame;
+    }
+
+    /**
+     * Pops the frame of the function being resumed.
+     *
+     * @return frame of the resumed function
+     */
+    public Object popFrame() {
+        Object frame = this.frames[--this.resumeIndex];
+        this.frames[this.resumeIndex] = null;
+        return frame;
     }
 
     public void handleChannelError(ChannelDetails[] channels, ErrorValue error) {
@@ -106,10 +155,16 @@ public class Strand {
     }
 
     public Object getProperty(String key) {
+        if (this.globalProps == null) {
+            return null;
+        }
         return this.globalProps.get(key);
     }
 
     public void setProperty(String key, Object value) {
+        if (this.globalProps == null) {
+            this.globalProps = new HashMap<>();
+        }
         this.globalProps.put(key, value);
     }
 
@@ -177,23 +232,22 @@ public class Strand {
         for (Map.Entry<String, FutureValue> entry : keyValues.entrySet()) {
             FutureValue future = entry.getValue();
             // need to lock the future's strand since we cannot have a parallel state change
-            future.strand.lock();
-            if (future.isDone) {
-                if (future.panic != null) {
-                    ctx.completed = true;
-                    ctx.waitCount.set(0);
-                    this.setState(RUNNABLE);
-                    future.strand.unlock();
-                    ctx.unLock();
-                    throw future.panic;
+            synchronized (future.strand.stateLock) {
+                if (future.isDone) {
+                    if (future.panic != null) {
+                        ctx.completed = true;
+                        ctx.waitCount.set(0);
+                        this.setState(RUNNABLE);
+                        ctx.unLock();
+                        throw future.panic;
+                    }
+                    ctx.waitCount.decrementAndGet();
+                    target.put(entry.getKey(), future.result);
+                } else {
+                    this.setState(BLOCK_ON_AND_YIELD);
+                    future.strand.addWaitingContext(ctx);
                 }
-                ctx.waitCount.decrementAndGet();
-                target.put(entry.getKey(), future.result);
-            } else {
-                this.setState(BLOCK_ON_AND_YIELD);
-                entry.getValue().strand.waitingContexts.add(ctx);
             }
-            future.strand.unlock();
         }
         if (!this.isBlocked()) {
             ctx.waitCount.set(0);
@@ -213,8 +267,7 @@ public class Strand {
         Object error = null;
         for (FutureValue future : futures) {
             // need to lock the future's strand since we cannot have a parallel state change
-            try {
-                future.strand.lock();
+            synchronized (future.strand.stateLock) {
                 if (future.isDone) {
                     if (future.panic != null) {
                         ctx.completed = true;
@@ -231,10 +284,8 @@ public class Strand {
                     waitResult = new WaitResult(true, future.result);
                     break;
                 } else {
-                    future.strand.waitingContexts.add(ctx);
+                    future.strand.addWaitingContext(ctx);
                 }
-            } finally {
-                future.strand.unlock();
             }
         }
 
@@ -253,7 +304,17 @@ public class Strand {
         return waitResult;
     }
 
+    private void addWaitingContext(WaitContext ctx) {
+        if (this.waitingContexts == null) {
+            this.waitingContexts = new ArrayList<>();
+        }
+        this.waitingContexts.add(ctx);
+    }
+
     public void updateChannelDetails(ChannelDetails[] channels) {
+        if (this.channelDetails == null) {
+            this.channelDetails = new HashSet<>();
+        }
         for (ChannelDetails channel: channels) {
             this.channelDetails.add(channel);
         }
@@ -270,9 +331,9 @@ public class Strand {
     }
 
     public void setState(State state) {
-        this.lock();
-        this.state = state;
-        this.unlock();
+        synchronized (this.stateLock) {
+            this.state = state;
+        }
     }
 
     public State getState() {
@@ -295,14 +356,6 @@ public class Strand {
         return blockedOnExtern;
     }
 
-    public void lock() {
-        this.strandLock.lock();
-    }
-
-    public void unlock() {
-        this.strandLock.unlock();
-    }
-
     /**
      * Class to hold flush action related details.
      *
@@ -16,6 +16,8 @@
  */
 package org.ballerinalang.jvm.scheduling;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Keeps a volatile reference to strand. only to be used from the Scheduler.
  *
@@ -23,4 +25,12 @@ package org.ballerinalang.jvm.scheduling;
  */
 class StrandHolder {
     Strand strand;
+    /**
+     * Frame stack of a strand which completed on this thread, to be reused by the next strand that yields.
+     */
+    Object[] spareFrames;
+    /**
+     * Time this thread spent executing strands, only available if the scheduler statistics are enabled.
+     */
+    AtomicLong busyTime;
 }
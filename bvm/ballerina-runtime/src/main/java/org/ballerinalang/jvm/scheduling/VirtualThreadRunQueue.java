@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Run queue which does not queue strands at all, but runs each item on its own virtual thread as soon as it becomes
+ * runnable. A strand that blocks on a lock, a worker channel or a wait still yields back to the scheduler, which
+ * ends the virtual thread, and unblocking the strand starts a new one. Blocking calls made inside a strand (e.g. Java
+ * interop calls doing I/O) only block that virtual thread instead of a scheduler worker.
+ * <p>
+ * Virtual threads are looked up reflectively since the runtime is compiled against Java 8. Use
+ * {@link #isSupported()} before creating an instance.
+ *
+ * @since 1.2.0
+ */
+class VirtualThreadRunQueue implements RunQueue {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutor();
+
+    private final ExecutorService executor;
+    private final Consumer<SchedulerItem> dispatcher;
+    /**
+     * Items which need to be seen by the thread running {@link Scheduler#start()}.
+     */
+    private final BlockingQueue<SchedulerItem> broadcastList = new LinkedBlockingQueue<>();
+    /**
+     * Items which are dispatched but not yet completed, including the ones being run.
+     */
+    private final AtomicInteger pendingItems = new AtomicInteger();
+
+    VirtualThreadRunQueue(Consumer<SchedulerItem> dispatcher) {
+        this(dispatcher, createVirtualThreadExecutor());
+    }
+
+    VirtualThreadRunQueue(Consumer<SchedulerItem> dispatcher, ExecutorService executor) {
+        this.dispatcher = dispatcher;
+        this.executor = executor;
+    }
+
+    static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    @Override
+    public void register() {
+        // items are not taken by the scheduler threads
+    }
+
+    @Override
+    public void spawn(SchedulerItem item) {
+        dispatch(item);
+    }
+
+    @Override
+    public void resume(SchedulerItem item) {
+        dispatch(item);
+    }
+
+    @Override
+    public void broadcast(SchedulerItem item) {
+        broadcastList.add(item);
+    }
+
+    @Override
+    public SchedulerItem take() throws InterruptedException {
+        return broadcastList.take();
+    }
+
+    @Override
+    public int size() {
+        return pendingItems.get();
+    }
+
+    @Override
+    public void shutdown() {
+        // the virtual thread which ran the last strand may still be returning, hence it is not waited for
+        executor.shutdown();
+    }
+
+    private void dispatch(SchedulerItem item) {
+        pendingItems.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                dispatcher.accept(item);
+            } finally {
+                pendingItems.decrementAndGet();
+            }
+        });
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("unable to create virtual thread executor", e);
+        }
+    }
+
+    private static Method lookupVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Run queue which gives each worker thread its own deque. A worker pushes the strands it spawns to the head of its
+ * own deque and runs them LIFO, while idle workers steal from the tail of other deques. Strands resumed by a worker
+ * go to the tail of its deque, and the worker takes one from there every {@link #RESUMED_POLL_INTERVAL} polls, so
+ * that a worker which keeps spawning strands does not starve the resumed ones. Items added from threads which are
+ * not workers of this queue (e.g. transport threads unblocking a strand) go to a shared injection queue.
+ *
+ * @since 1.2.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    /**
+     * Upper bound for an idle worker to stay parked. Wake ups are signalled explicitly, this only guards the
+     * worker against staying parked forever.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Number of polls of its own deque after which a worker takes from the tail of the deque instead of the head.
+     */
+    static final int RESUMED_POLL_INTERVAL = 32;
+
+    private final int numWorkers;
+    private final ConcurrentLinkedDeque<SchedulerItem>[] localQueues;
+    /**
+     * Number of polls each worker made on its own deque. Only accessed by the worker itself.
+     */
+    private final int[] localPolls;
+    private final ConcurrentLinkedQueue<SchedulerItem> injectQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Thread> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registeredWorkers = new AtomicInteger();
+    private final ThreadLocal<Integer> workerIndex = ThreadLocal.withInitial(() -> -1);
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunQueue(int numWorkers) {
+        this.numWorkers = numWorkers;
+        this.localQueues = new ConcurrentLinkedDeque[numWorkers];
+        this.localPolls = new int[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void register() {
+        int index = registeredWorkers.getAndIncrement();
+        if (index < numWorkers) {
+            workerIndex.set(index);
+        }
+    }
+
+    @Override
+    public void spawn(SchedulerItem item) {
+        int index = workerIndex.get();
+        if (index < 0) {
+            injectQueue.add(item);
+        } else {
+            localQueues[index].addFirst(item);
+        }
+        signalIdleWorker();
+    }
+
+    @Override
+    public void resume(SchedulerItem item) {
+        int index = workerIndex.get();
+        if (index < 0) {
+            injectQueue.add(item);
+        } else {
+            localQueues[index].addLast(item);
+        }
+        signalIdleWorker();
+    }
+
+    @Override
+    public void broadcast(SchedulerItem item) {
+        injectQueue.add(item);
+        signalIdleWorker();
+    }
+
+    @Override
+    public SchedulerItem take() throws InterruptedException {
+        Thread current = Thread.currentThread();
+        while (true) {
+            SchedulerItem item = poll();
+            if (item != null) {
+                return item;
+            }
+
+            // register as idle before re-checking, so that an item added concurrently either is seen by the
+            // re-check or its producer sees this worker as idle and unparks it
+            idleWorkers.add(current);
+            item = poll();
+            if (item != null) {
+                idleWorkers.remove(current);
+                return item;
+            }
+
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            idleWorkers.remove(current);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = injectQueue.size();
+        for (ConcurrentLinkedDeque<SchedulerItem> localQueue : localQueues) {
+            size += localQueue.size();
+        }
+        return size;
+    }
+
+    private SchedulerItem poll() {
+        int index = workerIndex.get();
+        SchedulerItem item;
+        if (index >= 0) {
+            item = pollLocal(index);
+            if (item != null) {
+                return item;
+            }
+        }
+
+        item = injectQueue.poll();
+        if (item != null) {
+            return item;
+        }
+
+        // steal the oldest item of some other worker, starting from the next worker to spread the contention
+        for (int i = 1; i <= numWorkers; i++) {
+            int victim = (index + i) % numWorkers;
+            if (victim < 0) {
+                victim += numWorkers;
+            }
+            item = localQueues[victim].pollLast();
+            if (item != null) {
+                Scheduler.getStats().itemStolen();
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private SchedulerItem pollLocal(int index) {
+        ConcurrentLinkedDeque<SchedulerItem> localQueue = localQueues[index];
+        if (++localPolls[index] % RESUMED_POLL_INTERVAL == 0) {
+            return localQueue.pollLast();
+        }
+        return localQueue.pollFirst();
+    }
+
+    private void signalIdleWorker() {
+        if (idleWorkers.isEmpty()) {
+            return;
+        }
+        Thread idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+    }
+}
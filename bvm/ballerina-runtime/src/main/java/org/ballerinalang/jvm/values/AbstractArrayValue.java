@@ -38,6 +38,7 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static org.ballerinalang.jvm.util.BLangConstants.ARRAY_LANG_LIB;
 
@@ -55,6 +56,8 @@ public abstract class AbstractArrayValue implements ArrayValue {
 
     static final int SYSTEM_ARRAY_MAX = Integer.MAX_VALUE - 8;
     protected volatile Status freezeStatus = new Status(State.UNFROZEN);
+    private static final AtomicReferenceFieldUpdater<AbstractArrayValue, Status> FREEZE_STATUS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractArrayValue.class, Status.class, "freezeStatus");
 
     /**
      * The maximum size of arrays to allocate.
@@ -310,7 +313,7 @@ public abstract class AbstractArrayValue implements ArrayValue {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isFrozen() {
+    public boolean isFrozen() {
         return this.freezeStatus.isFrozen();
     }
 
@@ -382,15 +385,26 @@ public abstract class AbstractArrayValue implements ArrayValue {
      * Util method to handle frozen array values.
      */
     protected void handleFrozenArrayValue() {
-        synchronized (this) {
-            try {
-                if (this.freezeStatus.getState() != State.UNFROZEN) {
-                    FreezeUtils.handleInvalidUpdate(freezeStatus.getState(), ARRAY_LANG_LIB);
-                }
-            } catch (BLangFreezeException e) {
-                throw BallerinaErrors.createError(e.getMessage(), e.getDetail());
-            }
+        State state = this.freezeStatus.getState();
+        if (state == State.UNFROZEN) {
+            return;
         }
+        try {
+            FreezeUtils.handleInvalidUpdate(state, ARRAY_LANG_LIB);
+        } catch (BLangFreezeException e) {
+            throw BallerinaErrors.createError(e.getMessage(), e.getDetail());
+        }
+    }
+
+    /**
+     * Util method to make this array part of a new freeze attempt, without locking the array.
+     *
+     * @param freezeStatus the freeze status of the freeze attempt
+     * @return true if the array is now part of the freeze attempt, false if it is already frozen or already part of
+     *         the same attempt
+     */
+    protected boolean joinFreezeAttempt(Status freezeStatus) {
+        return FreezeUtils.joinFreezeAttempt(FREEZE_STATUS_UPDATER, this, freezeStatus);
     }
 
     /**
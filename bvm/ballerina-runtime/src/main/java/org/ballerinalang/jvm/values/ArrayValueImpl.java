@@ -31,7 +31,6 @@ import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.util.exceptions.RuntimeErrors;
 import org.ballerinalang.jvm.values.api.BArray;
 import org.ballerinalang.jvm.values.api.BString;
-import org.ballerinalang.jvm.values.freeze.FreezeUtils;
 import org.ballerinalang.jvm.values.freeze.Status;
 import org.ballerinalang.jvm.values.utils.StringUtils;
 
@@ -41,7 +40,6 @@ import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.StringJoiner;
-import java.util.stream.IntStream;
 
 import static org.ballerinalang.jvm.util.BLangConstants.ARRAY_LANG_LIB;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.INDEX_OUT_OF_RANGE_ERROR_IDENTIFIER;
@@ -70,6 +68,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     private double[] floatValues;
     private String[] stringValues;
     private BString[] bStringValues;
+    // Whether the backing array of a simple basic type array is shared with a copy of this array. A shared backing
+    // array is never updated, it is replaced with a private copy before the first update.
+    private volatile boolean sharedStorage = false;
 
     // ------------------------ Constructors -------------------------------------------------------------------
 
@@ -162,6 +163,18 @@ public class ArrayValueImpl extends AbstractArrayValue {
         }
     }
 
+    private ArrayValueImpl(ArrayValueImpl source) {
+        this.intValues = source.intValues;
+        this.booleanValues = source.booleanValues;
+        this.byteValues = source.byteValues;
+        this.floatValues = source.floatValues;
+        this.stringValues = source.stringValues;
+        this.bStringValues = source.bStringValues;
+        this.size = source.size;
+        setArrayType(source.elementType);
+        this.sharedStorage = true;
+    }
+
     @Deprecated
     public ArrayValueImpl(BArrayType type, long size) {
         this.arrayType = type;
@@ -548,48 +561,58 @@ public class ArrayValueImpl extends AbstractArrayValue {
             return refs.get(this);
         }
 
-        ArrayValue valueArray = null;
-        switch (this.elementType.getTag()) {
-            case TypeTags.INT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(intValues, this.size));
-                break;
-            case TypeTags.BOOLEAN_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(booleanValues, this.size));
-                break;
-            case TypeTags.BYTE_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(byteValues, this.size));
-                break;
-            case TypeTags.FLOAT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(floatValues, this.size));
-                break;
-            case TypeTags.STRING_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(stringValues, this.size));
-                break;
-            default:
-                Object[] values = new Object[this.size];
-                valueArray = new ArrayValueImpl(values, arrayType);
-                IntStream.range(0, this.size).forEach(i -> {
-                    Object value = this.refValues[i];
-                    if (value instanceof RefValue) {
-                        values[i] = ((RefValue) value).copy(refs);
-                    } else {
-                        values[i] = value;
-                    }
-                });
-                break;
+        ArrayValue valueArray;
+        if (isSimpleBasicTypeArray()) {
+            // the members are immutable, therefore the backing array is shared until either array is updated
+            this.sharedStorage = true;
+            valueArray = new ArrayValueImpl(this);
+        } else {
+            Object[] values = new Object[this.size];
+            valueArray = new ArrayValueImpl(values, arrayType);
+            refs.put(this, valueArray);
+            for (int i = 0; i < this.size; i++) {
+                Object value = this.refValues[i];
+                values[i] = value instanceof RefValue ? ((RefValue) value).copy(refs) : value;
+            }
         }
 
         refs.put(this, valueArray);
         return valueArray;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The copy is frozen as it is created, in a single pass. Members which are already frozen are shared with the
+     * copy rather than being copied, and the backing array of a simple basic type array is shared with the copy.
+     */
     @Override
     public Object frozenCopy(Map<Object, Object> refs) {
-        ArrayValue copy = (ArrayValue) copy(refs);
-        if (!copy.isFrozen()) {
-            copy.freezeDirect();
+        if (isFrozen()) {
+            return this;
         }
-        return copy;
+
+        if (refs.containsKey(this)) {
+            return refs.get(this);
+        }
+
+        ArrayValueImpl valueArray;
+        if (isSimpleBasicTypeArray()) {
+            this.sharedStorage = true;
+            valueArray = new ArrayValueImpl(this);
+        } else {
+            Object[] values = new Object[this.size];
+            valueArray = new ArrayValueImpl(values, arrayType);
+            refs.put(this, valueArray);
+            for (int i = 0; i < this.size; i++) {
+                Object value = this.refValues[i];
+                values[i] = value instanceof RefValue ? ((RefValue) value).frozenCopy(refs) : value;
+            }
+        }
+
+        refs.put(this, valueArray);
+        valueArray.freezeStatus.setFrozen();
+        return valueArray;
     }
 
     /**
@@ -706,11 +729,10 @@ public class ArrayValueImpl extends AbstractArrayValue {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void attemptFreeze(Status freezeStatus) {
-        if (!FreezeUtils.isOpenForFreeze(this.freezeStatus, freezeStatus)) {
+    public void attemptFreeze(Status freezeStatus) {
+        if (!joinFreezeAttempt(freezeStatus)) {
             return;
         }
-        this.freezeStatus = freezeStatus;
         if (this.elementType == null || this.elementType.getTag() > TypeTags.BOOLEAN_TAG) {
             for (int i = 0; i < this.size; i++) {
                 Object value = this.getRefValue(i);
@@ -744,7 +766,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isFrozen() {
+    public boolean isFrozen() {
         return this.freezeStatus.isFrozen();
     }
 
@@ -768,6 +790,14 @@ public class ArrayValueImpl extends AbstractArrayValue {
 
     // Protected methods
 
+    @Override
+    protected void handleFrozenArrayValue() {
+        super.handleFrozenArrayValue();
+        if (sharedStorage) {
+            unshareStorage();
+        }
+    }
+
     @Override
     protected void resizeInternalArray(int newLength) {
         switch (this.elementType.getTag()) {
@@ -911,6 +941,46 @@ public class ArrayValueImpl extends AbstractArrayValue {
 
     // Private methods
 
+    private boolean isSimpleBasicTypeArray() {
+        switch (this.elementType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void unshareStorage() {
+        switch (this.elementType.getTag()) {
+            case TypeTags.INT_TAG:
+                intValues = Arrays.copyOf(intValues, intValues.length);
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                booleanValues = Arrays.copyOf(booleanValues, booleanValues.length);
+                break;
+            case TypeTags.BYTE_TAG:
+                byteValues = Arrays.copyOf(byteValues, byteValues.length);
+                break;
+            case TypeTags.FLOAT_TAG:
+                floatValues = Arrays.copyOf(floatValues, floatValues.length);
+                break;
+            case TypeTags.STRING_TAG:
+                if (stringValues != null) {
+                    stringValues = Arrays.copyOf(stringValues, stringValues.length);
+                } else {
+                    bStringValues = Arrays.copyOf(bStringValues, bStringValues.length);
+                }
+                break;
+            default:
+                break;
+        }
+        sharedStorage = false;
+    }
+
     private void prepareForAdd(long index, Object value, BType sourceType, int currentArraySize) {
         // check types
         if (!TypeChecker.checkIsType(value, sourceType, this.elementType)) {
@@ -17,6 +17,7 @@
   */
 package org.ballerinalang.jvm.values;
 
+ import org.ballerinalang.jvm.StringUtils;
  import org.ballerinalang.jvm.values.api.BString;
 
  /**
@@ -49,11 +50,7 @@ public class BmpStringValue implements StringValue {
 
      @Override
      public BString concat(BString str) {
-         if (str instanceof BmpStringValue) {
-             return new BmpStringValue(this.value + ((BmpStringValue) str).value);
-         } else {
-             throw new RuntimeException("not impl yet");
-         }
+         return StringUtils.concat(this, str);
      }
 
     @Override
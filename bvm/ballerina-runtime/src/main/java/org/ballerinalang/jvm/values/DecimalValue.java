@@ -49,14 +49,33 @@ public class DecimalValue implements SimpleValue, BDecimal {
 
     private static final DecimalValue NaN = new DecimalValue("-1", DecimalValueKind.NOT_A_NUMBER);
 
+    // Marks a decimal which is not held in the compact form.
+    private static final long INFLATED = Long.MIN_VALUE;
+
+    // Largest scale of a decimal held in the compact form.
+    private static final int MAX_COMPACT_SCALE = 18;
+
+    // Largest long up to which every integer is exactly representable as a double.
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    private static final long[] LONG_TEN_POWERS = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
+
     // Variable used to track the kind of a decimal value.
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
+    // Decimals whose unscaled value fits in a long are held as the unscaled value and the scale, and the BigDecimal
+    // is only created when it is asked for. Such values can never need rounding to the 34 digits of DECIMAL128.
     private BigDecimal value;
+    private final long compactValue;
+    private final int compactScale;
 
     public DecimalValue(BigDecimal value) {
         this.value = value;
+        this.compactValue = INFLATED;
+        this.compactScale = 0;
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
@@ -66,19 +85,163 @@ public class DecimalValue implements SimpleValue, BDecimal {
         // Check whether the number provided is a hexadecimal value.
         if (isHexValueString(value)) {
             this.value = hexToDecimalFloatingPointNumber(value);
+            this.compactValue = INFLATED;
+            this.compactScale = 0;
         } else {
-            this.value = new BigDecimal(value, MathContext.DECIMAL128);
+            long[] compactForm = parseCompact(value);
+            if (compactForm != null) {
+                this.compactValue = compactForm[0];
+                this.compactScale = (int) compactForm[1];
+            } else {
+                this.value = new BigDecimal(value, MathContext.DECIMAL128);
+                this.compactValue = INFLATED;
+                this.compactScale = 0;
+            }
         }
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long compactValue, int compactScale) {
+        this.compactValue = compactValue;
+        this.compactScale = compactScale;
+        if (compactValue == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
     public DecimalValue(String value, DecimalValueKind valueKind) {
         this(value);
         this.valueKind = valueKind;
     }
 
+    /**
+     * Parses a plain decimal number with at most 18 digits, such as {@code -12.50}, into its unscaled value and
+     * scale. Returns null for other numbers, which are parsed as a {@code BigDecimal} instead.
+     *
+     * @param value string value of the decimal
+     * @return the unscaled value and the scale, or null if the number does not fit the compact form
+     */
+    private static long[] parseCompact(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+
+        long unscaledValue = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_COMPACT_SCALE) {
+                    return null;
+                }
+                unscaledValue = unscaledValue * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+
+        if (digits == 0) {
+            return null;
+        }
+        return new long[] { negative ? -unscaledValue : unscaledValue, Math.max(scale, 0) };
+    }
+
+    private boolean isCompact() {
+        return compactValue != INFLATED;
+    }
+
+    /**
+     * Returns the unscaled value of a compact decimal rescaled to a larger scale, or {@code INFLATED} if it does not
+     * fit in a long.
+     *
+     * @param unscaledValue unscaled value of the decimal
+     * @param scaleIncrement amount by which the scale is increased
+     * @return the rescaled unscaled value
+     */
+    private static long rescale(long unscaledValue, int scaleIncrement) {
+        if (scaleIncrement == 0) {
+            return unscaledValue;
+        }
+        if (scaleIncrement > MAX_COMPACT_SCALE) {
+            return INFLATED;
+        }
+        long multiplier = LONG_TEN_POWERS[scaleIncrement];
+        if (Math.abs(unscaledValue) > Long.MAX_VALUE / multiplier) {
+            return INFLATED;
+        }
+        return unscaledValue * multiplier;
+    }
+
+    /**
+     * Adds two compact decimals, or returns null if the sum does not fit in the compact form.
+     *
+     * @param lhs unscaled value of the first decimal
+     * @param lhsScale scale of the first decimal
+     * @param rhs unscaled value of the second decimal
+     * @param rhsScale scale of the second decimal
+     * @return the sum, or null
+     */
+    private static DecimalValue addCompact(long lhs, int lhsScale, long rhs, int rhsScale) {
+        int scale = Math.max(lhsScale, rhsScale);
+        lhs = rescale(lhs, scale - lhsScale);
+        rhs = rescale(rhs, scale - rhsScale);
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        long sum = lhs + rhs;
+        if (((lhs ^ sum) & (rhs ^ sum)) < 0 || sum == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(sum, scale);
+    }
+
+    /**
+     * Multiplies two compact decimals, or returns null if the product does not fit in the compact form.
+     *
+     * @param lhs unscaled value of the first decimal
+     * @param lhsScale scale of the first decimal
+     * @param rhs unscaled value of the second decimal
+     * @param rhsScale scale of the second decimal
+     * @return the product, or null
+     */
+    private static DecimalValue multiplyCompact(long lhs, int lhsScale, long rhs, int rhsScale) {
+        int scale = lhsScale + rhsScale;
+        if (scale > MAX_COMPACT_SCALE || (rhs != 0 && Math.abs(lhs) > Long.MAX_VALUE / Math.abs(rhs))) {
+            return null;
+        }
+        return new DecimalValue(lhs * rhs, scale);
+    }
+
+    /**
+     * Compares the numeric value of this decimal with the given decimal, ignoring the scale.
+     *
+     * @param other decimal to compare with
+     * @return -1, 0 or 1 as this decimal is less than, equal to or greater than the given decimal
+     */
+    public int compareValue(DecimalValue other) {
+        if (this.isCompact() && other.isCompact()) {
+            int scale = Math.max(this.compactScale, other.compactScale);
+            long lhs = rescale(this.compactValue, scale - this.compactScale);
+            long rhs = rescale(other.compactValue, scale - other.compactScale);
+            if (lhs != INFLATED && rhs != INFLATED) {
+                return Long.compare(lhs, rhs);
+            }
+        }
+        return value().compareTo(other.value());
+    }
+
     private static boolean isHexValueString(String value) {
         String upperCaseValue = value.toUpperCase();
         return upperCaseValue.startsWith("0X") || upperCaseValue.startsWith("-0X");
@@ -141,7 +304,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        return value();
     }
 
     /**
@@ -159,10 +322,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw BallerinaErrors.createNumericConversionError(POSITIVE_INF, BTypes.typeInt);
         }
 
-        if (!isDecimalWithinIntRange(value)) {
+        if (!isDecimalWithinIntRange(value())) {
             throw BallerinaErrors.createNumericConversionError(this.stringValue(), BTypes.typeDecimal, BTypes.typeInt);
         }
-        return (long) Math.rint(value.doubleValue());
+        return (long) Math.rint(value().doubleValue());
     }
 
     /**
@@ -190,9 +353,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw BallerinaErrors.createNumericConversionError(POSITIVE_INF, BTypes.typeByte);
         }
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        int intVal = (int) Math.rint(value().doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw BallerinaErrors.createNumericConversionError(value, BTypes.typeDecimal, BTypes.typeByte);
+            throw BallerinaErrors.createNumericConversionError(value(), BTypes.typeDecimal, BTypes.typeByte);
         }
         return intVal;
     }
@@ -209,7 +372,11 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind == DecimalValueKind.NOT_A_NUMBER) {
             return Double.NaN;
         }
-        return value.doubleValue();
+        // both operands are exact doubles here, hence the quotient is rounded the same way as by BigDecimal
+        if (isCompact() && Math.abs(compactValue) <= MAX_EXACT_DOUBLE_INTEGER) {
+            return (double) compactValue / LONG_TEN_POWERS[compactScale];
+        }
+        return value().doubleValue();
     }
 
     /**
@@ -217,6 +384,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
+        if (isCompact()) {
+            return compactValue != 0;
+        }
         return value.compareTo(BigDecimal.ZERO) != 0;
     }
 
@@ -228,7 +398,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return value().toString();
     }
 
     @Override
@@ -241,7 +411,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        BigDecimal bigDecimal = this.value;
+        if (bigDecimal == null) {
+            bigDecimal = BigDecimal.valueOf(compactValue, compactScale);
+            this.value = bigDecimal;
+        }
+        return bigDecimal;
     }
 
     /**
@@ -282,6 +457,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (augend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && augend.isCompact()) {
+                        DecimalValue sum = addCompact(this.compactValue, this.compactScale, augend.compactValue,
+                                augend.compactScale);
+                        if (sum != null) {
+                            return sum;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
                 }
                 return augend;
@@ -320,6 +502,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (subtrahend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && subtrahend.isCompact()) {
+                        DecimalValue difference = addCompact(this.compactValue, this.compactScale,
+                                -subtrahend.compactValue, subtrahend.compactScale);
+                        if (difference != null) {
+                            return difference;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -363,6 +552,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && multiplicand.isCompact()) {
+                        DecimalValue product = multiplyCompact(this.compactValue, this.compactScale,
+                                multiplicand.compactValue, multiplicand.compactScale);
+                        if (product != null) {
+                            return product;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -455,6 +651,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue negate() {
         switch (this.valueKind) {
             case OTHER:
+                if (isCompact()) {
+                    return new DecimalValue(-compactValue, compactScale);
+                }
                 return new DecimalValue(this.decimalValue().negate());
             case POSITIVE_INFINITY:
                 return NEGATIVE_INF;
@@ -511,12 +710,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        return ((compareValue(bDecimal) == 0) && (this.valueKind == bDecimal.valueKind));
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return value().hashCode();
     }
 
     /**
@@ -534,7 +733,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     /**
@@ -543,7 +742,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     /**
@@ -566,23 +765,23 @@ public class DecimalValue implements SimpleValue, BDecimal {
     }
 
     public static DecimalValue valueOfJ(byte value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(char value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(short value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(float value) {
@@ -593,6 +792,14 @@ public class DecimalValue implements SimpleValue, BDecimal {
         return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
     }
 
+    private static DecimalValue valueOfIntegral(long value) {
+        long unscaledValue = value == INFLATED ? INFLATED : rescale(value, 1);
+        if (unscaledValue != INFLATED) {
+            return new DecimalValue(unscaledValue, 1);
+        }
+        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+    }
+
     public static DecimalValue valueOfJ(BigDecimal value) {
         // TODO check whether we need to create a new BigDecimal again(or use the same value)
         return new DecimalValue(new BigDecimal(value.toString(), MathContext.DECIMAL128)
@@ -30,7 +30,7 @@ import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.freeze.Status;
 
 import java.io.PrintWriter;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -160,7 +160,7 @@ public class ErrorValue extends BError implements RefValue {
      */
     public Object getDetails() {
         if (details instanceof RefValue) {
-            return ((RefValue) details).copy(new HashMap<>());
+            return ((RefValue) details).copy(new IdentityHashMap<>());
         }
         return details;
     }
@@ -52,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
 import static org.ballerinalang.jvm.JSONUtils.mergeJson;
@@ -80,7 +81,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     private static final long serialVersionUID = 1L;
     private BType type;
     private volatile Status freezeStatus = new Status(State.UNFROZEN);
-    private final Map<String, Object> nativeData = new HashMap<>();
+    private static final AtomicReferenceFieldUpdater<MapValueImpl, Status> FREEZE_STATUS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(MapValueImpl.class, Status.class, "freezeStatus");
+    private Map<String, Object> nativeData;
     private BType iteratorNextReturnType;
 
     public MapValueImpl(BType type) {
@@ -93,6 +96,11 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         type = BTypes.typeMap;
     }
 
+    private MapValueImpl(BType type, int expectedSize) {
+        super(expectedSize < 3 ? expectedSize + 1 : (int) (expectedSize / 0.75f + 1.0f));
+        this.type = type;
+    }
+
     /**
      * Retrieve the value for the given key from map.
      * A null will be returned if the key does not exists.
@@ -344,7 +352,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
             return refs.get(this);
         }
 
-        MapValueImpl<K, V> newMap = new MapValueImpl<>(type);
+        MapValueImpl<K, V> newMap = new MapValueImpl<>(type, size());
         refs.put(this, newMap);
         for (Map.Entry<K, V> entry : this.entrySet()) {
             V value = entry.getValue();
@@ -354,14 +362,33 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         return newMap;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The copy is frozen as it is created, in a single pass. Members which are already frozen are shared with the
+     * copy rather than being copied.
+     */
     @SuppressWarnings("unchecked")
     @Override
     public Object frozenCopy(Map<Object, Object> refs) {
-        MapValueImpl<K, V> copy = (MapValueImpl<K, V>) copy(refs);
-        if (!copy.isFrozen()) {
-            copy.freezeDirect();
+        if (isFrozen()) {
+            return this;
         }
-        return copy;
+
+        if (refs.containsKey(this)) {
+            return refs.get(this);
+        }
+
+        MapValueImpl<K, V> newMap = new MapValueImpl<>(type, size());
+        refs.put(this, newMap);
+        for (Map.Entry<K, V> entry : this.entrySet()) {
+            V value = entry.getValue();
+            value = value instanceof RefValue ? (V) ((RefValue) value).frozenCopy(refs) : value;
+            // members are added directly, since a cyclic member may have frozen the copy already
+            newMap.putValue(entry.getKey(), value);
+        }
+        newMap.freezeStatus.setFrozen();
+        return newMap;
     }
 
     @Override
@@ -389,13 +416,12 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * {@inheritDoc}
      */
     @Override
-    public synchronized void attemptFreeze(Status freezeStatus) {
+    public void attemptFreeze(Status freezeStatus) {
         if (this.type.getTag() == TypeTags.OBJECT_TYPE_TAG) {
             throw new BLangFreezeException("'freeze()' not allowed on '" + getType() + "'");
         }
 
-        if (FreezeUtils.isOpenForFreeze(this.freezeStatus, freezeStatus)) {
-            this.freezeStatus = freezeStatus;
+        if (FreezeUtils.joinFreezeAttempt(FREEZE_STATUS_UPDATER, this, freezeStatus)) {
             this.values().forEach(val -> {
                 if (val instanceof RefValue) {
                     ((RefValue) val).attemptFreeze(freezeStatus);
@@ -425,7 +451,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isFrozen() {
+    public boolean isFrozen() {
         return freezeStatus.isFrozen();
     }
 
@@ -493,6 +519,10 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @param data value to be added.
      */
     public void addNativeData(String key, Object data) {
+        if (nativeData == null) {
+            // most map values never carry native data, hence allocate the map on first use
+            nativeData = new HashMap<>();
+        }
         nativeData.put(key, data);
     }
 
@@ -502,7 +532,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return value for the given key.
      */
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     /**
@@ -511,6 +541,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return nativeData map
      */
     public Map<String, Object> getNativeDataMap() {
+        if (this.nativeData == null) {
+            this.nativeData = new HashMap<>();
+        }
         return this.nativeData;
     }
 
@@ -17,10 +17,9 @@
   */
  package org.ballerinalang.jvm.values;
 
+import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.values.api.BString;
 
-import java.util.Arrays;
-
 /**
  * Represent ballerina strings containing at least one non basic multilingual plane unicode character.
  *
@@ -68,17 +67,7 @@ public class NonBmpStringValue implements StringValue {
 
     @Override
     public BString concat(BString str) {
-        if (str instanceof NonBmpStringValue) {
-            NonBmpStringValue other = (NonBmpStringValue) str;
-            int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
-            System.arraycopy(other.surrogates, 0, both, surrogates.length, other.surrogates.length);
-            return new NonBmpStringValue(this.value + other.value, both);
-        } else if (str instanceof BmpStringValue) {
-            BmpStringValue other = (BmpStringValue) str;
-            return new NonBmpStringValue(this.value + other.getValue(), surrogates);
-        } else {
-            throw new RuntimeException("not impl yet");
-        }
+        return StringUtils.concat(this, str);
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represent ballerina strings built by concatenating two strings, without copying the characters of either. The
+ * characters are copied into a single string only when the content of the string is first read, so that repeated
+ * concatenation does not copy the accumulated prefix over and over.
+ *
+ * @since 1.2.0
+ */
+public class RopeStringValue implements StringValue {
+
+    private final int length;
+    private final int charLength;
+    private BString left;
+    private BString right;
+    private volatile BString flattened;
+
+    public RopeStringValue(BString left, BString right, int charLength) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.charLength = charLength;
+    }
+
+    /**
+     * Returns the number of UTF-16 chars of a string, without flattening it if it is a concatenation.
+     *
+     * @param str ballerina string
+     * @return number of UTF-16 chars in the string
+     */
+    public static int getCharLength(BString str) {
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return StringUtils.concat(this, str);
+    }
+
+    @Override
+    public String stringValue() {
+        return getValue();
+    }
+
+    @Override
+    public BString bStringValue() {
+        return null;
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    private BString flatten() {
+        BString str = flattened;
+        if (str != null) {
+            return str;
+        }
+
+        synchronized (this) {
+            if (flattened == null) {
+                StringBuilder sb = new StringBuilder(charLength);
+                // walk the tree iteratively, since repeated concatenation builds deep left leaning trees
+                Deque<BString> pending = new ArrayDeque<>();
+                pending.push(this);
+                while (!pending.isEmpty()) {
+                    BString current = pending.pop();
+                    if (current instanceof RopeStringValue) {
+                        RopeStringValue rope = (RopeStringValue) current;
+                        // nested ropes may be flattened concurrently, which clears their children. Locks are always
+                        // taken from a rope towards its parts, hence this cannot deadlock.
+                        synchronized (rope) {
+                            if (rope.flattened != null) {
+                                sb.append(rope.flattened.getValue());
+                            } else {
+                                pending.push(rope.right);
+                                pending.push(rope.left);
+                            }
+                        }
+                    } else {
+                        sb.append(current.getValue());
+                    }
+                }
+                flattened = StringUtils.fromString(sb.toString());
+                left = null;
+                right = null;
+            }
+            return flattened;
+        }
+    }
+}
@@ -70,7 +70,7 @@ public class TableIterator implements DataIterator {
         this.resourceManager = rm;
         this.rs = rs;
         this.type = type;
-        generateColumnDefinitions();
+        this.columnDefs = generateColumnDefinitions(type);
     }
 
     @Override
@@ -443,23 +443,29 @@ public class TableIterator implements DataIterator {
         return arrayElementAttributes;
     }
 
-    private void generateColumnDefinitions() {
-        Collection<BField> structFields = this.type.getFields().values();
-        columnDefs = new ArrayList<>(structFields.size());
+    /**
+     * Generates the column definitions of a table with the given constraint type.
+     *
+     * @param type constraint type of the table
+     * @return list of {@code ColumnDefinition}
+     */
+    public static List<ColumnDefinition> generateColumnDefinitions(BStructureType type) {
+        Collection<BField> structFields = type.getFields().values();
+        List<ColumnDefinition> columnDefs = new ArrayList<>(structFields.size());
         for (BField sf : structFields) {
-            BType type = sf.getFieldType();
+            BType fieldType = sf.getFieldType();
             int typeTag = TypeTags.ANY_TAG;
-            switch (type.getTag()) {
+            switch (fieldType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.STRING_TAG:
             case TypeTags.FLOAT_TAG:
             case TypeTags.BOOLEAN_TAG:
             case TypeTags.JSON_TAG:
             case TypeTags.XML_TAG:
-                typeTag = type.getTag();
+                typeTag = fieldType.getTag();
                 break;
             case TypeTags.ARRAY_TAG:
-                BType elementType = ((BArrayType) type).getElementType();
+                BType elementType = ((BArrayType) fieldType).getElementType();
                 if (elementType.getTag() == TypeTags.BYTE_TAG) {
                     typeTag = TypeTags.BYTE_TAG;
                 } else {
@@ -470,6 +476,7 @@ public class TableIterator implements DataIterator {
             ColumnDefinition def = new ColumnDefinition(sf.getFieldName(), typeTag);
             columnDefs.add(def);
         }
+        return columnDefs;
     }
 
     private static class ArrayElementAttributes {
@@ -19,17 +19,20 @@ package org.ballerinalang.jvm.values;
 
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.ColumnDefinition;
+import org.ballerinalang.jvm.ColumnarTable;
 import org.ballerinalang.jvm.DataIterator;
 import org.ballerinalang.jvm.IteratorUtils;
 import org.ballerinalang.jvm.TableProvider;
 import org.ballerinalang.jvm.TableUtils;
 import org.ballerinalang.jvm.scheduling.Strand;
 import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
 import org.ballerinalang.jvm.types.BFunctionType;
 import org.ballerinalang.jvm.types.BStructureType;
 import org.ballerinalang.jvm.types.BTableType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons;
 import org.ballerinalang.jvm.values.api.BFunctionPointer;
 import org.ballerinalang.jvm.values.api.BMap;
@@ -39,9 +42,11 @@ import org.ballerinalang.jvm.values.freeze.FreezeUtils;
 import org.ballerinalang.jvm.values.freeze.State;
 import org.ballerinalang.jvm.values.freeze.Status;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static org.ballerinalang.jvm.util.BLangConstants.TABLE_LANG_LIB;
 
@@ -61,11 +66,16 @@ public class TableValue implements RefValue, BTable {
     private boolean hasNextVal;
     private boolean nextPrefetched;
     private TableProvider tableProvider;
+    private ColumnarTable columnarTable;
+    private String sqlExportName;
+    private final Map<String, Integer> sqlExportUsers = new HashMap<>();
     private String tableName;
     private BStructureType constraintType;
     private ArrayValue primaryKeys;
     private boolean tableClosed;
     private volatile Status freezeStatus = new Status(State.UNFROZEN);
+    private static final AtomicReferenceFieldUpdater<TableValue, Status> FREEZE_STATUS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(TableValue.class, Status.class, "freezeStatus");
     private BType type;
     private BType iteratorNextReturnType;
 
@@ -101,15 +111,25 @@ public class TableValue implements RefValue, BTable {
             throw BallerinaErrors.createError(BallerinaErrorReasons.TABLE_OPERATION_ERROR,
                     "Table query over a cursor table not supported");
         }
-        if (joinTable != null) {
-            if (!joinTable.isInMemoryTable()) {
-                throw BallerinaErrors.createError(BallerinaErrorReasons.TABLE_OPERATION_ERROR,
-                        "Table query over a cursor table not supported");
+        if (joinTable != null && !joinTable.isInMemoryTable()) {
+            throw BallerinaErrors.createError(BallerinaErrorReasons.TABLE_OPERATION_ERROR,
+                    "Table query over a cursor table not supported");
+        }
+        String fromTableName = fromTable.exportToSqlTable();
+        String joinTableName = null;
+        try {
+            if (joinTable != null) {
+                joinTableName = joinTable.exportToSqlTable();
+                this.tableName = tableProvider.createTable(fromTableName, joinTableName, query, constraintType,
+                                                           params);
+            } else {
+                this.tableName = tableProvider.createTable(fromTableName, query, constraintType, params);
+            }
+        } finally {
+            fromTable.releaseSqlTable(fromTableName);
+            if (joinTableName != null) {
+                joinTable.releaseSqlTable(joinTableName);
             }
-            this.tableName = tableProvider.createTable(fromTable.tableName, joinTable.tableName, query,
-                                                       constraintType, params);
-        } else {
-            this.tableName = tableProvider.createTable(fromTable.tableName, query, constraintType, params);
         }
         this.constraintType = constraintType;
         this.type = new BTableType(constraintType);
@@ -120,8 +140,8 @@ public class TableValue implements RefValue, BTable {
         //Create table with given constraints.
         BType constrainedType = ((BTableType) type).getConstrainedType();
         this.tableProvider = TableProvider.getInstance();
-        this.tableName = tableProvider.createTable(constrainedType, keyColumns);
         this.constraintType = (BStructureType) constrainedType;
+        this.columnarTable = new ColumnarTable(this.constraintType, keyColumns);
         this.type = new BTableType(constraintType);
         this.primaryKeys = keyColumns;
         //Insert initial data
@@ -248,10 +268,9 @@ public class TableValue implements RefValue, BTable {
      * @return error if something goes wrong
      */
     public Object performAddOperation(MapValueImpl<String, Object> data) {
-        synchronized (this) {
-            if (freezeStatus.getState() != State.UNFROZEN) {
-                FreezeUtils.handleInvalidUpdate(freezeStatus.getState(), TABLE_LANG_LIB);
-            }
+        State state = freezeStatus.getState();
+        if (state != State.UNFROZEN) {
+            FreezeUtils.handleInvalidUpdate(state, TABLE_LANG_LIB);
         }
 
         try {
@@ -275,7 +294,11 @@ public class TableValue implements RefValue, BTable {
                     "incompatible types: record of type:" + data.getType().getName()
                             + " cannot be added to a table with type:" + this.constraintType.getName());
         }
-        tableProvider.insertData(tableName, data);
+        if (columnarTable != null) {
+            insertRow(data);
+        } else {
+            tableProvider.insertData(tableName, data);
+        }
         reset();
     }
 
@@ -290,10 +313,9 @@ public class TableValue implements RefValue, BTable {
      * @return deleted count or error
      */
     public Object performRemoveOperation(Strand strand, FPValue<Object, Boolean> func) {
-        synchronized (this) {
-            if (freezeStatus.getState() != State.UNFROZEN) {
-                FreezeUtils.handleInvalidUpdate(freezeStatus.getState(), TABLE_LANG_LIB);
-            }
+        State state = freezeStatus.getState();
+        if (state != State.UNFROZEN) {
+            FreezeUtils.handleInvalidUpdate(state, TABLE_LANG_LIB);
         }
 
         if (((BFunctionType) func.type).paramTypes[0] != this.constraintType) {
@@ -306,7 +328,11 @@ public class TableValue implements RefValue, BTable {
         while (this.hasNext()) {
             MapValueImpl<String, Object> row = this.getNext();
             if (func.call(new Object[] { strand, row, true })) {
-                tableProvider.deleteData(this.tableName, row);
+                if (columnarTable != null) {
+                    deleteRow(row);
+                } else {
+                    tableProvider.deleteData(this.tableName, row);
+                }
                 ++deletedCount;
             }
         }
@@ -420,7 +446,7 @@ public class TableValue implements RefValue, BTable {
             return refs.get(this);
         }
 
-        TableIterator cloneIterator = tableProvider.createIterator(this.tableName, this.constraintType);
+        DataIterator cloneIterator = createDataIterator();
         ArrayValue data = new ArrayValueImpl(new BArrayType(this.constraintType));
         int cursor = 0;
         try {
@@ -453,10 +479,120 @@ public class TableValue implements RefValue, BTable {
     }
 
     private void generateIterator() {
-        this.iterator = tableProvider.createIterator(tableName, this.constraintType);
+        this.iterator = createDataIterator();
         resetIterationHelperAttributes();
     }
 
+    private DataIterator createDataIterator() {
+        if (columnarTable != null) {
+            return columnarTable.createIterator();
+        }
+        return tableProvider.createIterator(tableName, this.constraintType);
+    }
+
+    /**
+     * Returns the name of an in-memory database table holding the rows of this table, for table queries to run
+     * against. The rows of a natively stored table are copied into a temporary database table, which is reused by
+     * later queries. Inserts and deletes are applied to it as well, as long as no query is reading it.
+     *
+     * @return name of the database table
+     */
+    private synchronized String exportToSqlTable() {
+        if (columnarTable == null) {
+            return tableName;
+        }
+
+        if (sqlExportName == null) {
+            String sqlTableName = tableProvider.createTable(constraintType, primaryKeys);
+            DataIterator rows = columnarTable.createIterator();
+            while (rows.next()) {
+                tableProvider.insertData(sqlTableName, (MapValueImpl<String, Object>) rows.generateNext());
+            }
+            sqlExportName = sqlTableName;
+        }
+        sqlExportUsers.merge(sqlExportName, 1, Integer::sum);
+        return sqlExportName;
+    }
+
+    private synchronized void releaseSqlTable(String sqlTableName) {
+        if (columnarTable == null) {
+            return;
+        }
+
+        int users = sqlExportUsers.get(sqlTableName) - 1;
+        if (users > 0) {
+            sqlExportUsers.put(sqlTableName, users);
+            return;
+        }
+        sqlExportUsers.remove(sqlTableName);
+        // an export of an earlier state of the table is dropped once the last query using it is done
+        if (!sqlTableName.equals(sqlExportName)) {
+            tableProvider.dropTable(sqlTableName);
+        }
+    }
+
+    private synchronized void insertRow(MapValueImpl<String, Object> data) {
+        columnarTable.insert(data);
+        if (sqlExportName == null) {
+            return;
+        }
+        if (sqlExportUsers.containsKey(sqlExportName)) {
+            invalidateSqlExport();
+            return;
+        }
+        try {
+            tableProvider.insertData(sqlExportName, data);
+        } catch (ErrorValue e) {
+            invalidateSqlExport();
+        }
+    }
+
+    private synchronized void deleteRow(MapValueImpl<String, Object> data) {
+        columnarTable.delete(data);
+        if (sqlExportName == null) {
+            return;
+        }
+        // a row is deleted along with the rows equal to it, which SQL only matches when each value is comparable
+        if (sqlExportUsers.containsKey(sqlExportName) || !isComparableInSql(data)) {
+            invalidateSqlExport();
+            return;
+        }
+        try {
+            tableProvider.deleteData(sqlExportName, data);
+        } catch (ErrorValue e) {
+            invalidateSqlExport();
+        }
+    }
+
+    private boolean isComparableInSql(MapValueImpl<String, Object> data) {
+        for (BField field : constraintType.getFields().values()) {
+            if (data.get(field.getFieldName()) == null) {
+                return false;
+            }
+            switch (field.getFieldType().getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                case TypeTags.DECIMAL_TAG:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void invalidateSqlExport() {
+        if (sqlExportName == null) {
+            return;
+        }
+
+        if (!sqlExportUsers.containsKey(sqlExportName)) {
+            tableProvider.dropTable(sqlExportName);
+        }
+        sqlExportName = null;
+    }
+
     protected boolean isIteratorGenerationConditionMet() {
         return this.iterator == null;
     }
@@ -471,7 +607,11 @@ public class TableValue implements RefValue, BTable {
         if (this.iterator != null) {
             this.iterator.close();
         }
-        tableProvider.dropTable(this.tableName);
+        if (columnarTable == null) {
+            tableProvider.dropTable(this.tableName);
+        } else if (sqlExportName != null) {
+            tableProvider.dropTable(sqlExportName);
+        }
     }
 
     private void insertInitialData(ArrayValue data) {
@@ -537,7 +677,7 @@ public class TableValue implements RefValue, BTable {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isFrozen() {
+    public boolean isFrozen() {
         return this.freezeStatus.isFrozen();
     }
 
@@ -545,10 +685,8 @@ public class TableValue implements RefValue, BTable {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void attemptFreeze(Status freezeStatus) {
-        if (FreezeUtils.isOpenForFreeze(this.freezeStatus, freezeStatus)) {
-            this.freezeStatus = freezeStatus;
-        }
+    public void attemptFreeze(Status freezeStatus) {
+        FreezeUtils.joinFreezeAttempt(FREEZE_STATUS_UPDATER, this, freezeStatus);
     }
 
     @Override
@@ -20,6 +20,8 @@ package org.ballerinalang.jvm.values.freeze;
 import org.ballerinalang.jvm.util.exceptions.BLangFreezeException;
 import org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.INVALID_UPDATE_ERROR_IDENTIFIER;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.getModulePrefixedReason;
 
@@ -53,6 +55,32 @@ public class FreezeUtils {
         }
     }
 
+    /**
+     * Method to make a value part of a new freeze attempt, without locking the value.
+     *
+     * The freeze status of the value is replaced with a compare-and-set, therefore when two freeze attempts race on
+     * the same value only one of them is let through, and the other fails as in {@link #isOpenForFreeze}.
+     *
+     * @param statusUpdater the updater of the field holding the freeze status of the value
+     * @param value the value being frozen
+     * @param receivedFreezeStatus the received freeze status of the new freeze attempt
+     * @param <T> the type of the value
+     * @return true if the value is now part of the freeze attempt, false if the value is already frozen or already
+     *         part of the same attempt. Would throw a {@link BLangFreezeException} if the value is already part of a
+     *         different freeze attempt.
+     */
+    public static <T> boolean joinFreezeAttempt(AtomicReferenceFieldUpdater<T, Status> statusUpdater, T value,
+                                                Status receivedFreezeStatus) {
+        Status currentFreezeStatus;
+        do {
+            currentFreezeStatus = statusUpdater.get(value);
+            if (!isOpenForFreeze(currentFreezeStatus, receivedFreezeStatus)) {
+                return false;
+            }
+        } while (!statusUpdater.compareAndSet(value, currentFreezeStatus, receivedFreezeStatus));
+        return true;
+    }
+
     /**
      * Method to handle an update to a value, that is invalid due to a freeze related state.
      *
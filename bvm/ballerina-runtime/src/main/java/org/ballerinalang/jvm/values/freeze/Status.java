@@ -26,7 +26,7 @@ import org.ballerinalang.jvm.values.RefValue;
  */
 public class Status {
 
-    private State currentState;
+    private volatile State currentState;
 
     public Status(State state) {
         this.currentState = state;
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the cache of structural type check outcomes in {@link TypeChecker}.
+ */
+public class TypeCheckerCacheTests {
+
+    private static final BPackage PKG = new BPackage("test", "typecache");
+
+    @Test
+    public void testCacheHit() {
+        BRecordType personType = createRecordType("Person", BTypes.typeString, BTypes.typeInt);
+        BType anydataMapType = new BMapType(BTypes.typeAnydata);
+        BType stringMapType = new BMapType(BTypes.typeString);
+
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(personType, anydataMapType));
+        Assert.assertTrue(TypeChecker.checkIsType(personType, anydataMapType));
+        Assert.assertTrue(TypeChecker.isTypeCheckCached(personType, anydataMapType));
+        Assert.assertTrue(TypeChecker.checkIsType(personType, anydataMapType));
+
+        // negative outcomes are cached as well
+        Assert.assertFalse(TypeChecker.checkIsType(personType, stringMapType));
+        Assert.assertTrue(TypeChecker.isTypeCheckCached(personType, stringMapType));
+        Assert.assertFalse(TypeChecker.checkIsType(personType, stringMapType));
+
+        // the cache is keyed by the pair, not by either of the types
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(anydataMapType, personType));
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(personType, new BMapType(BTypes.typeAnydata)));
+    }
+
+    @Test
+    public void testSimpleTypesAreNotCached() {
+        Assert.assertTrue(TypeChecker.checkIsType(BTypes.typeByte, BTypes.typeInt));
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(BTypes.typeByte, BTypes.typeInt));
+    }
+
+    @Test
+    public void testRecursiveTypes() {
+        BRecordType nodeType = createNodeType("Node", BTypes.typeInt);
+        BRecordType otherNodeType = createNodeType("OtherNode", BTypes.typeInt);
+        BRecordType stringNodeType = createNodeType("StringNode", BTypes.typeString);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(nodeType, otherNodeType));
+            Assert.assertTrue(TypeChecker.checkIsType(otherNodeType, nodeType));
+            Assert.assertFalse(TypeChecker.checkIsType(nodeType, stringNodeType));
+            Assert.assertFalse(TypeChecker.checkIsType(stringNodeType, otherNodeType));
+        }
+        Assert.assertTrue(TypeChecker.isTypeCheckCached(nodeType, otherNodeType));
+        Assert.assertTrue(TypeChecker.isTypeCheckCached(nodeType, stringNodeType));
+
+        // the check of the next fields was made assuming the pair of node types holds, hence it is not cached
+        BType nextType = nodeType.getFields().get("next").getFieldType();
+        BType otherNextType = otherNodeType.getFields().get("next").getFieldType();
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(nextType, otherNextType));
+        Assert.assertTrue(TypeChecker.checkIsType(nextType, otherNextType));
+        Assert.assertTrue(TypeChecker.isTypeCheckCached(nextType, otherNextType));
+        BType stringNextType = stringNodeType.getFields().get("next").getFieldType();
+        Assert.assertFalse(TypeChecker.checkIsType(nextType, stringNextType));
+    }
+
+    @Test
+    public void testNestedTypes() {
+        BRecordType addressType = createRecordType("Address", BTypes.typeString, BTypes.typeInt);
+        BRecordType otherAddressType = createRecordType("OtherAddress", BTypes.typeString, BTypes.typeInt);
+        BRecordType stringAddressType = createRecordType("StringAddress", BTypes.typeString, BTypes.typeString);
+        BRecordType personType = createRecordType("Person", BTypes.typeString, addressType);
+        BRecordType otherPersonType = createRecordType("OtherPerson", BTypes.typeString, otherAddressType);
+        BRecordType stringPersonType = createRecordType("StringPerson", BTypes.typeString, stringAddressType);
+
+        Assert.assertTrue(TypeChecker.checkIsType(personType, otherPersonType));
+        Assert.assertFalse(TypeChecker.checkIsType(personType, stringPersonType));
+        Assert.assertFalse(TypeChecker.isTypeCheckCached(addressType, otherAddressType));
+
+        // the outcome of a nested pair checked on its own must not affect the enclosing pair
+        Assert.assertFalse(TypeChecker.checkIsType(addressType, stringAddressType));
+        Assert.assertTrue(TypeChecker.checkIsType(addressType, otherAddressType));
+        Assert.assertTrue(TypeChecker.checkIsType(personType, otherPersonType));
+        Assert.assertFalse(TypeChecker.checkIsType(personType, stringPersonType));
+
+        BType unionType = new BUnionType(Arrays.asList(stringPersonType, otherPersonType, BTypes.typeNull));
+        Assert.assertTrue(TypeChecker.checkIsType(personType, unionType));
+        Assert.assertTrue(TypeChecker.checkIsType(personType, unionType));
+    }
+
+    @Test
+    public void testCollidingPairs() {
+        // more pairs than the cache holds, so that entries replace each other
+        List<BRecordType> types = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            BType idType = i % 2 == 0 ? BTypes.typeInt : BTypes.typeFloat;
+            types.add(createRecordType("Record" + i, BTypes.typeString, idType));
+        }
+        BType anydataMapType = new BMapType(BTypes.typeAnydata);
+        BType stringOrIntMapType = new BMapType(new BUnionType(Arrays.asList(BTypes.typeString, BTypes.typeInt)));
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < types.size(); i++) {
+                Assert.assertTrue(TypeChecker.checkIsType(types.get(i), anydataMapType));
+                Assert.assertEquals(TypeChecker.checkIsType(types.get(i), stringOrIntMapType), i % 2 == 0);
+            }
+        }
+    }
+
+    private static BRecordType createRecordType(String name, BType nameType, BType idType) {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("name", new BField(nameType, "name", Flags.REQUIRED));
+        fields.put("id", new BField(idType, "id", Flags.REQUIRED));
+        return new BRecordType(name, PKG, 0, fields, null, true, 0);
+    }
+
+    private static BRecordType createNodeType(String name, BType valueType) {
+        BRecordType nodeType = new BRecordType(name, PKG, 0, true, 0);
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("value", new BField(valueType, "value", Flags.REQUIRED));
+        fields.put("next", new BField(new BUnionType(Arrays.asList(nodeType, BTypes.typeNull)), "next",
+                Flags.REQUIRED));
+        nodeType.setFields(fields);
+        return nodeType;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Test cases for the {@link RunQueue} implementations used by the {@link Scheduler}.
+ */
+public class RunQueueTests {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testGlobalQueueOrder() throws InterruptedException {
+        RunQueue queue = new GlobalRunQueue();
+        queue.register();
+        SchedulerItem first = createItem();
+        SchedulerItem second = createItem();
+        SchedulerItem third = createItem();
+        queue.spawn(first);
+        queue.resume(second);
+        queue.broadcast(third);
+        Assert.assertEquals(queue.size(), 3);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertSame(queue.take(), second);
+        Assert.assertSame(queue.take(), third);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testWorkerRunsSpawnedItemsFirst() throws InterruptedException {
+        RunQueue queue = new WorkStealingRunQueue(1);
+        queue.register();
+        SchedulerItem resumed = createItem();
+        SchedulerItem olderSpawn = createItem();
+        SchedulerItem newerSpawn = createItem();
+        queue.resume(resumed);
+        queue.spawn(olderSpawn);
+        queue.spawn(newerSpawn);
+        Assert.assertEquals(queue.size(), 3);
+        Assert.assertSame(queue.take(), newerSpawn);
+        Assert.assertSame(queue.take(), olderSpawn);
+        Assert.assertSame(queue.take(), resumed);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testContinuousSpawningDoesNotStarveResumedItems() throws InterruptedException {
+        RunQueue queue = new WorkStealingRunQueue(1);
+        queue.register();
+        SchedulerItem resumed = createItem();
+        queue.resume(resumed);
+        queue.spawn(createItem());
+
+        // every spawned item spawns another one when it is run, so the head of the deque is never empty
+        int polls = 0;
+        SchedulerItem taken;
+        do {
+            taken = queue.take();
+            polls++;
+            if (taken != resumed) {
+                queue.spawn(createItem());
+            }
+        } while (taken != resumed && polls <= WorkStealingRunQueue.RESUMED_POLL_INTERVAL);
+        Assert.assertSame(taken, resumed, "resumed item was starved by spawned items");
+        Assert.assertEquals(polls, WorkStealingRunQueue.RESUMED_POLL_INTERVAL);
+    }
+
+    @Test
+    public void testItemsFromNonWorkerThreadsAreInjected() throws Exception {
+        RunQueue queue = new WorkStealingRunQueue(2);
+        SchedulerItem spawned = createItem();
+        SchedulerItem resumed = createItem();
+        // the test thread is not registered, hence both items go to the shared injection queue
+        queue.spawn(spawned);
+        queue.resume(resumed);
+        Assert.assertEquals(queue.size(), 2);
+
+        SchedulerItem[] taken = runOnWorker(queue, 2);
+        Assert.assertSame(taken[0], spawned);
+        Assert.assertSame(taken[1], resumed);
+    }
+
+    @Test
+    public void testIdleWorkerStealsOldestItem() throws Exception {
+        RunQueue queue = new WorkStealingRunQueue(2);
+        queue.register();
+        SchedulerItem oldest = createItem();
+        SchedulerItem newest = createItem();
+        queue.spawn(oldest);
+        queue.spawn(newest);
+
+        SchedulerItem[] stolen = runOnWorker(queue, 1);
+        Assert.assertSame(stolen[0], oldest);
+        Assert.assertSame(queue.take(), newest);
+    }
+
+    @Test
+    public void testWorkerBeyondCapacityOnlySteals() throws Exception {
+        RunQueue queue = new WorkStealingRunQueue(1);
+        queue.register();
+        SchedulerItem item = createItem();
+        queue.spawn(item);
+
+        // the second registration exceeds the number of workers, so it is treated as an external thread
+        SchedulerItem[] taken = runOnWorker(queue, 1);
+        Assert.assertSame(taken[0], item);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testBlockedWorkerIsWokenUp() throws Exception {
+        RunQueue queue = new WorkStealingRunQueue(2);
+        AtomicReference<SchedulerItem> taken = new AtomicReference<>();
+        CountDownLatch registered = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            queue.register();
+            registered.countDown();
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        worker.start();
+        Assert.assertTrue(registered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        // give the worker a chance to park on the empty queue
+        Thread.sleep(50);
+
+        SchedulerItem item = createItem();
+        queue.broadcast(item);
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertSame(taken.get(), item);
+    }
+
+    @Test
+    public void testSchedulerRunsAllStrandsWithGlobalQueue() {
+        assertAllStrandsRun(SchedulerMode.GLOBAL_QUEUE);
+    }
+
+    @Test
+    public void testSchedulerRunsAllStrandsWithWorkStealing() {
+        assertAllStrandsRun(SchedulerMode.WORK_STEALING);
+    }
+
+    private void assertAllStrandsRun(SchedulerMode mode) {
+        int strands = 1000;
+        AtomicInteger completed = new AtomicInteger();
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        Function<Object[], Object> function = params -> completed.incrementAndGet();
+        for (int i = 0; i < strands; i++) {
+            scheduler.schedule(new Object[1], function, null, null);
+        }
+        // returns once every strand is done and the workers have consumed the poison pills
+        scheduler.start();
+        Assert.assertEquals(completed.get(), strands);
+        Assert.assertEquals(scheduler.getRunnableQueueLength(), 0);
+    }
+
+    private static SchedulerItem[] runOnWorker(RunQueue queue, int count) throws Exception {
+        SchedulerItem[] taken = new SchedulerItem[count];
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            queue.register();
+            try {
+                for (int i = 0; i < count; i++) {
+                    taken[i] = queue.take();
+                }
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        worker.start();
+        worker.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(worker.isAlive(), "worker did not receive the expected items");
+        Assert.assertNull(error.get());
+        return taken;
+    }
+
+    private static SchedulerItem createItem() {
+        return new SchedulerItem((Function<Object[], Object>) params -> null, new Object[0], null);
+    }
+}
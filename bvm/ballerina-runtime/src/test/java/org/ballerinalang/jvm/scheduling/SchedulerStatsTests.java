@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.ballerinalang.jvm.observability.metrics.Counter;
+import org.ballerinalang.jvm.observability.metrics.Metric;
+import org.ballerinalang.jvm.observability.metrics.MetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.PolledGauge;
+import org.ballerinalang.jvm.observability.metrics.noop.NoOpMetricProvider;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link SchedulerStats}.
+ */
+public class SchedulerStatsTests {
+
+    @Test
+    public void testTotalsAreRegisteredAsCounters() {
+        SchedulerStats stats = new SchedulerStats(false);
+        stats.enable();
+        MetricRegistry registry = new MetricRegistry(new NoOpMetricProvider());
+        stats.registerMetrics(registry);
+
+        Strand strand = new Strand(null);
+        stats.strandCreated(strand);
+        stats.itemStolen();
+        stats.itemStolen();
+        stats.strandCompleted(strand);
+
+        Assert.assertEquals(((Counter) getMetric(registry, "created_strands_total")).getValue(), 1);
+        Assert.assertEquals(((Counter) getMetric(registry, "completed_strands_total")).getValue(), 1);
+        Assert.assertEquals(((Counter) getMetric(registry, "steals_total")).getValue(), 2);
+        Assert.assertTrue(getMetric(registry, "blocked_time_nanoseconds_total") instanceof Counter);
+        Assert.assertTrue(getMetric(registry, "live_strand_count") instanceof PolledGauge);
+        Assert.assertTrue(getMetric(registry, "runnable_queue_length") instanceof PolledGauge);
+    }
+
+    @Test
+    public void testNothingIsCountedWhileDisabled() {
+        SchedulerStats stats = new SchedulerStats(false);
+        Strand strand = new Strand(null);
+        SchedulerItem item = createItem();
+        stats.strandCreated(strand);
+        stats.strandParked(item);
+        stats.strandWaiting(item);
+        stats.itemStolen();
+
+        Assert.assertEquals(stats.getCreatedStrandCount(), 0);
+        Assert.assertEquals(stats.getParkedStrandCount(), 0);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 0);
+        Assert.assertEquals(stats.getStealCount(), 0);
+        Assert.assertNull(stats.getWorkerBusyTime("worker"));
+    }
+
+    @Test
+    public void testCountsStayConsistentWhenEnabledMidRun() {
+        SchedulerStats stats = new SchedulerStats(false);
+        Strand earlyStrand = new Strand(null);
+        SchedulerItem earlyParked = createItem();
+        SchedulerItem earlyWaiting = createItem();
+        stats.strandCreated(earlyStrand);
+        stats.strandParked(earlyParked);
+        stats.strandWaiting(earlyWaiting);
+
+        stats.enable();
+        Strand lateStrand = new Strand(null);
+        stats.strandCreated(lateStrand);
+        Assert.assertEquals(stats.getLiveStrandCount(), 1);
+
+        // events of strands which started before the statistics were enabled are not counted
+        stats.strandCompleted(earlyStrand);
+        stats.strandUnparked(earlyParked);
+        stats.strandWaitCompleted(earlyWaiting);
+        Assert.assertEquals(stats.getCompletedStrandCount(), 0);
+        Assert.assertEquals(stats.getLiveStrandCount(), 1);
+        Assert.assertEquals(stats.getParkedStrandCount(), 0);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 0);
+        Assert.assertEquals(stats.getBlockedTime(), 0);
+
+        SchedulerItem lateItem = createItem();
+        stats.strandParked(lateItem);
+        stats.strandWaiting(lateItem);
+        Assert.assertEquals(stats.getParkedStrandCount(), 1);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 1);
+        stats.strandUnparked(lateItem);
+        stats.strandWaitCompleted(lateItem);
+        stats.strandCompleted(lateStrand);
+        Assert.assertEquals(stats.getParkedStrandCount(), 0);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 0);
+        Assert.assertEquals(stats.getCreatedStrandCount(), 1);
+        Assert.assertEquals(stats.getCompletedStrandCount(), 1);
+        Assert.assertEquals(stats.getLiveStrandCount(), 0);
+    }
+
+    @Test
+    public void testLiveStrandsAreOnlyDumpedWhenTracked() {
+        SchedulerStats metricsStats = new SchedulerStats(false);
+        Assert.assertTrue(metricsStats.getStrandDump().startsWith("Scheduler statistics are not enabled"));
+        metricsStats.enable();
+        metricsStats.strandCreated(new Strand(null));
+        String dump = metricsStats.getStrandDump();
+        Assert.assertTrue(dump.contains("live strands: 1"), dump);
+        Assert.assertFalse(dump.contains("Live strands:"), dump);
+
+        SchedulerStats trackingStats = new SchedulerStats(true);
+        Strand strand = new Strand(null);
+        trackingStats.strandCreated(strand);
+        dump = trackingStats.getStrandDump();
+        Assert.assertTrue(dump.contains("strand " + strand.hashCode() + " [RUNNABLE]"), dump);
+        trackingStats.strandCompleted(strand);
+        Assert.assertFalse(trackingStats.getStrandDump().contains("strand " + strand.hashCode()));
+    }
+
+    @Test
+    public void testStrandTrackingEnabledLater() {
+        SchedulerStats stats = new SchedulerStats(false);
+        stats.enable();
+        Strand untracked = new Strand(null);
+        stats.strandCreated(untracked);
+        Assert.assertFalse(stats.getStrandDump().contains("Live strands:"));
+
+        stats.enableStrandTracking();
+        Strand tracked = new Strand(null);
+        stats.strandCreated(tracked);
+        String dump = stats.getStrandDump();
+        Assert.assertTrue(dump.contains("strand " + tracked.hashCode() + " [RUNNABLE]"), dump);
+        Assert.assertFalse(dump.contains("strand " + untracked.hashCode()), dump);
+        Assert.assertTrue(dump.contains("live strands: 2"), dump);
+
+        stats.strandCompleted(untracked);
+        stats.strandCompleted(tracked);
+        dump = stats.getStrandDump();
+        Assert.assertFalse(dump.contains("strand " + tracked.hashCode()), dump);
+        Assert.assertTrue(dump.contains("live strands: 0"), dump);
+    }
+
+    @Test
+    public void testDisableClearsTheStatistics() {
+        SchedulerStats stats = new SchedulerStats(true);
+        Strand earlyStrand = new Strand(null);
+        SchedulerItem earlyItem = createItem();
+        stats.strandCreated(earlyStrand);
+        stats.strandParked(earlyItem);
+        stats.strandWaiting(earlyItem);
+        stats.itemStolen();
+
+        stats.disable();
+        Assert.assertFalse(stats.isEnabled());
+        Assert.assertTrue(stats.getStrandDump().startsWith("Scheduler statistics are not enabled"));
+        Assert.assertEquals(stats.getCreatedStrandCount(), 0);
+        Assert.assertEquals(stats.getParkedStrandCount(), 0);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 0);
+        Assert.assertEquals(stats.getStealCount(), 0);
+
+        // strands counted before the statistics were disabled are not counted once they are enabled again
+        stats.enable();
+        stats.strandUnparked(earlyItem);
+        stats.strandWaitCompleted(earlyItem);
+        stats.strandCompleted(earlyStrand);
+        Assert.assertEquals(stats.getCompletedStrandCount(), 0);
+        Assert.assertEquals(stats.getLiveStrandCount(), 0);
+        Assert.assertEquals(stats.getParkedStrandCount(), 0);
+        Assert.assertEquals(stats.getWaitingStrandCount(), 0);
+        Assert.assertFalse(stats.getStrandDump().contains("Live strands:"));
+    }
+
+    private static Metric getMetric(MetricRegistry registry, String name) {
+        for (Metric metric : registry.getAllMetrics()) {
+            if (metric.getId().getName().equals(SchedulerStats.METRIC_PREFIX + name)) {
+                return metric;
+            }
+        }
+        throw new AssertionError("metric not registered: " + name);
+    }
+
+    private static SchedulerItem createItem() {
+        return new SchedulerItem((Function<Object[], Object>) params -> null, new Object[0], null);
+    }
+}
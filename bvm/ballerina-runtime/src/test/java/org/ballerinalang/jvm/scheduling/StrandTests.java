@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Test cases for the on demand allocations of a {@link Strand}.
+ */
+public class StrandTests {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testNewStrandHasNoFrames() {
+        Strand strand = new Strand(null);
+        Assert.assertNull(strand.frames);
+        Assert.assertEquals(strand.resumeIndex, 0);
+        Assert.assertNull(strand.getProperty("key"));
+        Assert.assertNull(strand.channelDetails);
+    }
+
+    @Test
+    public void testFramesGrowOnDemand() {
+        Strand strand = new Strand(null);
+        int frameCount = Strand.INITIAL_FRAME_CAPACITY * 4 + 1;
+        for (int i = 0; i < frameCount; i++) {
+            strand.pushFrame(i);
+        }
+        Assert.assertEquals(strand.resumeIndex, frameCount);
+        Assert.assertTrue(strand.frames.length >= frameCount);
+
+        for (int i = frameCount - 1; i >= 0; i--) {
+            Assert.assertEquals(strand.popFrame(), i);
+            Assert.assertNull(strand.frames[i], "popped frame is still referenced");
+        }
+        Assert.assertEquals(strand.resumeIndex, 0);
+    }
+
+    @Test
+    public void testPropertiesAreCreatedOnDemand() {
+        Strand strand = new Strand(null, null, null);
+        Assert.assertNull(strand.getProperty("key"));
+        strand.setProperty("key", "value");
+        Assert.assertEquals(strand.getProperty("key"), "value");
+    }
+
+    @Test
+    public void testCompletedStrandFramesAreReused() {
+        AtomicReference<Object[]> firstFrames = new AtomicReference<>();
+        AtomicReference<Object[]> secondFrames = new AtomicReference<>();
+        // a single worker runs both strands, so the second one gets the stack the first one completed with
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        scheduler.schedule(new Object[1], (Function<Object[], Object>) params -> {
+            Strand strand = (Strand) params[0];
+            strand.pushFrame("frame");
+            strand.popFrame();
+            firstFrames.set(strand.frames);
+            return null;
+        }, null, null);
+        scheduler.schedule(new Object[1], (Function<Object[], Object>) params -> {
+            Strand strand = (Strand) params[0];
+            strand.pushFrame("frame");
+            secondFrames.set(strand.frames);
+            strand.popFrame();
+            return null;
+        }, null, null);
+        scheduler.start();
+
+        Assert.assertNotNull(firstFrames.get());
+        Assert.assertSame(secondFrames.get(), firstFrames.get());
+    }
+
+    @Test
+    public void testStateChangeIgnoresStrandMonitor() throws InterruptedException {
+        Strand strand = new Strand(null);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (strand) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        try {
+            Assert.assertTrue(locked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Thread changer = new Thread(() -> strand.setState(State.YIELD));
+            changer.start();
+            changer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            Assert.assertFalse(changer.isAlive(), "state change blocked by a lock held on the strand");
+            Assert.assertEquals(strand.getState(), State.YIELD);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+}
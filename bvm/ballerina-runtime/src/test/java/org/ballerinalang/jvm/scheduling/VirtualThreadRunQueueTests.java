@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link VirtualThreadRunQueue}. Platform threads stand in for the virtual threads, so that the
+ * queue can be tested on any Java runtime.
+ */
+public class VirtualThreadRunQueueTests {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSizeCountsItemsInFlight() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        RunQueue queue = new VirtualThreadRunQueue(item -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.countDown();
+        }, executor);
+
+        queue.spawn(createItem());
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(queue.size(), 1, "item being run is not counted");
+
+        release.countDown();
+        Assert.assertTrue(completed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSizeBecomes(queue, 0);
+    }
+
+    @Test
+    public void testItemsAreDispatchedOnOtherThreads() throws InterruptedException {
+        int items = 100;
+        CountDownLatch dispatched = new CountDownLatch(items);
+        Thread caller = Thread.currentThread();
+        RunQueue queue = new VirtualThreadRunQueue(item -> {
+            if (Thread.currentThread() != caller) {
+                dispatched.countDown();
+            }
+        }, executor);
+        for (int i = 0; i < items; i++) {
+            if (i % 2 == 0) {
+                queue.spawn(createItem());
+            } else {
+                queue.resume(createItem());
+            }
+        }
+        Assert.assertTrue(dispatched.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSizeBecomes(queue, 0);
+    }
+
+    @Test
+    public void testBroadcastItemsAreTaken() throws InterruptedException {
+        RunQueue queue = new VirtualThreadRunQueue(item -> Assert.fail("broadcast items must not be dispatched"),
+                executor);
+        queue.register();
+        queue.broadcast(SchedulerItem.POISON_PILL);
+        Assert.assertEquals(queue.size(), 0);
+        Assert.assertSame(queue.take(), SchedulerItem.POISON_PILL);
+    }
+
+    @Test
+    public void testShutdownStopsTheExecutor() {
+        RunQueue queue = new VirtualThreadRunQueue(item -> { }, executor);
+        queue.shutdown();
+        Assert.assertTrue(executor.isShutdown(), "executor was not shut down");
+    }
+
+    private static void assertSizeBecomes(RunQueue queue, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (queue.size() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(queue.size(), expected);
+    }
+
+    private static SchedulerItem createItem() {
+        return new SchedulerItem((Function<Object[], Object>) params -> null, new Object[0], null);
+    }
+}
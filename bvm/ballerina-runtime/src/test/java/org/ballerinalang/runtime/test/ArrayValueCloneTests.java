@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.IdentityHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Test cases for the independence of an {@link ArrayValueImpl} and its clone, which share the storage of simple basic
+ * type members until either of them is updated.
+ */
+public class ArrayValueCloneTests {
+
+    @DataProvider(name = "arrays")
+    public Object[][] arrays() {
+        return new Object[][]{
+                { array(() -> new ArrayValueImpl(new long[]{ 1, 2, 3 })), 42L },
+                { array(() -> new ArrayValueImpl(new boolean[]{ true, false, true })), true },
+                { array(() -> new ArrayValueImpl(new byte[]{ 1, 2, 3 })), 42 },
+                { array(() -> new ArrayValueImpl(new double[]{ 1.5, 2.5, 3.5 })), 42.5 },
+                { array(() -> new ArrayValueImpl(new String[]{ "a", "b", "c" })), "z" },
+                { array(() -> new ArrayValueImpl(new Object[]{ 1L, "b", 3.5 }, new BArrayType(BTypes.typeAnydata))),
+                        "z" }
+        };
+    }
+
+    @DataProvider(name = "updates")
+    public Object[][] updates() {
+        Object[][] arrays = arrays();
+        Object[][] updates = new Object[arrays.length * 4][];
+        for (int i = 0; i < arrays.length; i++) {
+            Object value = arrays[i][1];
+            updates[i * 4] = new Object[]{ arrays[i][0], "add", (Consumer<ArrayValue>) array -> array.add(1, value) };
+            updates[i * 4 + 1] = new Object[]{ arrays[i][0], "append",
+                    (Consumer<ArrayValue>) array -> array.append(value) };
+            updates[i * 4 + 2] = new Object[]{ arrays[i][0], "shift", (Consumer<ArrayValue>) ArrayValue::shift };
+            updates[i * 4 + 3] = new Object[]{ arrays[i][0], "setLength",
+                    (Consumer<ArrayValue>) array -> array.setLength(1) };
+        }
+        return updates;
+    }
+
+    @Test(dataProvider = "updates")
+    public void testUpdateClone(Supplier<ArrayValue> arraySupplier, String update, Consumer<ArrayValue> updater) {
+        ArrayValue source = arraySupplier.get();
+        String expected = source.stringValue();
+        ArrayValue clone = clone(source);
+        updater.accept(clone);
+        Assert.assertEquals(source.stringValue(), expected, update);
+        Assert.assertNotEquals(clone.stringValue(), expected, update);
+    }
+
+    @Test(dataProvider = "updates")
+    public void testUpdateSourceOfClone(Supplier<ArrayValue> arraySupplier, String update,
+                                        Consumer<ArrayValue> updater) {
+        ArrayValue source = arraySupplier.get();
+        String expected = source.stringValue();
+        ArrayValue clone = clone(source);
+        updater.accept(source);
+        Assert.assertEquals(clone.stringValue(), expected, update);
+        Assert.assertNotEquals(source.stringValue(), expected, update);
+
+        // the clone is still updatable after the source took its own copy of the storage
+        updater.accept(clone);
+        Assert.assertEquals(clone.stringValue(), source.stringValue(), update);
+    }
+
+    @Test(dataProvider = "updates")
+    public void testUpdateSourceOfReadOnlyClone(Supplier<ArrayValue> arraySupplier, String update,
+                                                Consumer<ArrayValue> updater) {
+        ArrayValue source = arraySupplier.get();
+        String expected = source.stringValue();
+        ArrayValue readOnlyClone = cloneReadOnly(source);
+        Assert.assertTrue(readOnlyClone.isFrozen());
+        Assert.assertFalse(source.isFrozen());
+        updater.accept(source);
+        Assert.assertEquals(readOnlyClone.stringValue(), expected, update);
+        Assert.assertNotEquals(source.stringValue(), expected, update);
+    }
+
+    @Test(dataProvider = "updates")
+    public void testUpdateReadOnlyClone(Supplier<ArrayValue> arraySupplier, String update,
+                                        Consumer<ArrayValue> updater) {
+        ArrayValue source = arraySupplier.get();
+        String expected = source.stringValue();
+        ArrayValue readOnlyClone = cloneReadOnly(source);
+        try {
+            updater.accept(readOnlyClone);
+            Assert.fail("read-only clone updated by " + update);
+        } catch (ErrorValue e) {
+            Assert.assertTrue(e.getReason().contains("InvalidUpdate"), e.getReason());
+        }
+        Assert.assertEquals(readOnlyClone.stringValue(), expected, update);
+        // the source is unaffected by the failed update, and can be updated
+        Assert.assertEquals(source.stringValue(), expected, update);
+        updater.accept(source);
+        Assert.assertNotEquals(source.stringValue(), expected, update);
+        Assert.assertEquals(readOnlyClone.stringValue(), expected, update);
+    }
+
+    @Test(dataProvider = "arrays")
+    public void testCloneOfClone(Supplier<ArrayValue> arraySupplier, Object value) {
+        ArrayValue source = arraySupplier.get();
+        String expected = source.stringValue();
+        ArrayValue clone = clone(source);
+        ArrayValue cloneOfClone = clone(clone);
+        ArrayValue readOnlyClone = cloneReadOnly(clone);
+        clone.add(1, value);
+        cloneOfClone.append(value);
+
+        Assert.assertEquals(source.stringValue(), expected);
+        Assert.assertEquals(readOnlyClone.stringValue(), expected);
+        Assert.assertNotEquals(clone.stringValue(), cloneOfClone.stringValue());
+        Assert.assertNotEquals(clone.stringValue(), expected);
+        Assert.assertNotEquals(cloneOfClone.stringValue(), expected);
+    }
+
+    @Test
+    public void testUnshiftClone() {
+        ArrayValue source = new ArrayValueImpl(new BArrayType(BTypes.typeByte));
+        for (int i = 0; i < 3; i++) {
+            source.add(i, (byte) (i + 1));
+        }
+        ArrayValue clone = clone(source);
+        clone.unshift(new ArrayValueImpl(new byte[]{ 9, 8 }));
+        Assert.assertEquals(source.stringValue(), "1 2 3");
+        Assert.assertEquals(clone.stringValue(), "9 8 1 2 3");
+
+        source.unshift(new ArrayValueImpl(new byte[]{ 7 }));
+        Assert.assertEquals(source.stringValue(), "7 1 2 3");
+        Assert.assertEquals(clone.stringValue(), "9 8 1 2 3");
+    }
+
+    @Test
+    public void testCloneOfReadOnlyValue() {
+        ArrayValue readOnlyClone = cloneReadOnly(new ArrayValueImpl(new long[]{ 1, 2, 3 }));
+        // an immutable value is its own clone
+        Assert.assertSame(cloneReadOnly(readOnlyClone), readOnlyClone);
+        Assert.assertSame(clone(readOnlyClone), readOnlyClone);
+    }
+
+    @Test
+    public void testNestedMembers() {
+        ArrayValue inner = new ArrayValueImpl(new long[]{ 1, 2 });
+        MapValueImpl<String, Object> map = new MapValueImpl<>(BTypes.typeMap);
+        map.put("key", "value");
+        ArrayValue source = new ArrayValueImpl(new Object[]{ inner, map },
+                                               new BArrayType(BTypes.typeAnydata));
+
+        ArrayValue clone = clone(source);
+        ArrayValue readOnlyClone = cloneReadOnly(source);
+        ((ArrayValue) clone.get(0)).add(0, 10L);
+        ((MapValueImpl<String, Object>) clone.get(1)).put("key", "clone");
+        inner.add(1, 20L);
+        map.put("key", "source");
+
+        Assert.assertEquals(source.stringValue(), "1 20 key=source");
+        Assert.assertEquals(clone.stringValue(), "10 2 key=clone");
+        Assert.assertEquals(readOnlyClone.stringValue(), "1 2 key=value");
+        Assert.assertTrue(((ArrayValue) readOnlyClone.get(0)).isFrozen());
+        Assert.assertTrue(((MapValueImpl) readOnlyClone.get(1)).isFrozen());
+        Assert.assertFalse(inner.isFrozen());
+        Assert.assertFalse(map.isFrozen());
+    }
+
+    @Test
+    public void testFrozenMembersAreShared() {
+        ArrayValue frozenInner = cloneReadOnly(new ArrayValueImpl(new long[]{ 1, 2 }));
+        ArrayValue source = new ArrayValueImpl(new Object[]{ frozenInner, new ArrayValueImpl(new long[]{ 3 }) },
+                                               new BArrayType(BTypes.typeAnydata));
+        ArrayValue readOnlyClone = cloneReadOnly(source);
+        Assert.assertSame(readOnlyClone.get(0), frozenInner);
+        Assert.assertNotSame(readOnlyClone.get(1), source.get(1));
+    }
+
+    @Test
+    public void testCyclicValue() {
+        ArrayValue source = new ArrayValueImpl(new BArrayType(BTypes.typeAny));
+        source.add(0, (Object) 1L);
+        source.add(1, source);
+
+        ArrayValue clone = clone(source);
+        Assert.assertSame(clone.get(1), clone);
+        ArrayValue readOnlyClone = cloneReadOnly(source);
+        Assert.assertSame(readOnlyClone.get(1), readOnlyClone);
+        Assert.assertTrue(readOnlyClone.isFrozen());
+
+        clone.add(0, (Object) 2L);
+        Assert.assertEquals(source.get(0), 1L);
+        Assert.assertEquals(((ArrayValue) readOnlyClone.get(1)).get(0), 1L);
+    }
+
+    private static Supplier<ArrayValue> array(Supplier<ArrayValue> supplier) {
+        return supplier;
+    }
+
+    private static ArrayValue clone(ArrayValue array) {
+        return (ArrayValue) array.copy(new IdentityHashMap<>());
+    }
+
+    private static ArrayValue cloneReadOnly(ArrayValue array) {
+        return (ArrayValue) array.frozenCopy(new IdentityHashMap<>());
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.BLock;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.SchedulerMode;
+import org.ballerinalang.jvm.scheduling.State;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link BLock}.
+ */
+public class BLockTests {
+
+    private static final Function<Object[], Object> NO_OP = params -> null;
+
+    @Test
+    public void testReentrantLock() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand first = createStrand(scheduler);
+        Strand second = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(first));
+        Assert.assertTrue(lock.lock(first));
+        lock.unlock();
+        Assert.assertFalse(lock.lock(second), "lock released before the outer unlock");
+        lock.unlock();
+        Assert.assertTrue(lock.lock(second));
+        lock.unlock();
+    }
+
+    @Test
+    public void testQueuedStrandsAreNotOvertaken() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand first = createStrand(scheduler);
+        Strand second = createStrand(scheduler);
+        Strand third = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(first));
+        Assert.assertFalse(lock.lock(second));
+        Assert.assertEquals(second.getState(), State.BLOCK_AND_YIELD);
+        lock.unlock();
+
+        // the lock is handed over to the queued strand, a strand arriving now has to queue up behind it
+        Assert.assertFalse(lock.lock(third));
+        Assert.assertFalse(lock.lock(first), "unlocking strand re-acquired the lock ahead of the waiters");
+        Assert.assertTrue(lock.lock(second));
+        lock.unlock();
+        Assert.assertTrue(lock.lock(third));
+        lock.unlock();
+        Assert.assertTrue(lock.lock(first));
+        lock.unlock();
+
+        Strand fourth = createStrand(scheduler);
+        Assert.assertTrue(lock.lock(fourth), "free lock with no waiters is not acquired right away");
+        lock.unlock();
+    }
+
+    @Test
+    public void testMutualExclusionAcrossWorkers() {
+        int strands = 2000;
+        BLock lock = new BLock();
+        int[] counter = new int[1];
+        List<Strand> order = new ArrayList<>();
+        Function<Object[], Object> criticalSection = params -> {
+            Strand strand = (Strand) params[0];
+            // like the generated code, a strand which could not acquire the lock yields and retries when resumed
+            if (!lock.lock(strand)) {
+                return null;
+            }
+            int value = counter[0];
+            Thread.yield();
+            counter[0] = value + 1;
+            order.add(strand);
+            lock.unlock();
+            return null;
+        };
+
+        Scheduler scheduler = new Scheduler(4, false, SchedulerMode.WORK_STEALING);
+        for (int i = 0; i < strands; i++) {
+            scheduler.schedule(new Object[1], criticalSection, null, null);
+        }
+        scheduler.start();
+        Assert.assertEquals(counter[0], strands);
+        Assert.assertEquals(order.size(), strands);
+    }
+
+    @Test
+    public void testSharedLock() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand firstReader = createStrand(scheduler);
+        Strand secondReader = createStrand(scheduler);
+        Strand writer = createStrand(scheduler);
+        Strand lateReader = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lockShared(firstReader));
+        Assert.assertTrue(lock.lockShared(secondReader));
+        Assert.assertFalse(lock.lock(writer));
+        // a reader arriving after a queued writer waits for it
+        Assert.assertFalse(lock.lockShared(lateReader));
+
+        lock.unlockShared();
+        Assert.assertNull(writer.handedOverLock, "lock handed over while a share is still held");
+        lock.unlockShared();
+        Assert.assertTrue(lock.lock(writer));
+        lock.unlock();
+        Assert.assertTrue(lock.lockShared(lateReader));
+        lock.unlockShared();
+
+        Assert.assertTrue(lock.lock(writer), "free lock with no waiters is not acquired right away");
+        lock.unlock();
+    }
+
+    @Test
+    public void testReadersAndWritersAcrossWorkers() {
+        int strands = 2000;
+        BLock lock = new BLock();
+        int[] counters = new int[2];
+        AtomicInteger inconsistentReads = new AtomicInteger();
+        AtomicInteger writes = new AtomicInteger();
+        Function<Object[], Object> write = params -> {
+            Strand strand = (Strand) params[0];
+            if (!lock.lock(strand)) {
+                return null;
+            }
+            counters[0]++;
+            Thread.yield();
+            counters[1]++;
+            writes.incrementAndGet();
+            lock.unlock();
+            return null;
+        };
+        Function<Object[], Object> read = params -> {
+            Strand strand = (Strand) params[0];
+            if (!lock.lockShared(strand)) {
+                return null;
+            }
+            int first = counters[0];
+            Thread.yield();
+            if (counters[1] != first) {
+                inconsistentReads.incrementAndGet();
+            }
+            lock.unlockShared();
+            return null;
+        };
+
+        Scheduler scheduler = new Scheduler(4, false, SchedulerMode.WORK_STEALING);
+        for (int i = 0; i < strands; i++) {
+            scheduler.schedule(new Object[1], i % 4 == 0 ? write : read, null, null);
+        }
+        scheduler.start();
+        Assert.assertEquals(inconsistentReads.get(), 0);
+        Assert.assertEquals(writes.get(), strands / 4);
+        Assert.assertEquals(counters[0], strands / 4);
+    }
+
+    @Test(timeOut = 60000)
+    public void testNoWakeUpIsLostBetweenReadersAndWriters() {
+        // a reader queued right when the lock is handed over to it must not also take a share by itself and dequeue
+        // a strand behind it, that strand would never be woken up
+        for (int round = 0; round < 200; round++) {
+            BLock lock = new BLock();
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger writers = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            Function<Object[], Object> write = params -> {
+                Strand strand = (Strand) params[0];
+                if (!lock.lock(strand)) {
+                    return null;
+                }
+                if (writers.incrementAndGet() != 1) {
+                    overlaps.incrementAndGet();
+                }
+                writers.decrementAndGet();
+                completed.incrementAndGet();
+                lock.unlock();
+                return null;
+            };
+            Function<Object[], Object> read = params -> {
+                Strand strand = (Strand) params[0];
+                if (!lock.lockShared(strand)) {
+                    return null;
+                }
+                if (writers.get() != 0) {
+                    overlaps.incrementAndGet();
+                }
+                completed.incrementAndGet();
+                lock.unlockShared();
+                return null;
+            };
+
+            int strands = 64;
+            Scheduler scheduler = new Scheduler(4, false, SchedulerMode.WORK_STEALING);
+            for (int i = 0; i < strands; i++) {
+                scheduler.schedule(new Object[1], i % 3 == 0 ? write : read, null, null);
+            }
+            scheduler.start();
+            Assert.assertEquals(completed.get(), strands, "strands waiting for the lock were not woken up");
+            Assert.assertEquals(overlaps.get(), 0);
+            Assert.assertTrue(lock.lock(createStrand(scheduler)), "shares of the lock were not released");
+            lock.unlock();
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void testReaderQueuedWhileLockIsHandedOver() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand writer = createStrand(scheduler);
+        Strand reader = createStrand(scheduler);
+        Strand other = createStrand(scheduler);
+        BLock[] locks = new BLock[1];
+        boolean[] acquired = new boolean[1];
+        // the threads do not park in between, so that the reader queues up right when the lock is released
+        AtomicInteger round = new AtomicInteger();
+        AtomicInteger readerRound = new AtomicInteger();
+        Thread readerThread = new Thread(() -> {
+            for (int i = 1; ; i++) {
+                while (round.get() < i) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    Thread.yield();
+                }
+                for (int spin = i % 64; spin > 0; spin--) {
+                    round.get();
+                }
+                acquired[0] = locks[0].lockShared(reader);
+                readerRound.set(i);
+            }
+        });
+        readerThread.start();
+        try {
+            for (int i = 1; i <= 50000; i++) {
+                BLock lock = new BLock();
+                locks[0] = lock;
+                reader.handedOverLock = null;
+                Assert.assertTrue(lock.lock(writer));
+                round.set(i);
+                lock.unlock();
+                while (readerRound.get() < i) {
+                    Thread.yield();
+                }
+
+                if (acquired[0]) {
+                    Assert.assertNull(reader.handedOverLock, "share taken by the reader was also handed over");
+                } else {
+                    Assert.assertTrue(lock.lockShared(reader));
+                }
+                lock.unlockShared();
+                Assert.assertTrue(lock.lock(other), "share of the reader was counted twice");
+                lock.unlock();
+            }
+        } finally {
+            readerThread.interrupt();
+        }
+    }
+
+    @Test
+    public void testSharedLockOfExclusiveOwner() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand owner = createStrand(scheduler);
+        Strand other = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertTrue(lock.lockShared(owner));
+        lock.unlockShared();
+        Assert.assertFalse(lock.lockShared(other), "lock released before the outer unlock");
+        lock.unlock();
+        Assert.assertTrue(lock.lockShared(other));
+        lock.unlockShared();
+    }
+
+    @Test
+    public void testQueuedReadersShareTheLock() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand writer = createStrand(scheduler);
+        Strand firstReader = createStrand(scheduler);
+        Strand secondReader = createStrand(scheduler);
+        Strand secondWriter = createStrand(scheduler);
+        Strand lastReader = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertFalse(lock.lockShared(firstReader));
+        Assert.assertFalse(lock.lockShared(secondReader));
+        Assert.assertFalse(lock.lock(secondWriter));
+        Assert.assertFalse(lock.lockShared(lastReader));
+        lock.unlock();
+
+        // the readers queued one after the other get the lock together, up to the next queued writer
+        Assert.assertNull(secondWriter.handedOverLock);
+        Assert.assertTrue(lock.lockShared(firstReader));
+        Assert.assertTrue(lock.lockShared(secondReader));
+        lock.unlockShared();
+        lock.unlockShared();
+        Assert.assertNull(lastReader.handedOverLock);
+        Assert.assertTrue(lock.lock(secondWriter));
+        lock.unlock();
+        Assert.assertTrue(lock.lockShared(lastReader));
+        lock.unlockShared();
+    }
+
+    @Test
+    public void testHandedOverLockIsReleased() {
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand writer = createStrand(scheduler);
+        Strand reader = createStrand(scheduler);
+        Strand secondWriter = createStrand(scheduler);
+        Strand other = createStrand(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertFalse(lock.lockShared(reader));
+        Assert.assertFalse(lock.lock(secondWriter));
+        lock.unlock();
+
+        // the strands end without taking the lock handed over to them
+        BLock.releaseHandedOver(reader);
+        Assert.assertNull(reader.handedOverLock);
+        BLock.releaseHandedOver(secondWriter);
+        Assert.assertNull(secondWriter.handedOverLock);
+        Assert.assertTrue(lock.lock(other));
+        lock.unlock();
+    }
+
+    @Test
+    public void testHandedOverLockOfCancelledStrandIsReleased() {
+        BLock lock = new BLock();
+        Scheduler scheduler = new Scheduler(1, false, SchedulerMode.GLOBAL_QUEUE);
+        Strand holder = createStrand(scheduler);
+        Assert.assertTrue(lock.lock(holder));
+        Function<Object[], Object> criticalSection = params -> {
+            Strand strand = (Strand) params[0];
+            // like the generated code, a cancelled strand panics as soon as it resumes
+            if (strand.cancel) {
+                throw new IllegalStateException("cancelled");
+            }
+            if (!lock.lock(strand)) {
+                return null;
+            }
+            lock.unlock();
+            return null;
+        };
+        Strand cancelled = scheduler.schedule(new Object[1], criticalSection, null, null).strand;
+        // runs after the strand above is queued for the lock
+        Function<Object[], Object> cancel = params -> {
+            cancelled.cancel = true;
+            lock.unlock();
+            return null;
+        };
+        scheduler.schedule(new Object[1], cancel, null, null);
+        scheduler.start();
+
+        Assert.assertNull(cancelled.handedOverLock);
+        Assert.assertTrue(lock.lock(createStrand(scheduler)), "lock of the cancelled strand is not released");
+    }
+
+    private static Strand createStrand(Scheduler scheduler) {
+        return scheduler.schedule(new Object[1], NO_OP, null, null).strand;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.ColumnarTable;
+import org.ballerinalang.jvm.DataIterator;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for {@link ColumnarTable}.
+ */
+public class ColumnarTableTests {
+
+    private BRecordType employeeType;
+
+    @BeforeClass
+    public void setup() {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        fields.put("salary", new BField(BTypes.typeDecimal, "salary", Flags.REQUIRED));
+        fields.put("rating", new BField(new BUnionType(Arrays.asList(BTypes.typeFloat, BTypes.typeNull)), "rating",
+                Flags.REQUIRED));
+        fields.put("active", new BField(BTypes.typeBoolean, "active", Flags.REQUIRED));
+        employeeType = new BRecordType("Employee", new BPackage("test", "tables"), 0, fields, null, true, 0);
+    }
+
+    @Test
+    public void testInsert() {
+        ColumnarTable table = createTable(true);
+        for (int i = 0; i < 40; i++) {
+            table.insert(createEmployee(i));
+        }
+
+        List<MapValue<?, ?>> rows = readRows(table.createIterator());
+        Assert.assertEquals(rows.size(), 40);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEmployee(rows.get(i), i);
+        }
+    }
+
+    @Test
+    public void testColumnValues() {
+        ColumnarTable table = createTable(false);
+        table.insert(createEmployee(1));
+        table.insert(createEmployee(2));
+
+        DataIterator iterator = table.createIterator();
+        Assert.assertTrue(iterator.next());
+        Assert.assertEquals(iterator.getInt(1), Long.valueOf(1));
+        Assert.assertEquals(iterator.getString(2), "employee-1");
+        Assert.assertEquals(iterator.getDecimal(3), new DecimalValue("1000.50"));
+        Assert.assertNull(iterator.getFloat(4));
+        Assert.assertEquals(iterator.getBoolean(5), Boolean.FALSE);
+        Assert.assertTrue(iterator.next());
+        Assert.assertEquals(iterator.getFloat(4), 2.5d);
+        Assert.assertEquals(iterator.getBoolean(5), Boolean.TRUE);
+        Assert.assertFalse(iterator.next());
+        Assert.assertEquals(iterator.getColumnDefinitions().size(), 5);
+        Assert.assertSame(iterator.getStructType(), employeeType);
+    }
+
+    @Test
+    public void testPrimaryKeyViolation() {
+        ColumnarTable table = createTable(true);
+        table.insert(createEmployee(1));
+        try {
+            table.insert(createEmployee(1));
+            Assert.fail("duplicate primary key was inserted");
+        } catch (ErrorValue e) {
+            Assert.assertTrue(e.stringValue().contains(
+                    "execute update failed: Unique index or primary key violation: \"PRIMARY KEY ON Employee(id)\""),
+                    e.stringValue());
+        }
+        Assert.assertEquals(readRows(table.createIterator()).size(), 1);
+
+        // a table without a primary key takes duplicate rows
+        ColumnarTable tableWithoutKey = createTable(false);
+        tableWithoutKey.insert(createEmployee(1));
+        tableWithoutKey.insert(createEmployee(1));
+        Assert.assertEquals(readRows(tableWithoutKey.createIterator()).size(), 2);
+    }
+
+    @Test
+    public void testDelete() {
+        ColumnarTable table = createTable(true);
+        for (int i = 0; i < 10; i++) {
+            table.insert(createEmployee(i));
+        }
+        table.delete(createEmployee(3));
+        // a row with the same key but other values is not deleted
+        MapValueImpl<String, Object> changed = createEmployee(4);
+        changed.put("name", "someone else");
+        table.delete(changed);
+        table.delete(createEmployee(42));
+
+        List<Long> ids = readIds(table.createIterator());
+        Assert.assertEquals(ids, Arrays.asList(0L, 1L, 2L, 4L, 5L, 6L, 7L, 8L, 9L));
+        // the key of a deleted row can be inserted again
+        table.insert(createEmployee(3));
+        Assert.assertEquals(readIds(table.createIterator()), Arrays.asList(0L, 1L, 2L, 4L, 5L, 6L, 7L, 8L, 9L, 3L));
+
+        ColumnarTable tableWithoutKey = createTable(false);
+        tableWithoutKey.insert(createEmployee(1));
+        tableWithoutKey.insert(createEmployee(2));
+        tableWithoutKey.insert(createEmployee(1));
+        tableWithoutKey.delete(createEmployee(1));
+        Assert.assertEquals(readIds(tableWithoutKey.createIterator()), Arrays.asList(2L));
+    }
+
+    @Test
+    public void testCompaction() {
+        ColumnarTable table = createTable(true);
+        for (int i = 0; i < 100; i++) {
+            table.insert(createEmployee(i));
+        }
+        // deleting half of the rows compacts the table
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0) {
+                table.delete(createEmployee(i));
+            } else {
+                expectedIds.add((long) i);
+            }
+        }
+        Assert.assertEquals(readIds(table.createIterator()), expectedIds);
+
+        // the key index is rebuilt for the moved rows
+        for (int i = 1; i < 100; i += 2) {
+            try {
+                table.insert(createEmployee(i));
+                Assert.fail("duplicate primary key was inserted after compaction");
+            } catch (ErrorValue e) {
+                Assert.assertTrue(e.stringValue().contains("primary key violation"), e.stringValue());
+            }
+        }
+        table.delete(createEmployee(99));
+        expectedIds.remove(Long.valueOf(99));
+        table.insert(createEmployee(100));
+        expectedIds.add(100L);
+        List<MapValue<?, ?>> rows = readRows(table.createIterator());
+        Assert.assertEquals(rows.size(), expectedIds.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEmployee(rows.get(i), expectedIds.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testIteratorSnapshotIsolation() {
+        ColumnarTable table = createTable(true);
+        for (int i = 0; i < 16; i++) {
+            table.insert(createEmployee(i));
+        }
+        DataIterator iterator = table.createIterator();
+        Assert.assertTrue(iterator.next());
+        assertEmployee(iterator.generateNext(), 0);
+
+        // appends past the capacity, deletes and a compaction after the iterator was created
+        for (int i = 16; i < 40; i++) {
+            table.insert(createEmployee(i));
+        }
+        for (int i = 0; i < 30; i++) {
+            table.delete(createEmployee(i));
+        }
+        Assert.assertEquals(readIds(table.createIterator()).size(), 10);
+
+        for (int i = 1; i < 16; i++) {
+            Assert.assertTrue(iterator.next());
+            assertEmployee(iterator.generateNext(), i);
+        }
+        Assert.assertFalse(iterator.next());
+    }
+
+    @Test
+    public void testRowsAreCopied() {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+        fields.put("tags", new BField(new BArrayType(BTypes.typeString), "tags", Flags.REQUIRED));
+        BRecordType taggedType = new BRecordType("Tagged", new BPackage("test", "tables"), 0, fields, null, true,
+                0);
+        ColumnarTable table = new ColumnarTable(taggedType, null);
+        MapValueImpl<String, Object> row = new MapValueImpl<>(taggedType);
+        row.put("id", 1L);
+        ArrayValueImpl tags = new ArrayValueImpl(new String[]{"a", "b"});
+        row.put("tags", tags);
+        table.insert(row);
+
+        // updates to the inserted record or to a read row do not change the table
+        tags.add(0, "changed");
+        DataIterator iterator = table.createIterator();
+        Assert.assertTrue(iterator.next());
+        ArrayValueImpl readTags = (ArrayValueImpl) iterator.generateNext().get("tags");
+        Assert.assertEquals(readTags.getString(0), "a");
+        readTags.add(1, "changed");
+        iterator = table.createIterator();
+        Assert.assertTrue(iterator.next());
+        Assert.assertEquals(((ArrayValueImpl) iterator.generateNext().get("tags")).getString(1), "b");
+    }
+
+    private ColumnarTable createTable(boolean withPrimaryKey) {
+        return new ColumnarTable(employeeType, withPrimaryKey ? new ArrayValueImpl(new String[]{"id"}) : null);
+    }
+
+    private MapValueImpl<String, Object> createEmployee(int id) {
+        MapValueImpl<String, Object> employee = new MapValueImpl<>(employeeType);
+        employee.put("id", (long) id);
+        employee.put("name", "employee-" + id);
+        employee.put("salary", new DecimalValue(id + "000.50"));
+        employee.put("rating", id % 2 == 0 ? id + 0.5 : null);
+        employee.put("active", id % 2 == 0);
+        return employee;
+    }
+
+    private static void assertEmployee(MapValue<?, ?> row, int id) {
+        Assert.assertEquals(row.get("id"), (long) id);
+        Assert.assertEquals(row.get("name"), "employee-" + id);
+        Assert.assertEquals(row.get("salary"), new DecimalValue(id + "000.50"));
+        Assert.assertEquals(row.get("rating"), id % 2 == 0 ? id + 0.5 : null);
+        Assert.assertEquals(row.get("active"), id % 2 == 0);
+    }
+
+    private static List<MapValue<?, ?>> readRows(DataIterator iterator) {
+        List<MapValue<?, ?>> rows = new ArrayList<>();
+        while (iterator.next()) {
+            rows.add(iterator.generateNext());
+        }
+        return rows;
+    }
+
+    private static List<Long> readIds(DataIterator iterator) {
+        List<Long> ids = new ArrayList<>();
+        while (iterator.next()) {
+            ids.add(iterator.getInt(1));
+        }
+        return ids;
+    }
+}
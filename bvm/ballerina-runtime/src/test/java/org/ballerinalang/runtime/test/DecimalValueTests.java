@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.BinaryOperator;
+
+/**
+ * Test cases for {@link DecimalValue}, comparing the compact form of small decimals with the {@code BigDecimal} form.
+ */
+public class DecimalValueTests {
+
+    private static final String MAX_COMPACT = "999999999999999999";
+
+    @DataProvider(name = "operands")
+    public Object[][] operands() {
+        return new Object[][]{
+                {"1", "2"},
+                {"1.50", "2.250"},
+                {"-12.5", "0.75"},
+                {"0.1", "0.2"},
+                {"0.00", "3.000"},
+                {"100", "-100.00"},
+                {"123456789.123456789", "987654321.987654321"},
+                // the sum still fits in a long
+                {MAX_COMPACT, MAX_COMPACT},
+                // rescaling one operand to the scale of the other does not fit in a long
+                {MAX_COMPACT, "0.000000000000000001"},
+                {"-" + MAX_COMPACT, "0.5"},
+                // the product does not fit in a long
+                {MAX_COMPACT, "10"},
+                {"4294967296", "4294967296"},
+                {"-3037000500", "3037000500"},
+                // the scale of the product is too large for the compact form
+                {"0.000000001", "0.0000000001"},
+                // one operand is too long for the compact form
+                {"1234567890123456789", "1.5"},
+                {"0.5", "1.0000000000000000000000000000001"},
+                {"1E+3", "2"},
+        };
+    }
+
+    @Test(dataProvider = "operands")
+    public void testAdd(String lhs, String rhs) {
+        assertSameResult(lhs, rhs, DecimalValue::add);
+        assertSameResult(rhs, lhs, DecimalValue::add);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testSubtract(String lhs, String rhs) {
+        assertSameResult(lhs, rhs, DecimalValue::subtract);
+        assertSameResult(rhs, lhs, DecimalValue::subtract);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testMultiply(String lhs, String rhs) {
+        assertSameResult(lhs, rhs, DecimalValue::multiply);
+        assertSameResult(rhs, lhs, DecimalValue::multiply);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testNegate(String lhs, String rhs) {
+        Assert.assertEquals(new DecimalValue(lhs).negate().value(), inflated(lhs).negate().value());
+        Assert.assertEquals(new DecimalValue(rhs).negate().value(), inflated(rhs).negate().value());
+    }
+
+    @Test(dataProvider = "operands")
+    public void testCompareValue(String lhs, String rhs) {
+        int expected = new BigDecimal(lhs).compareTo(new BigDecimal(rhs));
+        DecimalValue[] lhsForms = { new DecimalValue(lhs), inflated(lhs) };
+        DecimalValue[] rhsForms = { new DecimalValue(rhs), inflated(rhs) };
+        for (DecimalValue lhsValue : lhsForms) {
+            for (DecimalValue rhsValue : rhsForms) {
+                Assert.assertEquals(lhsValue.compareValue(rhsValue), expected);
+                Assert.assertEquals(rhsValue.compareValue(lhsValue), -expected);
+                Assert.assertEquals(TypeChecker.checkDecimalGreaterThan(lhsValue, rhsValue), expected > 0);
+                Assert.assertEquals(TypeChecker.checkDecimalEqual(lhsValue, rhsValue), expected == 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCompareValueIgnoresScale() {
+        String[][] equalValues = {
+                {"1", "1.000"}, {"-2.5", "-2.50000"}, {"0", "0.00"}, {MAX_COMPACT, MAX_COMPACT + ".0"},
+                {"0.1", "0.100000000000000000000"}, {"1E+2", "100.0"},
+        };
+        for (String[] values : equalValues) {
+            DecimalValue[] forms = { new DecimalValue(values[0]), inflated(values[0]), new DecimalValue(values[1]),
+                    inflated(values[1]) };
+            for (DecimalValue lhs : forms) {
+                for (DecimalValue rhs : forms) {
+                    Assert.assertEquals(lhs.compareValue(rhs), 0, lhs + " <> " + rhs);
+                    Assert.assertEquals(lhs, rhs);
+                    Assert.assertTrue(TypeChecker.isEqual(lhs, rhs));
+                }
+            }
+        }
+        // aligning the scales of the values does not fit in a long
+        Assert.assertEquals(new DecimalValue(MAX_COMPACT).compareValue(new DecimalValue("0.000000000000000001")), 1);
+        Assert.assertEquals(new DecimalValue("-" + MAX_COMPACT).compareValue(new DecimalValue("0.1")), -1);
+    }
+
+    @DataProvider(name = "numbers")
+    public Object[][] numbers() {
+        return new Object[][]{
+                {"0"}, {"-0.0"}, {"1"}, {"0.1"}, {"-0.3"}, {"1.50"}, {"3.141592653589793"}, {"2.718281828459045235"},
+                {"9007199254740993"}, {"-9007199254740993.5"}, {MAX_COMPACT}, {"0." + MAX_COMPACT},
+                {"123456.000000000001"}, {"1234567890123456789.5"},
+        };
+    }
+
+    @Test(dataProvider = "numbers")
+    public void testParse(String number) {
+        DecimalValue value = new DecimalValue(number);
+        BigDecimal expected = new BigDecimal(number, MathContext.DECIMAL128);
+        Assert.assertEquals(value.value(), expected);
+        Assert.assertEquals(value.value().scale(), expected.scale());
+        Assert.assertEquals(value.stringValue(), inflated(number).stringValue());
+        Assert.assertEquals(value.booleanValue(), expected.signum() != 0);
+    }
+
+    @Test(dataProvider = "numbers")
+    public void testDoubleValue(String number) {
+        Assert.assertEquals(Double.doubleToLongBits(new DecimalValue(number).floatValue()),
+                Double.doubleToLongBits(new BigDecimal(number, MathContext.DECIMAL128).doubleValue()));
+        Assert.assertEquals(Double.doubleToLongBits(new DecimalValue(number).floatValue()),
+                Double.doubleToLongBits(inflated(number).floatValue()));
+    }
+
+    @Test
+    public void testValueOfIntegral() {
+        long[] values = { 0, 1, -1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE / 10,
+                Long.MAX_VALUE / 10 + 1, Long.MAX_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE };
+        for (long value : values) {
+            DecimalValue decimal = DecimalValue.valueOf(value);
+            BigDecimal expected = new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN);
+            Assert.assertEquals(decimal.value(), expected);
+            Assert.assertEquals(decimal.compareValue(inflated(expected.toString())), 0);
+            Assert.assertEquals(decimal.add(DecimalValue.valueOf(1)).value(),
+                    inflated(expected.toString()).add(inflated("1.0")).value());
+        }
+        Assert.assertEquals(DecimalValue.valueOfJ((byte) 7).value(), new BigDecimal("7.0"));
+        Assert.assertEquals(DecimalValue.valueOfJ('a').value(), new BigDecimal("97.0"));
+        Assert.assertEquals(DecimalValue.valueOfJ((short) -3).value(), new BigDecimal("-3.0"));
+    }
+
+    private static void assertSameResult(String lhs, String rhs, BinaryOperator<DecimalValue> operator) {
+        DecimalValue actual = operator.apply(new DecimalValue(lhs), new DecimalValue(rhs));
+        DecimalValue expected = operator.apply(inflated(lhs), inflated(rhs));
+        // BigDecimal equality includes the scale
+        Assert.assertEquals(actual.value(), expected.value(), lhs + ", " + rhs);
+        Assert.assertEquals(actual.stringValue(), expected.stringValue());
+        Assert.assertEquals(Double.doubleToLongBits(actual.floatValue()), Double.doubleToLongBits(
+                expected.floatValue()));
+    }
+
+    // a decimal held as a BigDecimal, as created by the runtime before decimals had a compact form
+    private static DecimalValue inflated(String value) {
+        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128));
+    }
+}
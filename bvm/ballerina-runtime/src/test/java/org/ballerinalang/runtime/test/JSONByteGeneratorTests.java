@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.JSONByteGenerator;
+import org.ballerinalang.jvm.JSONGenerator;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link JSONByteGenerator}, which has to write the same bytes as a UTF-8 {@link JSONGenerator}.
+ */
+public class JSONByteGeneratorTests {
+
+    private static final BPackage TEST_PACKAGE = new BPackage("jsontest", "generator", "1.0.0");
+
+    @DataProvider(name = "strings")
+    public Object[][] strings() {
+        return new Object[][]{
+                {"plain ascii"},
+                {""},
+                {"quote \" back slash \\ slash / tab \t new line \n return \r"},
+                {"back space \b form feed \f"},
+                {"no escape needed except slash /"},
+                {"café üß Ā"},
+                {"中文 € ￿"},
+                {"😀 smile 𝄞 clef"},
+                {"escaped \" and non BMP 😀 together"},
+                {"lone high \uD83D surrogate"},
+                {"lone low \uDE00 surrogate"},
+                {"high at end \uD83D"},
+                {"control \u0001 \u001f"},
+        };
+    }
+
+    @Test(dataProvider = "strings")
+    public void testString(String value) throws IOException {
+        assertSameBytes(value);
+    }
+
+    @Test(dataProvider = "strings")
+    public void testFieldName(String name) throws IOException {
+        MapValueImpl<String, Object> map = new MapValueImpl<>(BTypes.typeJSON);
+        map.put(name, name);
+        assertSameBytes(map);
+    }
+
+    @Test
+    public void testLongString() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append("aé中😀\"");
+        }
+        assertSameBytes(value.toString());
+    }
+
+    @DataProvider(name = "numbers")
+    public Object[][] numbers() {
+        return new Object[][]{
+                {0L}, {-1L}, {Long.MAX_VALUE}, {Long.MIN_VALUE},
+                {0.0d}, {-0.0d}, {1.5d}, {1.0E10d}, {1.0E-7d}, {Double.MAX_VALUE}, {Double.MIN_VALUE},
+                {Double.NaN}, {Double.POSITIVE_INFINITY},
+                {new DecimalValue("0")}, {new DecimalValue("1.10")}, {new DecimalValue("-123456789.123456789")},
+                {new DecimalValue("1E+20")}, {new DecimalValue("0.000001")},
+                {true}, {false}, {null},
+        };
+    }
+
+    @Test(dataProvider = "numbers")
+    public void testScalar(Object value) throws IOException {
+        assertSameBytes(value);
+        ArrayValueImpl array = newJsonArray();
+        array.append(value);
+        array.append(value);
+        assertSameBytes(array);
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        assertSameBytes(JSONParser.parse("{\"a\":[1, 2.5, \"x\\ty\", {\"b\":null, \"c\":[]}], \"d\":{}, " +
+                "\"é\":[true, false, \"😀\"]}"));
+        assertSameBytes(JSONParser.parse("[[[[[]]]], {\"a\":{\"b\":{\"c\":{}}}}]"));
+    }
+
+    @Test
+    public void testNestedRecords() throws IOException {
+        Map<String, BField> innerFields = new LinkedHashMap<>();
+        innerFields.put("city", new BField(BTypes.typeString, "city", Flags.REQUIRED));
+        innerFields.put("zip\"code", new BField(BTypes.typeInt, "zip\"code", Flags.REQUIRED));
+        BRecordType innerType = new BRecordType("Address", TEST_PACKAGE, Flags.PUBLIC, innerFields, null, true,
+                TypeFlags.ANYDATA | TypeFlags.PURETYPE);
+
+        Map<String, BField> outerFields = new LinkedHashMap<>();
+        outerFields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        outerFields.put("salary", new BField(BTypes.typeDecimal, "salary", Flags.REQUIRED));
+        outerFields.put("rating", new BField(BTypes.typeFloat, "rating", Flags.REQUIRED));
+        outerFields.put("address", new BField(innerType, "address", Flags.REQUIRED));
+        BRecordType outerType = new BRecordType("Employee", TEST_PACKAGE, Flags.PUBLIC, outerFields,
+                BTypes.typeJSON, false, 0);
+
+        MapValueImpl<String, Object> address = new MapValueImpl<>(innerType);
+        address.put("city", "São Paulo");
+        address.put("zip\"code", 1000L);
+        MapValueImpl<String, Object> employee = new MapValueImpl<>(outerType);
+        employee.put("name", "José 😀");
+        employee.put("salary", new DecimalValue("1234.50"));
+        employee.put("rating", 4.25d);
+        employee.put("address", address);
+        // rest field which is not part of the type
+        employee.put("nøte", "rest \"field\"");
+
+        assertSameBytes(employee);
+        // the second time the cached field names of the record types are used
+        assertSameBytes(employee);
+
+        MapValueImpl<String, Object> json = new MapValueImpl<>(BTypes.typeJSON);
+        json.put("employee", employee);
+        ArrayValueImpl array = new ArrayValueImpl(new Object[0], new BArrayType(BTypes.typeAnydata));
+        array.append(json);
+        array.append(address);
+        assertSameBytes(array);
+    }
+
+    @Test
+    public void testManyRecordTypes() throws IOException {
+        // more record types than the generator caches field names for
+        for (int i = 0; i < 1100; i++) {
+            Map<String, BField> fields = new LinkedHashMap<>();
+            fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+            BRecordType type = new BRecordType("Generated" + i, TEST_PACKAGE, 0, fields, BTypes.typeJSON, false, 0);
+            MapValueImpl<String, Object> record = new MapValueImpl<>(type);
+            record.put("id", (long) i);
+            record.put("extra\n" + i, "value");
+            assertSameBytes(record);
+        }
+    }
+
+    @Test
+    public void testLargeDocument() throws IOException {
+        ArrayValueImpl array = newJsonArray();
+        for (int i = 0; i < 2000; i++) {
+            MapValueImpl<String, Object> map = new MapValueImpl<>(BTypes.typeJSON);
+            map.put("index", (long) i);
+            map.put("name" + (i % 300), "value é😀 " + i);
+            array.append(map);
+        }
+        assertSameBytes(array);
+    }
+
+    private static ArrayValueImpl newJsonArray() {
+        return new ArrayValueImpl(new Object[0], new BArrayType(BTypes.typeJSON));
+    }
+
+    /**
+     * Returns the value with all record values replaced by json maps, since {@link JSONGenerator} does not write
+     * record values.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object toJson(Object value) {
+        if (value instanceof MapValueImpl) {
+            MapValueImpl<String, Object> json = new MapValueImpl<>(BTypes.typeJSON);
+            for (Map.Entry<String, Object> entry : ((MapValueImpl<String, Object>) value).entrySet()) {
+                json.put(entry.getKey(), toJson(entry.getValue()));
+            }
+            return json;
+        }
+        if (value instanceof ArrayValueImpl && isRefArray((ArrayValueImpl) value)) {
+            ArrayValueImpl array = (ArrayValueImpl) value;
+            ArrayValueImpl json = newJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                json.append(toJson(array.get(i)));
+            }
+            return json;
+        }
+        return value;
+    }
+
+    private static boolean isRefArray(ArrayValueImpl array) {
+        int elementTypeTag = array.getElementType().getTag();
+        return elementTypeTag == TypeTags.JSON_TAG || elementTypeTag == TypeTags.ANYDATA_TAG;
+    }
+
+    private static void assertSameBytes(Object json) throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JSONGenerator generator = new JSONGenerator(expected, StandardCharsets.UTF_8);
+        generator.serialize(toJson(json));
+        generator.flush();
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        JSONByteGenerator byteGenerator = new JSONByteGenerator(actual);
+        byteGenerator.serialize(json);
+        byteGenerator.flush();
+
+        Assert.assertEquals(new String(actual.toByteArray(), StandardCharsets.UTF_8),
+                new String(expected.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(actual.toByteArray(), expected.toByteArray());
+    }
+}
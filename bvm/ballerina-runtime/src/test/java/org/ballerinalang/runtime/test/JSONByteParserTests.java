@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.JSONByteParser;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.ValueCreator;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link JSONByteParser}, which has to build the same values as {@link JSONParser}.
+ */
+public class JSONByteParserTests {
+
+    private static final BPackage TEST_PACKAGE = new BPackage("jsontest", "records", "1.0.0");
+
+    private BRecordType personType;
+
+    @BeforeClass
+    public void setup() {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        fields.put("age", new BField(BTypes.typeInt, "age", Flags.REQUIRED));
+        fields.put("score", new BField(new BUnionType(Arrays.asList(BTypes.typeFloat, BTypes.typeNull)), "score",
+                Flags.OPTIONAL));
+        fields.put("tags", new BField(new BArrayType(BTypes.typeString), "tags", Flags.OPTIONAL));
+        personType = new BRecordType("Person", TEST_PACKAGE, Flags.PUBLIC, fields, null, true, 0);
+        ValueCreator.addValueCreator(TEST_PACKAGE.org, TEST_PACKAGE.name, TEST_PACKAGE.version, new ValueCreator() {
+            @Override
+            public MapValue<String, Object> createRecordValue(String recordTypeName) {
+                return new MapValueImpl<>(personType);
+            }
+
+            @Override
+            public ObjectValue createObjectValue(String objectTypeName, Scheduler scheduler, Strand parent,
+                                                 Map<String, Object> properties, Object[] args) {
+                throw new UnsupportedOperationException();
+            }
+        });
+    }
+
+    @DataProvider(name = "documents")
+    public Object[][] documents() {
+        return new Object[][]{
+                {"{\"a\":\"tab\\tquote\\\"slash\\/back\\\\newline\\n\\b\\f\\r\"}"},
+                {"[\"\\u0041\\u00e9\\u4e2d\", 'single quoted']"},
+                {"\"\\ud83d\\ude00 escaped surrogate pair\""},
+                {"{\"emoji\":\"\uD83D\uDE00\",\"accented\":\"caf\u00e9\",\"cjk\":\"\u4e2d\u6587\"}"},
+                {"{\"caf\u00e9\":1,\"\uD83D\uDE00\":[true,false,null]}"},
+                {"[0, -1, 42, 9223372036854775807, -9223372036854775808, 123456789012345678]"},
+                {"[1.5, -0.25, 3.0, 2.5E-3, 1.0e10, 0.1]"},
+                {"{\"a\":{\"b\":{\"c\":[[1,[2,[3,{\"d\":{}}]]],[]]}}}"},
+                {" \n\t{ \"spaced\" : [ 1 , 2 ] , \"empty\" : { } } \r\n"},
+                {"true"},
+                {"null"},
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testSameValueAsJSONParser(String document) {
+        Object expected = JSONParser.parse(document);
+        Object actual = parse(document, null);
+        assertSameValue(actual, expected);
+    }
+
+    @DataProvider(name = "malformedDocuments")
+    public Object[][] malformedDocuments() {
+        return new Object[][]{
+                {"{\"a\":1"},
+                {"{\"a\" 1}"},
+                {"[1,2"},
+                {"[1e3]"},
+                {"[12345678901234567890]"},
+                {"{\"a\":tru}"},
+                {"\"unterminated"},
+                {"\"bad escape \\x\""},
+                {"\"bad unicode \\u12g4\""},
+                {"{\"a\":1} trailing"},
+                {""},
+        };
+    }
+
+    @Test(dataProvider = "malformedDocuments")
+    public void testSameErrorAsJSONParser(String document) {
+        String expected = getParseError(() -> JSONParser.parse(document));
+        Assert.assertNotNull(expected, "document is not malformed: " + document);
+        Assert.assertEquals(getParseError(() -> parse(document, null)), expected);
+        Assert.assertEquals(getParseError(() -> parse(document, personType)), expected);
+    }
+
+    @Test
+    public void testDeeplyNestedDocument() {
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            document.append('[');
+        }
+        for (int i = 0; i < 600; i++) {
+            document.append(']');
+        }
+        assertSameValue(parse(document.toString(), null), JSONParser.parse(document.toString()));
+    }
+
+    @Test
+    public void testBindRecord() {
+        Object value = parse("{\"name\":\"Alice\",\"age\":30,\"score\":4,\"tags\":[\"a\",\"b\"]}", personType);
+        Assert.assertTrue(value instanceof MapValue);
+        MapValue<?, ?> person = (MapValue<?, ?>) value;
+        Assert.assertSame(TypeChecker.getType(person), personType);
+        Assert.assertEquals(person.get("name"), "Alice");
+        Assert.assertEquals(person.get("age"), 30L);
+        Assert.assertEquals(person.get("score"), 4.0d);
+        ArrayValue tags = (ArrayValue) person.get("tags");
+        Assert.assertEquals(tags.size(), 2);
+        Assert.assertEquals(tags.get(1), "b");
+
+        value = parse("{\"name\":\"Bob\",\"age\":31,\"score\":null}", personType);
+        Assert.assertSame(TypeChecker.getType(value), personType);
+        Assert.assertNull(((MapValue<?, ?>) value).get("score"));
+    }
+
+    @DataProvider(name = "unboundDocuments")
+    public Object[][] unboundDocuments() {
+        return new Object[][]{
+                // field value of a different type, followed by more content
+                {"{\"name\":\"Carol\",\"age\":\"thirty\",\"tags\":[\"x\",{\"y\":[1,2]}]}"},
+                // nested mismatch in an array
+                {"{\"name\":\"Dave\",\"age\":32,\"tags\":[\"x\",1,\"z\"]}"},
+                // unknown field in a closed record
+                {"{\"name\":\"Erin\",\"age\":33,\"unknown\":{\"a\":[true]}}"},
+                // missing required field
+                {"{\"name\":\"Frank\"}"},
+                // not an object at all
+                {"[{\"name\":\"Grace\",\"age\":34}]"},
+        };
+    }
+
+    @Test(dataProvider = "unboundDocuments")
+    public void testUnboundDocumentIsReturnedAsJson(String document) {
+        Object value = parse(document, personType);
+        Assert.assertNotSame(TypeChecker.getType(value), personType);
+        assertSameValue(value, JSONParser.parse(document));
+    }
+
+    @Test
+    public void testMalformedAfterMismatchReportsJSONParserError() {
+        // the mismatch at the age field must not hide the malformed content after it
+        String document = "{\"name\":\"Heidi\",\"age\":\"x\",\"tags\":[1,}";
+        String expected = getParseError(() -> JSONParser.parse(document));
+        Assert.assertNotNull(expected);
+        Assert.assertEquals(getParseError(() -> parse(document, personType)), expected);
+    }
+
+    @Test
+    public void testBindBasicTypes() {
+        Assert.assertEquals(parse("12", BTypes.typeFloat), 12.0d);
+        Assert.assertEquals(parse("1.25", BTypes.typeDecimal), new DecimalValue("1.25"));
+        Assert.assertEquals(parse("true", BTypes.typeBoolean), Boolean.TRUE);
+        Assert.assertEquals(parse("\"text\"", BTypes.typeString), "text");
+
+        BMapType intMap = new BMapType(BTypes.typeInt);
+        Object map = parse("{\"a\":1,\"b\":-2}", intMap);
+        Assert.assertSame(TypeChecker.getType(map), intMap);
+        Assert.assertEquals(((MapValue<?, ?>) map).get("b"), -2L);
+
+        BArrayType intArray = new BArrayType(BTypes.typeInt);
+        Object array = parse("[1,2,3]", intArray);
+        Assert.assertSame(TypeChecker.getType(array), intArray);
+        Assert.assertEquals(((ArrayValue) array).getInt(2), 3L);
+
+        Object unbound = parse("[1,\"two\",3]", intArray);
+        Assert.assertNotSame(TypeChecker.getType(unbound), intArray);
+        assertSameValue(unbound, JSONParser.parse("[1,\"two\",3]"));
+    }
+
+    private static Object parse(String document, BType targetType) {
+        ByteBuffer buffer = ByteBuffer.wrap(document.getBytes(StandardCharsets.UTF_8));
+        Object value = JSONByteParser.parse(buffer, targetType);
+        Assert.assertEquals(buffer.position(), 0);
+        return value;
+    }
+
+    private static String getParseError(Runnable parser) {
+        try {
+            parser.run();
+            return null;
+        } catch (BallerinaException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void assertSameValue(Object actual, Object expected) {
+        if (expected == null) {
+            Assert.assertNull(actual);
+            return;
+        }
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(actual.getClass(), expected.getClass());
+        Assert.assertEquals(TypeChecker.getType(actual).toString(), TypeChecker.getType(expected).toString());
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected), actual + " != " + expected);
+        Assert.assertEquals(actual.toString(), expected.toString());
+    }
+}
@@ -1,6 +1,8 @@
 package org.ballerinalang.runtime.test;
 
+import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.values.NonBmpStringValue;
+import org.ballerinalang.jvm.values.api.BString;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -40,4 +42,26 @@ public class StringValueTests {
         Assert.assertEquals(SUBJECT.length(), 16);
     }
 
+    @Test
+    void testNonBmpConcat() {
+        BString concatenated = SUBJECT.concat(SUBJECT);
+        Assert.assertEquals(concatenated.length(), 32);
+        Assert.assertEquals(concatenated.getCodePoint(17), 0x1F6F8);
+        Assert.assertEquals(concatenated.getCodePoint(30), 0x1F47D);
+        Assert.assertEquals(concatenated.getCodePoint(31), 'r');
+    }
+
+    @Test
+    void testRepeatedConcat() {
+        BString str = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            str = str.concat(SUBJECT);
+            expected.append(UNICODE_STR);
+        }
+        Assert.assertEquals(str.length(), 16000);
+        Assert.assertEquals(str.getValue(), expected.toString());
+        Assert.assertEquals(str.getCodePoint(15985), 0x1F6F8);
+    }
+
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BFunctionType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.FPValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.TableValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Test cases for queries over a natively stored {@link TableValue}, which run against an SQL export of the table.
+ */
+public class TableValueTests {
+
+    private static final String QUERY = "SELECT id, name, rating FROM [[tableName]] WHERE id > 0 ORDER BY id";
+
+    @Test
+    public void testSqlExportFollowsInsertsAndDeletes() throws ReflectiveOperationException {
+        BRecordType type = createType("Person", false);
+        TableValue table = createTable(type, 1, 2, 3);
+        Assert.assertEquals(query(table, type), Arrays.asList(1L, 2L, 3L));
+        String export = getSqlExportName(table);
+        Assert.assertNotNull(export);
+
+        table.addData(createRow(type, 4));
+        Assert.assertEquals(query(table, type), Arrays.asList(1L, 2L, 3L, 4L));
+        remove(table, type, 2);
+        Assert.assertEquals(query(table, type), Arrays.asList(1L, 3L, 4L));
+        Assert.assertEquals(getSqlExportName(table), export, "table exported again after an insert or delete");
+    }
+
+    @Test
+    public void testSqlExportOfRowsNotComparableInSql() throws ReflectiveOperationException {
+        BRecordType type = createType("Rating", true);
+        TableValue table = createTable(type, 1, 2, 3);
+        Assert.assertEquals(query(table, type), Arrays.asList(1L, 2L, 3L));
+        String export = getSqlExportName(table);
+
+        table.addData(createRow(type, 4));
+        Assert.assertEquals(getSqlExportName(table), export);
+        // the float column is not compared in SQL, hence the table is exported again after the delete
+        remove(table, type, 2);
+        Assert.assertNull(getSqlExportName(table));
+        Assert.assertEquals(query(table, type), Arrays.asList(1L, 3L, 4L));
+        Assert.assertNotEquals(getSqlExportName(table), export);
+    }
+
+    private static BRecordType createType(String name, boolean withFloat) {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        fields.put("rating", new BField(withFloat ? BTypes.typeFloat : BTypes.typeInt, "rating", Flags.REQUIRED));
+        return new BRecordType(name, new BPackage("test", "tables"), 0, fields, null, true, 0);
+    }
+
+    private static MapValueImpl<String, Object> createRow(BRecordType type, int id) {
+        MapValueImpl<String, Object> row = new MapValueImpl<>(type);
+        row.put("id", (long) id);
+        row.put("name", "name-" + id);
+        if (type.getFields().get("rating").getFieldType() == BTypes.typeFloat) {
+            row.put("rating", id + 0.5);
+        } else {
+            row.put("rating", (long) id);
+        }
+        return row;
+    }
+
+    private static TableValue createTable(BRecordType type, int... ids) {
+        Object[] rows = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            rows[i] = createRow(type, ids[i]);
+        }
+        return new TableValue(new BTableType(type), null, new ArrayValueImpl(rows, new BArrayType(type)));
+    }
+
+    private static List<Long> query(TableValue table, BRecordType type) {
+        TableValue result = new TableValue(QUERY, table, null, type,
+                new ArrayValueImpl(new BArrayType(BTypes.typeAnydata)));
+        List<Long> ids = new ArrayList<>();
+        while (result.hasNext()) {
+            ids.add((Long) result.getNext().get("id"));
+        }
+        return ids;
+    }
+
+    private static void remove(TableValue table, BRecordType type, long id) {
+        Function<Object, Boolean> matchesId = params -> ((MapValueImpl<?, ?>) ((Object[]) params)[1]).get("id")
+                .equals(id);
+        BFunctionType functionType = new BFunctionType(new BRecordType[]{type}, null, BTypes.typeBoolean);
+        Assert.assertEquals(table.performRemoveOperation(null, new FPValue<>(matchesId, functionType)), 1);
+    }
+
+    private static String getSqlExportName(TableValue table) throws ReflectiveOperationException {
+        Field sqlExportName = TableValue.class.getDeclaredField("sqlExportName");
+        sqlExportName.setAccessible(true);
+        return (String) sqlExportName.get(table);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for the type to type checks of {@link TypeChecker}.
+ *
+ * @since 1.2.0
+ */
+public class TypeCheckerTests {
+
+    private static final BPackage PKG = new BPackage("test", "types");
+
+    @Test
+    public void testRepeatedStructuralTypeChecks() {
+        BRecordType personType = createRecordType("Person", BTypes.typeString, BTypes.typeInt);
+        BRecordType employeeType = createRecordType("Employee", BTypes.typeString, BTypes.typeString);
+        BType stringMapType = new BMapType(BTypes.typeString);
+        BType stringOrIntMapType = new BMapType(new BUnionType(Arrays.asList(BTypes.typeString, BTypes.typeInt)));
+        BType unionType = new BUnionType(Arrays.asList(employeeType, BTypes.typeInt));
+
+        // the outcome must not change once a pair of types has been checked before
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(personType, stringOrIntMapType));
+            Assert.assertFalse(TypeChecker.checkIsType(personType, stringMapType));
+            Assert.assertTrue(TypeChecker.checkIsType(employeeType, stringOrIntMapType));
+            Assert.assertTrue(TypeChecker.checkIsType(employeeType, unionType));
+            Assert.assertFalse(TypeChecker.checkIsType(personType, unionType));
+            Assert.assertFalse(TypeChecker.checkIsType(personType, employeeType));
+        }
+    }
+
+    private static BRecordType createRecordType(String name, BType nameType, BType idType) {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("name", new BField(nameType, "name", Flags.REQUIRED));
+        fields.put("id", new BField(idType, "id", Flags.REQUIRED));
+        return new BRecordType(name, PKG, 0, fields, null, true, 0);
+    }
+}
@@ -283,6 +283,11 @@ public class BuildContext extends HashMap<BuildContextField, Object> {
                                                              RepoUtils.getBallerinaVersion());
     }
 
+    public Path getBuildCacheFromHome() {
+        return RepoUtils.createAndGetHomeReposPath().resolve(ProjectDirConstants.BUILD_CACHE_DIR_NAME + "-" +
+                                                             RepoUtils.getBallerinaVersion());
+    }
+
     public Path getBaloCacheFromHome() {
         return RepoUtils.createAndGetHomeReposPath().resolve(ProjectDirConstants.BALO_CACHE_DIR_NAME);
     }
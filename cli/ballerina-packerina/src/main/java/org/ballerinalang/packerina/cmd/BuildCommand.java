@@ -39,6 +39,7 @@ import org.ballerinalang.packerina.task.RunCompilerPluginTask;
 import org.ballerinalang.packerina.task.RunTestsTask;
 import org.ballerinalang.tool.BLauncherCmd;
 import org.ballerinalang.tool.LauncherUtils;
+import org.ballerinalang.util.BootstrapRunner;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
@@ -132,6 +133,11 @@ public class BuildCommand implements BLauncherCmd {
     @CommandLine.Option(names = {"--skip-tests"}, description = "Skip test compilation and execution.")
     private boolean skipTests;
 
+    @CommandLine.Option(names = {"--jobs"}, description = "Maximum number of module jar files generated in " +
+                                                          "parallel. Defaults to the number of processors, " +
+                                                          "limited by the heap size.")
+    private Integer jobs;
+
     @CommandLine.Parameters
     private List<String> argList;
 
@@ -173,6 +179,12 @@ public class BuildCommand implements BLauncherCmd {
             CommandUtil.exitError(this.exitWhenFinish);
             return;
         }
+
+        if (null != this.jobs && this.jobs < 1) {
+            CommandUtil.printError(this.errStream, "'--jobs' should be a positive number.", buildCmd, false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
     
         // If -a or --all is not given, then it is mandatory to give a module name or a Ballerina file as the arg.
         if (!this.buildAll && (this.argList == null || this.argList.size() == 0)) {
@@ -365,6 +377,7 @@ public class BuildCommand implements BLauncherCmd {
         boolean isSingleFileBuild = buildContext.getSourceType().equals(SINGLE_BAL_FILE);
         // output path is the current directory if -o flag is not given.
         Path outputPath = null == this.output ? Paths.get(System.getProperty("user.dir")) : Paths.get(this.output);
+        int jarGenerationJobs = null == this.jobs ? BootstrapRunner.getMaxConcurrentJarGenerations() : this.jobs;
 
         TaskExecutor taskExecutor = new TaskExecutor.TaskBuilder()
                 .addTask(new CleanTargetDirTask(), isSingleFileBuild)   // clean the target directory(projects only)
@@ -377,7 +390,7 @@ public class BuildCommand implements BLauncherCmd {
                 .addTask(new CopyNativeLibTask(skipCopyLibsFromDist))    // copy the native libs(projects only)
                 // create the jar.
                 .addTask(new CreateJarTask(this.dumpBIR, skipCopyLibsFromDist, this.nativeBinary, this.dumpLLVMIR,
-                        this.noOptimizeLlvm))
+                        this.noOptimizeLlvm, jarGenerationJobs))
                 .addTask(new CopyResourcesTask(), isSingleFileBuild)
                 .addTask(new CopyModuleJarTask(skipCopyLibsFromDist))
                 .addTask(new RunTestsTask(), this.skipTests || isSingleFileBuild) // run tests
@@ -35,6 +35,7 @@ import org.ballerinalang.packerina.task.ListTestGroupsTask;
 import org.ballerinalang.packerina.task.RunTestsTask;
 import org.ballerinalang.tool.BLauncherCmd;
 import org.ballerinalang.tool.LauncherUtils;
+import org.ballerinalang.util.BootstrapRunner;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
@@ -103,6 +104,11 @@ public class TestCommand implements BLauncherCmd {
     @CommandLine.Option(names = {"--skip-lock"}, description = "Skip using the lock file to resolve dependencies.")
     private boolean skipLock;
 
+    @CommandLine.Option(names = {"--jobs"}, description = "Maximum number of module jar files generated in " +
+                                                          "parallel. Defaults to the number of processors, " +
+                                                          "limited by the heap size.")
+    private Integer jobs;
+
     @CommandLine.Parameters
     private List<String> argList;
 
@@ -160,6 +166,13 @@ public class TestCommand implements BLauncherCmd {
             return;
         }
 
+        if (null != this.jobs && this.jobs < 1) {
+            CommandUtil.printError(this.errStream, "'--jobs' should be a positive number.",
+                    "ballerina test [--jobs <n>] [<module-name> | -a | --all]", false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
         // if -a or --all flag is not given, then it is mandatory to give a module name or ballerina file as arg.
         if (!this.buildAll && (this.argList == null || this.argList.size() == 0)) {
             CommandUtil.printError(this.errStream,
@@ -333,6 +346,7 @@ public class TestCommand implements BLauncherCmd {
 
         boolean isSingleFileBuild = buildContext.getSourceType().equals(SINGLE_BAL_FILE);
         // output path is the current directory if -o flag is not given.
+        int jarGenerationJobs = null == this.jobs ? BootstrapRunner.getMaxConcurrentJarGenerations() : this.jobs;
 
         TaskExecutor taskExecutor = new TaskExecutor.TaskBuilder()
                 .addTask(new CleanTargetDirTask(), isSingleFileBuild)   // clean the target directory(projects only)
@@ -343,7 +357,7 @@ public class TestCommand implements BLauncherCmd {
                 .addTask(new CopyNativeLibTask(skipCopyLibsFromDist))    // copy the native libs(projects only)
                 // create the jar.
                 .addTask(new CreateJarTask(this.dumpBIR, this.skipCopyLibsFromDist, this.nativeBinary, this.dumpLLVMIR,
-                        this.noOptimizeLLVM))
+                        this.noOptimizeLLVM, jarGenerationJobs))
                 .addTask(new CopyResourcesTask(), isSingleFileBuild)
                 .addTask(new CopyModuleJarTask(skipCopyLibsFromDist))
                 // tasks to list groups or execute tests. the 'listGroups' boolean is used to decide whether to
@@ -18,6 +18,8 @@
 
 package org.ballerinalang.packerina.task;
 
+import org.ballerinalang.compiler.plugins.CompilerPlugin;
+import org.ballerinalang.compiler.plugins.SupportedAnnotationPackages;
 import org.ballerinalang.packerina.buildcontext.BuildContext;
 import org.ballerinalang.packerina.buildcontext.BuildContextField;
 import org.ballerinalang.packerina.buildcontext.sourcecontext.MultiModuleContext;
@@ -25,24 +27,58 @@ import org.ballerinalang.packerina.buildcontext.sourcecontext.SingleFileContext;
 import org.ballerinalang.packerina.buildcontext.sourcecontext.SingleModuleContext;
 import org.ballerinalang.packerina.buildcontext.sourcecontext.SourceType;
 import org.ballerinalang.packerina.model.ExecutableJar;
+import org.ballerinalang.packerina.utils.BuildCache;
+import org.ballerinalang.packerina.utils.CompiledModuleCache;
+import org.ballerinalang.packerina.utils.FileUtils;
+import org.ballerinalang.toml.model.Dependency;
+import org.ballerinalang.toml.model.Manifest;
+import org.ballerinalang.toml.parser.ManifestProcessor;
 import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.SourceDirectoryManager;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Names;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.compiler.util.ProjectDirs;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.ballerinalang.compiler.CompilerOptionName.CACHED_BIR_DIR;
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.EXPERIMENTAL_FEATURES_ENABLED;
+import static org.ballerinalang.compiler.CompilerOptionName.LOCK_ENABLED;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
 import static org.ballerinalang.tool.LauncherUtils.createLauncherException;
+import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_COMPILED_PKG_BIR_EXT;
 
 /**
- * Task for compiling a package.
+ * Task for compiling a package. The modules of a project which did not change since an earlier build are not compiled
+ * again, instead their BIR is restored from the build cache.
  */
 public class CompileTask implements Task {
 
     @Override
     public void execute(BuildContext buildContext) {
         CompilerContext context = buildContext.get(BuildContextField.COMPILER_CONTEXT);
-        
+
+        CompiledModuleCache moduleCache = null;
+        Set<String> restoredModules = new HashSet<>();
+        if (buildContext.getSourceType() != SourceType.SINGLE_BAL_FILE) {
+            moduleCache = createModuleCache(buildContext, context);
+            restoredModules = restoreModules(buildContext, context, moduleCache);
+        }
+
         Compiler compiler = Compiler.getInstance(context);
         compiler.setOutStream(buildContext.out());
         if (buildContext.getSourceType() == SourceType.SINGLE_BAL_FILE) {
@@ -79,8 +115,104 @@ public class CompileTask implements Task {
                 throw createLauncherException("compilation contains errors");
             }
         }
+
+        if (moduleCache != null) {
+            List<BLangPackage> compiledModules = new ArrayList<>();
+            for (BLangPackage module : modules) {
+                if (restoredModules.contains(module.packageID.name.value)) {
+                    module.symbol.entryPointExists = moduleCache.hasEntryPoint(module.packageID.name.value);
+                } else {
+                    compiledModules.add(module);
+                }
+            }
+            moduleCache.store(compiledModules);
+        }
         
         // update build context.
         buildContext.put(BuildContextField.COMPILER_CONTEXT, context);
     }
+
+    private static CompiledModuleCache createModuleCache(BuildContext buildContext, CompilerContext context) {
+        Path sourceRoot = buildContext.get(BuildContextField.SOURCE_ROOT);
+        // the source directory is set up before the manifest is read, so that the manifest of the project is used
+        SourceDirectoryManager.getInstance(context);
+        Manifest manifest = ManifestProcessor.getInstance(context).getManifest();
+        // the balos of path dependencies can change without a change in the project
+        List<Path> pathDependencies = manifest.getDependencies().stream()
+                .filter(dependency -> null != dependency.getMetadata())
+                .map(Dependency::getMetadata)
+                .filter(metadata -> null != metadata.getPath())
+                .map(metadata -> sourceRoot.resolve(metadata.getPath()))
+                .collect(Collectors.toList());
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        return new CompiledModuleCache(new BuildCache(buildContext.getBuildCacheFromHome()), sourceRoot,
+                pathDependencies, getCompilerPluginModules(), options.get(COMPILER_PHASE),
+                options.get(EXPERIMENTAL_FEATURES_ENABLED), options.get(LOCK_ENABLED), options.get(OFFLINE));
+    }
+
+    /**
+     * Restores the BIR of the project modules which are not changed since an earlier build. The compiler loads these
+     * modules from their BIR instead of compiling them. A module is always compiled if its tests are run, as the tests
+     * are compiled along with the module, or if it is processed by a compiler plugin.
+     *
+     * @param buildContext build context
+     * @param context      compiler context
+     * @param moduleCache  cache of the modules of the project
+     * @return names of the restored modules
+     */
+    private static Set<String> restoreModules(BuildContext buildContext, CompilerContext context,
+                                              CompiledModuleCache moduleCache) {
+        Set<String> restoredModules = new HashSet<>();
+        Path sourceRoot = buildContext.get(BuildContextField.SOURCE_ROOT);
+        Path targetDir = buildContext.get(BuildContextField.TARGET_DIR);
+        Path cachedBirDir = targetDir.resolve(ProjectDirConstants.CACHES_DIR_NAME)
+                .resolve(ProjectDirConstants.BUILD_CACHE_DIR_NAME);
+        Manifest manifest = ManifestProcessor.getInstance(context).getManifest();
+        String orgName = manifest.getProject().getOrgName();
+        String version = manifest.getProject().getVersion().isEmpty() ? Names.DEFAULT_VERSION.getValue() :
+                manifest.getProject().getVersion();
+
+        List<String> moduleNames;
+        try (Stream<Path> modulePaths = Files.list(sourceRoot.resolve(ProjectDirConstants.SOURCE_DIR_NAME))) {
+            moduleNames = modulePaths.filter(Files::isDirectory)
+                    .map(modulePath -> modulePath.getFileName().toString())
+                    .collect(Collectors.toList());
+            // BIR restored by an earlier build may be stale
+            if (Files.exists(cachedBirDir)) {
+                FileUtils.deleteDirectory(cachedBirDir);
+            }
+        } catch (IOException e) {
+            return restoredModules;
+        }
+
+        for (String moduleName : moduleNames) {
+            Path testDir = sourceRoot.resolve(ProjectDirConstants.SOURCE_DIR_NAME).resolve(moduleName)
+                    .resolve(ProjectDirConstants.TEST_DIR_NAME);
+            if (!buildContext.skipTests() && Files.exists(testDir) && ProjectDirs.containsSourceFiles(testDir)) {
+                continue;
+            }
+            Path birFile = cachedBirDir.resolve(orgName).resolve(moduleName).resolve(version)
+                    .resolve(moduleName + BLANG_COMPILED_PKG_BIR_EXT);
+            if (moduleCache.restore(moduleName, birFile)) {
+                restoredModules.add(moduleName);
+            }
+        }
+
+        if (!restoredModules.isEmpty()) {
+            CompilerOptions.getInstance(context).put(CACHED_BIR_DIR, cachedBirDir.toString());
+        }
+        return restoredModules;
+    }
+
+    private static Set<String> getCompilerPluginModules() {
+        Set<String> modules = new HashSet<>();
+        for (CompilerPlugin plugin : ServiceLoader.load(CompilerPlugin.class)) {
+            SupportedAnnotationPackages annotationPackages =
+                    plugin.getClass().getAnnotation(SupportedAnnotationPackages.class);
+            if (annotationPackages != null) {
+                modules.addAll(Arrays.asList(annotationPackages.value()));
+            }
+        }
+        return modules;
+    }
 }
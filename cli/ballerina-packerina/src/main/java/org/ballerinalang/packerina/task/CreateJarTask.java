@@ -22,6 +22,7 @@ import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.packerina.buildcontext.BuildContext;
 import org.ballerinalang.packerina.buildcontext.BuildContextField;
+import org.ballerinalang.packerina.utils.BuildCache;
 import org.ballerinalang.util.BootstrapRunner;
 import org.wso2.ballerinalang.compiler.PackageCache;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
@@ -33,8 +34,19 @@ import org.wso2.ballerinalang.util.RepoUtils;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_COMPILED_JAR_EXT;
 
@@ -43,12 +55,15 @@ import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_COM
  */
 public class CreateJarTask implements Task {
 
+    private static final int MAX_BUILD_CACHE_ENTRIES = 256;
+
     private boolean dumpBir;
     private boolean buildNative;
     private boolean dumpLlvmIr;
     private boolean noOptimizeLlvm;
 
     private boolean skipCopyLibsFromDist = false;
+    private int jobs = BootstrapRunner.getMaxConcurrentJarGenerations();
 
     public CreateJarTask(boolean dumpBir, boolean buildNative, boolean dumpLlvmIr, boolean noOptimizeLlvm) {
         this.dumpBir = dumpBir;
@@ -66,6 +81,22 @@ public class CreateJarTask implements Task {
         this.noOptimizeLlvm = noOptimizeLlvm;
     }
 
+    /**
+     * Creates the task for creating jar files.
+     *
+     * @param dumpBir              dump the BIR of the modules
+     * @param skipCopyLibsFromDist skip adding the runtime of the distribution to the dependencies of the modules
+     * @param buildNative          build a native binary instead of jar files
+     * @param dumpLlvmIr           dump the LLVM IR of the native binary
+     * @param noOptimizeLlvm       skip optimizing the LLVM IR of the native binary
+     * @param jobs                 maximum number of jar files generated in parallel
+     */
+    public CreateJarTask(boolean dumpBir, boolean skipCopyLibsFromDist, boolean buildNative, boolean dumpLlvmIr,
+            boolean noOptimizeLlvm, int jobs) {
+        this(dumpBir, skipCopyLibsFromDist, buildNative, dumpLlvmIr, noOptimizeLlvm);
+        this.jobs = jobs;
+    }
+
     @Override
     public void execute(BuildContext buildContext) {
         // This will avoid initializing Config registry during jar creation.
@@ -79,7 +110,11 @@ public class CreateJarTask implements Task {
 
         CompilerContext context = buildContext.get(BuildContextField.COMPILER_CONTEXT);
         PackageCache packageCache = PackageCache.getInstance(context);
+        BuildCache buildCache = new BuildCache(buildContext.getBuildCacheFromHome());
 
+        // jars are generated from the BIR of the modules, which is already in the BIR caches. Hence the jar of a
+        // module does not depend on the jars of its imports, and all of them can be generated in parallel.
+        Map<Path, JarGenerationJob> jarGenerationJobs = new LinkedHashMap<>();
         List<BLangPackage> moduleBirMap = buildContext.getModules();
         for (BLangPackage module : moduleBirMap) {
 
@@ -95,20 +130,24 @@ public class CreateJarTask implements Task {
                 moduleDependencySet.add(runtimeJar);
             }
             // write module child imports jars
-            writeImportJar(bLangPackage.symbol.imports, sourceRoot, buildContext, runtimeJar,
-                    projectBIRCache.toString(), homeBIRCache.toString(), systemBIRCache.toString());
+            writeImportJar(jarGenerationJobs, buildCache, bLangPackage.symbol.imports, sourceRoot, buildContext,
+                    runtimeJar, projectBIRCache.toString(), homeBIRCache.toString(), systemBIRCache.toString());
 
             // get the bir path of the module
             Path entryBir = buildContext.getBirPathFromTargetCache(module.packageID);
+            Set<Path> importBirs = new TreeSet<>();
+            Set<String> importModules = new TreeSet<>();
+            collectImports(bLangPackage.symbol.imports, sourceRoot, buildContext, importBirs, importModules);
 
             // get the jar path of the module.
             Path jarOutput = buildContext.getJarPathFromTargetCache(module.packageID);
             if (!Files.exists(jarOutput)) {
                 if (buildNative) {
+                    generateJars(jarGenerationJobs.values());
                     BootstrapRunner.genNativeCode(entryBir.toString(), targetDir, this.dumpLlvmIr, this.noOptimizeLlvm);
                 } else {
-                    BootstrapRunner.loadTargetAndGenerateJarBinary(entryBir.toString(), jarOutput.toString(),
-                            this.dumpBir, moduleDependencySet, projectBIRCache.toString(), homeBIRCache.toString(),
+                    addJarGenerationJob(jarGenerationJobs, buildCache, entryBir, importBirs, importModules,
+                            jarOutput, moduleDependencySet, projectBIRCache.toString(), homeBIRCache.toString(),
                             systemBIRCache.toString());
                 }
             }
@@ -117,30 +156,40 @@ public class CreateJarTask implements Task {
             if (!buildContext.skipTests() && bLangPackage.hasTestablePackage()) {
                 for (BLangPackage testPkg : bLangPackage.getTestablePkgs()) {
                     // write its child imports jar file to cache
-                    writeImportJar(testPkg.symbol.imports, sourceRoot, buildContext, runtimeJar,
-                            projectBIRCache.toString(), homeBIRCache.toString(), systemBIRCache.toString());
+                    writeImportJar(jarGenerationJobs, buildCache, testPkg.symbol.imports, sourceRoot, buildContext,
+                            runtimeJar, projectBIRCache.toString(), homeBIRCache.toString(),
+                            systemBIRCache.toString());
 
                     // get the bir path of the module
                     Path testBir = buildContext.getTestBirPathFromTargetCache(testPkg.packageID);
+                    // the test functions are generated along with the functions of the module
+                    Set<Path> testImportBirs = new TreeSet<>(importBirs);
+                    testImportBirs.add(entryBir);
+                    Set<String> testImportModules = new TreeSet<>(importModules);
+                    collectImports(testPkg.symbol.imports, sourceRoot, buildContext, testImportBirs,
+                            testImportModules);
 
                     // get the jar path of the module.
                     Path testJarOutput = buildContext.getTestJarPathFromTargetCache(testPkg.packageID);
                     if (!Files.exists(testJarOutput)) {
-                        BootstrapRunner.loadTargetAndGenerateJarBinary(testBir.toString(), testJarOutput.toString(),
-                                this.dumpBir, moduleDependencySet, projectBIRCache.toString(), homeBIRCache.toString(),
-                                systemBIRCache.toString());
+                        addJarGenerationJob(jarGenerationJobs, buildCache, testBir, testImportBirs,
+                                testImportModules, testJarOutput, moduleDependencySet, projectBIRCache.toString(),
+                                homeBIRCache.toString(), systemBIRCache.toString());
                     }
                 }
             }
         }
+        generateJars(jarGenerationJobs.values());
+        buildCache.prune(MAX_BUILD_CACHE_ENTRIES);
         ConfigRegistry.getInstance().setInitialized(false);
     }
 
-    private void writeImportJar(List<BPackageSymbol> imports, Path sourceRoot, BuildContext buildContext,
+    private void writeImportJar(Map<Path, JarGenerationJob> jarGenerationJobs, BuildCache buildCache,
+                                List<BPackageSymbol> imports, Path sourceRoot, BuildContext buildContext,
                                 Path runtimeJar, String... reps) {
         for (BPackageSymbol bimport : imports) {
             PackageID id = bimport.pkgID;
-            if (id.orgName.value.equals("ballerina") || id.orgName.value.equals("ballerinax")) {
+            if (isDistributionModule(id)) {
                 continue;
             }
             Path jarFilePath;
@@ -148,8 +197,7 @@ public class CreateJarTask implements Task {
             // If the module is part of the project write it to project jar cache check if file exist
             // If not write it to home jar cache
             // skip ballerina and ballerinax
-            if (ProjectDirs.isModuleExist(sourceRoot, id.name.value) ||
-                    buildContext.getImportPathDependency(id).isPresent()) {
+            if (isProjectModule(id, sourceRoot, buildContext)) {
                 jarFilePath = buildContext.getJarPathFromTargetCache(id);
                 birFilePath = buildContext.getBirPathFromTargetCache(id);
             } else {
@@ -161,10 +209,110 @@ public class CreateJarTask implements Task {
                 if (!skipCopyLibsFromDist) {
                     moduleDependencySet.add(runtimeJar);
                 }
-                BootstrapRunner.loadTargetAndGenerateJarBinary(birFilePath.toString(), jarFilePath.toString(),
-                        this.dumpBir, moduleDependencySet, reps);
+                Set<Path> importBirs = new TreeSet<>();
+                Set<String> importModules = new TreeSet<>();
+                collectImports(bimport.imports, sourceRoot, buildContext, importBirs, importModules);
+                addJarGenerationJob(jarGenerationJobs, buildCache, birFilePath, importBirs, importModules,
+                        jarFilePath, moduleDependencySet, reps);
             }
-            writeImportJar(bimport.imports, sourceRoot, buildContext, runtimeJar, reps);
+            writeImportJar(jarGenerationJobs, buildCache, bimport.imports, sourceRoot, buildContext, runtimeJar,
+                    reps);
+        }
+    }
+
+    /**
+     * Collects the modules transitively imported by a module, as the jar of a module is generated using the BIR of
+     * its imports as well. The BIR of the modules of the distribution is identified by the module, since it only
+     * changes along with the distribution.
+     *
+     * @param imports       imports of the module
+     * @param sourceRoot    source root of the project
+     * @param buildContext  build context
+     * @param importBirs    BIR files of the imported modules that are not part of the distribution
+     * @param importModules all the imported modules
+     */
+    private void collectImports(List<BPackageSymbol> imports, Path sourceRoot, BuildContext buildContext,
+                                Set<Path> importBirs, Set<String> importModules) {
+        for (BPackageSymbol bimport : imports) {
+            PackageID id = bimport.pkgID;
+            if (!importModules.add(id.toString())) {
+                continue;
+            }
+            if (!isDistributionModule(id)) {
+                importBirs.add(isProjectModule(id, sourceRoot, buildContext) ?
+                        buildContext.getBirPathFromTargetCache(id) : buildContext.getBirPathFromHomeCache(id));
+            }
+            collectImports(bimport.imports, sourceRoot, buildContext, importBirs, importModules);
+        }
+    }
+
+    private static boolean isDistributionModule(PackageID id) {
+        return id.orgName.value.equals("ballerina") || id.orgName.value.equals("ballerinax");
+    }
+
+    private static boolean isProjectModule(PackageID id, Path sourceRoot, BuildContext buildContext) {
+        return ProjectDirs.isModuleExist(sourceRoot, id.name.value) ||
+                buildContext.getImportPathDependency(id).isPresent();
+    }
+
+    private void addJarGenerationJob(Map<Path, JarGenerationJob> jarGenerationJobs, BuildCache buildCache,
+                                     Path birFilePath, Set<Path> importBirs, Set<String> importModules,
+                                     Path jarFilePath, HashSet<Path> moduleDependencySet, String... birCachePaths) {
+        jarGenerationJobs.putIfAbsent(jarFilePath, new JarGenerationJob(buildCache, birFilePath, importBirs,
+                importModules, jarFilePath, moduleDependencySet, birCachePaths));
+    }
+
+    /**
+     * Generates the given jars, up to {@code jobs} of them in parallel. All the jars are attempted even if some fail,
+     * and the failure reported is that of the first failed jar in the given order, so that it does not depend on the
+     * order in which the jars complete.
+     *
+     * @param jarGenerationJobs jars to generate
+     */
+    private void generateJars(Collection<JarGenerationJob> jarGenerationJobs) {
+        List<JarGenerationJob> pendingJobs = new ArrayList<>(jarGenerationJobs);
+        jarGenerationJobs.clear();
+        // the dumped BIR of different modules should not be interleaved
+        int parallelism = this.dumpBir ? 1 : Math.min(this.jobs, pendingJobs.size());
+        if (parallelism <= 1) {
+            for (JarGenerationJob job : pendingJobs) {
+                job.generate(this.dumpBir);
+            }
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-jar-gen-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> results = new ArrayList<>(pendingJobs.size());
+            for (JarGenerationJob job : pendingJobs) {
+                results.add(executor.submit(() -> job.generate(this.dumpBir)));
+            }
+
+            Throwable failure = null;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while generating jar files.", e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -178,4 +326,52 @@ public class CreateJarTask implements Task {
         String runtimeJarName = "ballerina-rt-" + ballerinaVersion + BLANG_COMPILED_JAR_EXT;
         return Paths.get(balHomePath, "bre", "lib", runtimeJarName);
     }
+
+    /**
+     * Generation of the jar file of a single module from its BIR. The jar is restored from the build cache if a
+     * jar was already generated from the same inputs, by this or by an earlier build.
+     */
+    private static class JarGenerationJob {
+        private final BuildCache buildCache;
+        private final Path birFilePath;
+        private final Set<Path> importBirs;
+        private final Set<String> importModules;
+        private final Path jarFilePath;
+        private final HashSet<Path> moduleDependencySet;
+        private final String[] birCachePaths;
+
+        JarGenerationJob(BuildCache buildCache, Path birFilePath, Set<Path> importBirs, Set<String> importModules,
+                         Path jarFilePath, HashSet<Path> moduleDependencySet, String... birCachePaths) {
+            this.buildCache = buildCache;
+            this.birFilePath = birFilePath;
+            this.importBirs = importBirs;
+            this.importModules = importModules;
+            this.jarFilePath = jarFilePath;
+            this.moduleDependencySet = new HashSet<>(moduleDependencySet);
+            this.birCachePaths = birCachePaths;
+        }
+
+        void generate(boolean dumpBir) {
+            // the BIR is only dumped while it is generated
+            String cacheKey = dumpBir ? null : getCacheKey();
+            if (cacheKey != null && buildCache.restore(cacheKey, jarFilePath)) {
+                return;
+            }
+            BootstrapRunner.loadTargetAndGenerateJarBinary(birFilePath.toString(), jarFilePath.toString(), dumpBir,
+                    moduleDependencySet, birCachePaths);
+            if (cacheKey != null) {
+                buildCache.store(cacheKey, jarFilePath);
+            }
+        }
+
+        private String getCacheKey() {
+            Set<Path> birFiles = new HashSet<>(importBirs);
+            birFiles.add(birFilePath);
+            List<String> options = new ArrayList<>(importModules);
+            // the code generation depends on these properties in addition to the BIR
+            options.add(System.getProperty("ballerina.bstring", ""));
+            options.add(System.getProperty("java.version", ""));
+            return buildCache.getKey(birFiles, moduleDependencySet, options.toArray(new String[0]));
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.packerina.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of the artifacts generated by a build, addressed by a hash of all the inputs of the artifact.
+ *
+ * An artifact is looked up before it is generated, and an unchanged module is restored from the cache instead of
+ * being generated again. Failures of the cache are never fatal to the build, they only result in a cache miss.
+ *
+ * @since 1.2.0
+ */
+public class BuildCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final Path cacheDir;
+    private final String classPathFingerprint;
+    private final Map<Path, String> fileHashes = new ConcurrentHashMap<>();
+
+    public BuildCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+        this.classPathFingerprint = fingerprint(Stream.of(System.getProperty("java.class.path")
+                .split(File.pathSeparator)).map(Paths::get).collect(Collectors.toList()));
+    }
+
+    /**
+     * Computes the key of an artifact.
+     *
+     * The content of the given files is hashed, while dependencies such as platform libraries are identified by their
+     * path, size and modification time. The classpath of the build is included the same way, so that an artifact is
+     * not reused across different builds of the compiler.
+     *
+     * @param files        files whose content is an input of the artifact
+     * @param dependencies other files the artifact depends on
+     * @param options      options the artifact is generated with
+     * @return the key of the artifact, or null if an input could not be read
+     */
+    public String getKey(Collection<Path> files, Collection<Path> dependencies, String... options) {
+        MessageDigest digest = createDigest();
+        try {
+            for (Path file : new TreeSet<>(files)) {
+                update(digest, file.toString());
+                update(digest, hashFile(file));
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        update(digest, fingerprint(dependencies));
+        update(digest, classPathFingerprint);
+        for (String option : options) {
+            update(digest, String.valueOf(option));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Restores a cached artifact.
+     *
+     * @param key    key of the artifact
+     * @param target path to restore the artifact to
+     * @return true if the artifact was restored, false if it is not in the cache
+     */
+    public boolean restore(String key, Path target) {
+        Path cached = cacheDir.resolve(key);
+        if (!Files.isRegularFile(cached)) {
+            return false;
+        }
+        try {
+            Path targetDir = target.toAbsolutePath().getParent();
+            if (targetDir != null) {
+                Files.createDirectories(targetDir);
+            }
+            Files.copy(cached, target, StandardCopyOption.REPLACE_EXISTING);
+            // the modification time orders the entries when the cache is pruned
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a cached artifact.
+     *
+     * @param key key of the artifact
+     * @return the content of the artifact, or null if it is not in the cache
+     */
+    public byte[] read(String key) {
+        Path cached = cacheDir.resolve(key);
+        if (!Files.isRegularFile(cached)) {
+            return null;
+        }
+        try {
+            byte[] content = Files.readAllBytes(cached);
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+            return content;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Adds a generated artifact to the cache. Concurrent builds may add the same artifact, hence the artifact is
+     * written to a temporary file and then moved into place.
+     *
+     * @param key    key of the artifact
+     * @param source the generated artifact
+     */
+    public void store(String key, Path source) {
+        Path temp = null;
+        try {
+            Files.createDirectories(cacheDir);
+            temp = Files.createTempFile(cacheDir, key, TEMP_FILE_SUFFIX);
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, cacheDir.resolve(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Adds a generated artifact to the cache, the same way as {@link #store(String, Path)}.
+     *
+     * @param key     key of the artifact
+     * @param content content of the artifact
+     */
+    public void write(String key, byte[] content) {
+        Path temp = null;
+        try {
+            Files.createDirectories(cacheDir);
+            temp = Files.createTempFile(cacheDir, key, TEMP_FILE_SUFFIX);
+            Files.write(temp, content);
+            Files.move(temp, cacheDir.resolve(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Removes the least recently used artifacts, until at most the given number of artifacts are left.
+     *
+     * @param maxEntries maximum number of artifacts to keep
+     */
+    public void prune(int maxEntries) {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        List<Path> entries;
+        try (Stream<Path> paths = Files.list(cacheDir)) {
+            entries = paths.filter(path -> !path.getFileName().toString().endsWith(TEMP_FILE_SUFFIX))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            return;
+        }
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.sort(Comparator.comparing(BuildCache::getLastModifiedTime));
+        for (Path entry : entries.subList(0, entries.size() - maxEntries)) {
+            deleteQuietly(entry);
+        }
+    }
+
+    private String hashFile(Path file) throws IOException {
+        String hash = fileHashes.get(file);
+        if (hash != null) {
+            return hash;
+        }
+        MessageDigest digest = createDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        hash = toHex(digest.digest());
+        fileHashes.put(file, hash);
+        return hash;
+    }
+
+    private static String fingerprint(Collection<Path> files) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Path file : new TreeSet<>(files)) {
+            fingerprint.append(file).append(':');
+            try {
+                fingerprint.append(Files.size(file)).append(':').append(Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                fingerprint.append("missing");
+            }
+            fingerprint.append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignore) {
+            // the entry is removed by a later prune
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // separates consecutive values, so that the boundaries between them are part of the key
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported by the JVM", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
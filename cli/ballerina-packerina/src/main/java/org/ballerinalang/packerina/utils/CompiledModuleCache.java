@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.packerina.utils;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.compiler.util.ProjectDirs;
+import org.wso2.ballerinalang.programfile.PackageFileWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the BIR of the modules of a project, which lets a build skip parsing, analyzing and desugaring the modules
+ * that did not change since an earlier build.
+ *
+ * The BIR of a module is addressed by a hash of the source files of the module, the Ballerina.toml and Ballerina.lock
+ * files of the project, and the BIR keys of the project modules it imports. As the imports of a module are only known
+ * once the module is compiled, they are recorded in an index entry of the module, which is addressed by the source
+ * files alone.
+ *
+ * @since 1.2.0
+ */
+public class CompiledModuleCache {
+
+    private static final String INDEX_ENTRY = "index";
+    private static final String BIR_ENTRY = "bir";
+    private static final String IMPORTS = "imports";
+    private static final String PROJECT_IMPORTS = "projectImports";
+    private static final String ENTRY_POINT = "entryPoint";
+    private static final String SEPARATOR = ",";
+
+    private final BuildCache buildCache;
+    private final Path sourceRoot;
+    private final Collection<Path> dependencies;
+    private final Set<String> excludedImports;
+    private final String[] options;
+    private final Map<String, Optional<String>> birKeys = new HashMap<>();
+
+    /**
+     * Creates the cache of the modules of a project.
+     *
+     * @param buildCache      cache the entries are kept in
+     * @param sourceRoot      source root of the project
+     * @param dependencies    files other than the sources the modules depend on, such as the balos of path dependencies
+     * @param excludedImports modules, given as org/name, whose importers are always compiled from source
+     * @param options         compiler options the modules are compiled with
+     */
+    public CompiledModuleCache(BuildCache buildCache, Path sourceRoot, Collection<Path> dependencies,
+                               Set<String> excludedImports, String... options) {
+        this.buildCache = buildCache;
+        this.sourceRoot = sourceRoot;
+        this.dependencies = dependencies;
+        this.excludedImports = excludedImports;
+        this.options = options;
+    }
+
+    /**
+     * Restores the BIR of a module, if the module was compiled from the same sources by an earlier build.
+     *
+     * @param moduleName name of the module
+     * @param birFile    path to restore the BIR to
+     * @return true if the BIR was restored, false if the module has to be compiled
+     */
+    public boolean restore(String moduleName, Path birFile) {
+        Properties index = readIndex(moduleName);
+        if (index == null || getList(index, IMPORTS).stream().anyMatch(excludedImports::contains)) {
+            return false;
+        }
+        String birKey = getBirKey(moduleName);
+        return birKey != null && buildCache.restore(birKey, birFile);
+    }
+
+    /**
+     * Checks whether a module has an entry point, as the BIR restored for a module does not tell it.
+     *
+     * @param moduleName name of the module
+     * @return true if the module has a main function or services
+     */
+    public boolean hasEntryPoint(String moduleName) {
+        Properties index = readIndex(moduleName);
+        return index != null && Boolean.parseBoolean(index.getProperty(ENTRY_POINT));
+    }
+
+    /**
+     * Adds the BIR of modules compiled by this build to the cache.
+     *
+     * @param modules compiled modules
+     */
+    public void store(Collection<BLangPackage> modules) {
+        // the BIR keys of the modules depend on the index entries of the modules they import
+        for (BLangPackage module : modules) {
+            writeIndex(module);
+        }
+        birKeys.clear();
+        for (BLangPackage module : modules) {
+            if (module.symbol.birPackageFile == null) {
+                continue;
+            }
+            String birKey = getBirKey(module.packageID.name.value);
+            if (birKey == null) {
+                continue;
+            }
+            try {
+                buildCache.write(birKey, PackageFileWriter.writePackage(module.symbol.birPackageFile));
+            } catch (IOException e) {
+                // the module is compiled again by the next build
+            }
+        }
+    }
+
+    private void writeIndex(BLangPackage module) {
+        String moduleName = module.packageID.name.value;
+        String indexKey = getKey(moduleName, INDEX_ENTRY, Collections.emptyList());
+        if (indexKey == null) {
+            return;
+        }
+        List<String> imports = new ArrayList<>();
+        List<String> projectImports = new ArrayList<>();
+        for (BPackageSymbol importSymbol : module.symbol.imports) {
+            PackageID importID = importSymbol.pkgID;
+            imports.add(importID.orgName.value + "/" + importID.name.value);
+            if (importID.orgName.equals(module.packageID.orgName) &&
+                    ProjectDirs.isModuleExist(sourceRoot, importID.name.value)) {
+                projectImports.add(importID.name.value);
+            }
+        }
+        Properties index = new Properties();
+        index.setProperty(IMPORTS, String.join(SEPARATOR, imports));
+        index.setProperty(PROJECT_IMPORTS, String.join(SEPARATOR, projectImports));
+        index.setProperty(ENTRY_POINT, Boolean.toString(module.symbol.entryPointExists));
+        try (ByteArrayOutputStream content = new ByteArrayOutputStream()) {
+            index.store(content, null);
+            buildCache.write(indexKey, content.toByteArray());
+        } catch (IOException e) {
+            // the module is compiled again by the next build
+        }
+    }
+
+    private Properties readIndex(String moduleName) {
+        String indexKey = getKey(moduleName, INDEX_ENTRY, Collections.emptyList());
+        byte[] content = indexKey == null ? null : buildCache.read(indexKey);
+        if (content == null) {
+            return null;
+        }
+        Properties index = new Properties();
+        try {
+            index.load(new ByteArrayInputStream(content));
+            return index;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String getBirKey(String moduleName) {
+        Optional<String> birKey = birKeys.get(moduleName);
+        if (birKey != null) {
+            return birKey.orElse(null);
+        }
+        // a module cannot import itself, even through other modules
+        birKeys.put(moduleName, Optional.empty());
+        Properties index = readIndex(moduleName);
+        if (index == null) {
+            return null;
+        }
+        List<String> importKeys = new ArrayList<>();
+        for (String importName : new TreeSet<>(getList(index, PROJECT_IMPORTS))) {
+            String importKey = getBirKey(importName);
+            if (importKey == null) {
+                return null;
+            }
+            importKeys.add(importName + "=" + importKey);
+        }
+        birKey = Optional.ofNullable(getKey(moduleName, BIR_ENTRY, importKeys));
+        birKeys.put(moduleName, birKey);
+        return birKey.orElse(null);
+    }
+
+    private String getKey(String moduleName, String entry, List<String> importKeys) {
+        List<Path> files = getSourceFiles(moduleName);
+        if (files == null) {
+            return null;
+        }
+        Stream.of(ProjectDirConstants.MANIFEST_FILE_NAME, ProjectDirConstants.LOCK_FILE_NAME)
+                .map(sourceRoot::resolve)
+                .filter(Files::exists)
+                .forEach(files::add);
+        List<String> keyOptions = new ArrayList<>();
+        keyOptions.add(entry);
+        keyOptions.add(moduleName);
+        keyOptions.addAll(Arrays.asList(options));
+        keyOptions.addAll(importKeys);
+        return buildCache.getKey(files, dependencies, keyOptions.toArray(new String[0]));
+    }
+
+    private List<Path> getSourceFiles(String moduleName) {
+        Path moduleDir = sourceRoot.resolve(ProjectDirConstants.SOURCE_DIR_NAME).resolve(moduleName);
+        Path testDir = moduleDir.resolve(ProjectDirConstants.TEST_DIR_NAME);
+        try (Stream<Path> paths = Files.walk(moduleDir)) {
+            return paths.filter(path -> path.toString().endsWith(ProjectDirConstants.BLANG_SOURCE_EXT))
+                    .filter(path -> !path.startsWith(testDir))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static List<String> getList(Properties index, String name) {
+        String value = index.getProperty(name, "");
+        return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split(SEPARATOR));
+    }
+}
@@ -34,7 +34,7 @@ import org.ballerinalang.toml.model.Platform;
 import org.ballerinalang.toml.parser.LockFileProcessor;
 import org.ballerinalang.toml.parser.ManifestProcessor;
 import org.wso2.ballerinalang.compiler.SourceDirectory;
-import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
@@ -208,35 +208,35 @@ public class BaloFileWriter {
             
             // collect dependencies from project dependencies
             Manifest manifest = ManifestProcessor.parseTomlContentAsStream(tomlStream);
-            for (BLangImportPackage importz : module.imports) {
+            for (BPackageSymbol importz : module.symbol.imports) {
                 // if import is from the same org as parent
-                if (importz.symbol.pkgID.orgName.value.equals(module.packageID.orgName.value)) {
+                if (importz.pkgID.orgName.value.equals(module.packageID.orgName.value)) {
                     // if its from the same project
-                    if (ProjectDirs.isModuleExist(this.sourceDirectory.getPath(), importz.symbol.pkgID.name.value)) {
+                    if (ProjectDirs.isModuleExist(this.sourceDirectory.getPath(), importz.pkgID.name.value)) {
                         // check if its not already there as an import.
                         Optional<Dependency> manifestDependency = manifest.getDependencies().stream()
-                                .filter(dep -> dep.getOrgName().equals(importz.symbol.pkgID.orgName.value))
-                                .filter(dep -> dep.getModuleName().equals(importz.symbol.pkgID.name.value))
+                                .filter(dep -> dep.getOrgName().equals(importz.pkgID.orgName.value))
+                                .filter(dep -> dep.getModuleName().equals(importz.pkgID.name.value))
                                 .findAny();
                         
                         // if dependency is not mentioned in toml
                         if (!manifestDependency.isPresent()) {
                             // update manifest
                             Dependency dependency = new Dependency();
-                            dependency.setModuleID(importz.symbol.pkgID.orgName.value + "/" +
-                                                   importz.symbol.pkgID.name.value);
+                            dependency.setModuleID(importz.pkgID.orgName.value + "/" +
+                                                   importz.pkgID.name.value);
                             DependencyMetadata depMeta = new DependencyMetadata();
-                            depMeta.setVersion(importz.symbol.pkgID.version.value);
+                            depMeta.setVersion(importz.pkgID.version.value);
                             dependency.setMetadata(depMeta);
                             dependenciesToAdd.add(dependency);
                         } else if (null != manifestDependency.get().getMetadata() &&
                                    null != manifestDependency.get().getMetadata().getVersion() &&
-                                   !importz.symbol.pkgID.version.value.equals(
+                                   !importz.pkgID.version.value.equals(
                                            manifestDependency.get().getMetadata().getVersion())) {
                             throw new BLangCompilerException("version specified for '" +
                                                              manifestDependency.get().toString() +
                                                              "' in Ballerina.toml should be '" +
-                                                             importz.symbol.pkgID.toString() + "'.");
+                                                             importz.pkgID.toString() + "'.");
                         }
                     }
                 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.packerina.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.packerina.utils.FileUtils.deleteDirectory;
+
+/**
+ * Tests for the build cache.
+ *
+ * @since 1.2.0
+ */
+public class BuildCacheTest {
+    private Path tmpDir;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        this.tmpDir = Files.createTempDirectory("b7a-build-cache-test-" + System.nanoTime());
+    }
+
+    @Test(description = "Test the key of an artifact changes only with its inputs")
+    public void testKey() throws IOException {
+        Path dir = Files.createDirectories(this.tmpDir.resolve("key"));
+        Path source = Files.write(dir.resolve("main.bal"),
+                "public function main() {}".getBytes(StandardCharsets.UTF_8));
+        Path other = Files.write(dir.resolve("other.bal"), "function foo() {}".getBytes(StandardCharsets.UTF_8));
+        BuildCache cache = new BuildCache(dir.resolve("cache"));
+
+        String key = cache.getKey(Arrays.asList(source, other), Collections.emptyList(), "BIR_GEN");
+        Assert.assertNotNull(key);
+        Assert.assertEquals(cache.getKey(Arrays.asList(other, source), Collections.emptyList(), "BIR_GEN"), key,
+                "the order of the files should not change the key");
+        Assert.assertNotEquals(cache.getKey(Arrays.asList(source, other), Collections.emptyList(), "CODE_GEN"), key);
+        Assert.assertNotEquals(cache.getKey(Collections.singletonList(source), Collections.emptyList(), "BIR_GEN"),
+                key);
+        Assert.assertNotEquals(cache.getKey(Arrays.asList(source, other), Collections.singletonList(other), "BIR_GEN"),
+                key);
+
+        // the content of a file is hashed once per build
+        Files.write(source, "public function main() { int i = 0; }".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotEquals(new BuildCache(dir.resolve("cache"))
+                .getKey(Arrays.asList(source, other), Collections.emptyList(), "BIR_GEN"), key);
+
+        Assert.assertNull(cache.getKey(Collections.singletonList(dir.resolve("missing.bal")),
+                Collections.emptyList(), "BIR_GEN"), "a file which cannot be read should not have a key");
+    }
+
+    @Test(description = "Test restoring a stored artifact")
+    public void testStoreAndRestore() throws IOException {
+        Path dir = Files.createDirectories(this.tmpDir.resolve("restore"));
+        Path artifact = Files.write(dir.resolve("foo.jar"), "foo".getBytes(StandardCharsets.UTF_8));
+        BuildCache cache = new BuildCache(dir.resolve("cache"));
+
+        Path target = dir.resolve("target").resolve("foo.jar");
+        Assert.assertFalse(cache.restore("foo", target));
+        Assert.assertTrue(Files.notExists(target));
+
+        cache.store("foo", artifact);
+        Assert.assertTrue(cache.restore("foo", target));
+        Assert.assertEquals(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), "foo");
+
+        // a stored artifact replaces an earlier one with the same key
+        Files.write(artifact, "bar".getBytes(StandardCharsets.UTF_8));
+        cache.store("foo", artifact);
+        Assert.assertTrue(cache.restore("foo", target));
+        Assert.assertEquals(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), "bar");
+    }
+
+    @Test(description = "Test reading a written artifact")
+    public void testWriteAndRead() throws IOException {
+        Path dir = Files.createDirectories(this.tmpDir.resolve("read"));
+        BuildCache cache = new BuildCache(dir.resolve("cache"));
+
+        Assert.assertNull(cache.read("foo"));
+        cache.write("foo", "foo".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(cache.read("foo"), "foo".getBytes(StandardCharsets.UTF_8));
+
+        Path target = dir.resolve("foo.bir");
+        Assert.assertTrue(cache.restore("foo", target));
+        Assert.assertEquals(Files.readAllBytes(target), "foo".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(description = "Test pruning removes the least recently used artifacts")
+    public void testPrune() throws IOException {
+        Path dir = Files.createDirectories(this.tmpDir.resolve("prune"));
+        Path cacheDir = dir.resolve("cache");
+        BuildCache cache = new BuildCache(cacheDir);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            cache.write("entry" + i, new byte[]{(byte) i});
+            Files.setLastModifiedTime(cacheDir.resolve("entry" + i), FileTime.fromMillis(now - (4 - i) * 60000L));
+        }
+        // a restored artifact is used recently
+        Assert.assertNotNull(cache.read("entry0"));
+
+        cache.prune(4);
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            Assert.assertEquals(entries.count(), 4);
+        }
+
+        cache.prune(2);
+        Assert.assertTrue(Files.exists(cacheDir.resolve("entry0")));
+        Assert.assertTrue(Files.notExists(cacheDir.resolve("entry1")));
+        Assert.assertTrue(Files.notExists(cacheDir.resolve("entry2")));
+        Assert.assertTrue(Files.exists(cacheDir.resolve("entry3")));
+
+        new BuildCache(dir.resolve("missing")).prune(0);
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        deleteDirectory(this.tmpDir);
+    }
+}
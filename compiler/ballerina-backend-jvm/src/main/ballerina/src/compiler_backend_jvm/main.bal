@@ -34,7 +34,7 @@ public type JavaClass record {|
 string[] birCacheDirs = [];
 string[] jarLibraries = [];
 
-public function main(string... args) {
+public function main(string... args) returns error? {
     string pathToEntryBir = <@untainted> args[0];
     string mapPath = <@untainted> args[1];
     string targetPath = args[2];
@@ -60,8 +60,8 @@ public function main(string... args) {
     var jarFile = generateJarBinary(pathToEntryBir, mapPath, dumpBir, jarLibraries, useSystemClassLoader);
     if (dlogger.getErrorCount() > 0) {
         dlogger.printErrors();
-        jvm:systemExit(1);
-        return;
+        // return rather than exit, as the backend may be running within the JVM of the build
+        return error("jvm code generation failed");
     }
 
     writeJarFile(jarFile, targetPath);
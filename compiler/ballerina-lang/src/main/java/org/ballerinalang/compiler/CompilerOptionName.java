@@ -50,7 +50,9 @@ public enum CompilerOptionName {
 
     EXPERIMENTAL_FEATURES_ENABLED("experimentalFeaturesEnabled"),
 
-    TOOLING_COMPILATION("toolingCompilation");
+    TOOLING_COMPILATION("toolingCompilation"),
+
+    CACHED_BIR_DIR("cachedBirDirectory");
 
     public final String name;
 
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of class loaders, each of which loads its own copy of a compiler backend from the class path.
+ * <p>
+ * A copy keeps its state in module level variables, hence it is used by one run at a time. Copies are created on
+ * demand up to the bound and reused by later runs, after which runs wait for a copy to become idle. A copy cannot be
+ * unloaded once it has run, as each run registers a shutdown hook, hence the bound also caps the memory held by the
+ * copies for the lifetime of the JVM.
+ * <p>
+ * If the backend cannot be found on the class path, e.g. when the compiler is loaded by a custom class loader, the
+ * pool falls back to the single copy visible to the given shared class loader.
+ *
+ * @since 1.2.0
+ */
+class BackendClassLoaderPool {
+
+    private final int maxBackends;
+    private final URL[] classPath;
+    private final ClassLoader sharedClassLoader;
+    // a permit for each copy which exists or may be created, and is not borrowed
+    private final Semaphore availableBackends;
+    private final BlockingQueue<ClassLoader> idleClassLoaders = new LinkedBlockingQueue<>();
+    private final AtomicInteger backendCount = new AtomicInteger();
+
+    /**
+     * Creates a pool of copies of a backend.
+     *
+     * @param backendClass      name of a class of the backend
+     * @param maxBackends       maximum number of copies of the backend
+     * @param classPath         class path to load the copies from, in the format of {@code java.class.path}
+     * @param sharedClassLoader class loader of the only copy, used if the backend is not found on the class path
+     */
+    BackendClassLoaderPool(String backendClass, int maxBackends, String classPath, ClassLoader sharedClassLoader) {
+        URL[] urls = toURLs(classPath);
+        this.classPath = findBackend(backendClass, urls) ? urls : null;
+        this.maxBackends = this.classPath == null ? 1 : maxBackends;
+        this.sharedClassLoader = sharedClassLoader;
+        this.availableBackends = new Semaphore(this.maxBackends, true);
+    }
+
+    /**
+     * Borrows an idle copy of the backend, creating one if the bound has not been reached, or else waiting for one to
+     * be returned.
+     *
+     * @return the class loader of the borrowed copy
+     * @throws InterruptedException if interrupted while waiting for a copy
+     */
+    ClassLoader borrow() throws InterruptedException {
+        availableBackends.acquire();
+        ClassLoader classLoader = idleClassLoaders.poll();
+        if (classLoader != null) {
+            return classLoader;
+        }
+        backendCount.incrementAndGet();
+        return classPath == null ? sharedClassLoader : newClassLoader(classPath);
+    }
+
+    /**
+     * Returns a borrowed copy of the backend to the pool, to be reused by a later run.
+     *
+     * @param classLoader the class loader of the copy
+     */
+    void release(ClassLoader classLoader) {
+        idleClassLoaders.add(classLoader);
+        availableBackends.release();
+    }
+
+    /**
+     * Discards a borrowed copy of the backend whose state can no longer be relied on, closing its class loader. A new
+     * copy takes its place when required.
+     *
+     * @param classLoader the class loader of the copy
+     */
+    void discard(ClassLoader classLoader) {
+        if (classLoader != sharedClassLoader) {
+            close(classLoader);
+        }
+        backendCount.decrementAndGet();
+        availableBackends.release();
+    }
+
+    int getMaxBackends() {
+        return maxBackends;
+    }
+
+    int getBackendCount() {
+        return backendCount.get();
+    }
+
+    private static boolean findBackend(String backendClass, URL[] classPath) {
+        URLClassLoader classLoader = newClassLoader(classPath);
+        try {
+            return classLoader.findResource(backendClass.replace('.', '/') + ".class") != null;
+        } finally {
+            close(classLoader);
+        }
+    }
+
+    private static URLClassLoader newClassLoader(URL[] classPath) {
+        // same class path as the JVM of the build, but without sharing any of its loaded classes
+        return new URLClassLoader(classPath, ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    private static URL[] toURLs(String classPath) {
+        List<URL> urls = new ArrayList<>();
+        try {
+            for (String path : classPath.split(File.pathSeparator)) {
+                if (!path.isEmpty()) {
+                    urls.add(Paths.get(path).toUri().toURL());
+                }
+            }
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("failed running jvm code gen phase.", e);
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    private static void close(ClassLoader classLoader) {
+        try {
+            ((URLClassLoader) classLoader).close();
+        } catch (IOException e) {
+            // the jar files of the class loader are left open until the JVM exits
+        }
+    }
+}
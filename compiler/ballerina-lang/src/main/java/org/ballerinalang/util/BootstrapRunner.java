@@ -20,21 +20,33 @@ package org.ballerinalang.util;
 import org.ballerinalang.compiler.BLangCompilerException;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.Permission;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +60,10 @@ public class BootstrapRunner {
     private static final String TMP_OBJECT_FILE_NAME = "ballerina_native_objf.o";
     private static final String COMPILER_BACKEND_JVM = "ballerina.compiler_backend_jvm.___init";
     private static final String COMPILER_BACKEND_LLVM = "ballerina.compiler_backend_llvm.___init";
+    // rough estimate of the heap used by a copy of the JVM compiler backend generating the jar file of a large module
+    private static final long BACKEND_HEAP_ESTIMATE = 256L * 1024 * 1024;
+    // same as the time a forked JVM is given to generate the jar file of a module
+    private static final long BACKEND_TIMEOUT_SECONDS = 120;
     private static String javaCommand = System.getProperty("java.command");
 
     public static void loadTargetAndGenerateJarBinary(String entryBir, String jarOutputPath, boolean dumpBir,
@@ -57,8 +73,136 @@ public class BootstrapRunner {
         for (Path path : moduleDependencySet) {
             jarFilePaths.add(path.toString());
         }
-        List<String> commands =
-                createArgsForJBalCompilerBackend(entryBir, jarOutputPath, dumpBir, jarFilePaths, birCachePaths);
+        List<String> args =
+                createArgsForCompilerBackend(entryBir, jarOutputPath, dumpBir, true, birCachePaths, jarFilePaths);
+        generateJarBinaryInCurrentJVM(entryBir, args);
+    }
+
+    /**
+     * Returns the maximum number of jar files generated in parallel by default. It is the number of processors,
+     * limited by the number of copies of the JVM compiler backend which fit in the maximum heap along with the rest of
+     * the build.
+     *
+     * @return the maximum number of jar files generated in parallel
+     */
+    public static int getMaxConcurrentJarGenerations() {
+        return BackendPoolHolder.POOL.getMaxBackends();
+    }
+
+    /**
+     * Runs the JVM compiler backend within the current JVM, instead of forking a new JVM for each module.
+     *
+     * Each run borrows a copy of the backend loaded by its own class loader, as the backend keeps its state in
+     * module level variables. Copies are reused by later runs, and at most {@link #getMaxConcurrentJarGenerations()}
+     * copies are created, after which runs wait for a copy to become idle. This method can be called from multiple
+     * threads. A failed run reports what the backend wrote to the standard error stream, and a run is given
+     * {@value #BACKEND_TIMEOUT_SECONDS} seconds to complete, as a forked backend was.
+     *
+     * The exits of the backend are trapped with a security manager. If the JVM does not allow one to be installed,
+     * as JDK 18 and later do not unless started with {@code -Djava.security.manager=allow}, the backend is run in a
+     * forked JVM instead.
+     *
+     * @param entryBir path to the BIR of the module
+     * @param args     arguments to the compiler backend
+     */
+    public static void generateJarBinaryInCurrentJVM(String entryBir, List<String> args) {
+        runBackend(BackendPoolHolder.POOL, COMPILER_BACKEND_JVM, entryBir, args);
+    }
+
+    static void runBackend(BackendClassLoaderPool backendPool, String backendMainClass, String entryBir,
+                           List<String> args) {
+        runBackend(backendPool, backendMainClass, entryBir, args, BACKEND_TIMEOUT_SECONDS);
+    }
+
+    static void runBackend(BackendClassLoaderPool backendPool, String backendMainClass, String entryBir,
+                           List<String> args, long timeoutSeconds) {
+        if (!ExitHandler.isSupported()) {
+            runForkedBackend(backendMainClass, args);
+            return;
+        }
+        ClassLoader backendClassLoader;
+        try {
+            backendClassLoader = backendPool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("failed running jvm code gen phase.", e);
+        }
+        ExitHandler exitHandler = ExitHandler.startRun(backendClassLoader);
+        if (exitHandler == null) {
+            backendPool.release(backendClassLoader);
+            runForkedBackend(backendMainClass, args);
+            return;
+        }
+        ErrorCapture.startRun(backendClassLoader);
+        AtomicBoolean backendEnded = new AtomicBoolean();
+        FutureTask<Void> run = new FutureTask<>(() -> {
+            try {
+                Class<?> backendMain = Class.forName(backendMainClass, true, backendClassLoader);
+                Method backendMainMethod = backendMain.getMethod("main", String[].class);
+                backendMainMethod.invoke(null, new Object[]{ args.toArray(new String[0]) });
+                return null;
+            } finally {
+                exitHandler.endBackend(backendClassLoader, backendEnded);
+            }
+        });
+        // the threads started by the backend inherit the context class loader, which attributes their output
+        Thread runner = new Thread(run, "ballerina-jvm-backend");
+        runner.setContextClassLoader(backendClassLoader);
+        // a backend which does not complete in time is left behind, and must not keep the JVM alive
+        runner.setDaemon(true);
+        int exitStatus;
+        String errorOutput;
+        boolean completed = false;
+        boolean timedOut = false;
+        try {
+            runner.start();
+            run.get(timeoutSeconds, TimeUnit.SECONDS);
+            completed = true;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            Throwable target = cause instanceof InvocationTargetException ?
+                    ((InvocationTargetException) cause).getTargetException() : cause;
+            completed = target instanceof StopExitException;
+            if (!completed) {
+                // these are un-handled errors at the jvm-codegen phase. Hence should not throw
+                // compiler-exceptions. These should cause a bad-sad error.
+                throw new RuntimeException("failed running jvm code gen phase.", target);
+            }
+        } catch (TimeoutException e) {
+            timedOut = true;
+            run.cancel(true);
+            throw new BLangCompilerException("failed to generate jar file for '" + entryBir + "' within " +
+                    timeoutSeconds + "s.");
+        } catch (InterruptedException e) {
+            run.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("failed running jvm code gen phase.", e);
+        } finally {
+            exitStatus = exitHandler.endRun(backendClassLoader, timedOut ? backendEnded : null);
+            errorOutput = ErrorCapture.endRun(backendClassLoader);
+            if (completed) {
+                backendPool.release(backendClassLoader);
+            } else {
+                // the module level state of a copy which failed unexpectedly cannot be relied on by later runs
+                backendPool.discard(backendClassLoader);
+            }
+        }
+
+        if (exitStatus != 0) {
+            String message = "failed to generate jar file for '" + entryBir + "'";
+            throw new BLangCompilerException(errorOutput.isEmpty() ? message : message + ": " + errorOutput);
+        }
+    }
+
+    private static void runForkedBackend(String backendMainClass, List<String> args) {
+        List<String> commands = new ArrayList<>();
+        if (javaCommand == null) {
+            javaCommand = System.getProperty("java.command");
+        }
+        commands.add(javaCommand);
+        setSystemProperty(commands, "ballerina.bstring");
+        commands.add(backendMainClass);
+        commands.addAll(args);
         generateJarBinaryInProc(commands);
     }
 
@@ -241,5 +385,210 @@ public class BootstrapRunner {
         String ballerinaNativeMap = System.getenv("BALLERINA_NATIVE_MAP");
         return ballerinaNativeMap == null ? " " : ballerinaNativeMap;
     }
-}
 
+    /**
+     * Turns the exit of the JVM by the compiler backend into a {@link StopExitException}, so that the backend can run
+     * within the JVM of the build. The handler is installed while at least one backend run is in progress.
+     *
+     * An exit is attributed to a run by the class loader of the backend classes on the stack of the exiting thread,
+     * which also covers the strands of the run. The first exit status requested by a run is recorded as its status.
+     * Exits made by any other code are let through.
+     *
+     * A backend which did not complete in time keeps running after its run ended, as it cannot be stopped. Its exits
+     * are still trapped, and the handler stays installed, until the main method of the backend returns.
+     *
+     * The handler cannot be installed if the JVM does not allow a security manager, or if the security manager in
+     * place does not allow it to be replaced. The runs of the backend are then forked instead.
+     */
+    private static class ExitHandler extends SecurityManager {
+
+        private static ExitHandler installed;
+        private static int activeRuns = 0;
+        // set once the JVM refused to install a security manager, which it does for its whole lifetime
+        private static volatile boolean unsupported = false;
+
+        private final SecurityManager defaultMgr;
+        private final Map<ClassLoader, Integer> exitStatuses = new ConcurrentHashMap<>();
+        private final Set<ClassLoader> runningBackends = ConcurrentHashMap.newKeySet();
+        private final Set<ClassLoader> abandonedBackends = ConcurrentHashMap.newKeySet();
+
+        private ExitHandler(SecurityManager defaultMgr) {
+            this.defaultMgr = defaultMgr;
+        }
+
+        static boolean isSupported() {
+            return !unsupported;
+        }
+
+        /**
+         * Starts a run of the backend, installing the handler if no other run is in progress.
+         *
+         * @param backendClassLoader class loader of the backend
+         * @return the installed handler, or null if it could not be installed
+         */
+        static synchronized ExitHandler startRun(ClassLoader backendClassLoader) {
+            if (installed == null) {
+                ExitHandler handler = new ExitHandler(System.getSecurityManager());
+                try {
+                    System.setSecurityManager(handler);
+                } catch (UnsupportedOperationException e) {
+                    unsupported = true;
+                    return null;
+                } catch (SecurityException e) {
+                    return null;
+                }
+                installed = handler;
+            }
+            activeRuns++;
+            installed.runningBackends.add(backendClassLoader);
+            return installed;
+        }
+
+        /**
+         * Ends a run of the backend.
+         *
+         * @param backendClassLoader class loader of the backend
+         * @param backendEnded       set once the main method of a backend which did not complete in time returns, or
+         *                           null if the backend completed
+         * @return exit status requested by the backend
+         */
+        int endRun(ClassLoader backendClassLoader, AtomicBoolean backendEnded) {
+            Integer exitStatus;
+            synchronized (ExitHandler.class) {
+                runningBackends.remove(backendClassLoader);
+                exitStatus = exitStatuses.remove(backendClassLoader);
+                if (backendEnded != null && !backendEnded.get()) {
+                    abandonedBackends.add(backendClassLoader);
+                }
+                activeRuns--;
+                uninstallIfUnused();
+            }
+            return exitStatus == null ? 0 : exitStatus;
+        }
+
+        /**
+         * Called once the main method of the backend returns, which may be after its run ended.
+         *
+         * @param backendClassLoader class loader of the backend
+         * @param backendEnded       set by this method
+         */
+        void endBackend(ClassLoader backendClassLoader, AtomicBoolean backendEnded) {
+            synchronized (ExitHandler.class) {
+                backendEnded.set(true);
+                if (abandonedBackends.remove(backendClassLoader)) {
+                    exitStatuses.remove(backendClassLoader);
+                    uninstallIfUnused();
+                }
+            }
+        }
+
+        private void uninstallIfUnused() {
+            if (activeRuns == 0 && abandonedBackends.isEmpty() && installed == this) {
+                System.setSecurityManager(defaultMgr);
+                installed = null;
+            }
+        }
+
+        @Override
+        public void checkPermission(Permission perm) {
+            if (defaultMgr != null) {
+                defaultMgr.checkPermission(perm);
+            }
+        }
+
+        @Override
+        public void checkPermission(Permission perm, Object context) {
+            if (defaultMgr != null) {
+                defaultMgr.checkPermission(perm, context);
+            }
+        }
+
+        @Override
+        public void checkExit(int status) {
+            for (Class<?> clazz : getClassContext()) {
+                ClassLoader classLoader = clazz.getClassLoader();
+                if (classLoader != null &&
+                        (runningBackends.contains(classLoader) || abandonedBackends.contains(classLoader))) {
+                    exitStatuses.putIfAbsent(classLoader, status);
+                    throw new StopExitException();
+                }
+            }
+            if (defaultMgr != null) {
+                defaultMgr.checkExit(status);
+            }
+        }
+    }
+
+    /**
+     * Collects what each compiler backend run writes to the standard error stream, so that a failed run can report it.
+     * The output is still written to the original stream as well.
+     *
+     * A write is attributed to a run by the context class loader of the writing thread, which the threads started by
+     * the backend inherit. The same stream is installed for every run, as the backend classes may keep the stream they
+     * saw first, and it only passes the output through while no run is in progress.
+     */
+    private static class ErrorCapture extends OutputStream {
+
+        private static final ErrorCapture CAPTURE = new ErrorCapture();
+        private static final PrintStream CAPTURE_STREAM = new PrintStream(CAPTURE, true);
+        private static int activeRuns = 0;
+
+        // the standard error stream replaced by the capture
+        private volatile PrintStream original = System.err;
+        private final Map<ClassLoader, ByteArrayOutputStream> outputs = new ConcurrentHashMap<>();
+
+        static synchronized void startRun(ClassLoader backendClassLoader) {
+            if (activeRuns++ == 0) {
+                CAPTURE.original = System.err;
+                System.setErr(CAPTURE_STREAM);
+            }
+            CAPTURE.outputs.put(backendClassLoader, new ByteArrayOutputStream());
+        }
+
+        static synchronized String endRun(ClassLoader backendClassLoader) {
+            CAPTURE_STREAM.flush();
+            ByteArrayOutputStream output = CAPTURE.outputs.remove(backendClassLoader);
+            if (--activeRuns == 0) {
+                System.setErr(CAPTURE.original);
+            }
+            return new String(output.toByteArray(), Charset.defaultCharset()).trim();
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            original.write(b, off, len);
+            ByteArrayOutputStream output = outputs.get(Thread.currentThread().getContextClassLoader());
+            if (output != null) {
+                output.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() {
+            original.flush();
+        }
+    }
+
+    /**
+     * Holds the pool of copies of the JVM compiler backend, created on first use.
+     */
+    private static class BackendPoolHolder {
+        private static final BackendClassLoaderPool POOL = new BackendClassLoaderPool(COMPILER_BACKEND_JVM,
+                getMaxBackends(), System.getProperty("java.class.path", ""), BootstrapRunner.class.getClassLoader());
+
+        private static int getMaxBackends() {
+            // a share of the heap is left for the rest of the build
+            long heapShares = Runtime.getRuntime().maxMemory() / BACKEND_HEAP_ESTIMATE - 1;
+            return (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), heapShares));
+        }
+    }
+
+    private static class StopExitException extends SecurityException {
+        private static final long serialVersionUID = 1L;
+    }
+}
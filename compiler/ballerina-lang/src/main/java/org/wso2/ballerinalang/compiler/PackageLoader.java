@@ -17,7 +17,9 @@
  */
 package org.wso2.ballerinalang.compiler;
 
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.repository.CompiledPackage;
 import org.ballerinalang.repository.CompilerInput;
@@ -43,6 +45,7 @@ import org.wso2.ballerinalang.compiler.packaging.converters.Converter;
 import org.wso2.ballerinalang.compiler.packaging.converters.URIDryConverter;
 import org.wso2.ballerinalang.compiler.packaging.repo.BinaryRepo;
 import org.wso2.ballerinalang.compiler.packaging.repo.BirRepo;
+import org.wso2.ballerinalang.compiler.packaging.repo.CachedBirRepo;
 import org.wso2.ballerinalang.compiler.packaging.repo.HomeBaloRepo;
 import org.wso2.ballerinalang.compiler.packaging.repo.HomeBirRepo;
 import org.wso2.ballerinalang.compiler.packaging.repo.PathBaloRepo;
@@ -63,6 +66,7 @@ import org.wso2.ballerinalang.compiler.util.ProjectDirs;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.util.RepoUtils;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URI;
 import java.nio.file.Files;
@@ -70,16 +74,20 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static org.ballerinalang.compiler.CompilerOptionName.CACHED_BIR_DIR;
 import static org.ballerinalang.compiler.CompilerOptionName.LOCK_ENABLED;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
 import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
@@ -161,7 +169,8 @@ public class PackageLoader {
     /**
      * Generates the repository hierarchy. Following is the hierarchy.
      * 1. Program Source
-     * 2. Project Repo
+     * 2.1. Project Repo
+     * 2.2. Project BIR restored from the build cache
      * 3.1. Project Cache
      * 3.2. Home Repo
      * 4. Home Cache
@@ -222,9 +231,19 @@ public class PackageLoader {
         RepoNode fullRepoGraph;
         if (converter != null) {
             Repo programingSource = new ProgramingSourceRepo(converter);
-            Repo projectSource = new ProjectSourceRepo(converter, this.manifest, testEnabled);
-            fullRepoGraph = node(programingSource,
-                                 node(projectSource, homeCacheNode));
+            RepoNode projectNode;
+            if (this.options.isSet(CACHED_BIR_DIR)) {
+                // modules of the project which are not changed since they were compiled are loaded from their BIR,
+                // also when they are imported by a module which is compiled from its sources.
+                Path cachedBirDir = Paths.get(this.options.get(CACHED_BIR_DIR));
+                Repo projectSource = new ProjectSourceRepo(converter, this.manifest, testEnabled,
+                        listCachedModules(cachedBirDir));
+                projectNode = node(projectSource, node(new CachedBirRepo(cachedBirDir), homeCacheNode));
+            } else {
+                Repo projectSource = new ProjectSourceRepo(converter, this.manifest, testEnabled);
+                projectNode = node(projectSource, homeCacheNode);
+            }
+            fullRepoGraph = node(programingSource, projectNode);
         } else {
             fullRepoGraph = homeCacheNode;
         }
@@ -232,6 +251,24 @@ public class PackageLoader {
 
     }
 
+    /**
+     * List the modules of the project which have their BIR in the given directory.
+     *
+     * @param cachedBirDir directory of the BIR restored from the build cache
+     * @return names of the modules
+     */
+    private Set<String> listCachedModules(Path cachedBirDir) {
+        Path orgDir = cachedBirDir.resolve(this.manifest.getProject().getOrgName());
+        if (!Files.isDirectory(orgDir)) {
+            return Collections.emptySet();
+        }
+        try (Stream<Path> modulePaths = Files.list(orgDir)) {
+            return modulePaths.map(modulePath -> modulePath.getFileName().toString()).collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new BLangCompilerException("error reading the cached BIR of the project: " + e.getMessage());
+        }
+    }
+
     private RepoNode[] loadSystemRepos() {
         List<RepoNode> systemList;
         ServiceLoader<SystemPackageRepositoryProvider> loader
@@ -372,6 +409,9 @@ public class PackageLoader {
             // continue compiling the other packages as well, and check for their errors.
             return null;
         }
+        if (pkgEntity.getKind() == Kind.COMPILED_BIR) {
+            return loadCompiledEntryPackage(pkgId, (PackageBinary) pkgEntity);
+        }
 
         BLangPackage packageNode = parse(pkgId, (PackageSource) pkgEntity);
         if (packageNode.diagCollector.hasErrors()) {
@@ -508,6 +548,33 @@ public class PackageLoader {
         return pkgSymbol;
     }
 
+    /**
+     * Loads an entry module from its BIR, which is restored from the build cache of the project. The module is not
+     * parsed nor analyzed again, hence the returned node only has the symbol of the module, and all the compiler
+     * phases are marked as completed.
+     *
+     * @param pkgId     ID of the module
+     * @param pkgBinary BIR of the module
+     * @return node of the module
+     */
+    private BLangPackage loadCompiledEntryPackage(PackageID pkgId, PackageBinary pkgBinary) {
+        // the module may be already loaded through an import statement.
+        BPackageSymbol pkgSymbol = this.packageCache.getSymbol(pkgId);
+        if (pkgSymbol == null) {
+            pkgSymbol = loadCompiledPackageAndDefine(pkgId, pkgBinary);
+        }
+
+        BLangPackage packageNode = (BLangPackage) TreeBuilder.createPackageNode();
+        packageNode.packageID = pkgId;
+        packageNode.symbol = pkgSymbol;
+        packageNode.repos = pkgBinary.getRepoHierarchy();
+        packageNode.completedPhases.addAll(EnumSet.allOf(CompilerPhase.class));
+        // the sources of the module are still part of the project
+        pkgSymbol.compiledPackage = createInMemoryCompiledPackage(packageNode);
+        this.packageCache.put(pkgId, packageNode);
+        return packageNode;
+    }
+
     private CompiledPackage createInMemoryCompiledPackage(BLangPackage pkgNode) {
         PackageID packageID = pkgNode.packageID;
         InMemoryCompiledPackage compiledPackage = new InMemoryCompiledPackage(packageID);
@@ -26,6 +26,8 @@ import org.wso2.ballerinalang.compiler.packaging.converters.PathConverter;
 import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
 
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Calculate bal files' path pattens in a project, excluding test files.
@@ -33,11 +35,26 @@ import java.nio.file.Path;
 public class ProjectSourceRepo extends NonSysRepo<Path> {
     private final boolean testEnabled;
     private final Manifest manifest;
+    private final Set<String> compiledModules;
 
     public ProjectSourceRepo(Converter<Path> converter, Manifest manifest, boolean testEnabled) {
+        this(converter, manifest, testEnabled, Collections.emptySet());
+    }
+
+    /**
+     * Create a repo for the sources of a project.
+     *
+     * @param converter       path converter of the project
+     * @param manifest        manifest of the project
+     * @param testEnabled     whether the sources of the tests are included
+     * @param compiledModules modules of the project which are loaded from their BIR instead of their sources
+     */
+    public ProjectSourceRepo(Converter<Path> converter, Manifest manifest, boolean testEnabled,
+                             Set<String> compiledModules) {
         super(converter);
         this.testEnabled = testEnabled;
         this.manifest = manifest;
+        this.compiledModules = compiledModules;
     }
 
     public ProjectSourceRepo(Path projectRoot, Manifest manifest, boolean testEnabled) {
@@ -50,6 +67,10 @@ public class ProjectSourceRepo extends NonSysRepo<Path> {
         if (null != this.manifest && !moduleID.orgName.value.equals(this.manifest.getProject().getOrgName())) {
             return Patten.NULL;
         }
+
+        if (this.compiledModules.contains(moduleID.getName().value)) {
+            return Patten.NULL;
+        }
         
         if (testEnabled) {
             return new Patten(Patten.path(ProjectDirConstants.SOURCE_DIR_NAME), Patten.path(moduleID.getName().value),
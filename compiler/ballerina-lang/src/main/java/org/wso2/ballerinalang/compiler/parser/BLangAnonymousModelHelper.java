@@ -20,7 +20,9 @@ import org.ballerinalang.model.elements.PackageID;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -56,6 +58,13 @@ public class BLangAnonymousModelHelper {
         anonForkCount = new HashMap<>();
     }
 
+    private BLangAnonymousModelHelper(BLangAnonymousModelHelper helper) {
+        anonTypeCount = new HashMap<>(helper.anonTypeCount);
+        anonServiceCount = new HashMap<>(helper.anonServiceCount);
+        anonFunctionCount = new HashMap<>(helper.anonFunctionCount);
+        anonForkCount = new HashMap<>(helper.anonForkCount);
+    }
+
     public static BLangAnonymousModelHelper getInstance(CompilerContext context) {
         BLangAnonymousModelHelper helper = context.get(ANONYMOUS_MODEL_HELPER_KEY);
         if (helper == null) {
@@ -100,4 +109,62 @@ public class BLangAnonymousModelHelper {
     public boolean isAnonymousType(BSymbol symbol) {
         return symbol.name.value.startsWith(ANON_TYPE);
     }
+
+    /**
+     * Creates a helper which continues generating names from the names generated so far by this helper. The created
+     * helper is not shared through the compiler context.
+     *
+     * @return the created helper
+     */
+    BLangAnonymousModelHelper copy() {
+        return new BLangAnonymousModelHelper(this);
+    }
+
+    /**
+     * Checks whether the given helper generated the same names as this helper would have generated. The given helper
+     * is a copy of {@code base}, and names are only generated differently for the kinds of constructs for which this
+     * helper and {@code base} have generated a different number of names.
+     *
+     * @param base   helper the given helper was copied from
+     * @param helper helper to check
+     * @return true if the same names were generated
+     */
+    boolean generatesSameNames(BLangAnonymousModelHelper base, BLangAnonymousModelHelper helper) {
+        List<Map<PackageID, Integer>> baseCounts = base.getCounts();
+        List<Map<PackageID, Integer>> counts = this.getCounts();
+        List<Map<PackageID, Integer>> helperCounts = helper.getCounts();
+        for (int i = 0; i < counts.size(); i++) {
+            if (!helperCounts.get(i).equals(baseCounts.get(i)) && !counts.get(i).equals(baseCounts.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the names generated by the given helper after it was copied from {@code base}, to the names generated by
+     * this helper.
+     *
+     * @param base   helper the given helper was copied from
+     * @param helper helper which generated the names
+     */
+    void addGeneratedNames(BLangAnonymousModelHelper base, BLangAnonymousModelHelper helper) {
+        List<Map<PackageID, Integer>> baseCounts = base.getCounts();
+        List<Map<PackageID, Integer>> counts = this.getCounts();
+        List<Map<PackageID, Integer>> helperCounts = helper.getCounts();
+        for (int i = 0; i < counts.size(); i++) {
+            Map<PackageID, Integer> baseCount = baseCounts.get(i);
+            Map<PackageID, Integer> count = counts.get(i);
+            helperCounts.get(i).forEach((packageID, value) -> {
+                int generated = value - baseCount.getOrDefault(packageID, 0);
+                if (generated > 0) {
+                    count.merge(packageID, generated, Integer::sum);
+                }
+            });
+        }
+    }
+
+    private List<Map<PackageID, Integer>> getCounts() {
+        return Arrays.asList(anonTypeCount, anonServiceCount, anonFunctionCount, anonForkCount);
+    }
 }
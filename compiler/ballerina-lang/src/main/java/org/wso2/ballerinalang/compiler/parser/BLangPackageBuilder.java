@@ -302,8 +302,14 @@ public class BLangPackageBuilder {
     private static final String IDENTIFIER_LITERAL_PREFIX = "'";
 
     public BLangPackageBuilder(CompilerContext context, CompilationUnitNode compUnit) {
-        this.dlog = BLangDiagnosticLog.getInstance(context);
-        this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
+        this(context, compUnit, BLangDiagnosticLog.getInstance(context),
+                BLangAnonymousModelHelper.getInstance(context));
+    }
+
+    BLangPackageBuilder(CompilerContext context, CompilationUnitNode compUnit, BLangDiagnosticLog dlog,
+                        BLangAnonymousModelHelper anonymousModelHelper) {
+        this.dlog = dlog;
+        this.anonymousModelHelper = anonymousModelHelper;
         this.compilerOptions = CompilerOptions.getInstance(context);
         this.symTable = SymbolTable.getInstance(context);
         this.compUnit = compUnit;
@@ -78,9 +78,15 @@ public class BLangParserListener extends BallerinaParserBaseListener {
     private Pattern pattern = Pattern.compile(Constants.UNICODE_REGEX);
 
     BLangParserListener(CompilerContext context, CompilationUnitNode compUnit, BDiagnosticSource diagnosticSource) {
-        this.pkgBuilder = new BLangPackageBuilder(context, compUnit);
+        this(context, compUnit, diagnosticSource, BLangDiagnosticLog.getInstance(context),
+                BLangAnonymousModelHelper.getInstance(context));
+    }
+
+    BLangParserListener(CompilerContext context, CompilationUnitNode compUnit, BDiagnosticSource diagnosticSource,
+                        BLangDiagnosticLog dlog, BLangAnonymousModelHelper anonymousModelHelper) {
+        this.pkgBuilder = new BLangPackageBuilder(context, compUnit, dlog, anonymousModelHelper);
         this.diagnosticSrc = diagnosticSource;
-        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this.dlog = dlog;
     }
 
     @Override
@@ -33,6 +33,7 @@ import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParser;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorListener;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorStrategy;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.tree.BLangTestablePackage;
@@ -40,6 +41,7 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.ProjectDirs;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BDiagnosticSource;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 
 import java.io.ByteArrayInputStream;
@@ -47,7 +49,10 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * This class is responsible for parsing Ballerina source files.
@@ -63,6 +68,8 @@ public class Parser {
     private PackageCache pkgCache;
     private ParserCache parserCache;
     private NodeCloner nodeCloner;
+    private BLangDiagnosticLog dlog;
+    private BLangAnonymousModelHelper anonymousModelHelper;
 
     public static Parser getInstance(CompilerContext context) {
         Parser parser = context.get(PARSER_KEY);
@@ -82,13 +89,18 @@ public class Parser {
         this.pkgCache = PackageCache.getInstance(context);
         this.parserCache = ParserCache.getInstance(context);
         this.nodeCloner = NodeCloner.getInstance(context);
+        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
     }
 
     public BLangPackage parse(PackageSource pkgSource, Path sourceRootPath) {
         PackageID pkgId = pkgSource.getPackageId();
         BLangPackage pkgNode = (BLangPackage) TreeBuilder.createPackageNode();
         this.pkgCache.put(pkgId, pkgNode);
-        for (CompilerInput sourceInput: pkgSource.getPackageSourceEntries()) {
+        List<CompilerInput> sourceEntries = pkgSource.getPackageSourceEntries();
+        List<CompilationUnitNode> compilationUnits = generateCompilationUnits(sourceEntries, pkgId);
+        for (int i = 0; i < sourceEntries.size(); i++) {
+            CompilerInput sourceInput = sourceEntries.get(i);
             if (ProjectDirs.isTestSource(((FileSystemSourceInput) sourceInput).getPath(),
                     sourceRootPath , pkgId.getName().value)) {
                 // This check is added to ensure that there is exactly one testable package per bLangPackage
@@ -98,9 +110,9 @@ public class Parser {
                     testablePkg.pos = new DiagnosticPos(new BDiagnosticSource(pkgId, pkgSource.getName()), 1, 1, 1, 1);
                     pkgNode.addTestablePkg(testablePkg);
                 }
-                pkgNode.getTestablePkg().addCompilationUnit(generateCompilationUnit(sourceInput, pkgId));
+                pkgNode.getTestablePkg().addCompilationUnit(compilationUnits.get(i));
             } else {
-                pkgNode.addCompilationUnit(generateCompilationUnit(sourceInput, pkgId));
+                pkgNode.addCompilationUnit(compilationUnits.get(i));
             }
         }
         pkgNode.pos = new DiagnosticPos(new BDiagnosticSource(pkgId,
@@ -109,26 +121,70 @@ public class Parser {
         return pkgNode;
     }
 
-    private CompilationUnitNode generateCompilationUnit(CompilerInput sourceEntry, PackageID packageID) {
-        try {
-            byte[] code = sourceEntry.getCode();
-            String entryName = sourceEntry.getEntryName();
-            int hash = getHash(code);
-            int length = code.length;
-            BLangCompilationUnit compilationUnit = parserCache.get(packageID, entryName, hash, length);
-            if (compilationUnit == null) {
-                compilationUnit = createCompilationUnit(sourceEntry, packageID);
-                boolean inError = populateCompilationUnit(compilationUnit, entryName, code);
-                if (!inError) {
-                    parserCache.put(packageID, entryName, hash, length, compilationUnit);
-                    // Node cloner will run for valid ASTs.
-                    // This will verify, any modification done to the AST will get handled properly.
-                    compilationUnit = nodeCloner.cloneCUnit(compilationUnit);
-                }
+    private List<CompilationUnitNode> generateCompilationUnits(List<CompilerInput> sourceEntries,
+                                                               PackageID packageID) {
+        List<CompilationUnitSource> sources = new ArrayList<>(sourceEntries.size());
+        List<CompilationUnitSource> unparsedSources = new ArrayList<>();
+        for (CompilerInput sourceEntry : sourceEntries) {
+            CompilationUnitSource source = new CompilationUnitSource(sourceEntry, packageID);
+            sources.add(source);
+            if (source.compilationUnit == null) {
+                unparsedSources.add(source);
+            }
+        }
+
+        // The whitespace preserving listener and custom error strategies report to the compiler context directly,
+        // hence files are only parsed concurrently without them.
+        if (unparsedSources.size() > 1 && !this.preserveWhitespace
+                && context.get(DefaultErrorStrategy.class) == null) {
+            parseConcurrently(unparsedSources);
+        } else {
+            for (CompilationUnitSource source : unparsedSources) {
+                source.parse(this.dlog, this.anonymousModelHelper);
+            }
+        }
+
+        List<CompilationUnitNode> compilationUnits = new ArrayList<>(sources.size());
+        for (CompilationUnitSource source : sources) {
+            compilationUnits.add(source.getCompilationUnit());
+        }
+        return compilationUnits;
+    }
+
+    /**
+     * Parses the given files concurrently, while generating the same compilation units and reporting the same
+     * diagnostics as when the files are parsed one after the other in the given order.
+     * <p>
+     * Each file is parsed with its own diagnostic log, and its diagnostics are reported once all the files are parsed.
+     * The names of the anonymous constructs of a file depend on the number of anonymous constructs in the files before
+     * it. Hence each file is parsed assuming that the files before it have no anonymous constructs, and a file with
+     * anonymous constructs is parsed again, if that assumption turns out to be wrong.
+     *
+     * @param sources files to parse
+     */
+    private void parseConcurrently(List<CompilationUnitSource> sources) {
+        // the parser listeners look up the symbol table from the compiler context, which is not safe to update
+        // concurrently
+        SymbolTable.getInstance(context);
+        BLangAnonymousModelHelper base = this.anonymousModelHelper.copy();
+        sources.parallelStream().forEach(source -> source.parse(BLangDiagnosticLog.createDeferredLog(), base.copy()));
+
+        BLangAnonymousModelHelper expected = base.copy();
+        List<CompilationUnitSource> invalidSources = new ArrayList<>();
+        List<BLangAnonymousModelHelper> invalidSourceHelpers = new ArrayList<>();
+        for (CompilationUnitSource source : sources) {
+            if (!expected.generatesSameNames(base, source.anonymousModelHelper)) {
+                invalidSources.add(source);
+                invalidSourceHelpers.add(expected.copy());
             }
-            return compilationUnit;
-        } catch (IOException e) {
-            throw new RuntimeException("error reading module: " + e.getMessage(), e);
+            expected.addGeneratedNames(base, source.anonymousModelHelper);
+        }
+        IntStream.range(0, invalidSources.size()).parallel().forEach(i -> invalidSources.get(i)
+                .parse(BLangDiagnosticLog.createDeferredLog(), invalidSourceHelpers.get(i)));
+        this.anonymousModelHelper.addGeneratedNames(base, expected);
+
+        for (CompilationUnitSource source : sources) {
+            this.dlog.reportDeferredDiagnostics(source.dlog);
         }
     }
 
@@ -141,38 +197,42 @@ public class Parser {
         return compUnit;
     }
 
-    private boolean populateCompilationUnit(BLangCompilationUnit compUnit, String entryName, byte[] code)
-            throws IOException {
+    private boolean populateCompilationUnit(BLangCompilationUnit compUnit, String entryName, byte[] code,
+                                            BLangDiagnosticLog dlog,
+                                            BLangAnonymousModelHelper anonymousModelHelper) throws IOException {
 
         BDiagnosticSource diagnosticSrc = compUnit.pos.getSource();
-        CommonTokenStream tokenStream = createTokenStream(entryName, code, diagnosticSrc);
+        CommonTokenStream tokenStream = createTokenStream(entryName, code, diagnosticSrc, dlog);
         BallerinaParser parser = new BallerinaParser(tokenStream);
-        parser.setErrorHandler(getErrorStrategy(diagnosticSrc));
-        BLangParserListener parserListener = newListener(tokenStream, compUnit, diagnosticSrc);
+        parser.setErrorHandler(getErrorStrategy(diagnosticSrc, dlog));
+        BLangParserListener parserListener = newListener(tokenStream, compUnit, diagnosticSrc, dlog,
+                anonymousModelHelper);
         parser.addParseListener(parserListener);
         parser.compilationUnit();
         return parserListener.isInErrorState();
     }
 
-    private CommonTokenStream createTokenStream(String entryName, byte[] code, BDiagnosticSource diagnosticSrc)
-            throws IOException {
+    private CommonTokenStream createTokenStream(String entryName, byte[] code, BDiagnosticSource diagnosticSrc,
+                                                BLangDiagnosticLog dlog) throws IOException {
 
         ANTLRInputStream ais = new ANTLRInputStream(
                 new InputStreamReader(new ByteArrayInputStream(code), StandardCharsets.UTF_8));
         ais.name = entryName;
         BallerinaLexer lexer = new BallerinaLexer(ais);
         lexer.removeErrorListeners();
-        lexer.addErrorListener(new BallerinaParserErrorListener(context, diagnosticSrc));
+        lexer.addErrorListener(new BallerinaParserErrorListener(dlog, diagnosticSrc));
         return new CommonTokenStream(lexer);
     }
 
     private BLangParserListener newListener(CommonTokenStream tokenStream,
                                             CompilationUnitNode compUnit,
-                                            BDiagnosticSource diagnosticSrc) {
+                                            BDiagnosticSource diagnosticSrc,
+                                            BLangDiagnosticLog dlog,
+                                            BLangAnonymousModelHelper anonymousModelHelper) {
         if (this.preserveWhitespace) {
             return new BLangWSPreservingParserListener(this.context, tokenStream, compUnit, diagnosticSrc);
         } else {
-            return new BLangParserListener(this.context, compUnit, diagnosticSrc);
+            return new BLangParserListener(this.context, compUnit, diagnosticSrc, dlog, anonymousModelHelper);
         }
     }
 
@@ -181,11 +241,11 @@ public class Parser {
         return new BDiagnosticSource(packageID, entryName);
     }
 
-    private DefaultErrorStrategy getErrorStrategy(BDiagnosticSource diagnosticSrc) {
+    private DefaultErrorStrategy getErrorStrategy(BDiagnosticSource diagnosticSrc, BLangDiagnosticLog dlog) {
 
         DefaultErrorStrategy customErrorStrategy = context.get(DefaultErrorStrategy.class);
         if (customErrorStrategy == null) {
-            customErrorStrategy = new BallerinaParserErrorStrategy(context, diagnosticSrc);
+            customErrorStrategy = new BallerinaParserErrorStrategy(dlog, diagnosticSrc);
         } else {
             ((BallerinaParserErrorStrategy) customErrorStrategy).setDiagnosticSrc(diagnosticSrc);
         }
@@ -197,4 +257,50 @@ public class Parser {
         // Additionaly code.Length is considered to avoid hash collision.
         return Arrays.hashCode(code);
     }
+
+    /**
+     * A source file of a module, along with the compilation unit parsed from it.
+     */
+    private class CompilationUnitSource {
+        private final CompilerInput sourceEntry;
+        private final PackageID packageID;
+        private final String entryName;
+        private final byte[] code;
+        private final int hash;
+        private BLangCompilationUnit compilationUnit;
+        private boolean inError;
+        private BLangDiagnosticLog dlog;
+        private BLangAnonymousModelHelper anonymousModelHelper;
+
+        CompilationUnitSource(CompilerInput sourceEntry, PackageID packageID) {
+            this.sourceEntry = sourceEntry;
+            this.packageID = packageID;
+            this.entryName = sourceEntry.getEntryName();
+            this.code = sourceEntry.getCode();
+            this.hash = getHash(code);
+            this.compilationUnit = parserCache.get(packageID, entryName, hash, code.length);
+        }
+
+        void parse(BLangDiagnosticLog dlog, BLangAnonymousModelHelper anonymousModelHelper) {
+            this.dlog = dlog;
+            this.anonymousModelHelper = anonymousModelHelper;
+            this.compilationUnit = createCompilationUnit(sourceEntry, packageID);
+            try {
+                this.inError = populateCompilationUnit(compilationUnit, entryName, code, dlog, anonymousModelHelper);
+            } catch (IOException e) {
+                throw new RuntimeException("error reading module: " + e.getMessage(), e);
+            }
+        }
+
+        CompilationUnitNode getCompilationUnit() {
+            if (this.anonymousModelHelper == null || inError) {
+                // Either taken from the parser cache, or not a valid AST
+                return compilationUnit;
+            }
+            parserCache.put(packageID, entryName, hash, code.length, compilationUnit);
+            // Node cloner will run for valid ASTs.
+            // This will verify, any modification done to the AST will get handled properly.
+            return nodeCloner.cloneCUnit(compilationUnit);
+        }
+    }
 }
@@ -38,7 +38,11 @@ public class BallerinaParserErrorListener extends BaseErrorListener {
     private BDiagnosticSource diagnosticSrc;
 
     public BallerinaParserErrorListener(CompilerContext context, BDiagnosticSource diagnosticSrc) {
-        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this(BLangDiagnosticLog.getInstance(context), diagnosticSrc);
+    }
+
+    public BallerinaParserErrorListener(BLangDiagnosticLog dlog, BDiagnosticSource diagnosticSrc) {
+        this.dlog = dlog;
         this.diagnosticSrc = diagnosticSrc;
     }
 
@@ -40,7 +40,11 @@ public class BallerinaParserErrorStrategy extends DefaultErrorStrategy {
     protected BDiagnosticSource diagnosticSrc;
     
     public BallerinaParserErrorStrategy(CompilerContext context, BDiagnosticSource diagnosticSrc) {
-        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this(BLangDiagnosticLog.getInstance(context), diagnosticSrc);
+    }
+
+    public BallerinaParserErrorStrategy(BLangDiagnosticLog dlog, BDiagnosticSource diagnosticSrc) {
+        this.dlog = dlog;
         this.diagnosticSrc = diagnosticSrc;
     }
 
@@ -27,6 +27,8 @@ import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -51,6 +53,7 @@ public class BLangDiagnosticLog implements DiagnosticLog {
 
     private DiagnosticListener listener;
     private PackageCache pkgCache;
+    private List<BDiagnostic> deferredDiagnostics;
 
     public static BLangDiagnosticLog getInstance(CompilerContext context) {
         BLangDiagnosticLog dLogger = context.get(DIAGNOSTIC_LOG_KEY);
@@ -71,6 +74,32 @@ public class BLangDiagnosticLog implements DiagnosticLog {
         }
     }
 
+    private BLangDiagnosticLog() {
+        this.deferredDiagnostics = new ArrayList<>();
+    }
+
+    /**
+     * Creates a log which keeps the diagnostics reported to it, instead of reporting them to the compiler. This
+     * allows a part of the compilation to run concurrently, while its diagnostics are still reported in order.
+     *
+     * @return the deferred log
+     */
+    public static BLangDiagnosticLog createDeferredLog() {
+        return new BLangDiagnosticLog();
+    }
+
+    /**
+     * Reports the diagnostics kept by a deferred log to this log, in the order they were reported to it.
+     *
+     * @param deferredLog the deferred log
+     */
+    public void reportDeferredDiagnostics(BLangDiagnosticLog deferredLog) {
+        for (BDiagnostic diagnostic : deferredLog.deferredDiagnostics) {
+            reportDiagnostic(diagnostic);
+        }
+        deferredLog.deferredDiagnostics.clear();
+    }
+
     public void error(DiagnosticPos pos, DiagnosticCode code, Object... args) {
         String msg = formatMessage(errMsgKeyPrefix, code, args);
         reportDiagnostic(new BDiagnostic(Diagnostic.Kind.ERROR, pos, code, msg));
@@ -103,6 +132,10 @@ public class BLangDiagnosticLog implements DiagnosticLog {
         if (diagnostic.kind == Diagnostic.Kind.ERROR) {
             errorCount++;
         }
+        if (this.deferredDiagnostics != null) {
+            this.deferredDiagnostics.add(diagnostic);
+            return;
+        }
         storeDiagnosticInPackage(diagnostic.pos.src.pkgID, diagnostic);
 
         // Notify the listener
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for running a compiler backend in the JVM of the build, from a bounded pool of copies of the backend.
+ */
+public class BootstrapRunnerTest {
+
+    private static final String BACKEND = TestBackend.class.getName();
+
+    private static boolean securityManagerAllowed = true;
+
+    @BeforeClass
+    public void checkSecurityManager() {
+        try {
+            System.setSecurityManager(new ReplacementDenied(false));
+            System.setSecurityManager(null);
+        } catch (UnsupportedOperationException e) {
+            securityManagerAllowed = false;
+        }
+    }
+
+    @BeforeMethod
+    public void clearRuns() {
+        TestBackend.getRuns().clear();
+    }
+
+    @Test(description = "Test that the exit status of the backend is reported")
+    public void testExitStatus() {
+        BackendClassLoaderPool pool = createPool(2);
+        run(pool, "return", "return");
+        run(pool, "exit", "exit:0");
+        try {
+            run(pool, "failedExit", "exit:3");
+            Assert.fail("exit status of the backend not reported");
+        } catch (BLangCompilerException e) {
+            Assert.assertEquals(e.getMessage(), "failed to generate jar file for 'failedExit.bir'");
+        }
+        // an exit of the backend does not discard its copy
+        Assert.assertEquals(pool.getBackendCount(), 1);
+        Assert.assertNull(System.getSecurityManager());
+    }
+
+    @Test(description = "Test that the errors of each failed run of the backend are reported")
+    public void testErrorOutput() throws Exception {
+        PrintStream err = System.err;
+        BackendClassLoaderPool pool = createPool(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                String runId = "invalid" + i;
+                results.add(executor.submit(() -> {
+                    try {
+                        run(pool, runId, "error:1");
+                        return null;
+                    } catch (BLangCompilerException e) {
+                        return e.getMessage();
+                    }
+                }));
+            }
+            for (int i = 0; i < 2; i++) {
+                Assert.assertEquals(results.get(i).get(),
+                        "failed to generate jar file for 'invalid" + i + ".bir': error: invalid" + i + " is invalid");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertSame(System.err, err);
+    }
+
+    @Test(description = "Test that a run of the backend which does not complete in time is reported")
+    public void testTimeout() throws InterruptedException {
+        BackendClassLoaderPool pool = createPool(2);
+        try {
+            BootstrapRunner.runBackend(pool, BACKEND, "slow.bir", Arrays.asList("slow", "sleep:10000"), 1);
+            Assert.fail("run of the backend not timed out");
+        } catch (BLangCompilerException e) {
+            Assert.assertEquals(e.getMessage(), "failed to generate jar file for 'slow.bir' within 1s.");
+        }
+        Assert.assertEquals(pool.getBackendCount(), 0);
+        // the backend stops once it is interrupted
+        waitForExitHandlerRemoval();
+    }
+
+    @Test(description = "Test that a backend which exits after its run timed out does not exit the JVM")
+    public void testExitAfterTimeout() throws InterruptedException {
+        BackendClassLoaderPool pool = createPool(2);
+        try {
+            BootstrapRunner.runBackend(pool, BACKEND, "late.bir", Arrays.asList("late", "lateExit:2000"), 1);
+            Assert.fail("run of the backend not timed out");
+        } catch (BLangCompilerException e) {
+            Assert.assertEquals(e.getMessage(), "failed to generate jar file for 'late.bir' within 1s.");
+        }
+        // the exit of the backend is still trapped, the test would not complete otherwise
+        Assert.assertNotNull(System.getSecurityManager());
+        run(pool, "next", "exit:0");
+        Assert.assertNotNull(System.getSecurityManager());
+
+        waitForExitHandlerRemoval();
+        Assert.assertEquals(TestBackend.getRuns().get("late.exiting"), true);
+    }
+
+    @Test(description = "Test that the backend is forked when its exits cannot be trapped in the JVM of the build")
+    public void testForkedWhenExitHandlerCannotBeInstalled() {
+        String javaCommand = System.getProperty("java.command");
+        System.setProperty("java.command", Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        ReplacementDenied securityManager = new ReplacementDenied(true);
+        if (securityManagerAllowed) {
+            System.setSecurityManager(securityManager);
+        }
+        try {
+            BackendClassLoaderPool pool = new BackendClassLoaderPool(BACKEND, 2, System.getProperty("java.class.path"),
+                                                                     BootstrapRunnerTest.class.getClassLoader());
+            run(pool, "forked", "exit:0");
+            try {
+                run(pool, "invalidForked", "error:1");
+                Assert.fail("exit status of the forked backend not reported");
+            } catch (BLangCompilerException e) {
+                Assert.assertEquals(e.getMessage(), "error: invalidForked is invalid");
+            }
+            // the runs are recorded in the system properties of the forked JVMs
+            Assert.assertFalse(TestBackend.getRuns().containsKey("forked"));
+            Assert.assertFalse(TestBackend.getRuns().containsKey("invalidForked"));
+        } finally {
+            securityManager.denied = false;
+            System.setSecurityManager(null);
+            if (javaCommand == null) {
+                System.clearProperty("java.command");
+            } else {
+                System.setProperty("java.command", javaCommand);
+            }
+        }
+        if (securityManagerAllowed) {
+            run(createPool(2), "inProcess", "exit:0");
+            Assert.assertTrue(TestBackend.getRuns().containsKey("inProcess"));
+        }
+    }
+
+    @Test(description = "Test that a copy of the backend is reused by later runs")
+    public void testReuse() {
+        BackendClassLoaderPool pool = createPool(4);
+        for (int i = 0; i < 5; i++) {
+            run(pool, "run" + i, i % 2 == 0 ? "return" : "exit:0");
+        }
+        Assert.assertEquals(pool.getBackendCount(), 1);
+        String loader = getLoader("run0");
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(TestBackend.getRuns().get("run" + i), loader + ":" + (i + 1));
+        }
+    }
+
+    @Test(description = "Test that a copy of the backend which failed unexpectedly is discarded")
+    public void testUnexpectedFailure() {
+        BackendClassLoaderPool pool = createPool(4);
+        run(pool, "first", "return");
+        try {
+            run(pool, "failed", "fail");
+            Assert.fail("failure of the backend not reported");
+        } catch (RuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "failed running jvm code gen phase.");
+            Assert.assertEquals(e.getCause().getMessage(), "backend failed");
+        }
+        Assert.assertEquals(pool.getBackendCount(), 0);
+        run(pool, "next", "return");
+        Assert.assertEquals(pool.getBackendCount(), 1);
+        Assert.assertEquals(getLoader("failed"), getLoader("first"));
+        Assert.assertNotEquals(getLoader("next"), getLoader("first"));
+        Assert.assertEquals(TestBackend.getRuns().get("next"), getLoader("next") + ":1");
+    }
+
+    @Test(description = "Test that concurrent runs use separate copies of the backend, up to the bound of the pool")
+    public void testBoundedConcurrentRuns() throws Exception {
+        BackendClassLoaderPool pool = createPool(3);
+        Assert.assertEquals(pool.getMaxBackends(), 3);
+        List<String> runIds = runConcurrently(pool, 12);
+
+        Set<String> loaders = new HashSet<>();
+        for (String runId : runIds) {
+            loaders.add(getLoader(runId));
+        }
+        Assert.assertTrue(loaders.size() > 1 && loaders.size() <= 3, "copies of the backend: " + loaders);
+        Assert.assertEquals(pool.getBackendCount(), loaders.size());
+        int maxActive = getMaxActiveRuns();
+        Assert.assertTrue(maxActive > 1 && maxActive <= 3, "concurrent runs: " + maxActive);
+        Assert.assertNull(System.getSecurityManager());
+    }
+
+    @Test(description = "Test that the backend is shared, and its runs serialized, when it is not on the class path")
+    public void testBackendNotOnClassPath() throws Exception {
+        skipUnlessRunInProcess();
+        ClassLoader sharedClassLoader = getClass().getClassLoader();
+        BackendClassLoaderPool pool = new BackendClassLoaderPool(BACKEND, 3, "", sharedClassLoader);
+        Assert.assertEquals(pool.getMaxBackends(), 1);
+        Assert.assertSame(pool.borrow(), sharedClassLoader);
+        pool.release(sharedClassLoader);
+
+        runConcurrently(pool, 4);
+        Assert.assertEquals(getMaxActiveRuns(), 1);
+        Assert.assertEquals(getLoader("run0"), String.valueOf(System.identityHashCode(sharedClassLoader)));
+        Assert.assertEquals(pool.getBackendCount(), 1);
+    }
+
+    @Test(description = "Test the default number of jar files generated in parallel")
+    public void testMaxConcurrentJarGenerations() {
+        int maxConcurrentJarGenerations = BootstrapRunner.getMaxConcurrentJarGenerations();
+        Assert.assertTrue(maxConcurrentJarGenerations >= 1);
+        Assert.assertTrue(maxConcurrentJarGenerations <= Runtime.getRuntime().availableProcessors());
+    }
+
+    private static BackendClassLoaderPool createPool(int maxBackends) {
+        skipUnlessRunInProcess();
+        return new BackendClassLoaderPool(BACKEND, maxBackends, System.getProperty("java.class.path"),
+                                          BootstrapRunnerTest.class.getClassLoader());
+    }
+
+    private static void skipUnlessRunInProcess() {
+        if (!securityManagerAllowed) {
+            throw new SkipException("the JVM does not allow a security manager, hence the backend is always forked");
+        }
+    }
+
+    private static void run(BackendClassLoaderPool pool, String runId, String action) {
+        BootstrapRunner.runBackend(pool, BACKEND, runId + ".bir", Arrays.asList(runId, action));
+    }
+
+    private static List<String> runConcurrently(BackendClassLoaderPool pool, int runCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(runCount);
+        try {
+            List<String> runIds = new ArrayList<>();
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < runCount; i++) {
+                String runId = "run" + i;
+                String action = i % 2 == 0 ? "sleep:50" : "exit:0";
+                runIds.add(runId);
+                results.add(executor.submit(() -> run(pool, runId, action)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            return runIds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitForExitHandlerRemoval() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.getSecurityManager() != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertNull(System.getSecurityManager(), "exit handler not removed once the backend ended");
+    }
+
+    /**
+     * Security manager which does not allow itself to be replaced while denied.
+     */
+    private static class ReplacementDenied extends SecurityManager {
+
+        private volatile boolean denied;
+
+        private ReplacementDenied(boolean denied) {
+            this.denied = denied;
+        }
+
+        @Override
+        public void checkPermission(Permission perm) {
+            if (denied && "setSecurityManager".equals(perm.getName())) {
+                throw new SecurityException("security manager cannot be replaced");
+            }
+        }
+
+        @Override
+        public void checkPermission(Permission perm, Object context) {
+            checkPermission(perm);
+        }
+    }
+
+    private static int getMaxActiveRuns() {
+        return ((Number) TestBackend.getRuns().get("maxActive")).intValue();
+    }
+
+    private static String getLoader(String runId) {
+        String run = (String) TestBackend.getRuns().get(runId);
+        return run.substring(0, run.indexOf(':'));
+    }
+}
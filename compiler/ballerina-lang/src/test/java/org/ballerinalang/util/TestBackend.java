@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for a compiler backend run by {@link BootstrapRunner}. Runs are recorded in a map kept in the system
+ * properties, as each copy of this class loaded by the pool has its own static state.
+ */
+public class TestBackend {
+
+    static final String RUNS_PROPERTY = "ballerina.test.backend.runs";
+
+    // module level state of the backend, shared by the runs of a single copy
+    private static int runCount = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        runCount++;
+        Map<String, Object> runs = getRuns();
+        AtomicInteger active = (AtomicInteger) runs.computeIfAbsent("active", key -> new AtomicInteger());
+        AtomicInteger maxActive = (AtomicInteger) runs.computeIfAbsent("maxActive", key -> new AtomicInteger());
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            runs.put(args[0], System.identityHashCode(TestBackend.class.getClassLoader()) + ":" + runCount);
+            String action = args[1];
+            if (action.startsWith("sleep:")) {
+                Thread.sleep(Long.parseLong(action.substring("sleep:".length())));
+            } else if (action.startsWith("lateExit:")) {
+                // does not stop when interrupted, and exits after the run timed out
+                long exitTime = System.currentTimeMillis() + Long.parseLong(action.substring("lateExit:".length()));
+                for (long now = System.currentTimeMillis(); now < exitTime; now = System.currentTimeMillis()) {
+                    try {
+                        Thread.sleep(exitTime - now);
+                    } catch (InterruptedException e) {
+                        // keep running
+                    }
+                }
+                runs.put(args[0] + ".exiting", true);
+                System.exit(0);
+            } else if (action.equals("fail")) {
+                throw new IllegalStateException("backend failed");
+            } else if (action.startsWith("error:")) {
+                // reports the error from a thread of its own, like the strands of the backend
+                Thread reporter = new Thread(() -> System.err.println("error: " + args[0] + " is invalid"));
+                reporter.start();
+                reporter.join();
+                System.exit(Integer.parseInt(action.substring("error:".length())));
+            }
+        } finally {
+            active.decrementAndGet();
+        }
+        if (args[1].startsWith("exit:")) {
+            System.exit(Integer.parseInt(args[1].substring("exit:".length())));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> getRuns() {
+        return (Map<String, Object>) System.getProperties().computeIfAbsent(RUNS_PROPERTY,
+                key -> new ConcurrentHashMap<String, Object>());
+    }
+}
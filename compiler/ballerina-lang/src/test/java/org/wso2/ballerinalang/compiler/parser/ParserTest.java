@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.parser;
+
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.CompilerInput;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.packaging.GenericPackageSource;
+import org.wso2.ballerinalang.compiler.packaging.converters.FileSystemSourceInput;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorStrategy;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangNode;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the {@link Parser} class.
+ *
+ * @since 1.2.0
+ */
+public class ParserTest {
+
+    private static final Path SOURCE_ROOT = Paths.get("src", "test", "resources", "parser").toAbsolutePath();
+    private static final String MODULE_NAME = "parallel";
+    private static final String[] SOURCE_FILES = {"a_types.bal", "b_workers.bal", "c_services.bal", "d_errors.bal",
+            "e_plain.bal", "f_more.bal", "tests/test_main.bal"};
+
+    @Test(description = "Test the files of a module parsed concurrently give the same result as parsing them in order")
+    public void testConcurrentParse() throws IllegalAccessException {
+        ParseResult sequential = parse(true);
+        ParseResult concurrent = parse(false);
+
+        Assert.assertEquals(concurrent.compilationUnits, sequential.compilationUnits);
+        Assert.assertEquals(concurrent.testCompilationUnits, sequential.testCompilationUnits);
+        Assert.assertEquals(concurrent.names, sequential.names);
+        Assert.assertEquals(concurrent.diagnostics, sequential.diagnostics);
+
+        // the last names generated for each kind of anonymous construct, in the last files of the module
+        for (String generatedName : new String[]{"$anonType$5", "$lambda$10", "anonForkName=$fork$9",
+                "$anonService$3$$service$4"}) {
+            Assert.assertTrue(concurrent.names.contains(generatedName), "name not generated: " + generatedName);
+        }
+        Assert.assertFalse(concurrent.diagnostics.isEmpty());
+        Assert.assertTrue(concurrent.diagnostics.stream().allMatch(diagnostic -> diagnostic.contains("d_errors.bal")));
+    }
+
+    private ParseResult parse(boolean sequential) throws IllegalAccessException {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(CompilerOptionName.PROJECT_DIR, SOURCE_ROOT.toString());
+        ParseResult result = new ParseResult();
+        context.put(DiagnosticListener.class, diagnostic -> result.diagnostics.add(diagnostic.toString()));
+        if (sequential) {
+            // files are parsed one after the other when a custom error strategy is used
+            context.put(DefaultErrorStrategy.class, new BallerinaParserErrorStrategy(context, null));
+        }
+
+        Names names = Names.getInstance(context);
+        PackageID packageID = new PackageID(names.fromString("test"), names.fromString(MODULE_NAME),
+                names.fromString("1.0.0"));
+        Path moduleRoot = SOURCE_ROOT.resolve("src").resolve(MODULE_NAME);
+        List<CompilerInput> sourceFiles = new ArrayList<>();
+        for (String sourceFile : SOURCE_FILES) {
+            sourceFiles.add(new FileSystemSourceInput(moduleRoot.resolve(sourceFile), moduleRoot));
+        }
+        BLangPackage module = Parser.getInstance(context)
+                .parse(new GenericPackageSource(packageID, sourceFiles, null), SOURCE_ROOT);
+
+        module.compUnits.forEach(compilationUnit -> result.compilationUnits.add(compilationUnit.name));
+        module.getTestablePkg().compUnits.forEach(compilationUnit ->
+                result.testCompilationUnits.add(compilationUnit.name));
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectNames(module.compUnits, result.names, visited);
+        collectNames(module.getTestablePkg().compUnits, result.names, visited);
+        return result;
+    }
+
+    /**
+     * Collects the kinds of the nodes of a tree, along with their names and other string values, in a fixed order.
+     */
+    private static void collectNames(Object node, List<String> names, Set<Object> visited)
+            throws IllegalAccessException {
+        if (node == null || !visited.add(node)) {
+            return;
+        }
+        if (node instanceof BLangIdentifier) {
+            names.add(((BLangIdentifier) node).value);
+            return;
+        }
+        if (node instanceof Collection) {
+            for (Object element : (Collection<?>) node) {
+                collectNames(element, names, visited);
+            }
+            return;
+        }
+        if (!(node instanceof BLangNode)) {
+            return;
+        }
+        names.add(node.getClass().getSimpleName());
+        for (Class<?> nodeClass = node.getClass(); nodeClass != Object.class; nodeClass = nodeClass.getSuperclass()) {
+            for (Field field : nodeClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || "parent".equals(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Object value = field.get(node);
+                if (value instanceof String) {
+                    names.add(field.getName() + "=" + value);
+                } else {
+                    collectNames(value, names, visited);
+                }
+            }
+        }
+    }
+
+    private static class ParseResult {
+        private final List<String> compilationUnits = new ArrayList<>();
+        private final List<String> testCompilationUnits = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String> diagnostics = Collections.synchronizedList(new ArrayList<>());
+    }
+}
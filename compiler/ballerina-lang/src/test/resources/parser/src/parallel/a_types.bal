@@ -0,0 +1,21 @@
+type Person record {
+    string name;
+    record {
+        string city;
+        int zip;
+    } address;
+};
+
+function getAge() returns record { int years; } {
+    return { years: 10 };
+}
+
+function apply() returns int {
+    function (int) returns int square = function (int i) returns int {
+        return i * i;
+    };
+    var add = function (int a, int b) returns int {
+        return a + b;
+    };
+    return square(2) + add(1, 2);
+}
@@ -0,0 +1,17 @@
+function forkWorkers() returns int {
+    fork {
+        worker w1 returns int {
+            return 1;
+        }
+        worker w2 returns int {
+            return 2;
+        }
+    }
+    record {| int w1; int w2; |} results = wait { w1, w2 };
+    return results.w1 + results.w2;
+}
+
+function arrow() returns int {
+    function (int) returns int double = x => x * 2;
+    return double(4);
+}
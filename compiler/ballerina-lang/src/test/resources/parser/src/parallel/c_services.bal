@@ -0,0 +1,22 @@
+listener Listener ep = new;
+
+service hello on ep {
+    resource function greet(record { string message; } request) {
+    }
+}
+
+service on ep {
+    resource function ping() {
+        var callback = function () returns int {
+            return 0;
+        };
+    }
+}
+
+function getService() returns service {
+    service s = service {
+        resource function get() {
+        }
+    };
+    return s;
+}
@@ -0,0 +1,15 @@
+function missingExpression() returns int {
+    int x = ;
+    return x;
+}
+
+function lambdaAfterError() {
+    var f = function () returns record { int id; } {
+        return { id: 1 };
+    };
+}
+
+function missingSemicolon() {
+    int y = 2
+    int z = 3;
+}
@@ -0,0 +1,7 @@
+function sum(int[] values) returns int {
+    int total = 0;
+    foreach var value in values {
+        total += value;
+    }
+    return total;
+}
@@ -0,0 +1,14 @@
+type Point record {|
+    int x;
+    int y;
+    record { string label; }? tag = ();
+|};
+
+function forkAgain() {
+    fork {
+        worker a {
+            var f = function () {
+            };
+        }
+    }
+}
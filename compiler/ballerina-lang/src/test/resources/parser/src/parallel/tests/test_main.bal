@@ -0,0 +1,6 @@
+function testSum() {
+    var isSum = function (int expected) returns boolean {
+        return sum([1, 2]) == expected;
+    };
+    record { int count; } result = { count: 1 };
+}
@@ -51,6 +51,7 @@ import org.ballerinalang.natives.annotations.ReturnType;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -157,7 +158,7 @@ public class ConstructFrom {
                 break;
             case TypeTags.XML_TAG:
             case TypeTags.ERROR_TAG:
-                newValue = value.copy(new HashMap<Object, Object>());
+                newValue = value.copy(new IdentityHashMap<Object, Object>());
                 break;
             default:
                 // should never reach here
@@ -25,7 +25,7 @@ import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 /**
  * Performs a deep copy, recursively copying all structural values and their members. The copy is read-only
@@ -51,7 +51,7 @@ public class CloneReadOnly {
             return value;
         }
 
-        return ((RefValue) value).frozenCopy(new HashMap<>());
+        return ((RefValue) value).frozenCopy(new IdentityHashMap<>());
     }
 
     public static Object cloneReadOnly_bstring(Strand strand, Object value) {
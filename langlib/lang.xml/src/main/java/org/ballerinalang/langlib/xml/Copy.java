@@ -25,7 +25,7 @@ import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 /**
  * Make a deep copy of an XML.
@@ -42,7 +42,7 @@ public class Copy {
 
     public static XMLValue<?> copy(Strand strand, XMLValue<?> xml) {
         try {
-            return (XMLValue<?>) xml.copy(new HashMap<>());
+            return (XMLValue<?>) xml.copy(new IdentityHashMap<>());
         } catch (Throwable e) {
             BLangExceptionHelper.handleXMLException(OPERATION, e);
         }
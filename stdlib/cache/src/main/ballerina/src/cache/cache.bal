@@ -14,43 +14,27 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/system;
-import ballerina/task;
-import ballerina/time;
+import ballerinax/java;
 
-# Cache cleanup task invoking interval in ms.
-const int CACHE_CLEANUP_INTERVAL = 5000;
-
-# Map which stores all of the caches.
-map<Cache> cacheMap = {};
-
-task:TimerConfiguration cacheCleanupTimerConfiguration = {
-    intervalInMillis: CACHE_CLEANUP_INTERVAL,
-    initialDelayInMillis: CACHE_CLEANUP_INTERVAL
-};
-
-task:Scheduler cacheCleanupTimer = new(cacheCleanupTimerConfiguration);
-
-boolean timerStarted = false;
-
-# Represents a cache entry.
+# Represents the statistics of a cache.
 #
-# + value - cache value
-# + lastAccessedTime - last accessed time in ms of this value which is used to remove LRU cached values
-type CacheEntry record {|
-    any value;
-    int lastAccessedTime;
+# + hits - Number of lookups which found an unexpired value
+# + misses - Number of lookups which did not find a value or found an expired one
+# + evictions - Number of entries removed to make room for new entries once the cache was full
+# + expirations - Number of entries removed since they were expired
+public type CacheStatistics record {|
+    int hits;
+    int misses;
+    int evictions;
+    int expirations;
 |};
 
 # Represents a Ballerina `Cache` which can hold multiple entries and remove entries based on time and size.
+# Entries are kept in a native LRU cache engine in which lookups, insertions and evictions are constant time
+# operations. Expired entries are removed when they are accessed, when new entries are added, and when the size or the
+# keys of the cache are read. They are not removed in the background.
 public type Cache object {
 
-    private int capacity;
-    map<CacheEntry> entries = {};
-    int expiryTimeInMillis;
-    private float evictionFactor;
-    private string uuid;
-
     # Creates a new `Cache`.
     #
     # + expiryTimeInMillis - Time since its last access in which the cache will be expired.
@@ -73,35 +57,7 @@ public type Cache object {
             Error e = error(CACHE_ERROR, message = "Cache eviction factor must be between 0.0 (exclusive) and 1.0 (inclusive).");
             panic e;
         }
-        // We remove empty caches to prevent OOM issues. So in such scenarios, the cache will not be in the `cacheMap`
-        // when we are trying to add a new cache entry to that cache. So we need to create a new cache. For that, keep
-        // track of the UUID.
-        self.uuid = system:uuid();
-        cacheMap[self.uuid] = self;
-        self.expiryTimeInMillis = expiryTimeInMillis;
-        self.capacity = capacity;
-        self.evictionFactor = evictionFactor;
-
-        var attachCacheCleanerResult = cacheCleanupTimer.attach(cacheCleanupService);
-        if (attachCacheCleanerResult is error) {
-            record {| string message?; anydata|error...; |} detail = attachCacheCleanerResult.detail();
-            Error e = error(CACHE_ERROR, message = "Failed to create the cache cleanup task: " +  <string> detail["message"]);
-            panic e;
-        }
-
-        if (!timerStarted && !cacheCleanupTimer.isStarted()) {
-            lock {
-                if(!cacheCleanupTimer.isStarted()) {
-                    var timerStartResult = cacheCleanupTimer.start();
-                    if (timerStartResult is error) {
-                        record {| string message?; anydata|error...; |} detail = timerStartResult.detail();
-                        Error e = error(CACHE_ERROR, message = "Failed to start the cache cleanup task: " +  <string> detail["message"]);
-                        panic e;
-                    }
-                    timerStarted = true;
-                }
-            }
-        }
+        externInit(self, capacity, evictionFactor, expiryTimeInMillis);
     }
 
     # Checks whether the given key has an associated cache value.
@@ -109,55 +65,25 @@ public type Cache object {
     # + key - The key to be checked.
     # + return - `true` if the given key has an associated value, `false` otherwise.
     public function hasKey(string key) returns boolean {
-        return self.entries.hasKey(key);
+        return externHasKey(self, java:fromString(key));
     }
 
     # Returns the size of the cache.
     #
-    # + return - The size of the cache.
+    # + return - The number of entries in the cache which are not expired.
     public function size() returns int {
-        return self.entries.length();
+        return externSize(self);
     }
 
-    # Adds the given key, value pair to the provided cache.
+    # Adds the given key, value pair to the provided cache. If the cache is full, the least recently used entries
+    # are evicted according to the eviction factor.
     #
     # + key - Value which should be used as the key.
     # + value - Value to be cached.
-    public function put(string key, any value) {
-        // We need to synchronize this process otherwise concurrency might cause issues.
-         lock {
-            int cacheCapacity = self.capacity;
-            int cacheSize = self.entries.length();
-
-            // If the current cache is full, evict cache.
-            if (cacheCapacity <= cacheSize) {
-                self.evict();
-            }
-            // Add the new cache entry.
-            int time = time:currentTime().time;
-            CacheEntry entry = { value: value, lastAccessedTime: time };
-            self.entries[key] = entry;
-
-            // If the UUID is not found, that means that cache was removed after being empty. So we need to create a
-            // new cache with the current cache object.
-            if (!cacheMap.hasKey(self.uuid)) {
-                cacheMap[self.uuid] = self;
-            }
-         }
-    }
-
-    # Evicts the cache when the cache is full.
-    function evict() {
-        int maxCapacity = self.capacity;
-        float ef = self.evictionFactor;
-        int numberOfKeysToEvict = <int>(maxCapacity * ef);
-        // Get the above number of least recently used cache entry keys from the cache
-        string[] cacheKeys = self.getLRUCacheKeys(numberOfKeysToEvict);
-        // Iterate through the map and remove entries.
-        foreach var c in cacheKeys {
-            // These cache values are ignored. So it is not needed to check the return value for the remove function.
-            var tempVar = self.entries.remove(c);
-        }
+    # + maxAgeInMillis - Time since it was added in which this entry will be expired, regardless of how recently it
+    #                    was accessed. A non positive value means that only the expiry time of the cache applies.
+    public function put(string key, any value, int maxAgeInMillis = -1) {
+        externPut(self, java:fromString(key), value, maxAgeInMillis);
     }
 
     # Returns the cached value associated with the given key. If the provided cache key is not found,
@@ -166,184 +92,60 @@ public type Cache object {
     # + key - Key which is used to retrieve the cached value.
     # + return - The cached value associated with the given key.
     public function get(string key) returns any? {
-        // Check whether the requested cache is available.
-        if (!self.hasKey(key)) {
-            return ();
-        }
-        // Get the requested cache entry from the map.
-        CacheEntry? cacheEntry = self.entries[key];
-
-        if (cacheEntry is CacheEntry) {
-            // Check whether the cache entry is already expired. Since the cache cleaning task runs in predefined intervals,
-            // sometimes the cache entry might not have been removed at this point even though it is expired. So this check
-            // guarantees that the expired cache entries will not be returned.
-            int currentSystemTime = time:currentTime().time;
-            if (currentSystemTime >= cacheEntry.lastAccessedTime + self.expiryTimeInMillis) {
-                // If it is expired, remove the cache and return nil.
-                self.remove(key);
-                return ();
-            }
-            // Modify the last accessed time and return the cache if it is not expired.
-            cacheEntry.lastAccessedTime = time:currentTime().time;
-            return cacheEntry.value;
-        } else {
-            return ();
-        }
+        return externGet(self, java:fromString(key));
     }
 
     # Removes a cached value from a cache.
     #
     # + key - Key of the cache entry which needs to be removed.
     public function remove(string key) {
-        // Cache might already be removed by the cache clearing task. So no need to check the return value.
-        if (self.entries.hasKey(key)) {
-            var tempVar = self.entries.remove(key);
-        }
+        externRemove(self, java:fromString(key));
     }
 
     # Returns all keys from current cache.
     #
     # + return - Array of all keys from the current cache.
     public function keys() returns string[] {
-        return self.entries.keys();
+        return externKeys(self);
     }
 
-    # Returns the key of the least recently used cache entry.
-    # This is used to remove entries if the cache is full.
+    # Returns the hit, miss, eviction and expiration counts of the cache since it was created.
     #
-    # + numberOfKeysToEvict - The number of keys which should be evicted.
-    # + return - Number of keys to be evicted.
-    function getLRUCacheKeys(int numberOfKeysToEvict) returns string[] {
-        // Create new arrays to hold keys to be removed and hold the corresponding timestamps.
-        string[] cacheKeysToBeRemoved = [];
-        int[] timestamps = [];
-        string[] keys = self.entries.keys();
-        // Iterate through the keys.
-        foreach var key in keys {
-            CacheEntry? cacheEntry = self.entries[key];
-            if (cacheEntry is CacheEntry) {
-                // Check and add the key to the cacheKeysToBeRemoved if it matches the conditions.
-                checkAndAdd(numberOfKeysToEvict, cacheKeysToBeRemoved, timestamps, key, cacheEntry.lastAccessedTime);
-            }
-            // If the key is not found in the map, that means that the corresponding cache is already removed
-            // (possibly by a another worker).
-        }
-        // Return the array.
-        return cacheKeysToBeRemoved;
+    # + return - The statistics of the cache.
+    public function getStatistics() returns CacheStatistics {
+        int[] stats = externGetStatistics(self);
+        return { hits: stats[0], misses: stats[1], evictions: stats[2], expirations: stats[3] };
     }
 };
 
-# Removes expired cache entries from all caches.
-function runCacheExpiry() {
-
-    // We need to keep track of empty caches. We remove these to prevent OOM issues.
-    int emptyCacheCount = 0;
-    string[] emptyCacheKeys = [];
-
-    // Iterate through all caches.
-    int keyIndex = 0;
-    string[] currentCacheKeys = cacheMap.keys();
-    int cacheKeysLength = currentCacheKeys.length();
-    while (keyIndex < cacheKeysLength) {
-
-        string currentCacheKey = currentCacheKeys[keyIndex];
-        keyIndex += 1;
-        Cache? currentCache = cacheMap[currentCacheKey];
-        if (currentCache is ()) {
-            continue;
-        } else {
-            // Get the expiry time of the current cache
-            int currentCacheExpiryTime = currentCache.expiryTimeInMillis;
-
-            // Create a new array to store keys of cache entries which needs to be removed.
-            string[] cachesToBeRemoved = [];
-
-            int cachesToBeRemovedIndex = 0;
-            // Iterate through all keys.
-            int entrykeyIndex = 0;
-            string[] entryKeys = currentCache.entries.keys();
-            int entryKeysLength = entryKeys.length();
-            while (entrykeyIndex < entryKeysLength) {
+function externInit(Cache cache, int capacity, float evictionFactor, int expiryTimeInMillis) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-                var key = entryKeys[entrykeyIndex];
-                entrykeyIndex += 1;
-                CacheEntry? entry = currentCache.entries[key];
-                if (entry is ()) {
-                    continue;
-                } else {
-                    // Get the current system time.
-                    int currentSystemTime = time:currentTime().time;
+function externHasKey(Cache cache, handle key) returns boolean = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-                    // Check whether the cache entry needs to be removed.
-                    if (currentSystemTime >= entry.lastAccessedTime + currentCacheExpiryTime) {
-                        cachesToBeRemoved[cachesToBeRemovedIndex] = key;
-                        cachesToBeRemovedIndex += 1;
-                    }
-                }
-            }
+function externSize(Cache cache) returns int = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-            // Iterate through the key list which needs to be removed.
-            int currentKeyIndex = 0;
-            while(currentKeyIndex < cachesToBeRemovedIndex) {
-                string key = cachesToBeRemoved[currentKeyIndex];
-                // Remove the cache entry.
-                var tempVar = currentCache.entries.remove(key);
-                currentKeyIndex += 1;
-            }
+function externPut(Cache cache, handle key, any value, int maxAgeInMillis) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-            // If there are no entries, we add that cache key to the `emptyCacheKeys`.
-            int size = currentCache.entries.length();
-            if (size == 0) {
-                emptyCacheKeys[emptyCacheCount] = currentCacheKey;
-                emptyCacheCount += 1;
-            }
-        }
-    }
+function externGet(Cache cache, handle key) returns any? = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-    // We iterate though all empty cache keys and remove them from the `cacheMap`.
-    foreach var emptyCacheKey in emptyCacheKeys {
-        if (cacheMap.hasKey(emptyCacheKey)) {
-            var tempVar = cacheMap.remove(emptyCacheKey);
-        }
-    }
-    return ();
-}
+function externRemove(Cache cache, handle key) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-# Utility function to identify which cache entries should be evicted.
-function checkAndAdd(int numberOfKeysToEvict, string[] cacheKeys, int[] timestamps, string key, int lastAccessTime) {
-    string myKey = key;
-    int myLastAccessTime = lastAccessTime;
+function externKeys(Cache cache) returns string[] = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
 
-    // Iterate while we count all values from 0 to numberOfKeysToEvict exclusive of numberOfKeysToEvict since the
-    // array size should be numberOfKeysToEvict.
-    foreach var index in 0..<numberOfKeysToEvict {
-        // If we have encountered the end of the array, that means we can add the new values to the end of the
-        // array since we haven’t reached the numberOfKeysToEvict limit.
-        if (cacheKeys.length() == index) {
-            cacheKeys[index] = myKey;
-            timestamps[index] = myLastAccessTime;
-            // Break the loop since we don't have any more elements to compare since we are at the end
-            break;
-        } else {
-            // If the timestamps[index] > lastAccessTime, that means the cache which corresponds to the 'key' is
-            // older than the current entry at the array which we are checking.
-            if (timestamps[index] > myLastAccessTime) {
-                // Swap the values. We use the swapped value to continue to check whether we can find any place to
-                // add it in the array.
-                string tempKey = cacheKeys[index];
-                int tempTimeStamp = timestamps[index];
-                cacheKeys[index] = myKey;
-                timestamps[index] = myLastAccessTime;
-                myKey = tempKey;
-                myLastAccessTime = tempTimeStamp;
-            }
-        }
-    }
-}
-
-# Cleanup service which cleans the cache periodically.
-service cacheCleanupService = service {
-    resource function onTrigger() {
-        runCacheExpiry();
-    }
-};
+function externGetStatistics(Cache cache) returns int[] = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.FunctionUtils"
+} external;
@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe LRU cache with idle and per-entry expiry, backing the Ballerina {@code Cache} object.
+ * <p>
+ * Entries are spread over lock striped segments. Each segment keeps a hash map for lookups and a doubly linked list
+ * in access order, so that get, put, remove and the eviction of the least recently used entry are O(1). The capacity
+ * applies to the cache as a whole, and once it is exceeded the least recently used entries across all the segments
+ * are evicted. Each segment publishes the last access time of its least recently used entry, hence an eviction only
+ * locks the segment it evicts from.
+ * <p>
+ * Expired entries are removed when they are looked up and, by expiry time, on each put to their segment and on size
+ * and keys. Since the list is in access order, the entries past the idle expiry are always at its least recently used
+ * end, while entries with a maximum age are also kept in a queue ordered by the time they expire. Nothing is removed
+ * in the background, hence the expired entries of a cache which is no longer used are only reclaimed along with the
+ * cache.
+ *
+ * @since 1.2.0
+ */
+public class CacheEngine {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 256;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final Segment[] segments;
+    private final int capacity;
+    private final int evictionCount;
+    private final long expiryTimeInMillis;
+    private final LongSupplier clock;
+    private final AtomicLong insertionSequence = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public CacheEngine(int capacity, float evictionFactor, long expiryTimeInMillis) {
+        this(capacity, evictionFactor, expiryTimeInMillis, System::currentTimeMillis);
+    }
+
+    public CacheEngine(int capacity, float evictionFactor, long expiryTimeInMillis, LongSupplier clock) {
+        this.capacity = capacity;
+        this.evictionCount = Math.max(1, (int) (capacity * evictionFactor));
+        this.expiryTimeInMillis = expiryTimeInMillis;
+        this.clock = clock;
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && capacity / (segmentCount << 1) >= MIN_SEGMENT_CAPACITY) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(size);
+        }
+    }
+
+    public Object get(String key) {
+        Segment segment = segmentFor(key);
+        long now = clock.getAsLong();
+        segment.lock.lock();
+        try {
+            Node node = segment.entries.get(key);
+            if (node == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(node, now)) {
+                segment.remove(node);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            node.lastAccessedTime = now;
+            segment.moveToHead(node);
+            hits.increment();
+            return node.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void put(String key, Object value, long maxAgeInMillis) {
+        Segment segment = segmentFor(key);
+        long now = clock.getAsLong();
+        long expiresAt = maxAgeInMillis > 0 ? now + maxAgeInMillis : NO_EXPIRY;
+        Node node;
+        segment.lock.lock();
+        try {
+            expireEntries(segment, now);
+            node = segment.entries.get(key);
+            if (node != null) {
+                node.value = value;
+                node.lastAccessedTime = now;
+                segment.moveToHead(node);
+                segment.setExpiry(node, expiresAt);
+                return;
+            }
+            node = new Node(key, value, now, insertionSequence.getAndIncrement());
+            segment.add(node);
+            segment.setExpiry(node, expiresAt);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (size.get() > capacity) {
+            evict(node);
+        }
+    }
+
+    public boolean hasKey(String key) {
+        Segment segment = segmentFor(key);
+        long now = clock.getAsLong();
+        segment.lock.lock();
+        try {
+            Node node = segment.entries.get(key);
+            if (node == null) {
+                return false;
+            }
+            if (isExpired(node, now)) {
+                segment.remove(node);
+                expirations.increment();
+                return false;
+            }
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void remove(String key) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Node node = segment.entries.get(key);
+            if (node != null) {
+                segment.remove(node);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the keys of the entries which are not expired, in the order they were first added.
+     *
+     * @return keys of the cache
+     */
+    public String[] keys() {
+        long now = clock.getAsLong();
+        List<Node> nodes = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                expireEntries(segment, now);
+                for (Node node = segment.head; node != null; node = node.next) {
+                    nodes.add(node);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        nodes.sort(Comparator.comparingLong(node -> node.sequence));
+        String[] keys = new String[nodes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = nodes.get(i).key;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the number of entries which are not expired.
+     *
+     * @return size of the cache
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                expireEntries(segment, now);
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    private void expireEntries(Segment segment, long now) {
+        // entries are in access order, hence the idle expiry of the tail is the earliest in the segment
+        while (segment.tail != null && now - segment.tail.lastAccessedTime >= expiryTimeInMillis) {
+            segment.remove(segment.tail);
+            expirations.increment();
+        }
+        Expiry expiry;
+        while ((expiry = segment.expiryQueue.peek()) != null && now >= expiry.expiresAt) {
+            segment.expiryQueue.poll();
+            if (expiry.isCurrent()) {
+                segment.remove(expiry.node);
+                expirations.increment();
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries once the cache grew beyond its capacity, leaving room for the
+     * eviction count worth of entries including the one just added. The segment to evict from is picked by the
+     * oldest access time the segments publish, with ties broken by insertion order, hence only that segment is
+     * locked for each evicted entry.
+     *
+     * @param added entry which was just added, which is never evicted
+     */
+    private void evict(Node added) {
+        int target = capacity + 1 - evictionCount;
+        // segment whose least recently used entry is the one just added
+        Segment skipped = null;
+        while (size.get() > target) {
+            Segment victim = null;
+            for (Segment segment : segments) {
+                if (segment != skipped && segment.oldestAccessTime != Long.MAX_VALUE
+                        && (victim == null || segment.isOlderThan(victim))) {
+                    victim = segment;
+                }
+            }
+            if (victim == null) {
+                if (skipped == null) {
+                    return;
+                }
+                // all the other segments are empty, the rest of its own segment was used after the added entry
+                victim = skipped;
+            }
+            victim.lock.lock();
+            try {
+                // the tail may have changed since it was looked at, the current tail is still a good candidate
+                Node candidate = victim.tail;
+                if (candidate == added) {
+                    if (victim != skipped) {
+                        skipped = victim;
+                        continue;
+                    }
+                    candidate = added.prev;
+                    if (candidate == null) {
+                        // the added entry is all that is left
+                        return;
+                    }
+                }
+                // an emptied segment publishes that it is empty, hence it is not picked again
+                if (candidate != null && size.get() > target) {
+                    victim.remove(candidate);
+                    evictions.increment();
+                }
+            } finally {
+                victim.lock.unlock();
+            }
+        }
+    }
+
+    private boolean isExpired(Node node, long now) {
+        return now - node.lastAccessedTime >= expiryTimeInMillis || now >= node.expiresAt;
+    }
+
+    private Segment segmentFor(String key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * A lock guarded part of the cache.
+     */
+    private static class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Node> entries = new HashMap<>();
+        /**
+         * Entries with a maximum age, in the order they expire. Updating or removing an entry leaves its outdated
+         * expiry in the queue, which is skipped once it reaches the head.
+         */
+        final PriorityQueue<Expiry> expiryQueue = new PriorityQueue<>(Comparator.comparingLong(e -> e.expiresAt));
+        // entry count of the whole cache
+        final AtomicInteger cacheSize;
+        // most recently used entry
+        Node head;
+        // least recently used entry
+        Node tail;
+        /**
+         * Last access time of the least recently used entry, read without the lock to pick the segment to evict from.
+         */
+        volatile long oldestAccessTime = Long.MAX_VALUE;
+        // insertion sequence of the least recently used entry, to order the segments when their access times tie
+        volatile long oldestSequence = Long.MAX_VALUE;
+
+        Segment(AtomicInteger cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        void add(Node node) {
+            entries.put(node.key, node);
+            addToHead(node);
+            cacheSize.incrementAndGet();
+            updateOldestAccessTime();
+        }
+
+        void setExpiry(Node node, long expiresAt) {
+            if (node.expiresAt == expiresAt) {
+                return;
+            }
+            node.expiresAt = expiresAt;
+            if (expiresAt == NO_EXPIRY) {
+                return;
+            }
+            if (expiryQueue.size() > (entries.size() << 1) + MIN_SEGMENT_CAPACITY) {
+                expiryQueue.removeIf(expiry -> !expiry.isCurrent());
+            }
+            expiryQueue.add(new Expiry(node, expiresAt));
+        }
+
+        void moveToHead(Node node) {
+            if (node != head) {
+                unlink(node);
+                addToHead(node);
+            }
+            // the access time of the entry changed, even if it was the head already
+            updateOldestAccessTime();
+        }
+
+        void remove(Node node) {
+            unlink(node);
+            entries.remove(node.key);
+            node.removed = true;
+            cacheSize.decrementAndGet();
+            updateOldestAccessTime();
+        }
+
+        boolean isOlderThan(Segment other) {
+            long accessTime = oldestAccessTime;
+            long otherAccessTime = other.oldestAccessTime;
+            return accessTime < otherAccessTime
+                    || (accessTime == otherAccessTime && oldestSequence < other.oldestSequence);
+        }
+
+        private void updateOldestAccessTime() {
+            oldestSequence = tail != null ? tail.sequence : Long.MAX_VALUE;
+            oldestAccessTime = tail != null ? tail.lastAccessedTime : Long.MAX_VALUE;
+        }
+
+        private void addToHead(Node node) {
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            }
+            head = node;
+            if (tail == null) {
+                tail = node;
+            }
+        }
+
+        private void unlink(Node node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * A cache entry.
+     */
+    private static class Node {
+        final String key;
+        final long sequence;
+        Object value;
+        long lastAccessedTime;
+        long expiresAt = NO_EXPIRY;
+        boolean removed;
+        Node prev;
+        Node next;
+
+        Node(String key, Object value, long lastAccessedTime, long sequence) {
+            this.key = key;
+            this.value = value;
+            this.lastAccessedTime = lastAccessedTime;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Time at which an entry expires due to its maximum age.
+     */
+    private static class Expiry {
+        final Node node;
+        final long expiresAt;
+
+        Expiry(Node node, long expiresAt) {
+            this.node = node;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isCurrent() {
+            return !node.removed && node.expiresAt == expiresAt;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.ObjectValue;
+
+/**
+ * Native functions of the Ballerina {@code Cache} object, which delegate to the {@link CacheEngine} kept in the
+ * native data of the cache object.
+ *
+ * @since 1.2.0
+ */
+public class FunctionUtils {
+
+    private static final String CACHE_ENGINE = "CACHE_ENGINE";
+
+    private FunctionUtils() {
+    }
+
+    public static void externInit(ObjectValue cache, long capacity, double evictionFactor, long expiryTimeInMillis) {
+        cache.addNativeData(CACHE_ENGINE, new CacheEngine((int) capacity, (float) evictionFactor,
+                expiryTimeInMillis));
+    }
+
+    public static boolean externHasKey(ObjectValue cache, Object key) {
+        return getEngine(cache).hasKey((String) key);
+    }
+
+    public static long externSize(ObjectValue cache) {
+        return getEngine(cache).size();
+    }
+
+    public static void externPut(ObjectValue cache, Object key, Object value, long maxAgeInMillis) {
+        getEngine(cache).put((String) key, value, maxAgeInMillis);
+    }
+
+    public static Object externGet(ObjectValue cache, Object key) {
+        return getEngine(cache).get((String) key);
+    }
+
+    public static void externRemove(ObjectValue cache, Object key) {
+        getEngine(cache).remove((String) key);
+    }
+
+    public static ArrayValue externKeys(ObjectValue cache) {
+        return new ArrayValueImpl(getEngine(cache).keys());
+    }
+
+    public static ArrayValue externGetStatistics(ObjectValue cache) {
+        CacheEngine engine = getEngine(cache);
+        return new ArrayValueImpl(new long[]{engine.getHitCount(), engine.getMissCount(), engine.getEvictionCount(),
+                engine.getExpirationCount()});
+    }
+
+    private static CacheEngine getEngine(ObjectValue cache) {
+        return (CacheEngine) cache.getNativeData(CACHE_ENGINE);
+    }
+}
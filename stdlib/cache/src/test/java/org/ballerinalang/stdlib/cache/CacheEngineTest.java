@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache;
+
+import org.ballerinalang.stdlib.cache.nativeimpl.CacheEngine;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for the native cache engine.
+ */
+public class CacheEngineTest {
+
+    @Test
+    public void testSizeExcludesExpiredEntries() {
+        AtomicLong clock = new AtomicLong();
+        CacheEngine cache = new CacheEngine(10, 0.1f, 1000, clock::get);
+        cache.put("A", "A", -1);
+        cache.put("B", "B", -1);
+        clock.set(500);
+        Assert.assertEquals(cache.get("B"), "B");
+        clock.set(1000);
+
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertEquals(cache.keys(), new String[]{"B"});
+        clock.set(1500);
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.keys().length, 0);
+        Assert.assertEquals(cache.getExpirationCount(), 2);
+    }
+
+    @Test
+    public void testEntryMaxAgeIsReclaimedByExpiryTime() {
+        AtomicLong clock = new AtomicLong();
+        CacheEngine cache = new CacheEngine(10, 0.1f, 10000, clock::get);
+        cache.put("A", "A", -1);
+        cache.put("B", "B", 100);
+        cache.put("C", "C", -1);
+        // the entry with the maximum age is neither the least nor the most recently used one
+        clock.set(100);
+        cache.put("D", "D", -1);
+
+        Assert.assertEquals(cache.getExpirationCount(), 1);
+        Assert.assertEquals(cache.keys(), new String[]{"A", "C", "D"});
+    }
+
+    @Test
+    public void testUpdatedEntryKeepsItsNewMaxAge() {
+        AtomicLong clock = new AtomicLong();
+        CacheEngine cache = new CacheEngine(10, 0.1f, 10000, clock::get);
+        cache.put("A", "A", 100);
+        cache.put("B", "B", 100);
+        cache.put("A", "A2", -1);
+        cache.put("B", "B2", 500);
+        clock.set(200);
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.get("A"), "A2");
+        Assert.assertEquals(cache.get("B"), "B2");
+        clock.set(500);
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertFalse(cache.hasKey("B"));
+    }
+
+    @Test
+    public void testCapacityIsEnforcedAcrossSegments() {
+        // increments on each read, so that every access has a distinct time
+        AtomicLong clock = new AtomicLong();
+        int capacity = 1024;
+        CacheEngine cache = new CacheEngine(capacity, 0.25f, Long.MAX_VALUE, clock::incrementAndGet);
+        for (int i = 0; i < capacity; i++) {
+            cache.put("key-" + i, i, -1);
+        }
+        Assert.assertEquals(cache.getEvictionCount(), 0);
+        Assert.assertEquals(cache.size(), capacity);
+
+        cache.put("key-" + capacity, capacity, -1);
+        int evictionCount = capacity / 4;
+        Assert.assertEquals(cache.getEvictionCount(), evictionCount);
+        Assert.assertEquals(cache.size(), capacity + 1 - evictionCount);
+        for (int i = 0; i <= capacity; i++) {
+            Assert.assertEquals(cache.hasKey("key-" + i), i >= evictionCount, "key-" + i);
+        }
+    }
+
+    @Test
+    public void testRecentlyUsedEntriesAreKeptAcrossSegments() {
+        AtomicLong clock = new AtomicLong();
+        int capacity = 1024;
+        CacheEngine cache = new CacheEngine(capacity, 0.25f, Long.MAX_VALUE, clock::incrementAndGet);
+        for (int i = 0; i < capacity; i++) {
+            cache.put("key-" + i, i, -1);
+        }
+        int usedCount = 100;
+        for (int i = 0; i < usedCount; i++) {
+            cache.get("key-" + i);
+        }
+
+        cache.put("key-" + capacity, capacity, -1);
+        int evictionCount = capacity / 4;
+        Assert.assertEquals(cache.getEvictionCount(), evictionCount);
+        for (int i = 0; i <= capacity; i++) {
+            boolean evicted = i >= usedCount && i < usedCount + evictionCount;
+            Assert.assertEquals(cache.hasKey("key-" + i), !evicted, "key-" + i);
+        }
+    }
+
+    @Test
+    public void testSameTickPutsStayWithinCapacity() {
+        // every entry is added within the same clock tick, hence only the insertion order tells them apart
+        int capacity = 1024;
+        CacheEngine cache = new CacheEngine(capacity, 0.01f, Long.MAX_VALUE, () -> 0L);
+        int putCount = capacity * 4;
+        for (int i = 0; i < putCount; i++) {
+            cache.put("key-" + i, i, -1);
+            Assert.assertTrue(cache.size() <= capacity, "size " + cache.size() + " exceeds the capacity");
+        }
+
+        String[] keys = cache.keys();
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(keys[i], "key-" + (putCount - keys.length + i));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        AtomicLong clock = new AtomicLong();
+        CacheEngine cache = new CacheEngine(5, 0.4f, Long.MAX_VALUE, clock::incrementAndGet);
+        for (String key : new String[]{"A", "B", "C", "D", "E"}) {
+            cache.put(key, key, -1);
+        }
+        cache.get("A");
+        cache.get("C");
+        cache.put("F", "F", -1);
+
+        Assert.assertEquals(cache.getEvictionCount(), 2);
+        Assert.assertEquals(cache.keys(), new String[]{"A", "C", "E", "F"});
+    }
+
+    @Test
+    public void testConcurrentPutsStayWithinCapacity() throws InterruptedException {
+        int capacity = 2048;
+        CacheEngine cache = new CacheEngine(capacity, 0.1f, Long.MAX_VALUE, System::nanoTime);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    cache.put(thread + "-" + i, i, -1);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int size = cache.size();
+        Assert.assertTrue(size <= capacity, "size " + size + " exceeds the capacity");
+        Assert.assertTrue(size > capacity - capacity / 10 - 4, "evicted more than needed: " + size);
+        Assert.assertEquals(cache.keys().length, size);
+    }
+}
@@ -19,8 +19,10 @@ package org.ballerinalang.stdlib.cache;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BValueArray;
@@ -202,6 +204,25 @@ public class CacheTest {
         Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
     }
 
+    @Test
+    public void testEntryMaxAge() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testEntryMaxAge");
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertTrue(((BBoolean) returns[1]).booleanValue());
+    }
+
+    @Test
+    public void testCacheStatistics() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCacheStatistics");
+        Assert.assertEquals(returns.length, 1);
+        BMap<String, BValue> stats = (BMap<String, BValue>) returns[0];
+        Assert.assertEquals(((BInteger) stats.get("hits")).intValue(), 1);
+        Assert.assertEquals(((BInteger) stats.get("misses")).intValue(), 1);
+        Assert.assertEquals(((BInteger) stats.get("evictions")).intValue(), 1);
+        Assert.assertEquals(((BInteger) stats.get("expirations")).intValue(), 0);
+    }
+
     @Test(expectedExceptions = BLangRuntimeException.class)
     public void testCreateCacheWithZeroExpiryTime() {
         BRunUtil.invoke(compileResult, "testCreateCacheWithZeroExpiryTime");
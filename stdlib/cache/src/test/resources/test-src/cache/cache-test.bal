@@ -154,6 +154,25 @@ function testExpiredCacheAccess() returns (int) {
     return cache.size();
 }
 
+function testEntryMaxAge() returns [int, boolean] {
+    cache:Cache cache = new(20000, 100, 0.25);
+    cache.put("A", "A", 100);
+    cache.put("B", "B");
+    runtime:sleep(200);
+    _ = cache.get("A");
+    return [cache.size(), cache.hasKey("B")];
+}
+
+function testCacheStatistics() returns cache:CacheStatistics {
+    cache:Cache cache = new(20000, 2, 0.5);
+    cache.put("A", "A");
+    cache.put("B", "B");
+    _ = cache.get("A");
+    _ = cache.get("C");
+    cache.put("C", "C");
+    return cache.getStatistics();
+}
+
 function testCreateCacheWithZeroExpiryTime() {
     cache:Cache c = new(0, 100, 0.25);
 }
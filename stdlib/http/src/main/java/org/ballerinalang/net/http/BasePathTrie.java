@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Radix trie of the service base paths registered under a host. It finds the most specific base path of a request
+ * path in a single pass over the path, comparing characters case insensitively without creating lower case copies.
+ * <p>
+ * A base path matches the request path if both are equal ignoring case, or if the request path starts with the base
+ * path followed by a {@code /}. Instances are immutable, hence a new trie is built whenever a service is registered or
+ * unregistered.
+ *
+ * @since 1.2.0
+ */
+public class BasePathTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final TrieNode[] NO_NODES = new TrieNode[0];
+
+    private final TrieNode root = new TrieNode("");
+
+    /**
+     * Creates a trie of the given base paths. If two base paths are equal ignoring case, the one which comes first is
+     * preferred for request paths which match neither of them exactly.
+     *
+     * @param basePaths base paths of the services
+     */
+    public BasePathTrie(List<String> basePaths) {
+        for (String basePath : basePaths) {
+            insert(basePath, toLowerCase(basePath));
+        }
+    }
+
+    /**
+     * Finds the longest base path which matches the given request path.
+     *
+     * @param requestPath raw path of the request URI
+     * @return the matching base path or null if there is none
+     */
+    public String findMostSpecificBasePath(String requestPath) {
+        int length = requestPath.length();
+        TrieNode node = root;
+        int position = 0;
+        String bestMatch = null;
+        while (true) {
+            if (node.basePaths != null) {
+                if (position == length) {
+                    return node.getFullMatch(requestPath);
+                }
+                if (requestPath.charAt(position) == '/') {
+                    String prefixMatch = node.getPrefixMatch(requestPath);
+                    if (prefixMatch != null) {
+                        bestMatch = prefixMatch;
+                    }
+                }
+            }
+            if (position == length) {
+                return bestMatch;
+            }
+            TrieNode child = node.getChild(Character.toLowerCase(requestPath.charAt(position)));
+            if (child == null || !child.matchesLabel(requestPath, position)) {
+                return bestMatch;
+            }
+            position += child.label.length();
+            node = child;
+        }
+    }
+
+    private void insert(String basePath, String lowerCaseBasePath) {
+        TrieNode node = root;
+        int position = 0;
+        while (position < lowerCaseBasePath.length()) {
+            char ch = lowerCaseBasePath.charAt(position);
+            TrieNode child = node.getChild(ch);
+            if (child == null) {
+                child = new TrieNode(lowerCaseBasePath.substring(position));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefixLength(child.label, lowerCaseBasePath, position);
+            if (common < child.label.length()) {
+                child = node.splitChild(child, common);
+            }
+            position += common;
+            node = child;
+        }
+        node.addBasePath(basePath);
+    }
+
+    private static int commonPrefixLength(String label, String path, int offset) {
+        int max = Math.min(label.length(), path.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == path.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String toLowerCase(String path) {
+        char[] chars = path.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Node of the trie. The label holds the lower case characters of the edge from the parent node.
+     */
+    private static class TrieNode {
+        private String label;
+        private char[] childChars = NO_CHARS;
+        private TrieNode[] children = NO_NODES;
+        private String[] basePaths;
+
+        TrieNode(String label) {
+            this.label = label;
+        }
+
+        TrieNode getChild(char ch) {
+            for (int i = 0; i < childChars.length; i++) {
+                if (childChars[i] == ch) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(TrieNode child) {
+            int size = childChars.length;
+            childChars = Arrays.copyOf(childChars, size + 1);
+            children = Arrays.copyOf(children, size + 1);
+            childChars[size] = child.label.charAt(0);
+            children[size] = child;
+        }
+
+        TrieNode splitChild(TrieNode child, int splitIndex) {
+            TrieNode intermediate = new TrieNode(child.label.substring(0, splitIndex));
+            child.label = child.label.substring(splitIndex);
+            intermediate.addChild(child);
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = intermediate;
+                    break;
+                }
+            }
+            return intermediate;
+        }
+
+        void addBasePath(String basePath) {
+            if (basePaths == null) {
+                basePaths = new String[]{basePath};
+                return;
+            }
+            basePaths = Arrays.copyOf(basePaths, basePaths.length + 1);
+            basePaths[basePaths.length - 1] = basePath;
+        }
+
+        boolean matchesLabel(String path, int offset) {
+            int labelLength = label.length();
+            if (path.length() - offset < labelLength) {
+                return false;
+            }
+            for (int i = 0; i < labelLength; i++) {
+                if (Character.toLowerCase(path.charAt(offset + i)) != label.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String getFullMatch(String path) {
+            for (String basePath : basePaths) {
+                if (basePath.equals(path)) {
+                    return basePath;
+                }
+            }
+            return basePaths[0];
+        }
+
+        String getPrefixMatch(String path) {
+            for (String basePath : basePaths) {
+                if (path.startsWith(basePath)) {
+                    return basePath;
+                }
+            }
+            return null;
+        }
+    }
+}
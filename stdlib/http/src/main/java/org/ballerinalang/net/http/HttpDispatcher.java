@@ -18,11 +18,14 @@
 package org.ballerinalang.net.http;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
+import org.ballerinalang.jvm.JSONByteParser;
+import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.types.BArrayType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.util.exceptions.BallerinaConnectorException;
 import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
 import org.ballerinalang.jvm.values.ErrorValue;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.ObjectValue;
@@ -36,8 +39,8 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.ballerinalang.net.http.HttpConstants.DEFAULT_HOST;
@@ -53,14 +56,14 @@ public class HttpDispatcher {
     public static HttpService findService(HTTPServicesRegistry servicesRegistry, HttpCarbonMessage inboundReqMsg) {
         try {
             Map<String, HttpService> servicesOnInterface;
-            List<String> sortedServiceURIs;
+            BasePathTrie basePathTrie;
             String hostName = inboundReqMsg.getHeader(HttpHeaderNames.HOST.toString());
             if (hostName != null && servicesRegistry.getServicesMapHolder(hostName) != null) {
                 servicesOnInterface = servicesRegistry.getServicesByHost(hostName);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(hostName);
+                basePathTrie = servicesRegistry.getBasePathTrieByHost(hostName);
             } else {
                 servicesOnInterface = servicesRegistry.getServicesByHost(DEFAULT_HOST);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(DEFAULT_HOST);
+                basePathTrie = servicesRegistry.getBasePathTrieByHost(DEFAULT_HOST);
             }
 
             String rawUri = (String) inboundReqMsg.getProperty(HttpConstants.TO);
@@ -74,7 +77,7 @@ public class HttpDispatcher {
             URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
 
             String basePath = servicesRegistry.findTheMostSpecificBasePath(validatedUri.getRawPath(),
-                    servicesOnInterface, sortedServiceURIs);
+                    servicesOnInterface, basePathTrie);
 
             if (basePath == null) {
                 inboundReqMsg.setHttpStatusCode(404);
@@ -249,8 +252,21 @@ public class HttpDispatcher {
         return null;
     }
 
-    private static Object getRecordEntity(ObjectValue inRequestEntity, BType entityBodyType) {
-        Object result = getRecord(entityBodyType, getBJsonValue(inRequestEntity));
+    private static Object getRecordEntity(ObjectValue inRequestEntity, BType entityBodyType) throws IOException {
+        Object result;
+        byte[] payload = EntityBodyHandler.getUtf8Payload(inRequestEntity);
+        if (payload != null) {
+            // Bind the payload directly to the record type. The raw payload is kept as the data source, hence the
+            // payload can still be retrieved in any form.
+            EntityBodyHandler.addMessageDataSource(inRequestEntity, new ArrayValueImpl(payload));
+            result = JSONByteParser.parse(ByteBuffer.wrap(payload), entityBodyType);
+            if (TypeChecker.getType(result) != entityBodyType) {
+                EntityBodyHandler.addJsonMessageDataSource(inRequestEntity, result);
+                result = getRecord(entityBodyType, result);
+            }
+        } else {
+            result = getRecord(entityBodyType, getBJsonValue(inRequestEntity));
+        }
         if (result instanceof ErrorValue) {
             throw (ErrorValue) result;
         }
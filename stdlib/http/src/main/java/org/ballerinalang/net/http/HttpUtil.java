@@ -31,6 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.BallerinaValues;
+import org.ballerinalang.jvm.JSONByteGenerator;
 import org.ballerinalang.jvm.JSONGenerator;
 import org.ballerinalang.jvm.observability.ObserveUtils;
 import org.ballerinalang.jvm.observability.ObserverContext;
@@ -94,6 +95,7 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -1408,9 +1410,16 @@ public class HttpUtil {
     public static void serializeDataSource(Object outboundMessageSource, ObjectValue entity,
                                            OutputStream messageOutputStream) throws IOException {
         if (MimeUtil.generateAsJSON(outboundMessageSource, entity)) {
-            JSONGenerator gen = new JSONGenerator(messageOutputStream);
-            gen.serialize(outboundMessageSource);
-            gen.flush();
+            if (StandardCharsets.UTF_8.equals(Charset.defaultCharset())) {
+                // Encode straight to bytes, which are written to the outbound message in blocks
+                JSONByteGenerator gen = new JSONByteGenerator(messageOutputStream);
+                gen.serialize(outboundMessageSource);
+                gen.flush();
+            } else {
+                JSONGenerator gen = new JSONGenerator(messageOutputStream);
+                gen.serialize(outboundMessageSource);
+                gen.flush();
+            }
         } else {
             serialize(outboundMessageSource, messageOutputStream);
         }
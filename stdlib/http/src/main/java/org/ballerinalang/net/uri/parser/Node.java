@@ -22,8 +22,8 @@ import org.ballerinalang.net.http.HttpConstants;
 import org.ballerinalang.net.http.HttpResourceArguments;
 import org.ballerinalang.net.uri.URITemplateException;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -37,7 +37,7 @@ public abstract class Node<DataType, InboundMsgType> {
 
     protected String token;
     protected DataElement<DataType, InboundMsgType> dataElement;
-    protected List<Node<DataType, InboundMsgType>> childNodesList = new LinkedList<>();
+    protected List<Node<DataType, InboundMsgType>> childNodesList = new ArrayList<>();
 
     protected Node(DataElement<DataType, InboundMsgType> dataElement, String token) {
         this.dataElement = dataElement;
@@ -76,17 +76,14 @@ public abstract class Node<DataType, InboundMsgType> {
             return false;
         }
         String subUriFragment = nextURIFragment(uriFragment, matchLength);
-        String subPath = nextSubPath(subUriFragment);
+        int subPathLength = nextSubPathLength(subUriFragment);
 
         boolean isFound;
         for (Node<DataType, InboundMsgType> childNode : childNodesList) {
             if (childNode instanceof Literal) {
-                String regex = childNode.getToken();
-                if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
-                        continue;
-                    }
+                String token = childNode.getToken();
+                if (token.equals("*")) {
+                    // the wildcard matches any sub path, since a valid request path has no line terminators
                     isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
                                                  dataReturnAgent);
                     if (isFound) {
@@ -95,7 +92,7 @@ public abstract class Node<DataType, InboundMsgType> {
                     }
                     continue;
                 }
-                if (!subPath.contains(regex)) {
+                if (!subPathContains(subUriFragment, subPathLength, token)) {
                     continue;
                 }
                 isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
@@ -194,13 +191,13 @@ public abstract class Node<DataType, InboundMsgType> {
         return uriFragment;
     }
 
-    private String nextSubPath(String uriFragment) {
-        String subPath;
-        if (uriFragment.contains("/")) {
-            subPath = uriFragment.substring(0, uriFragment.indexOf("/"));
-        } else {
-            subPath = uriFragment;
-        }
-        return subPath;
+    private int nextSubPathLength(String uriFragment) {
+        int index = uriFragment.indexOf('/');
+        return index < 0 ? uriFragment.length() : index;
+    }
+
+    private boolean subPathContains(String uriFragment, int subPathLength, String token) {
+        int index = uriFragment.indexOf(token);
+        return index >= 0 && index + token.length() <= subPathLength;
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.services.dispatching;
+
+import org.ballerinalang.net.http.BasePathTrie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test cases for finding the most specific base path of a request.
+ */
+public class BasePathTrieTest {
+
+    private final BasePathTrie basePathTrie = new BasePathTrie(
+            Arrays.asList("/hello/world/bar", "/hello/world", "/helloworld", "/Hello", "/echo", "/"));
+
+    @Test(description = "Test the longest base path is matched")
+    public void testMostSpecificBasePath() {
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/hello/world/bar/baz"), "/hello/world/bar");
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/hello/world/baz"), "/hello/world");
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/helloworld"), "/helloworld");
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/echo/"), "/echo");
+    }
+
+    @Test(description = "Test base path is matched only at a path segment boundary")
+    public void testPartialSegment() {
+        Assert.assertNull(basePathTrie.findMostSpecificBasePath("/echoes"));
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/Hello/there"), "/Hello");
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/"), "/");
+    }
+
+    @Test(description = "Test the full request path is matched ignoring case")
+    public void testCaseInsensitiveFullMatch() {
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/ECHO"), "/echo");
+        Assert.assertEquals(basePathTrie.findMostSpecificBasePath("/Hello/World"), "/hello/world");
+        Assert.assertNull(basePathTrie.findMostSpecificBasePath("/ECHO/foo"));
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Represents a channel which reads the elements of a JSON array one at a time, without reading the whole document
+# into memory.
+public type ReadableJsonElementChannel object {
+
+    private ReadableCharacterChannel charChannel;
+
+    # Constructs a ReadableJsonElementChannel from a given ReadableCharacterChannel.
+    #
+    # + charChannel - CharacterChannel which will point to the input/output resource
+    # + path - Field names separated by `.` which select the array to be read (e.g. `$.orders.items`). The root of
+    #          the document is selected by default. If the selected value is not an array, it is read as the only
+    #          element.
+    public function __init(ReadableCharacterChannel charChannel, string path = "$") {
+        self.charChannel = charChannel;
+        initReadableJsonElementChannel(self, charChannel, java:fromString(path));
+    }
+
+    # Checks whether there's an element left to be read.
+    #
+    # + return - True if there's an element left to be read
+    public function hasNext() returns boolean {
+        return hasNextJsonElementExtern(self);
+    }
+
+    # Get next element of the array.
+    #
+    # + return - The element which is read, `EofError` once there are no elements left to be read or `Error` if any
+    #            error occurred
+    public function getNext() returns @tainted json|Error {
+        return getNextJsonElementExtern(self);
+    }
+
+    # Closes a given json element channel.
+    #
+    # + return - An `Error` if the json element channel could not be closed properly
+    public function close() returns Error? {
+        return closeReadableJsonElementChannelExtern(self);
+    }
+};
+
+function initReadableJsonElementChannel(ReadableJsonElementChannel jsonChannel, ReadableCharacterChannel charChannel,
+            handle path) = @java:Method {
+    name: "initJsonElementChannel",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonElementChannelUtils"
+} external;
+
+function hasNextJsonElementExtern(ReadableJsonElementChannel jsonChannel) returns boolean = @java:Method {
+    name: "hasNext",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonElementChannelUtils"
+} external;
+
+function getNextJsonElementExtern(ReadableJsonElementChannel jsonChannel) returns @tainted json|Error = @java:Method {
+    name: "getNext",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonElementChannelUtils"
+} external;
+
+function closeReadableJsonElementChannelExtern(ReadableJsonElementChannel jsonChannel) returns Error? = @java:Method {
+    name: "close",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonElementChannelUtils"
+} external;
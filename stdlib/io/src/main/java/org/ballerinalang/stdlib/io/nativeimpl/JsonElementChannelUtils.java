@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.nativeimpl;
+
+import org.ballerinalang.jvm.JSONStreamReader;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.stdlib.io.channels.base.CharacterChannel;
+import org.ballerinalang.stdlib.io.readers.CharacterChannelReader;
+import org.ballerinalang.stdlib.io.utils.IOConstants;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+
+import static org.ballerinalang.stdlib.io.utils.IOConstants.JSON_ELEMENT_CHANNEL_NAME;
+
+/**
+ * This class hold Java inter-ops bridging functions for io# *JsonElementChannel.
+ *
+ * @since 1.2.0
+ */
+public class JsonElementChannelUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonElementChannelUtils.class);
+
+    private JsonElementChannelUtils() {
+    }
+
+    public static void initJsonElementChannel(ObjectValue jsonElementChannel, ObjectValue characterChannelInfo,
+                                              String path) {
+        try {
+            CharacterChannel characterChannel = (CharacterChannel) characterChannelInfo
+                    .getNativeData(IOConstants.CHARACTER_CHANNEL_NAME);
+            JSONStreamReader reader = new JSONStreamReader(new CharacterChannelReader(characterChannel), path);
+            jsonElementChannel.addNativeData(JSON_ELEMENT_CHANNEL_NAME, reader);
+        } catch (Exception e) {
+            String message =
+                    "error occurred while converting character channel to json element channel: " + e.getMessage();
+            log.error(message, e);
+            throw IOUtils.createError(message);
+        }
+    }
+
+    public static boolean hasNext(ObjectValue channel) {
+        JSONStreamReader reader = (JSONStreamReader) channel.getNativeData(JSON_ELEMENT_CHANNEL_NAME);
+        try {
+            return reader.hasNext();
+        } catch (BallerinaException e) {
+            String msg = "error occurred while checking hasNext on ReadableJsonElementChannel: " + e.getMessage();
+            log.error(msg, e);
+            throw IOUtils.createError(msg);
+        }
+    }
+
+    public static Object getNext(ObjectValue channel) {
+        JSONStreamReader reader = (JSONStreamReader) channel.getNativeData(JSON_ELEMENT_CHANNEL_NAME);
+        try {
+            if (!reader.hasNext()) {
+                return IOUtils.createEoFError();
+            }
+            Object element = reader.next();
+            if (element instanceof String) {
+                return org.ballerinalang.jvm.StringUtils.fromString((String) element);
+            }
+            return element;
+        } catch (BallerinaException e) {
+            log.error("error occurred while reading next element from ReadableJsonElementChannel", e);
+            return IOUtils.createError(e);
+        }
+    }
+
+    public static Object close(ObjectValue channel) {
+        JSONStreamReader reader = (JSONStreamReader) channel.getNativeData(JSON_ELEMENT_CHANNEL_NAME);
+        try {
+            reader.close();
+        } catch (ClosedChannelException e) {
+            return IOUtils.createError("channel already closed.");
+        } catch (IOException e) {
+            return IOUtils.createError(e);
+        }
+        return null;
+    }
+}
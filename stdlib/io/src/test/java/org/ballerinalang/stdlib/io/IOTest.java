@@ -312,6 +312,23 @@ public class IOTest {
         BRunUtil.invoke(characterInputOutputProgramFile, "closeReadableChannel");
     }
 
+    @Test(description = "Test 'ReadableJsonElementChannel' in ballerina/io package")
+    public void testJsonElements() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/web-app.json";
+
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)), new BString("UTF-8") };
+        BRunUtil.invoke(characterInputOutputProgramFile, "initReadableChannel", args);
+
+        args = new BValue[] { new BString("$.web-app.servlet") };
+        BValue[] returns = BRunUtil.invoke(characterInputOutputProgramFile, "readJsonElements", args);
+        BValueArray names = (BValueArray) returns[0];
+        Assert.assertEquals(names.size(), 5);
+        Assert.assertEquals(names.getString(0), "cofaxCDS");
+        Assert.assertEquals(names.getString(4), "cofaxTools");
+
+        BRunUtil.invoke(characterInputOutputProgramFile, "closeReadableChannel");
+    }
+
     @Test(description = "Test 'writeJson' function in ballerina/io package")
     public void testWriteJsonCharacters() {
         String content = "{\n" + "  \"test\": { \"name\": \"Foo\" }\n" + "}";
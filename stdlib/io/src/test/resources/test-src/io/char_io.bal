@@ -116,6 +116,19 @@ function readJson() returns @tainted json|error {
     return ();
 }
 
+function readJsonElements(string path) returns @tainted string[]|error {
+    var rCha = rch;
+    string[] names = [];
+    if(rCha is io:ReadableCharacterChannel){
+        io:ReadableJsonElementChannel jsonChannel = new(rCha, path);
+        while (jsonChannel.hasNext()) {
+            map<json> servlet = <map<json>> check jsonChannel.getNext();
+            names.push(servlet["servlet-name"].toString());
+        }
+    }
+    return names;
+}
+
 function readXml() returns @tainted xml|error {
     var rCha = rch;
     if(rCha is io:ReadableCharacterChannel){
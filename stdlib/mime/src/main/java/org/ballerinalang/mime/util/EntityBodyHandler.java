@@ -21,6 +21,7 @@ package org.ballerinalang.mime.util;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.BallerinaValues;
+import org.ballerinalang.jvm.JSONByteParser;
 import org.ballerinalang.jvm.JSONParser;
 import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.XMLFactory;
@@ -42,7 +43,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
@@ -207,20 +210,62 @@ public class EntityBodyHandler {
      */
     public static Object constructJsonDataSource(ObjectValue entity, InputStream inputStream) {
         Object jsonData;
-        String contentTypeValue = HeaderUtil.getHeaderValue(entity, HttpHeaderNames.CONTENT_TYPE.toString());
-        if (isNotNullAndEmpty(contentTypeValue)) {
-            String charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
-            if (isNotNullAndEmpty(charsetValue)) {
-                jsonData = JSONParser.parse(inputStream, charsetValue);
-            } else {
-                jsonData = JSONParser.parse(inputStream);
+        String charsetValue = getCharset(entity);
+        if (isUtf8Encoded(charsetValue)) {
+            // UTF-8 payloads are parsed as bytes, without decoding them to characters first
+            byte[] payload;
+            try {
+                payload = MimeUtil.getByteArray(inputStream);
+            } catch (IOException e) {
+                throw BallerinaErrors.createError("Error in parsing JSON data: " + e.getMessage());
             }
+            jsonData = JSONByteParser.parse(ByteBuffer.wrap(payload));
+        } else if (isNotNullAndEmpty(charsetValue)) {
+            jsonData = JSONParser.parse(inputStream, charsetValue);
         } else {
             jsonData = JSONParser.parse(inputStream);
         }
         return jsonData;
     }
 
+    /**
+     * Read the payload from the underneath byte channel which is associated with the entity object, if the payload is
+     * UTF-8 encoded. Such a payload can be parsed by {@link JSONByteParser} as it is.
+     *
+     * @param entityObj Represent an entity object
+     * @return the payload, or null if the entity does not have a byte channel or the payload is not UTF-8 encoded
+     * @throws IOException In case an error occurred while reading the payload
+     */
+    public static byte[] getUtf8Payload(ObjectValue entityObj) throws IOException {
+        if (!isUtf8Encoded(getCharset(entityObj))) {
+            return null;
+        }
+        Channel byteChannel = getByteChannel(entityObj);
+        if (byteChannel == null) {
+            return null;
+        }
+        try {
+            return MimeUtil.getByteArray(byteChannel.getInputStream());
+        } finally {
+            closeByteChannel(byteChannel);
+        }
+    }
+
+    private static String getCharset(ObjectValue entity) {
+        String contentTypeValue = HeaderUtil.getHeaderValue(entity, HttpHeaderNames.CONTENT_TYPE.toString());
+        if (isNotNullAndEmpty(contentTypeValue)) {
+            return MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
+        }
+        return null;
+    }
+
+    private static boolean isUtf8Encoded(String charsetValue) {
+        if (isNotNullAndEmpty(charsetValue)) {
+            return StandardCharsets.UTF_8.name().equalsIgnoreCase(charsetValue);
+        }
+        return StandardCharsets.UTF_8.equals(Charset.defaultCharset());
+    }
+
     /**
      * Construct XML data source from the underneath byte channel which is associated with the entity object.
      *
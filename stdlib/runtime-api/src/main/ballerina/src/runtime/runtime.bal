@@ -45,3 +45,17 @@ public function externGetProperty(@untainted handle name) returns handle = @java
 public function timeout(int millis) returns future<()> {
     return start sleep(millis);
 }
+
+# Returns a dump of the scheduler statistics and of the strands which are alive at the moment. The statistics are
+# collected when metrics are enabled or when the `BALLERINA_SCHEDULER_STATS` environment variable is set to `true`.
+# The live strands are only listed when the environment variable is set.
+#
+# + return - Scheduler statistics and the state of each live strand
+public function getStrandDump() returns string {
+    return externGetStrandDump().toString();
+}
+
+function externGetStrandDump() returns handle = @java:Method {
+    name: "getStrandDump",
+    class: "org.ballerinalang.stdlib.runtime.nativeimpl.GetStrandDump"
+} external;
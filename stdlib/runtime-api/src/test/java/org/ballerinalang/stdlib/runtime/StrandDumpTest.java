@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.stdlib.runtime;
+
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.values.FutureValue;
+import org.ballerinalang.stdlib.runtime.nativeimpl.GetStrandDump;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * Test reading the strand dump.
+ */
+public class StrandDumpTest {
+
+    @AfterClass
+    public void tearDown() {
+        // the statistics are shared by the whole runtime, hence the other tests must not pay for collecting them
+        Scheduler.getStats().disable();
+    }
+
+    @Test(description = "Test case for reading the strand dump with and without tracking the live strands")
+    public void testGetStrandDump() {
+        // the statistics are disabled unless the BALLERINA_SCHEDULER_STATS environment variable is set
+        String dump = getStrandDump();
+        Assert.assertTrue(dump.startsWith("Scheduler statistics are not enabled"), dump);
+
+        // enabled by metrics, without tracking the live strands
+        Scheduler.getStats().enable();
+        dump = getStrandDump();
+        Assert.assertTrue(dump.startsWith("Scheduler statistics:"), dump);
+        Assert.assertTrue(dump.contains("created strands: 1"), dump);
+        Assert.assertFalse(dump.contains("Live strands:"), dump);
+
+        // the strand reading the dump is created after the tracking is enabled
+        Scheduler.getStats().enableStrandTracking();
+        dump = getStrandDump();
+        Assert.assertTrue(dump.contains("Live strands:"), dump);
+        Assert.assertTrue(dump.contains("[RUNNABLE]"), dump);
+    }
+
+    /**
+     * Reads the strand dump from a strand, the same way the extern function is called from Ballerina code.
+     *
+     * @return strand dump
+     */
+    private String getStrandDump() {
+        Scheduler scheduler = new Scheduler(1, false);
+        Function<Object[], Object> function = params -> GetStrandDump.getStrandDump();
+        FutureValue future = scheduler.schedule(new Object[1], function, null, null);
+        // returns once the strand is done
+        scheduler.start();
+        Assert.assertTrue(future.isDone());
+        return (String) future.result;
+    }
+}
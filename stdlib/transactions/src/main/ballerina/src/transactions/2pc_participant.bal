@@ -56,6 +56,10 @@ type RemoteParticipant object {
         self.participantProtocols = participantProtocols;
     }
 
+    function getParticipantProtocols() returns RemoteProtocol[] {
+        return self.participantProtocols;
+    }
+
     function prepare(string protocol) returns @tainted [(PrepareResult|error)?, Participant] {
         foreach var remoteProto in self.participantProtocols {
             if (remoteProto.name == protocol) {
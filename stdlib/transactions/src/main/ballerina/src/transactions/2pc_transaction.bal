@@ -29,6 +29,7 @@ type TwoPhaseCommitTransaction object {
     int createdTime = time:currentTime().time;
     TransactionState state = TXN_STATE_ACTIVE;
     private boolean possibleMixedOutcome = false;
+    private boolean decisionLogged = false;
 
     function __init(string transactionId, string transactionBlockId, string coordinationType = "2pc") {
         self.transactionId = transactionId;
@@ -64,6 +65,10 @@ type TwoPhaseCommitTransaction object {
         if (localPrepareSuccessful && prepareVolatilesDecision == PREPARE_DECISION_COMMIT) {
             // if all volatile participants voted YES, Next call prepare on all durable participants
             PrepareDecision prepareDurablesDecision = self.prepareParticipants(PROTOCOL_DURABLE);
+            if (prepareDurablesDecision == PREPARE_DECISION_COMMIT && !self.logDecision(COMMAND_COMMIT)) {
+                // Participants cannot be told to commit unless the decision survives a crash of the coordinator
+                prepareDurablesDecision = PREPARE_DECISION_ABORT;
+            }
             if (prepareDurablesDecision == PREPARE_DECISION_COMMIT) {
                 // If all durable participants voted YES (PREPARED or READONLY), next call notify(commit) on all
                 // (durable & volatile) participants and return committed to the initiator
@@ -213,7 +218,25 @@ type TwoPhaseCommitTransaction object {
         return prepareDecision;
     }
 
+    # Logs the decision before the participants are notified of it, so that the notification can be re-driven if the
+    # coordinator stops before all participants are notified.
+    #
+    # + decision - The `commit` or `abort` command to be sent to the participants
+    # + return - false if the decision could not be logged
+    function logDecision(string decision) returns boolean {
+        var logged = logTransactionDecision(self, decision);
+        if (logged is error) {
+            return false;
+        }
+        self.decisionLogged = logged;
+        return true;
+    }
+
     function notifyParticipants(string action, string? protocolName) returns NotifyResult|error {
+        if (action == COMMAND_ABORT) {
+            // Commit decisions are logged before the decision is final, since a commit must not be lost
+            _ = self.logDecision(action);
+        }
         NotifyResult|error notifyResult = (action == COMMAND_COMMIT) ? NOTIFY_RESULT_COMMITTED : NOTIFY_RESULT_ABORTED;
         future<(NotifyResult|error)?>?[] results = [];
         foreach var participant in self.participants {
@@ -235,6 +258,10 @@ type TwoPhaseCommitTransaction object {
                 notifyResult = result;
             }
         }
+        if (self.decisionLogged && !(notifyResult is error)) {
+            logTransactionEnd(self.transactionId);
+            self.decisionLogged = false;
+        }
         return notifyResult;
     }
 
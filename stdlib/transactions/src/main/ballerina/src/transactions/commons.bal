@@ -41,6 +41,7 @@ listener task:Listener timer = new({
 
 service scheduleTimer on timer {
     resource function onTrigger() {
+        recoverTransactions();
         checkpanic cleanupTransactions();
     }
 }
@@ -0,0 +1,163 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/config;
+import ballerina/log;
+import ballerina/time;
+import ballerinax/java;
+
+# Directory of the transaction log of the coordinator. Decisions are logged only when it is configured.
+final string transactionLogDir = config:getAsString("b7a.transactions.log.dir");
+
+# Size of a segment file of the transaction log in bytes.
+final int transactionLogSegmentSize = config:getAsInt("b7a.transactions.log.segment.size", 16777216);
+
+# Whether the decisions of concurrent transactions are made durable with a single sync.
+final boolean transactionLogGroupCommit = config:getAsBoolean("b7a.transactions.log.groupcommit", true);
+
+final boolean transactionLogEnabled = openTransactionLog();
+
+# Time in milliseconds after which a decision of the running coordinator whose participants have not all been
+# notified is re-driven. It is longer than a notify with its retries can take.
+final int transactionRedriveDelay = 120000;
+
+# A logged decision, whose participants may not have been notified of it.
+#
+# + transactionId - Globally unique transaction ID
+# + transactionBlockId - ID of the transaction block
+# + decision - The `commit` or `abort` command sent to the participants
+# + participantIds - IDs of the remote participants, one per protocol URL
+# + protocolUrls - URLs of the protocols of the remote participants
+# + decisionTime - Time at which the decision was logged, in milliseconds
+type RecoveredTransaction record {|
+    string transactionId;
+    string transactionBlockId;
+    string decision;
+    string[] participantIds;
+    string[] protocolUrls;
+    int decisionTime;
+|};
+
+function openTransactionLog() returns boolean {
+    if (transactionLogDir == "") {
+        return false;
+    }
+    var result = externOpenTransactionLog(java:fromString(transactionLogDir), transactionLogSegmentSize,
+        transactionLogGroupCommit);
+    if (result is error) {
+        log:printError("Transaction decisions will not be logged", result);
+        return false;
+    }
+    return true;
+}
+
+# Logs the decision taken for an initiated transaction and waits until it is durable. Only the remote participants
+# are logged, since the local ones do not outlive the coordinator.
+#
+# + txn - The initiated transaction
+# + decision - The `commit` or `abort` command to be sent to the participants
+# + return - true if the decision was logged, false if there was nothing to log or an error if logging failed
+function logTransactionDecision(TwoPhaseCommitTransaction txn, string decision) returns boolean|error {
+    if (!transactionLogEnabled) {
+        return false;
+    }
+    string[] participantIds = [];
+    string[] protocolUrls = [];
+    foreach var participant in txn.participants {
+        if (participant is RemoteParticipant) {
+            foreach var protocol in participant.getParticipantProtocols() {
+                participantIds[participantIds.length()] = participant.participantId;
+                protocolUrls[protocolUrls.length()] = protocol.url;
+            }
+        }
+    }
+    if (protocolUrls.length() == 0) {
+        return false;
+    }
+    var result = externLogTransactionDecision(java:fromString(txn.transactionId),
+        java:fromString(txn.transactionBlockId), java:fromString(decision), participantIds, protocolUrls);
+    if (result is error) {
+        log:printError("Logging the decision of transaction: " + txn.transactionId + " failed", result);
+        return result;
+    }
+    return true;
+}
+
+# Logs that all participants of a transaction have been notified of the decision.
+#
+# + transactionId - Globally unique transaction ID
+function logTransactionEnd(string transactionId) {
+    var result = externLogTransactionEnd(java:fromString(transactionId));
+    if (result is error) {
+        log:printError("Logging the end of transaction: " + transactionId + " failed", result);
+    }
+}
+
+# Re-drives the notification of the logged decisions which never ended, either because the coordinator stopped before
+# all participants were notified or because notifying a participant failed. A participant which no longer knows the
+# transaction has already completed it. Transactions whose participants still cannot be notified are retried on the
+# next run, and are given up on once they are as old as the participated transactions that get cleaned up.
+function recoverTransactions() {
+    if (!transactionLogEnabled) {
+        return;
+    }
+    foreach var txn in externGetPendingTransactions(transactionRedriveDelay) {
+        boolean notified = true;
+        int i = 0;
+        while (i < txn.protocolUrls.length()) {
+            string participantId = txn.participantIds[i];
+            Participant2pcClientEP participantEP = getParticipant2pcClient(txn.protocolUrls[i]);
+            var result = trap participantEP->notify(txn.transactionId, txn.decision);
+            if (result is error && result.reason() != TRANSACTION_UNKNOWN) {
+                log:printError("Notify(" + txn.decision + ") of recovered transaction: " + txn.transactionId +
+                        " failed for participant: " + participantId, result);
+                notified = false;
+            }
+            i = i + 1;
+        }
+        if (notified) {
+            log:printInfo("Recovered transaction: " + txn.transactionId + ". Decision: " + txn.decision);
+            logTransactionEnd(txn.transactionId);
+        } else if (time:currentTime().time - txn.decisionTime >= 600000) {
+            log:printError("Giving up on recovering transaction: " + txn.transactionId + ". Decision: " +
+                    txn.decision);
+            logTransactionEnd(txn.transactionId);
+        }
+    }
+}
+
+function externOpenTransactionLog(handle directory, int segmentSize, boolean groupCommit) returns error? =
+@java:Method {
+    class: "io.ballerina.transactions.Utils",
+    name: "openTransactionLog"
+} external;
+
+function externLogTransactionDecision(handle transactionId, handle transactionBlockId, handle decision,
+                                      string[] participantIds, string[] protocolUrls) returns error? =
+@java:Method {
+    class: "io.ballerina.transactions.Utils",
+    name: "logTransactionDecision"
+} external;
+
+function externLogTransactionEnd(handle transactionId) returns error? = @java:Method {
+    class: "io.ballerina.transactions.Utils",
+    name: "logTransactionEnd"
+} external;
+
+function externGetPendingTransactions(int pendingTime) returns RecoveredTransaction[] = @java:Method {
+    class: "io.ballerina.transactions.Utils",
+    name: "getPendingTransactions"
+} external;
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transactions;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the decisions taken by the 2PC coordinator for the transactions it initiated.
+ * <p>
+ * A decision record is made durable before the participants are notified of the decision, and an end record is
+ * appended once all of them have been notified. A decision without an end record belongs to a transaction whose
+ * participants may still be in doubt, and such decisions are handed back so that the notification can be re-driven,
+ * either when the log is opened again or once the decision has been pending for too long. End records are not
+ * forced; losing one only causes a notification to be repeated.
+ * <p>
+ * Records are appended to memory-mapped segment files. With group commit, a thread which needs its decision to be
+ * durable forces every record appended so far, so the decisions of concurrent transactions share a single sync.
+ * A segment is deleted once every decision in it and in the older segments has ended.
+ *
+ * @since 1.2.0
+ */
+public class TransactionLog {
+
+    private static final String SEGMENT_FILE_PREFIX = "txn-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final byte RECORD_DECISION = 1;
+    private static final byte RECORD_END = 2;
+    // Each record starts with the length and the CRC32 checksum of its payload
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean groupCommit;
+
+    private final Object appendLock = new Object();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Map<String, Decision> pendingDecisions = new LinkedHashMap<>();
+    private Segment currentSegment;
+    private long appendedSequence;
+
+    private final Object syncLock = new Object();
+    private volatile long syncedSequence;
+    private boolean syncInProgress;
+
+    private TransactionLog(Path directory, int segmentSize, boolean groupCommit) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommit = groupCommit;
+    }
+
+    /**
+     * Opens the transaction log in the given directory, reading the decisions left pending by a previous run.
+     *
+     * @param directory   directory of the segment files
+     * @param segmentSize size of a segment file in bytes
+     * @param groupCommit whether concurrent decisions are made durable with a single sync
+     * @return the transaction log
+     * @throws IOException if the segment files cannot be read or created
+     */
+    public static TransactionLog open(Path directory, int segmentSize, boolean groupCommit) throws IOException {
+        TransactionLog transactionLog = new TransactionLog(directory, segmentSize, groupCommit);
+        transactionLog.recover();
+        return transactionLog;
+    }
+
+    /**
+     * Appends a decision and waits until it is durable.
+     *
+     * @param decision decision taken for the transaction
+     * @throws IOException if the decision cannot be written
+     */
+    public void logDecision(Decision decision) throws IOException {
+        ByteBuffer payload = encodeDecision(decision);
+        long sequence;
+        synchronized (appendLock) {
+            Segment segment = append(payload);
+            addPendingDecision(decision, segment);
+            if (!groupCommit) {
+                segment.buffer.force();
+                return;
+            }
+            sequence = appendedSequence;
+        }
+        awaitSync(sequence);
+    }
+
+    /**
+     * Appends the end record of a transaction whose participants have all been notified of the decision.
+     *
+     * @param transactionId ID of the transaction
+     * @throws IOException if the end record cannot be written
+     */
+    public void logEnd(String transactionId) throws IOException {
+        synchronized (appendLock) {
+            Decision decision = pendingDecisions.remove(transactionId);
+            if (decision == null) {
+                return;
+            }
+            decision.segment.pendingDecisions--;
+            append(encodeEnd(transactionId));
+            deleteEndedSegments();
+        }
+    }
+
+    /**
+     * Returns the decisions which have not ended yet and whose notification has to be re-driven. These are the
+     * decisions read from the log when it was opened, and the decisions of this run which were taken at least the
+     * given time ago, such as those whose notification failed.
+     *
+     * @param pendingTime time in milliseconds after which a decision of this run is re-driven
+     * @return the decisions to be re-driven
+     */
+    public List<Decision> getPendingDecisions(long pendingTime) {
+        long decidedBefore = System.currentTimeMillis() - pendingTime;
+        List<Decision> decisions = new ArrayList<>();
+        synchronized (appendLock) {
+            for (Decision decision : pendingDecisions.values()) {
+                if (decision.recovered || decision.decisionTime <= decidedBefore) {
+                    decisions.add(decision);
+                }
+            }
+        }
+        return decisions;
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> segmentFiles = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                String segmentId = fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                        fileName.length() - SEGMENT_FILE_SUFFIX.length());
+                try {
+                    segmentFiles.put(Long.parseLong(segmentId), path);
+                } catch (NumberFormatException e) {
+                    // Not a segment file
+                }
+            }
+        }
+
+        long lastSegmentId = 0;
+        for (Map.Entry<Long, Path> segmentFile : segmentFiles.entrySet()) {
+            Segment segment = new Segment(segmentFile.getKey(), segmentFile.getValue(), null);
+            segments.addLast(segment);
+            readSegment(segment);
+            lastSegmentId = segment.id;
+        }
+        // Appending always starts in a new segment, after any record torn by the previous run
+        currentSegment = createSegment(lastSegmentId + 1, segmentSize);
+        deleteEndedSegments();
+    }
+
+    private void readSegment(Segment segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment.path));
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int recordChecksum = buffer.getInt();
+            // A zero length marks the unused part of the segment and a checksum mismatch marks a torn record
+            if (length <= 0 || length > buffer.remaining() ||
+                    computeChecksum(buffer.array(), buffer.position(), length) != recordChecksum) {
+                return;
+            }
+            ByteBuffer payload = ByteBuffer.wrap(buffer.array(), buffer.position(), length);
+            buffer.position(buffer.position() + length);
+
+            byte recordType = payload.get();
+            if (recordType == RECORD_DECISION) {
+                Decision decision = decodeDecision(payload);
+                decision.recovered = true;
+                addPendingDecision(decision, segment);
+            } else if (recordType == RECORD_END) {
+                Decision decision = pendingDecisions.remove(readString(payload));
+                if (decision != null) {
+                    decision.segment.pendingDecisions--;
+                }
+            }
+        }
+    }
+
+    private void addPendingDecision(Decision decision, Segment segment) {
+        decision.segment = segment;
+        segment.pendingDecisions++;
+        Decision previousDecision = pendingDecisions.put(decision.transactionId, decision);
+        if (previousDecision != null) {
+            previousDecision.segment.pendingDecisions--;
+        }
+    }
+
+    private Segment append(ByteBuffer payload) throws IOException {
+        int recordSize = RECORD_HEADER_SIZE + payload.remaining();
+        if (currentSegment.buffer.remaining() < recordSize) {
+            currentSegment = createSegment(currentSegment.id + 1, Math.max(segmentSize, recordSize));
+        }
+        MappedByteBuffer buffer = currentSegment.buffer;
+        buffer.putInt(payload.remaining());
+        buffer.putInt(computeChecksum(payload.array(), payload.position(), payload.remaining()));
+        buffer.put(payload);
+        currentSegment.lastSequence = ++appendedSequence;
+        return currentSegment;
+    }
+
+    private Segment createSegment(long segmentId, int size) throws IOException {
+        Path path = directory.resolve(SEGMENT_FILE_PREFIX + segmentId + SEGMENT_FILE_SUFFIX);
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(segmentId, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segments.addLast(segment);
+            return segment;
+        }
+    }
+
+    private void deleteEndedSegments() {
+        // Segments are deleted oldest first, so that an end record never outlives the decision it ends
+        while (segments.size() > 1) {
+            Segment oldestSegment = segments.peekFirst();
+            if (oldestSegment.pendingDecisions > 0) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(oldestSegment.path);
+            } catch (IOException e) {
+                // The segment is retried the next time a transaction ends
+                return;
+            }
+            segments.removeFirst();
+        }
+    }
+
+    private void awaitSync(long sequence) throws IOException {
+        while (true) {
+            synchronized (syncLock) {
+                while (syncInProgress && syncedSequence < sequence) {
+                    try {
+                        syncLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("interrupted while waiting for the transaction log sync");
+                    }
+                }
+                if (syncedSequence >= sequence) {
+                    return;
+                }
+                syncInProgress = true;
+            }
+
+            // This thread leads the sync, covering every record appended until now
+            long targetSequence = syncedSequence;
+            boolean synced = false;
+            try {
+                List<MappedByteBuffer> buffers = new ArrayList<>();
+                synchronized (appendLock) {
+                    targetSequence = appendedSequence;
+                    for (Segment segment : segments) {
+                        if (segment.lastSequence > syncedSequence) {
+                            buffers.add(segment.buffer);
+                        }
+                    }
+                }
+                for (MappedByteBuffer buffer : buffers) {
+                    buffer.force();
+                }
+                synced = true;
+            } finally {
+                synchronized (syncLock) {
+                    syncInProgress = false;
+                    if (synced) {
+                        syncedSequence = targetSequence;
+                    }
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static int computeChecksum(byte[] bytes, int offset, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, offset, length);
+        return (int) checksum.getValue();
+    }
+
+    private static ByteBuffer encodeDecision(Decision decision) {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(decision.transactionId.getBytes(StandardCharsets.UTF_8));
+        strings.add(decision.transactionBlockId.getBytes(StandardCharsets.UTF_8));
+        strings.add(decision.decision.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < decision.participantIds.length; i++) {
+            strings.add(decision.participantIds[i].getBytes(StandardCharsets.UTF_8));
+            strings.add(decision.protocolUrls[i].getBytes(StandardCharsets.UTF_8));
+        }
+        int size = 1 + Long.BYTES + Integer.BYTES;
+        for (byte[] string : strings) {
+            size += Integer.BYTES + string.length;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.put(RECORD_DECISION);
+        payload.putLong(decision.decisionTime);
+        payload.putInt(decision.participantIds.length);
+        for (byte[] string : strings) {
+            payload.putInt(string.length);
+            payload.put(string);
+        }
+        payload.flip();
+        return payload;
+    }
+
+    private static Decision decodeDecision(ByteBuffer payload) {
+        long decisionTime = payload.getLong();
+        int protocolCount = payload.getInt();
+        String transactionId = readString(payload);
+        String transactionBlockId = readString(payload);
+        String decision = readString(payload);
+        String[] participantIds = new String[protocolCount];
+        String[] protocolUrls = new String[protocolCount];
+        for (int i = 0; i < protocolCount; i++) {
+            participantIds[i] = readString(payload);
+            protocolUrls[i] = readString(payload);
+        }
+        return new Decision(transactionId, transactionBlockId, decision, participantIds, protocolUrls, decisionTime);
+    }
+
+    private static ByteBuffer encodeEnd(String transactionId) {
+        byte[] transactionIdBytes = transactionId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + Integer.BYTES + transactionIdBytes.length);
+        payload.put(RECORD_END);
+        payload.putInt(transactionIdBytes.length);
+        payload.put(transactionIdBytes);
+        payload.flip();
+        return payload;
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = payload.getInt();
+        String string = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+                StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return string;
+    }
+
+    /**
+     * Decision taken by the coordinator for a transaction, along with the protocol URLs of the remote participants
+     * to be notified of it. The participant ID and the protocol URL at the same index belong together.
+     */
+    public static class Decision {
+
+        final String transactionId;
+        final String transactionBlockId;
+        final String decision;
+        final String[] participantIds;
+        final String[] protocolUrls;
+        final long decisionTime;
+        private Segment segment;
+        private boolean recovered;
+
+        public Decision(String transactionId, String transactionBlockId, String decision, String[] participantIds,
+                        String[] protocolUrls, long decisionTime) {
+            this.transactionId = transactionId;
+            this.transactionBlockId = transactionBlockId;
+            this.decision = decision;
+            this.participantIds = participantIds;
+            this.protocolUrls = protocolUrls;
+            this.decisionTime = decisionTime;
+        }
+    }
+
+    private static class Segment {
+
+        private final long id;
+        private final Path path;
+        // Null for the segments read on recovery, which are never appended to
+        private final MappedByteBuffer buffer;
+        private int pendingDecisions;
+        private long lastSequence;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -19,12 +19,16 @@
 
 package io.ballerina.transactions;
 
+import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.BallerinaValues;
 import org.ballerinalang.jvm.scheduling.Scheduler;
 import org.ballerinalang.jvm.scheduling.Strand;
 import org.ballerinalang.jvm.transactions.TransactionConstants;
 import org.ballerinalang.jvm.transactions.TransactionLocalContext;
 import org.ballerinalang.jvm.transactions.TransactionResourceManager;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
 import org.ballerinalang.jvm.values.FPValue;
 import org.ballerinalang.jvm.values.MapValue;
 
@@ -33,7 +37,11 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.ServerSocket;
 import java.net.UnknownHostException;
+import java.nio.file.Paths;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.ballerinalang.jvm.runtime.RuntimeConstants.GLOBAL_TRANSACTION_ID;
 import static org.ballerinalang.jvm.runtime.RuntimeConstants.TRANSACTION_URL;
@@ -46,6 +54,9 @@ import static org.ballerinalang.jvm.transactions.TransactionConstants.TRANSACTIO
  */
 public class Utils {
     private static final String STRUCT_TYPE_TRANSACTION_CONTEXT = "TransactionContext";
+    private static final String STRUCT_TYPE_RECOVERED_TRANSACTION = "RecoveredTransaction";
+
+    private static volatile TransactionLog transactionLog;
 
     public static void notifyResourceManagerOnAbort(String transactionBlockId) {
         Strand strand = Scheduler.getStrand();
@@ -183,6 +194,62 @@ public class Utils {
         return TransactionResourceManager.getInstance().prepare(transactionId, transactionBlockId);
     }
 
+    public static Object openTransactionLog(String directory, long segmentSize, boolean groupCommit) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            return BallerinaErrors.createError("Invalid transaction log segment size: " + segmentSize +
+                    ", it must be between 1 and " + Integer.MAX_VALUE + " bytes");
+        }
+        try {
+            transactionLog = TransactionLog.open(Paths.get(directory), (int) segmentSize, groupCommit);
+            return null;
+        } catch (IOException e) {
+            return BallerinaErrors.createError("Opening the transaction log in " + directory + " failed: " +
+                    e.getMessage());
+        }
+    }
+
+    public static Object logTransactionDecision(String transactionId, String transactionBlockId, String decision,
+                                                ArrayValue participantIds, ArrayValue protocolUrls) {
+        try {
+            transactionLog.logDecision(new TransactionLog.Decision(transactionId, transactionBlockId, decision,
+                    participantIds.getStringArray(), protocolUrls.getStringArray(), System.currentTimeMillis()));
+            return null;
+        } catch (IOException e) {
+            return BallerinaErrors.createError("Logging the decision of transaction " + transactionId + " failed: " +
+                    e.getMessage());
+        }
+    }
+
+    public static Object logTransactionEnd(String transactionId) {
+        try {
+            transactionLog.logEnd(transactionId);
+            return null;
+        } catch (IOException e) {
+            return BallerinaErrors.createError("Logging the end of transaction " + transactionId + " failed: " +
+                    e.getMessage());
+        }
+    }
+
+    public static ArrayValue getPendingTransactions(long pendingTime) {
+        List<TransactionLog.Decision> decisions = transactionLog.getPendingDecisions(pendingTime);
+        Object[] recoveredTransactions = new Object[decisions.size()];
+        for (int i = 0; i < recoveredTransactions.length; i++) {
+            TransactionLog.Decision decision = decisions.get(i);
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("transactionId", decision.transactionId);
+            fields.put("transactionBlockId", decision.transactionBlockId);
+            fields.put("decision", decision.decision);
+            fields.put("participantIds", new ArrayValueImpl(decision.participantIds));
+            fields.put("protocolUrls", new ArrayValueImpl(decision.protocolUrls));
+            fields.put("decisionTime", decision.decisionTime);
+            recoveredTransactions[i] = BallerinaValues.createRecordValue(TRANSACTION_PACKAGE_ID,
+                    STRUCT_TYPE_RECOVERED_TRANSACTION, fields);
+        }
+        MapValue<String, Object> recordValue = BallerinaValues.createRecordValue(TRANSACTION_PACKAGE_ID,
+                STRUCT_TYPE_RECOVERED_TRANSACTION);
+        return new ArrayValueImpl(recoveredTransactions, new BArrayType(recordValue.getType()));
+    }
+
     public static long getAvailablePort() {
         return findFreePort();
     }
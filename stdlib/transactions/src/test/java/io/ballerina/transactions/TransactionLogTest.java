@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transactions;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test cases for {@link TransactionLog}.
+ */
+public class TransactionLogTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final long REDRIVE_DELAY = 120000;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("transaction-log-test");
+    }
+
+    @AfterMethod
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @DataProvider(name = "groupCommit")
+    public Object[][] groupCommit() {
+        return new Object[][]{ { true }, { false } };
+    }
+
+    @Test(dataProvider = "groupCommit")
+    public void testAppendAndRecover(boolean groupCommit) throws IOException {
+        TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, groupCommit);
+        Assert.assertTrue(transactionLog.getPendingDecisions(REDRIVE_DELAY).isEmpty());
+        long decisionTime = System.currentTimeMillis();
+        transactionLog.logDecision(createDecision("txn-1", "commit", 2, decisionTime));
+        transactionLog.logDecision(createDecision("txn-2", "abort", 1, decisionTime));
+        transactionLog.logDecision(createDecision("txn-3", "commit", 3, decisionTime));
+        transactionLog.logEnd("txn-2");
+        // ending an unknown transaction is ignored
+        transactionLog.logEnd("txn-unknown");
+        // recent decisions of the running coordinator are not re-driven
+        Assert.assertTrue(transactionLog.getPendingDecisions(REDRIVE_DELAY).isEmpty());
+
+        List<TransactionLog.Decision> decisions = TransactionLog.open(directory, SEGMENT_SIZE, groupCommit)
+                .getPendingDecisions(REDRIVE_DELAY);
+        Assert.assertEquals(getTransactionIds(decisions), "txn-1,txn-3");
+        assertDecision(decisions.get(0), createDecision("txn-1", "commit", 2, decisionTime));
+        assertDecision(decisions.get(1), createDecision("txn-3", "commit", 3, decisionTime));
+    }
+
+    @Test
+    public void testRecoveredDecisionEnds() throws IOException {
+        TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, true);
+        transactionLog.logDecision(createDecision("txn-1", "commit", 1, System.currentTimeMillis()));
+        transactionLog.logDecision(createDecision("txn-2", "commit", 1, System.currentTimeMillis()));
+
+        TransactionLog reopenedLog = TransactionLog.open(directory, SEGMENT_SIZE, true);
+        Assert.assertEquals(getTransactionIds(reopenedLog.getPendingDecisions(REDRIVE_DELAY)), "txn-1,txn-2");
+        reopenedLog.logEnd("txn-1");
+        Assert.assertEquals(getTransactionIds(reopenedLog.getPendingDecisions(REDRIVE_DELAY)), "txn-2");
+
+        // the end record is read back after another restart
+        Assert.assertEquals(getTransactionIds(TransactionLog.open(directory, SEGMENT_SIZE, true)
+                .getPendingDecisions(REDRIVE_DELAY)), "txn-2");
+    }
+
+    @Test
+    public void testStalledDecisionsAreRedriven() throws IOException {
+        TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, true);
+        long now = System.currentTimeMillis();
+        transactionLog.logDecision(createDecision("txn-old", "commit", 1, now - REDRIVE_DELAY - 1000));
+        transactionLog.logDecision(createDecision("txn-new", "commit", 1, now));
+
+        Assert.assertEquals(getTransactionIds(transactionLog.getPendingDecisions(REDRIVE_DELAY)), "txn-old");
+        Assert.assertEquals(getTransactionIds(transactionLog.getPendingDecisions(0)), "txn-old,txn-new");
+        transactionLog.logEnd("txn-old");
+        Assert.assertTrue(transactionLog.getPendingDecisions(REDRIVE_DELAY).isEmpty());
+    }
+
+    @Test
+    public void testTornTailRecord() throws IOException {
+        TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, false);
+        transactionLog.logDecision(createDecision("txn-1", "commit", 1, System.currentTimeMillis()));
+        transactionLog.logDecision(createDecision("txn-2", "commit", 1, System.currentTimeMillis()));
+        transactionLog.logDecision(createDecision("txn-3", "commit", 1, System.currentTimeMillis()));
+
+        // corrupt the last byte of the last record, as if the write of the record was torn by a crash
+        Path segmentFile = getSegmentFiles().get(0);
+        byte[] content = Files.readAllBytes(segmentFile);
+        int lastByte = content.length - 1;
+        while (content[lastByte] == 0) {
+            lastByte--;
+        }
+        writeByte(segmentFile, lastByte, (byte) (content[lastByte] ^ 0xFF));
+
+        TransactionLog reopenedLog = TransactionLog.open(directory, SEGMENT_SIZE, false);
+        Assert.assertEquals(getTransactionIds(reopenedLog.getPendingDecisions(REDRIVE_DELAY)), "txn-1,txn-2");
+        // records after the torn record are appended to a new segment, hence they are read after a restart
+        reopenedLog.logDecision(createDecision("txn-4", "abort", 1, System.currentTimeMillis()));
+        reopenedLog.logEnd("txn-1");
+        Assert.assertEquals(getTransactionIds(TransactionLog.open(directory, SEGMENT_SIZE, false)
+                .getPendingDecisions(REDRIVE_DELAY)), "txn-2,txn-4");
+    }
+
+    @Test
+    public void testTruncatedTailRecord() throws IOException {
+        TransactionLog transactionLog = TransactionLog.open(directory, SEGMENT_SIZE, false);
+        transactionLog.logDecision(createDecision("txn-1", "commit", 1, System.currentTimeMillis()));
+        transactionLog.logDecision(createDecision("txn-2", "commit", 1, System.currentTimeMillis()));
+
+        // cut the segment file in the middle of the last record
+        Path segmentFile = getSegmentFiles().get(0);
+        byte[] content = Files.readAllBytes(segmentFile);
+        int end = content.length - 1;
+        while (content[end] == 0) {
+            end--;
+        }
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+            channel.truncate(end - 4);
+        }
+
+        Assert.assertEquals(getTransactionIds(TransactionLog.open(directory, SEGMENT_SIZE, false)
+                .getPendingDecisions(REDRIVE_DELAY)), "txn-1");
+    }
+
+    @Test
+    public void testSegmentDeletion() throws IOException {
+        // each decision record fills a segment of its own
+        int segmentSize = 128;
+        TransactionLog transactionLog = TransactionLog.open(directory, segmentSize, true);
+        for (int i = 1; i <= 4; i++) {
+            transactionLog.logDecision(createDecision("txn-" + i, "commit", 1, System.currentTimeMillis()));
+        }
+        Path firstSegmentFile = getSegmentFiles().get(0);
+        int segmentCount = getSegmentFiles().size();
+        Assert.assertTrue(segmentCount >= 4, "segments: " + segmentCount);
+
+        // segments are deleted oldest first, hence nothing is deleted while the first decision is pending
+        transactionLog.logEnd("txn-2");
+        transactionLog.logEnd("txn-3");
+        Assert.assertTrue(Files.exists(firstSegmentFile));
+        Assert.assertTrue(getSegmentFiles().size() > segmentCount);
+        transactionLog.logEnd("txn-1");
+        Assert.assertFalse(Files.exists(firstSegmentFile));
+
+        transactionLog.logEnd("txn-4");
+        Assert.assertEquals(getSegmentFiles().size(), 1);
+        Assert.assertTrue(TransactionLog.open(directory, segmentSize, true).getPendingDecisions(0).isEmpty());
+        // the ended segments of the previous run are deleted once the reopened log starts a new one
+        Assert.assertEquals(getSegmentFiles().size(), 1);
+    }
+
+    @Test
+    public void testConcurrentGroupCommit() throws Exception {
+        TransactionLog transactionLog = TransactionLog.open(directory, 4096, true);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int threadId = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        String transactionId = "txn-" + threadId + "-" + i;
+                        transactionLog.logDecision(createDecision(transactionId, "commit", 2,
+                                System.currentTimeMillis()));
+                        if (i % 5 != 0) {
+                            transactionLog.logEnd(transactionId);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(errors.isEmpty(), errors.toString());
+        Assert.assertEquals(TransactionLog.open(directory, 4096, true).getPendingDecisions(REDRIVE_DELAY).size(),
+                8 * 10);
+    }
+
+    private List<Path> getSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted(Comparator.comparing(this::getSegmentId)).collect(Collectors.toList());
+        }
+    }
+
+    private long getSegmentId(Path segmentFile) {
+        String fileName = segmentFile.getFileName().toString();
+        return Long.parseLong(fileName.substring("txn-".length(), fileName.length() - ".log".length()));
+    }
+
+    private static void writeByte(Path file, int position, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{ value }), position);
+        }
+    }
+
+    private static TransactionLog.Decision createDecision(String transactionId, String decision, int participantCount,
+                                                          long decisionTime) {
+        String[] participantIds = new String[participantCount];
+        String[] protocolUrls = new String[participantCount];
+        for (int i = 0; i < participantCount; i++) {
+            participantIds[i] = "participant-" + i;
+            protocolUrls[i] = "http://localhost:" + (8080 + i) + "/balParticipant/2pc/" + transactionId;
+        }
+        return new TransactionLog.Decision(transactionId, "block-" + transactionId, decision, participantIds,
+                protocolUrls, decisionTime);
+    }
+
+    private static String getTransactionIds(List<TransactionLog.Decision> decisions) {
+        return decisions.stream().map(decision -> decision.transactionId).collect(Collectors.joining(","));
+    }
+
+    private static void assertDecision(TransactionLog.Decision actual, TransactionLog.Decision expected) {
+        Assert.assertEquals(actual.transactionId, expected.transactionId);
+        Assert.assertEquals(actual.transactionBlockId, expected.transactionBlockId);
+        Assert.assertEquals(actual.decision, expected.decision);
+        Assert.assertEquals(actual.participantIds, expected.participantIds);
+        Assert.assertEquals(actual.protocolUrls, expected.protocolUrls);
+        Assert.assertEquals(actual.decisionTime, expected.decisionTime);
+    }
+}
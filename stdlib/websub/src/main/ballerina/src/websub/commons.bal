@@ -442,6 +442,7 @@ public type SubscriptionChangeResponse record {|
 #                               to the topic
 # + clientConfig - The configuration for the hub to communicate with remote HTTP endpoints
 # + hubPersistenceStore - The `HubPersistenceStore` to use to persist hub data
+# + deliveryConfig - The configuration for content delivery to subscribers
 public type HubConfiguration record {|
     int leaseSeconds = 86400;
     SignatureMethod signatureMethod = SHA256;
@@ -449,6 +450,21 @@ public type HubConfiguration record {|
     boolean topicRegistrationRequired = true;
     http:ClientConfiguration clientConfig?;
     HubPersistenceStore hubPersistenceStore?;
+    DeliveryConfig deliveryConfig = {};
+|};
+
+# Record representing the configuration for content delivery to subscribers.
+#
+# + concurrency - The maximum number of content deliveries in progress at any given time
+# + queueSize - The maximum number of notifications pending delivery per subscriber; notifications received
+#               when the queue is full are dropped
+# + maxRetries - The number of times a failed content delivery is retried before it is dropped
+# + retryIntervalInMillis - The interval before the first retry, doubled for each subsequent retry
+public type DeliveryConfig record {|
+    int concurrency = 50;
+    int queueSize = 1000;
+    int maxRetries = 0;
+    int retryIntervalInMillis = 1000;
 |};
 
 # Record representing remote publishing allowance.
@@ -499,6 +515,13 @@ public function startHub(http:Listener hubServiceListener,
         return HubStartupError(message = "publisher and subscription resource paths cannot be the same");
     }
 
+    DeliveryConfig deliveryConfig = hubConfiguration.deliveryConfig;
+    if (deliveryConfig.concurrency < 1 || deliveryConfig.queueSize < 1 || deliveryConfig.maxRetries < 0 ||
+            deliveryConfig.retryIntervalInMillis < 0) {
+        return HubStartupError(message = "invalid delivery configuration: concurrency and queue size must be " +
+                                            "positive, max retries and retry interval cannot be negative");
+    }
+
     hubServiceAuth = serviceAuth;
     hubSubscriptionResourceAuth = subscriptionResourceAuth;
     hubPublisherResourceAuth = publisherResourceAuth;
@@ -522,7 +545,8 @@ public function startHub(http:Listener hubServiceListener,
     Hub|HubStartedUpError|HubStartupError res = startUpHubService(hubBasePath, hubSubscriptionResourcePath,
                                                                         hubPublishResourcePath,
                                                                         hubTopicRegistrationRequired, hubPublicUrl,
-                                                                        hubServiceListener);
+                                                                        hubServiceListener, hubSignatureMethod,
+                                                                        deliveryConfig);
     if (res is Hub) {
         startHubService(hubServiceListener);
     }
@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerinax/java;
+
 # Represents the hub persistence configuration and functions.
 public type HubPersistenceStore abstract object {
 
@@ -52,3 +54,75 @@ public type HubPersistenceStore abstract object {
     # + return - `error` if an error occurred while retrieving the topics, an array of topics otherwise
     public function retrieveTopics() returns string[]|error;
 };
+
+# A `HubPersistenceStore` which persists topics and subscriptions in an append-only log in the local file system.
+#
+# The log is compacted as it grows, and topics and subscriptions are kept indexed in memory, by topic and by lease
+# expiry. When used as the persistence store of the Ballerina Hub, subscriptions are restored in bulk on startup and
+# subscriptions with expired leases are removed periodically.
+public type FileHubPersistenceStore object {
+
+    private handle store = java:createNull();
+
+    # Opens the store, creating it if it does not exist.
+    #
+    # + directory - The directory in which the log is maintained
+    # + return - `error` if the store could not be opened
+    public function __init(string directory) returns error? {
+        self.store = check externOpenSubscriptionStore(java:fromString(directory));
+    }
+
+    # Function to add or update subscription details.
+    #
+    # + subscriptionDetails - The details of the subscription to add or update
+    # + return - `error` if an error occurred while adding the subscription, `()` otherwise
+    public function addSubscription(SubscriptionDetails subscriptionDetails) returns error? {
+        return externAddSubscriptionToStore(self.store, subscriptionDetails);
+    }
+
+    # Function to remove subscription details.
+    #
+    # + subscriptionDetails - The details of the subscription to remove
+    # + return - `error` if an error occurred while removing the subscription, `()` otherwise
+    public function removeSubscription(SubscriptionDetails subscriptionDetails) returns error? {
+        return externRemoveSubscriptionFromStore(self.store, subscriptionDetails);
+    }
+
+    # Function to add a topic.
+    #
+    # + topic - The topic to add
+    # + return - `error` if an error occurred while adding the topic, `()` otherwise
+    public function addTopic(string topic) returns error? {
+        return externAddTopicToStore(self.store, java:fromString(topic));
+    }
+
+    # Function to remove a topic.
+    #
+    # + topic - The topic to remove
+    # + return - `error` if an error occurred while removing the topic, `()` otherwise
+    public function removeTopic(string topic) returns error? {
+        return externRemoveTopicFromStore(self.store, java:fromString(topic));
+    }
+
+    # Function to retrieve subscription details of all subscribers.
+    #
+    # + return - `error` if an error occurred while retrieving the subscriptions, an array of subscriber details
+    #               otherwise
+    public function retrieveAllSubscribers() returns SubscriptionDetails[]|error {
+        return externRetrieveSubscriptionsFromStore(self.store);
+    }
+
+    # Function to retrieve all registered topics.
+    #
+    # + return - `error` if an error occurred while retrieving the topics, an array of topics otherwise
+    public function retrieveTopics() returns string[]|error {
+        return externRetrieveTopicsFromStore(self.store);
+    }
+
+    # Function to add the persisted topics and subscriptions to the Ballerina Hub on startup.
+    #
+    # + return - `error` if an error occurred while restoring the persisted state
+    function restore() returns error? {
+        return externRestoreFromSubscriptionStore(self.store);
+    }
+};
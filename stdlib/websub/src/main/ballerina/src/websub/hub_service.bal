@@ -15,7 +15,6 @@
 // under the License.
 
 import ballerina/cache;
-import ballerina/crypto;
 import ballerina/encoding;
 import ballerina/http;
 import ballerina/lang.'int as langint;
@@ -419,6 +418,9 @@ function setupOnStartup() returns error? {
         return;
     }
     HubPersistenceStore hubServicePersistenceImpl = <HubPersistenceStore> hubPersistenceStoreImpl;
+    if (hubServicePersistenceImpl is FileHubPersistenceStore) {
+        return hubServicePersistenceImpl.restore();
+    }
     check addTopicRegistrationsOnStartup(hubServicePersistenceImpl);
     check addSubscriptionsOnStartup(hubServicePersistenceImpl); //TODO:verify against topics
 }
@@ -477,12 +479,10 @@ function fetchTopicUpdate(string topic) returns http:Response|error {
 # + callback - The callback URL registered for the subscriber
 # + subscriptionDetails - The subscription details for the particular subscriber
 # + webSubContent - The content to be sent to subscribers
-function distributeContent(string callback, SubscriptionDetails subscriptionDetails, WebSubContent webSubContent) {
-    http:Client callbackEp = getSubcriberCallbackClient(callback);
-    http:Request request = new;
-    request.setPayload(webSubContent.payload);
-    checkpanic request.setContentType(webSubContent.contentType);
-
+# + signature - The `X-Hub-Signature` header value for the subscriber, empty if no secret was specified
+# + return - `false` if the delivery failed and could be retried, `true` otherwise
+function distributeContent(string callback, SubscriptionDetails subscriptionDetails, WebSubContent webSubContent,
+                           string signature) returns boolean {
     int currentTime = time:currentTime().time;
     int createdAt = subscriptionDetails.createdAt;
     int leaseSeconds = subscriptionDetails.leaseSeconds;
@@ -496,55 +496,50 @@ function distributeContent(string callback, SubscriptionDetails subscriptionDeta
                 log:printError("Error removing expired subscription", remResult);
             }
         }
-    } else {
-        var result = request.getTextPayload();
-        string stringPayload = result is error ? "" : result;
-
-        if (subscriptionDetails.secret != "") {
-            string xHubSignature = hubSignatureMethod + "=";
-            string generatedSignature = "";
-            if (stringutils:equalsIgnoreCase(SHA1, hubSignatureMethod)) { //not recommended
-                generatedSignature = crypto:hmacSha1(stringPayload.toBytes(),
-                    subscriptionDetails.secret.toBytes()).toBase16();
-            } else if (stringutils:equalsIgnoreCase(SHA256, hubSignatureMethod)) {
-                generatedSignature = crypto:hmacSha256(stringPayload.toBytes(),
-                    subscriptionDetails.secret.toBytes()).toBase16();
-            }
-            xHubSignature = xHubSignature + generatedSignature;
-            request.setHeader(X_HUB_SIGNATURE, xHubSignature);
-        }
+        return true;
+    }
 
-        request.setHeader(X_HUB_UUID, system:uuid());
-        request.setHeader(X_HUB_TOPIC, subscriptionDetails.topic);
-        request.setHeader("Link", buildWebSubLinkHeader(hubPublicUrl, subscriptionDetails.topic));
-        var contentDistributionResponse = callbackEp->post("", request);
-        if (contentDistributionResponse is http:Response) {
-            int respStatusCode = contentDistributionResponse.statusCode;
-            if (isSuccessStatusCode(respStatusCode)) {
-                log:printDebug("Content delivery to callback[" + callback + "] successful for topic["
-                                    + subscriptionDetails.topic + "]");
-            } else if (respStatusCode == http:STATUS_GONE) {
-                removeNativeSubscription(subscriptionDetails.topic, callback);
-                if (hubPersistenceEnabled) {
-                    error? remResult = persistSubscriptionChange(MODE_UNSUBSCRIBE, subscriptionDetails);
-                    if (remResult is error) {
-                        log:printError("Error removing gone subscription", remResult);
-                    }
+    http:Client callbackEp = getSubcriberCallbackClient(callback);
+    http:Request request = new;
+    request.setPayload(webSubContent.payload);
+    checkpanic request.setContentType(webSubContent.contentType);
+
+    if (signature != "") {
+        request.setHeader(X_HUB_SIGNATURE, signature);
+    }
+
+    request.setHeader(X_HUB_UUID, system:uuid());
+    request.setHeader(X_HUB_TOPIC, subscriptionDetails.topic);
+    request.setHeader("Link", buildWebSubLinkHeader(hubPublicUrl, subscriptionDetails.topic));
+    var contentDistributionResponse = callbackEp->post("", request);
+    if (contentDistributionResponse is http:Response) {
+        int respStatusCode = contentDistributionResponse.statusCode;
+        if (isSuccessStatusCode(respStatusCode)) {
+            log:printDebug("Content delivery to callback[" + callback + "] successful for topic["
+                                + subscriptionDetails.topic + "]");
+        } else if (respStatusCode == http:STATUS_GONE) {
+            removeNativeSubscription(subscriptionDetails.topic, callback);
+            if (hubPersistenceEnabled) {
+                error? remResult = persistSubscriptionChange(MODE_UNSUBSCRIBE, subscriptionDetails);
+                if (remResult is error) {
+                    log:printError("Error removing gone subscription", remResult);
                 }
-                log:printInfo("HTTP 410 response code received: Subscription deleted for callback[" + callback
-                                + "], topic[" + subscriptionDetails.topic + "]");
-            } else {
-                log:printError("Error delivering content to callback[" + callback + "] for topic["
-                            + subscriptionDetails.topic + "]: received response code " + respStatusCode.toString());
             }
+            log:printInfo("HTTP 410 response code received: Subscription deleted for callback[" + callback
+                            + "], topic[" + subscriptionDetails.topic + "]");
         } else {
-            error err = contentDistributionResponse;
-            string errCause = <string> err.detail()?.message;
             log:printError("Error delivering content to callback[" + callback + "] for topic["
-                            + subscriptionDetails.topic + "]: " + errCause);
+                        + subscriptionDetails.topic + "]: received response code " + respStatusCode.toString());
+            return false;
         }
+    } else {
+        error err = contentDistributionResponse;
+        string errCause = <string> err.detail()?.message;
+        log:printError("Error delivering content to callback[" + callback + "] for topic["
+                        + subscriptionDetails.topic + "]: " + errCause);
+        return false;
     }
-    return;
+    return true;
 }
 
 # Function to retrieve cached subscriberCallbackClient for a given callback.
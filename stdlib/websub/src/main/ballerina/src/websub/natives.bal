@@ -36,15 +36,18 @@ import ballerinax/java;
 #            that the hub is already started, and including the WebSub Hub object representing the
 #            already started up hub
 function startUpHubService(string basePath, string subscriptionResourcePath, string publishResourcePath,
-                           boolean topicRegistrationRequired, string publicUrl, http:Listener hubListener)
+                           boolean topicRegistrationRequired, string publicUrl, http:Listener hubListener,
+                           string signatureMethod, DeliveryConfig deliveryConfig)
                                     returns Hub|HubStartedUpError|HubStartupError {
     return externStartUpHubService(java:fromString(basePath), java:fromString(subscriptionResourcePath),
                                    java:fromString(publishResourcePath), topicRegistrationRequired,
-                                   java:fromString(publicUrl), hubListener);
+                                   java:fromString(publicUrl), hubListener, java:fromString(signatureMethod),
+                                   deliveryConfig);
 }
 
 function externStartUpHubService(handle basePath, handle subscriptionResourcePath, handle publishResourcePath,
-                                 boolean topicRegistrationRequired, handle publicUrl, http:Listener hubListener)
+                                 boolean topicRegistrationRequired, handle publicUrl, http:Listener hubListener,
+                                 handle signatureMethod, DeliveryConfig deliveryConfig)
                                     returns Hub|HubStartedUpError|HubStartupError = @java:Method {
     name: "startUpHubService",
     class: "org.ballerinalang.net.websub.nativeimpl.HubNativeOperationHandler"
@@ -131,6 +134,51 @@ function externIsTopicRegistered(handle topic) returns boolean = @java:Method {
     class: "org.ballerinalang.net.websub.nativeimpl.HubNativeOperationHandler"
 } external;
 
+///////////////////////////////////////////////////////////////////
+////////////////// WebSub Hub Persistence Natives /////////////////
+///////////////////////////////////////////////////////////////////
+function externOpenSubscriptionStore(handle directory) returns handle|error = @java:Method {
+    name: "openSubscriptionStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externAddSubscriptionToStore(handle store, SubscriptionDetails subscriptionDetails)
+                                        returns error? = @java:Method {
+    name: "addSubscriptionToStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externRemoveSubscriptionFromStore(handle store, SubscriptionDetails subscriptionDetails)
+                                             returns error? = @java:Method {
+    name: "removeSubscriptionFromStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externAddTopicToStore(handle store, handle topic) returns error? = @java:Method {
+    name: "addTopicToStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externRemoveTopicFromStore(handle store, handle topic) returns error? = @java:Method {
+    name: "removeTopicFromStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externRetrieveTopicsFromStore(handle store) returns string[] = @java:Method {
+    name: "retrieveTopicsFromStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externRetrieveSubscriptionsFromStore(handle store) returns SubscriptionDetails[] = @java:Method {
+    name: "retrieveSubscriptionsFromStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
+function externRestoreFromSubscriptionStore(handle store) returns error? = @java:Method {
+    name: "restoreFromSubscriptionStore",
+    class: "org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler"
+} external;
+
 ///////////////////////////////////////////////////////////////////
 //////////////////// WebSub Publisher Natives /////////////////////
 ///////////////////////////////////////////////////////////////////
@@ -91,6 +91,18 @@ public class WebSubSubscriberConstants {
     public static final String SUBSCRIPTION_DETAILS_LEASE_SECONDS = "leaseSeconds";
     public static final String SUBSCRIPTION_DETAILS_CREATED_AT = "createdAt";
     public static final String SUBSCRIPTION_DETAILS = "SubscriberDetails";
+    public static final String STRUCT_SUBSCRIPTION_DETAILS = "SubscriptionDetails";
+
+    // WebSubContent struct field names
+    public static final String WEBSUB_CONTENT = "WebSubContent";
+    public static final String WEBSUB_CONTENT_PAYLOAD = "payload";
+    public static final String WEBSUB_CONTENT_TYPE = "contentType";
+
+    // DeliveryConfig struct field names
+    public static final String DELIVERY_CONFIG_CONCURRENCY = "concurrency";
+    public static final String DELIVERY_CONFIG_QUEUE_SIZE = "queueSize";
+    public static final String DELIVERY_CONFIG_MAX_RETRIES = "maxRetries";
+    public static final String DELIVERY_CONFIG_RETRY_INTERVAL = "retryIntervalInMillis";
 
     // IntentVerificationRequest
     public static final String VERIFICATION_REQUEST_MODE = "mode";
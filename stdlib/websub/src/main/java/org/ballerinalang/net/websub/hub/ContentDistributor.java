@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.hub;
+
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.connector.Executor;
+import org.ballerinalang.net.websub.observability.WebSubMetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.BALLERINA;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_SECRET;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB;
+
+/**
+ * Fans out notifications published at the Hub to the subscribers of the topic.
+ * <p>
+ * Each subscriber has a bounded queue of pending notifications, drained by at most one worker at a time so that
+ * notifications reach a subscriber in the order they were published. A worker delivers a single notification per
+ * turn and then yields, so subscribers with long queues do not starve others. Notifications arriving at a full queue
+ * are dropped, and failed deliveries are retried with an exponential backoff while the rest of the subscriber's queue
+ * waits.
+ *
+ * @since 1.2.0
+ */
+public class ContentDistributor {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentDistributor.class);
+
+    private static final String HUB_SERVICE = "hub_service";
+    private static final String DISTRIBUTE_CONTENT = "distributeContent";
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private static final ClassLoader CLASS_LOADER = ContentDistributor.class.getClassLoader();
+
+    private final BiPredicate<HubSubscriber, Notification> delivery;
+    private final int queueSize;
+    private final int maxRetries;
+    private final long retryIntervalInMillis;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    ContentDistributor(Scheduler scheduler, String signatureMethod, int concurrency, int queueSize, int maxRetries,
+                       long retryIntervalInMillis) {
+        this((subscriber, notification) -> deliver(scheduler, signatureMethod, subscriber, notification),
+             concurrency, queueSize, maxRetries, retryIntervalInMillis);
+    }
+
+    /**
+     * Creates a distributor which hands each notification to the specified delivery function.
+     *
+     * @param delivery              delivers a notification to a subscriber, returning whether it was delivered
+     * @param concurrency           the number of delivery workers
+     * @param queueSize             the maximum number of notifications pending delivery per subscriber
+     * @param maxRetries            the number of times a failed delivery is retried
+     * @param retryIntervalInMillis the interval before the first retry, doubled on each subsequent retry
+     */
+    ContentDistributor(BiPredicate<HubSubscriber, Notification> delivery, int concurrency, int queueSize,
+                       int maxRetries, long retryIntervalInMillis) {
+        this.delivery = delivery;
+        this.queueSize = queueSize;
+        this.maxRetries = maxRetries;
+        this.retryIntervalInMillis = retryIntervalInMillis;
+        this.workers = Executors.newFixedThreadPool(concurrency, new DistributorThreadFactory("websub-hub-delivery"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                new DistributorThreadFactory("websub-hub-delivery-retry"));
+    }
+
+    /**
+     * Queues a notification for delivery to a subscriber.
+     *
+     * @param subscriber   the subscriber to deliver the notification to
+     * @param notification the notification to deliver
+     */
+    void distribute(HubSubscriber subscriber, Notification notification) {
+        DeliveryQueue queue = subscriber.getDeliveryQueue();
+        if (queue.cancelled) {
+            return;
+        }
+        if (queue.size.incrementAndGet() > queueSize) {
+            queue.size.decrementAndGet();
+            WebSubMetricsUtil.reportDropped(notification.getTopic());
+            log.debug("Delivery queue full for callback[{}]: notification for topic[{}] dropped",
+                      subscriber.getCallback(), notification.getTopic());
+            return;
+        }
+        queue.notifications.offer(notification);
+        WebSubMetricsUtil.reportQueued(notification.getTopic());
+        schedule(subscriber);
+    }
+
+    /**
+     * Stops delivering to a subscriber, discarding the notifications pending delivery.
+     *
+     * @param subscriber the subscriber which was removed
+     */
+    void cancel(HubSubscriber subscriber) {
+        DeliveryQueue queue = subscriber.getDeliveryQueue();
+        queue.cancelled = true;
+        discardPending(queue);
+    }
+
+    /**
+     * Stops the delivery workers. Deliveries in progress are allowed to complete, but are not retried.
+     */
+    void shutdown() {
+        workers.shutdown();
+        retryScheduler.shutdownNow();
+    }
+
+    private void schedule(HubSubscriber subscriber) {
+        if (subscriber.getDeliveryQueue().scheduled.compareAndSet(false, true)) {
+            submit(subscriber);
+        }
+    }
+
+    private void submit(HubSubscriber subscriber) {
+        try {
+            workers.execute(() -> deliverNext(subscriber));
+        } catch (RejectedExecutionException e) {
+            // the hub was stopped, pending notifications are discarded along with the subscriber
+            subscriber.getDeliveryQueue().scheduled.set(false);
+        }
+    }
+
+    private void deliverNext(HubSubscriber subscriber) {
+        DeliveryQueue queue = subscriber.getDeliveryQueue();
+        Notification notification = queue.notifications.peek();
+        if (notification == null || queue.cancelled) {
+            discardPending(queue);
+            release(subscriber);
+            return;
+        }
+
+        if (delivery.test(subscriber, notification)) {
+            WebSubMetricsUtil.reportDelivered(notification.getTopic());
+        } else if (queue.attempts < maxRetries && !queue.cancelled && !retryScheduler.isShutdown()) {
+            queue.attempts++;
+            WebSubMetricsUtil.reportRetried(notification.getTopic());
+            long delay = retryIntervalInMillis << Math.min(queue.attempts - 1, MAX_BACKOFF_SHIFT);
+            try {
+                retryScheduler.schedule(() -> submit(subscriber), delay, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                WebSubMetricsUtil.reportFailed(notification.getTopic());
+            }
+        } else {
+            WebSubMetricsUtil.reportFailed(notification.getTopic());
+        }
+
+        queue.attempts = 0;
+        if (queue.notifications.remove(notification)) {
+            queue.size.decrementAndGet();
+            WebSubMetricsUtil.reportDequeued(notification.getTopic());
+        }
+        if (queue.notifications.isEmpty()) {
+            release(subscriber);
+        } else {
+            submit(subscriber);
+        }
+    }
+
+    private static boolean deliver(Scheduler scheduler, String signatureMethod, HubSubscriber subscriber,
+                                   Notification notification) {
+        String secret = (String) subscriber.getSubscriptionDetails().get(SUBSCRIPTION_DETAILS_SECRET);
+        Object[] args = {subscriber.getCallback(), subscriber.getSubscriptionDetails(), notification.getContent(),
+                notification.getSignature(secret, signatureMethod)};
+        try {
+            return Boolean.TRUE.equals(Executor.executeFunction(scheduler, CLASS_LOADER, BALLERINA, WEBSUB,
+                                                                HUB_SERVICE, DISTRIBUTE_CONTENT, args));
+        } catch (BallerinaException e) {
+            log.error("Error delivering content to callback[" + subscriber.getCallback() + "] for topic["
+                              + notification.getTopic() + "]: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(HubSubscriber subscriber) {
+        DeliveryQueue queue = subscriber.getDeliveryQueue();
+        queue.scheduled.set(false);
+        // a notification may have been queued after the last check, but before the release
+        if (!queue.notifications.isEmpty() && !queue.cancelled) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void discardPending(DeliveryQueue queue) {
+        Notification notification;
+        while ((notification = queue.notifications.poll()) != null) {
+            queue.size.decrementAndGet();
+            WebSubMetricsUtil.reportDequeued(notification.getTopic());
+        }
+    }
+
+    /**
+     * The notifications pending delivery to a single subscriber.
+     */
+    static class DeliveryQueue {
+        private final Queue<Notification> notifications = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // only accessed by the single worker draining the queue
+        private int attempts = 0;
+        private volatile boolean cancelled = false;
+    }
+
+    private static class DistributorThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        DistributorThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
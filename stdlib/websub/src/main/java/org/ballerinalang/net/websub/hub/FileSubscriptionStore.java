@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.hub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * An embedded, file backed store for the topics and subscriptions of the Hub.
+ * <p>
+ * Changes are appended to a log file as checksummed records, and the live state is kept in memory, indexed by topic
+ * and by lease expiry time. A change is forced to the storage device before it is applied, so a change which was
+ * acknowledged survives a crash. Once the log grows well beyond the live state it is compacted, by writing the live
+ * state to a new file which then atomically replaces the log. A torn record at the tail of the log, left by a crash in
+ * the middle of a write, is discarded on load.
+ *
+ * @since 1.2.0
+ */
+public class FileSubscriptionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSubscriptionStore.class);
+
+    static final String LOG_FILE_NAME = "subscriptions.log";
+    private static final String COMPACTION_FILE_NAME = "subscriptions.log.compacting";
+
+    private static final byte RECORD_SUBSCRIBE = 1;
+    private static final byte RECORD_UNSUBSCRIBE = 2;
+    private static final byte RECORD_REGISTER_TOPIC = 3;
+    private static final byte RECORD_UNREGISTER_TOPIC = 4;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private static final int COMPACTION_MIN_RECORDS = 1024;
+    private static final int COMPACTION_RATIO = 2;
+
+    private static final Comparator<Subscription> EXPIRY_ORDER = Comparator
+            .comparingLong((Subscription subscription) -> subscription.expiresAt)
+            .thenComparing(subscription -> subscription.topic)
+            .thenComparing(subscription -> subscription.callback);
+
+    private final Path directory;
+    private final Set<String> topics = new LinkedHashSet<>();
+    private final Map<String, Map<String, Subscription>> subscriptionsByTopic = new HashMap<>();
+    private final TreeSet<Subscription> subscriptionsByExpiry = new TreeSet<>(EXPIRY_ORDER);
+    private int subscriptionCount = 0;
+    private long logRecordCount = 0;
+    private FileChannel logChannel;
+
+    private FileSubscriptionStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the store in the specified directory, loading the current state from the log if present.
+     *
+     * @param directory the directory to keep the log in, created if it does not exist
+     * @return the opened store
+     * @throws IOException if the log cannot be read or opened for writing
+     */
+    public static FileSubscriptionStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileSubscriptionStore store = new FileSubscriptionStore(directory);
+        store.load();
+        return store;
+    }
+
+    /**
+     * Adds a subscription, replacing an existing subscription for the same topic and callback.
+     *
+     * @param subscription the subscription to add
+     * @throws IOException if the change cannot be written to the log
+     */
+    public synchronized void addSubscription(Subscription subscription) throws IOException {
+        append(RECORD_SUBSCRIBE, subscription.topic, subscription.callback, subscription.secret,
+               subscription.leaseMillis, subscription.createdAt);
+        sync();
+        applySubscribe(subscription);
+        compactIfRequired();
+    }
+
+    /**
+     * Removes the subscription for a topic and callback, if present.
+     *
+     * @param topic    the topic of the subscription
+     * @param callback the callback of the subscription
+     * @throws IOException if the change cannot be written to the log
+     */
+    public synchronized void removeSubscription(String topic, String callback) throws IOException {
+        if (getSubscription(topic, callback) == null) {
+            return;
+        }
+        append(RECORD_UNSUBSCRIBE, topic, callback);
+        sync();
+        applyUnsubscribe(topic, callback);
+        compactIfRequired();
+    }
+
+    /**
+     * Registers a topic.
+     *
+     * @param topic the topic to register
+     * @throws IOException if the change cannot be written to the log
+     */
+    public synchronized void addTopic(String topic) throws IOException {
+        if (topics.contains(topic)) {
+            return;
+        }
+        append(RECORD_REGISTER_TOPIC, topic);
+        sync();
+        topics.add(topic);
+        compactIfRequired();
+    }
+
+    /**
+     * Unregisters a topic. Subscriptions to the topic are left as is.
+     *
+     * @param topic the topic to unregister
+     * @throws IOException if the change cannot be written to the log
+     */
+    public synchronized void removeTopic(String topic) throws IOException {
+        if (!topics.contains(topic)) {
+            return;
+        }
+        append(RECORD_UNREGISTER_TOPIC, topic);
+        sync();
+        topics.remove(topic);
+        compactIfRequired();
+    }
+
+    public synchronized List<String> getTopics() {
+        return new ArrayList<>(topics);
+    }
+
+    /**
+     * Retrieves the subscriptions to a topic, using the topic index.
+     *
+     * @param topic the topic of the subscriptions
+     * @return the subscriptions to the topic
+     */
+    public synchronized List<Subscription> getSubscriptions(String topic) {
+        Map<String, Subscription> subscriptions = subscriptionsByTopic.get(topic);
+        return subscriptions == null ? Collections.emptyList() : new ArrayList<>(subscriptions.values());
+    }
+
+    public synchronized List<Subscription> getAllSubscriptions() {
+        List<Subscription> subscriptions = new ArrayList<>(subscriptionCount);
+        for (Map<String, Subscription> topicSubscriptions : subscriptionsByTopic.values()) {
+            subscriptions.addAll(topicSubscriptions.values());
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Removes the subscriptions whose lease has expired by the specified time. Only the expired subscriptions are
+     * visited, in the order of their expiry.
+     *
+     * @param currentTimeMillis the current time in milliseconds
+     * @return the removed subscriptions
+     * @throws IOException if the change cannot be written to the log
+     */
+    public synchronized List<Subscription> removeExpiredSubscriptions(long currentTimeMillis) throws IOException {
+        List<Subscription> expired = new ArrayList<>();
+        for (Subscription subscription : subscriptionsByExpiry) {
+            if (subscription.expiresAt >= currentTimeMillis) {
+                break;
+            }
+            expired.add(subscription);
+        }
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        for (Subscription subscription : expired) {
+            append(RECORD_UNSUBSCRIBE, subscription.topic, subscription.callback);
+        }
+        // the removals are forced together, as the log is replayed in order a crash can only lose a suffix of them
+        sync();
+        for (Subscription subscription : expired) {
+            applyUnsubscribe(subscription.topic, subscription.callback);
+        }
+        compactIfRequired();
+        return expired;
+    }
+
+    /**
+     * Closes the log, flushing any pending writes to the storage device.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (logChannel != null) {
+            logChannel.force(true);
+            logChannel.close();
+            logChannel = null;
+        }
+    }
+
+    private Subscription getSubscription(String topic, String callback) {
+        Map<String, Subscription> subscriptions = subscriptionsByTopic.get(topic);
+        return subscriptions == null ? null : subscriptions.get(callback);
+    }
+
+    private void applySubscribe(Subscription subscription) {
+        Subscription previous = subscriptionsByTopic.computeIfAbsent(subscription.topic, key -> new LinkedHashMap<>())
+                .put(subscription.callback, subscription);
+        if (previous != null) {
+            subscriptionsByExpiry.remove(previous);
+        } else {
+            subscriptionCount++;
+        }
+        subscriptionsByExpiry.add(subscription);
+    }
+
+    private void applyUnsubscribe(String topic, String callback) {
+        Map<String, Subscription> subscriptions = subscriptionsByTopic.get(topic);
+        if (subscriptions == null) {
+            return;
+        }
+        Subscription removed = subscriptions.remove(callback);
+        if (removed != null) {
+            subscriptionsByExpiry.remove(removed);
+            subscriptionCount--;
+        }
+        if (subscriptions.isEmpty()) {
+            subscriptionsByTopic.remove(topic);
+        }
+    }
+
+    private void load() throws IOException {
+        Path logFile = directory.resolve(LOG_FILE_NAME);
+        Files.deleteIfExists(directory.resolve(COMPACTION_FILE_NAME));
+        long validLength = 0;
+        if (Files.exists(logFile)) {
+            try (InputStream inputStream = Files.newInputStream(logFile);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 64 * 1024))) {
+                byte[] record;
+                while ((record = readRecord(in)) != null) {
+                    apply(record);
+                    logRecordCount++;
+                    validLength += RECORD_HEADER_SIZE + record.length;
+                }
+            }
+        }
+        logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (logChannel.size() > validLength) {
+            log.warn("Discarding " + (logChannel.size() - validLength) + " bytes of incomplete records at the end of "
+                             + logFile);
+            logChannel.truncate(validLength);
+        }
+        logChannel.position(validLength);
+    }
+
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            return checksum(record, 0, length) == checksum ? record : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private void apply(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        switch (type) {
+            case RECORD_SUBSCRIBE:
+                applySubscribe(new Subscription(readString(in), readString(in), readString(in), in.readLong(),
+                                                in.readLong()));
+                break;
+            case RECORD_UNSUBSCRIBE:
+                applyUnsubscribe(readString(in), readString(in));
+                break;
+            case RECORD_REGISTER_TOPIC:
+                topics.add(readString(in));
+                break;
+            case RECORD_UNREGISTER_TOPIC:
+                topics.remove(readString(in));
+                break;
+            default:
+                throw new IOException("unknown record type in subscription log: " + type);
+        }
+    }
+
+    private void append(byte type, Object... fields) throws IOException {
+        if (logChannel == null) {
+            throw new IOException("subscription store is closed");
+        }
+        long position = logChannel.position();
+        try {
+            write(logChannel, encode(type, fields));
+        } catch (IOException e) {
+            // drop the partially written record, so that records appended later are not lost on load
+            logChannel.truncate(position);
+            throw e;
+        }
+        logRecordCount++;
+    }
+
+    private void sync() throws IOException {
+        logChannel.force(false);
+    }
+
+    private void compactIfRequired() throws IOException {
+        long liveRecordCount = topics.size() + subscriptionCount;
+        if (logRecordCount < COMPACTION_MIN_RECORDS || logRecordCount < COMPACTION_RATIO * liveRecordCount) {
+            return;
+        }
+        Path compactionFile = directory.resolve(COMPACTION_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(compactionFile, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (String topic : topics) {
+                write(channel, encode(RECORD_REGISTER_TOPIC, topic));
+            }
+            for (Map<String, Subscription> subscriptions : subscriptionsByTopic.values()) {
+                for (Subscription subscription : subscriptions.values()) {
+                    write(channel, encode(RECORD_SUBSCRIBE, subscription.topic, subscription.callback,
+                                          subscription.secret, subscription.leaseMillis, subscription.createdAt));
+                }
+            }
+            channel.force(true);
+        }
+        logChannel.close();
+        Path logFile = directory.resolve(LOG_FILE_NAME);
+        Files.move(compactionFile, logFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logChannel = FileChannel.open(logFile, StandardOpenOption.WRITE);
+        logChannel.position(logChannel.size());
+        logRecordCount = liveRecordCount;
+    }
+
+    private static ByteBuffer encode(byte type, Object... fields) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeByte(type);
+        for (Object field : fields) {
+            if (field instanceof Long) {
+                out.writeLong((Long) field);
+            } else {
+                byte[] value = ((String) field).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+        byte[] record = bytes.toByteArray();
+        int length = record.length - RECORD_HEADER_SIZE;
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(0, length);
+        buffer.putInt(4, checksum(record, RECORD_HEADER_SIZE, length));
+        return buffer;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A subscription persisted in the store. The lease is in milliseconds, as kept in the `leaseSeconds` field of the
+     * hub's `SubscriptionDetails`.
+     */
+    public static class Subscription {
+        final String topic;
+        final String callback;
+        final String secret;
+        final long leaseMillis;
+        final long createdAt;
+        final long expiresAt;
+
+        public Subscription(String topic, String callback, String secret, long leaseMillis, long createdAt) {
+            this.topic = topic;
+            this.callback = callback;
+            this.secret = secret;
+            this.leaseMillis = leaseMillis;
+            this.createdAt = createdAt;
+            this.expiresAt = leaseMillis > Long.MAX_VALUE - createdAt ? Long.MAX_VALUE : createdAt + leaseMillis;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public String getCallback() {
+            return callback;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
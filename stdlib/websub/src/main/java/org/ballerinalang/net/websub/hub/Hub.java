@@ -33,11 +33,20 @@ import org.wso2.ballerinalang.compiler.util.TypeTags;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.jvm.values.connector.Executor.executeFunction;
 import static org.ballerinalang.net.websub.WebSubSubscriberConstants.BALLERINA;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.DELIVERY_CONFIG_CONCURRENCY;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.DELIVERY_CONFIG_MAX_RETRIES;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.DELIVERY_CONFIG_QUEUE_SIZE;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.DELIVERY_CONFIG_RETRY_INTERVAL;
 import static org.ballerinalang.net.websub.WebSubSubscriberConstants.STRUCT_WEBSUB_BALLERINA_HUB;
 import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB;
 import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_PACKAGE_ID;
@@ -52,15 +61,17 @@ public class Hub {
 
     private static Hub instance = new Hub();
     private BallerinaBroker brokerInstance = null;
+    private ContentDistributor contentDistributor = null;
     private ObjectValue hubObject = null;
     private String publishUrl;
     private String subscribeUrl;
     private boolean hubTopicRegistrationRequired;
     private volatile boolean started = false;
 
-    // TODO: 9/23/18 make CopyOnWriteArrayList?
-    private List<String> topics = new ArrayList<>();
-    private List<HubSubscriber> subscribers = new ArrayList<>();
+    private Set<String> topics = Collections.synchronizedSet(new LinkedHashSet<>());
+    // subscribers indexed by topic and then by callback
+    private Map<String, Map<String, HubSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Object subscriptionLock = new Object();
     private ClassLoader classLoader = this.getClass().getClassLoader();
 
     private String basePath = "/";
@@ -121,14 +132,17 @@ public class Hub {
         } else if (!topics.contains(topic) && hubTopicRegistrationRequired) {
             logger.warn("Subscription request ignored for unregistered topic[" + topic + "]");
         } else {
-            if (getSubscribers().contains(new HubSubscriber(strand, "", topic, callback, null))) {
-                unregisterSubscription(strand, topic, callback);
-            }
-            String queue = UUID.randomUUID().toString();
+            synchronized (subscriptionLock) {
+                if (getSubscriber(topic, callback) != null) {
+                    unregisterSubscription(strand, topic, callback);
+                }
+                String queue = UUID.randomUUID().toString();
 
-            HubSubscriber subscriberToAdd = new HubSubscriber(strand, queue, topic, callback, subscriptionDetails);
-            brokerInstance.addSubscription(topic, subscriberToAdd);
-            getSubscribers().add(subscriberToAdd);
+                HubSubscriber subscriberToAdd = new HubSubscriber(queue, topic, callback, subscriptionDetails,
+                                                                  contentDistributor);
+                brokerInstance.addSubscription(topic, subscriberToAdd);
+                subscribers.computeIfAbsent(topic, key -> new ConcurrentHashMap<>()).put(callback, subscriberToAdd);
+            }
         }
     }
 
@@ -144,23 +158,27 @@ public class Hub {
             logger.error("Hub Service not started: unsubscription failed.");
             return;
         }
-        HubSubscriber subscriberToUnregister = new HubSubscriber(strand, "", topic, callback, null);
-        if (!getSubscribers().contains(subscriberToUnregister)) {
-            if (callback.endsWith("/")) {
-                unregisterSubscription(strand, topic, callback.substring(0, callback.length() - 1));
-            }
-            return;
-        } else {
-            List<HubSubscriber> currentSubscriberList = getSubscribers();
-            for (HubSubscriber subscriber: currentSubscriberList) {
-                if (subscriber.equals(subscriberToUnregister)) {
-                    subscriberToUnregister = subscriber;
-                    break;
+        synchronized (subscriptionLock) {
+            HubSubscriber subscriberToUnregister = getSubscriber(topic, callback);
+            if (subscriberToUnregister == null) {
+                if (callback.endsWith("/")) {
+                    unregisterSubscription(strand, topic, callback.substring(0, callback.length() - 1));
                 }
+                return;
             }
+            brokerInstance.removeSubscription(subscriberToUnregister);
+            Map<String, HubSubscriber> topicSubscribers = subscribers.get(topic);
+            topicSubscribers.remove(callback);
+            if (topicSubscribers.isEmpty()) {
+                subscribers.remove(topic);
+            }
+            contentDistributor.cancel(subscriberToUnregister);
         }
-        brokerInstance.removeSubscription(subscriberToUnregister);
-        getSubscribers().remove(subscriberToUnregister);
+    }
+
+    private HubSubscriber getSubscriber(String topic, String callback) {
+        Map<String, HubSubscriber> topicSubscribers = subscribers.get(topic);
+        return topicSubscribers == null ? null : topicSubscribers.get(callback);
     }
 
     /**
@@ -177,7 +195,7 @@ public class Hub {
         } else if (!topics.contains(topic) && hubTopicRegistrationRequired) {
             throw new BallerinaWebSubException("Publish call ignored for unregistered topic[" + topic + "]");
         } else {
-            brokerInstance.publish(topic, new BallerinaBrokerByteBuf(content));
+            brokerInstance.publish(topic, new BallerinaBrokerByteBuf(new Notification(topic, content)));
         }
     }
 
@@ -196,33 +214,37 @@ public class Hub {
      *                                  publishing/subscribing to the topic
      * @param publicUrl                 the URL for the hub to be included in content delivery requests
      * @param hubListener               the http:Listener to which the hub service is attached
+     * @param signatureMethod           the signature method to use for authenticated content delivery
+     * @param deliveryConfig            the configuration for content delivery to subscribers
      * @return the hub object if the hub was started up successfully, error if not
      */
     @SuppressWarnings("unchecked")
     public Object startUpHubService(Strand strand, String basePath, String subscriptionResourcePath,
                                   String publishResourcePath, boolean topicRegistrationRequired, String publicUrl,
-                                  ObjectValue hubListener) {
+                                  ObjectValue hubListener, String signatureMethod,
+                                  MapValue<String, Object> deliveryConfig) {
         synchronized (this) {
             if (!isStarted()) {
-                try {
-                    brokerInstance = BallerinaBroker.getBrokerInstance();
-                } catch (Exception e) {
-                    throw new BallerinaException("Error starting up internal broker for WebSub Hub");
-                }
                 this.basePath = basePath.startsWith(SLASH) ? basePath : SLASH.concat(basePath);
                 this.subscribeResourcePath = subscriptionResourcePath.startsWith(SLASH) ? subscriptionResourcePath :
                         SLASH.concat(subscriptionResourcePath);
                 this.publishResourcePath = publishResourcePath.startsWith(SLASH) ? publishResourcePath :
                         SLASH.concat(publishResourcePath);
-                hubTopicRegistrationRequired = topicRegistrationRequired;
                 String publishUrl = populatePublishUrl(publicUrl, hubListener);
                 String subscribeUrl = populateSubscribeUrl(publicUrl, hubListener);
 
-                started = true;
+                startDistribution(new ContentDistributor(
+                        strand.scheduler, signatureMethod,
+                        deliveryConfig.getIntValue(DELIVERY_CONFIG_CONCURRENCY).intValue(),
+                        deliveryConfig.getIntValue(DELIVERY_CONFIG_QUEUE_SIZE).intValue(),
+                        deliveryConfig.getIntValue(DELIVERY_CONFIG_MAX_RETRIES).intValue(),
+                        deliveryConfig.getIntValue(DELIVERY_CONFIG_RETRY_INTERVAL)), topicRegistrationRequired);
                 Object setupResult = executeFunction(strand.scheduler, classLoader, BALLERINA, WEBSUB, HUB_SERVICE,
                         "setupOnStartup");
                 if (TypeChecker.getType(setupResult).getTag() == TypeTags.ERROR) {
                     started = false;
+                    contentDistributor.shutdown();
+                    contentDistributor = null;
                     return setupResult;
                 }
 
@@ -243,6 +265,26 @@ public class Hub {
         }
     }
 
+    /**
+     * Starts the internal broker and the distribution of content to subscribers, after which subscriptions are
+     * accepted.
+     *
+     * @param contentDistributor        the distributor delivering content to the subscribers
+     * @param topicRegistrationRequired whether a topic needs to be registered at the hub prior to
+     *                                  publishing/subscribing to the topic
+     */
+    void startDistribution(ContentDistributor contentDistributor, boolean topicRegistrationRequired) {
+        try {
+            brokerInstance = BallerinaBroker.getBrokerInstance();
+        } catch (Exception e) {
+            contentDistributor.shutdown();
+            throw new BallerinaException("Error starting up internal broker for WebSub Hub");
+        }
+        hubTopicRegistrationRequired = topicRegistrationRequired;
+        this.contentDistributor = contentDistributor;
+        started = true;
+    }
+
     @SuppressWarnings("unchecked")
     private String populatePublishUrl(String publicUrl, ObjectValue hubListener) {
         if (publicUrl.isEmpty()) {
@@ -281,12 +323,15 @@ public class Hub {
                 setSubscribeUrl(null);
                 setPublishUrl(null);
                 hubTopicRegistrationRequired = false;
-                topics = new ArrayList<>();
+                topics = Collections.synchronizedSet(new LinkedHashSet<>());
                 for (HubSubscriber subscriber : getSubscribers()) {
                     brokerInstance.removeSubscription(subscriber);
+                    contentDistributor.cancel(subscriber);
                 }
-                subscribers = new ArrayList<>();
+                subscribers = new ConcurrentHashMap<>();
                 brokerInstance = null;
+                contentDistributor.shutdown();
+                contentDistributor = null;
             } else {
                 throw new BallerinaWebSubException("error stopping the hub service: already stopped");
             }
@@ -320,6 +365,21 @@ public class Hub {
      * @return the list of subscribers
      */
     public List<HubSubscriber> getSubscribers() {
-        return subscribers;
+        List<HubSubscriber> subscriberList = new ArrayList<>();
+        for (Map<String, HubSubscriber> topicSubscribers : subscribers.values()) {
+            subscriberList.addAll(topicSubscribers.values());
+        }
+        return subscriberList;
+    }
+
+    /**
+     * Retrieve subscribers of a particular topic.
+     *
+     * @param topic the topic for which subscribers need to be retrieved
+     * @return the list of subscribers of the topic
+     */
+    public List<HubSubscriber> getSubscribers(String topic) {
+        Map<String, HubSubscriber> topicSubscribers = subscribers.get(topic);
+        return topicSubscribers == null ? new ArrayList<>() : new ArrayList<>(topicSubscribers.values());
     }
 }
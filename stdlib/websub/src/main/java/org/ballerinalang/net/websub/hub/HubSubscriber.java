@@ -21,19 +21,12 @@ package org.ballerinalang.net.websub.hub;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Consumer;
 import io.ballerina.messaging.broker.core.Message;
-import org.ballerinalang.jvm.scheduling.Scheduler;
-import org.ballerinalang.jvm.scheduling.Strand;
-import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.MapValue;
-import org.ballerinalang.jvm.values.connector.Executor;
 import org.ballerinalang.net.websub.broker.BallerinaBrokerByteBuf;
 
 import java.util.Objects;
 import java.util.Properties;
 
-import static org.ballerinalang.net.websub.WebSubSubscriberConstants.BALLERINA;
-import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB;
-
 /**
  * WebSub Subscriber representation for the Broker.
  *
@@ -45,30 +38,24 @@ public class HubSubscriber extends Consumer {
     private final String topic;
     private final String callback;
     private final MapValue<String, Object> subscriptionDetails;
-    private final Scheduler scheduler;
+    private final ContentDistributor distributor;
+    private final ContentDistributor.DeliveryQueue deliveryQueue = new ContentDistributor.DeliveryQueue();
 
-    HubSubscriber(Strand strand, String queue, String topic, String callback,
-                  MapValue<String, Object> subscriptionDetails) {
-        this.scheduler = strand.scheduler;
+    HubSubscriber(String queue, String topic, String callback, MapValue<String, Object> subscriptionDetails,
+                  ContentDistributor distributor) {
         this.queue = queue;
         this.topic = topic;
         this.callback = callback;
         this.subscriptionDetails = subscriptionDetails;
+        this.distributor = distributor;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected void send(Message message) throws BrokerException {
-        MapValue<String, Object> content =
-                (MapValue<String, Object>) ((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf())
+        Notification notification =
+                (Notification) ((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf())
                         .unwrap()).getValue();
-        Object[] args = {getCallback(), getSubscriptionDetails(), content};
-        try {
-            Executor.executeFunction(scheduler, this.getClass().getClassLoader(), BALLERINA, WEBSUB, "hub_service",
-                                     "distributeContent", args);
-        } catch (BallerinaException e) {
-            throw new BallerinaException("send failed: " + e.getMessage());
-        }
+        distributor.distribute(this, notification);
     }
 
     @Override
@@ -121,4 +108,8 @@ public class HubSubscriber extends Consumer {
     public MapValue<String, Object> getSubscriptionDetails() {
         return subscriptionDetails;
     }
+
+    ContentDistributor.DeliveryQueue getDeliveryQueue() {
+        return deliveryQueue;
+    }
 }
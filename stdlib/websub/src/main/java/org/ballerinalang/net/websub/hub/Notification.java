@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.hub;
+
+import org.ballerinalang.jvm.BallerinaValues;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.ballerinalang.jvm.values.utils.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_CONTENT;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_CONTENT_PAYLOAD;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_CONTENT_TYPE;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_PACKAGE_ID;
+
+/**
+ * A notification published to a topic at the Hub, shared by all the subscribers it is distributed to.
+ * <p>
+ * The payload is serialized once on publish, and the signature for a particular secret is computed on first use and
+ * reused for every other subscriber registered with the same secret.
+ *
+ * @since 1.2.0
+ */
+public class Notification {
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final String SHA1 = "SHA1";
+
+    private final String topic;
+    private final byte[] payload;
+    private final MapValue<String, Object> content;
+    private final Map<String, String> signatures = new ConcurrentHashMap<>();
+
+    Notification(String topic, MapValue<String, Object> webSubContent) {
+        this(topic, toBytes(webSubContent.get(WEBSUB_CONTENT_PAYLOAD)),
+             BallerinaValues.createRecordValue(WEBSUB_PACKAGE_ID, WEBSUB_CONTENT));
+        this.content.put(WEBSUB_CONTENT_TYPE, webSubContent.get(WEBSUB_CONTENT_TYPE));
+    }
+
+    Notification(String topic, byte[] payload, MapValue<String, Object> content) {
+        this.topic = topic;
+        this.payload = payload;
+        this.content = content;
+        this.content.put(WEBSUB_CONTENT_PAYLOAD, new ArrayValueImpl(payload));
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Retrieves the content to deliver, with the serialized payload.
+     *
+     * @return the `WebSubContent` record to deliver
+     */
+    MapValue<String, Object> getContent() {
+        return content;
+    }
+
+    /**
+     * Retrieves the value of the `X-Hub-Signature` header for a subscriber registered with the specified secret.
+     *
+     * @param secret          the secret specified by the subscriber
+     * @param signatureMethod the signature method of the hub, `SHA1` or `SHA256`
+     * @return the signature header value, or an empty string if no secret was specified
+     */
+    String getSignature(String secret, String signatureMethod) {
+        if (secret == null || secret.isEmpty()) {
+            return "";
+        }
+        return signatures.computeIfAbsent(secret, key -> sign(key, signatureMethod));
+    }
+
+    private String sign(String secret, String signatureMethod) {
+        String algorithm = SHA1.equalsIgnoreCase(signatureMethod) ? "HmacSHA1" : "HmacSHA256";
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), algorithm));
+            return signatureMethod + "=" + toBase16(mac.doFinal(payload));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new BallerinaException("error generating signature: " + e.getMessage());
+        }
+    }
+
+    static byte[] toBytes(Object payload) {
+        if (payload instanceof String) {
+            return ((String) payload).getBytes(StandardCharsets.UTF_8);
+        }
+        if (payload instanceof ArrayValue && isByteArray((ArrayValue) payload)) {
+            return ((ArrayValue) payload).getBytes();
+        }
+        if (payload instanceof XMLValue) {
+            return ((XMLValue) payload).stringValue().getBytes(StandardCharsets.UTF_8);
+        }
+        return StringUtils.getJsonString(payload).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isByteArray(ArrayValue array) {
+        return array.getType().getTag() == TypeTags.ARRAY_TAG &&
+                ((BArrayType) array.getType()).getElementType().getTag() == TypeTags.BYTE_TAG;
+    }
+
+    private static String toBase16(byte[] bytes) {
+        char[] base16Chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            base16Chars[i * 2] = HEX_CHARS[v >>> 4];
+            base16Chars[i * 2 + 1] = HEX_CHARS[v & 0xF];
+        }
+        return new String(base16Chars);
+    }
+}
@@ -72,18 +72,16 @@ public class HubNativeOperationHandler {
     public static ArrayValue getSubscribers(ObjectValue webSubHub, String topic) {
         ArrayValue subscriberDetailArray = null;
         try {
-            List<HubSubscriber> subscribers = Hub.getInstance().getSubscribers();
+            List<HubSubscriber> subscribers = Hub.getInstance().getSubscribers(topic);
             MapValue<String, Object> subscriberDetailsRecordValue =
                     BallerinaValues.createRecordValue(WEBSUB_PACKAGE_ID, SUBSCRIPTION_DETAILS);
             subscriberDetailArray = new ArrayValueImpl(new BArrayType(subscriberDetailsRecordValue.getType()));
             for (HubSubscriber subscriber : subscribers) {
-                if (topic.equals(subscriber.getTopic())) {
-                    MapValue<String, Object> subscriberDetail = BallerinaValues.createRecord(
-                            subscriberDetailsRecordValue, subscriber.getCallback(),
-                            subscriber.getSubscriptionDetails().get(SUBSCRIPTION_DETAILS_LEASE_SECONDS),
-                            subscriber.getSubscriptionDetails().get(SUBSCRIPTION_DETAILS_CREATED_AT));
-                    subscriberDetailArray.append(subscriberDetail);
-                }
+                MapValue<String, Object> subscriberDetail = BallerinaValues.createRecord(
+                        subscriberDetailsRecordValue, subscriber.getCallback(),
+                        subscriber.getSubscriptionDetails().get(SUBSCRIPTION_DETAILS_LEASE_SECONDS),
+                        subscriber.getSubscriptionDetails().get(SUBSCRIPTION_DETAILS_CREATED_AT));
+                subscriberDetailArray.append(subscriberDetail);
             }
         } catch (Exception ex) {
             log.error("Error occurred while getting available subscribers.", ex);
@@ -102,12 +100,15 @@ public class HubNativeOperationHandler {
      * @param publicUrl                 the URL for the hub to be included in content delivery requests, defaults to
      *                                  `http(s)://localhost:{port}/websub/hub` if unspecified
      * @param hubListener               the `http:Listener` to which the hub service is attached
+     * @param signatureMethod           the signature method to use for authenticated content delivery
+     * @param deliveryConfig            the `DeliveryConfig` for content delivery to subscribers
      * @return `Hub` the WebSub Hub object representing the newly started up hub, or `HubStartedUpError` indicating that
      * the hub is already started, and including the WebSub Hub object representing the already started up hub
      */
     public static Object startUpHubService(String basePath, String subscriptionResourcePath,
                                            String publishResourcePath, boolean topicRegistrationRequired,
-                                           String publicUrl, ObjectValue hubListener) {
+                                           String publicUrl, ObjectValue hubListener, String signatureMethod,
+                                           MapValue<String, Object> deliveryConfig) {
         Hub hubInstance = Hub.getInstance();
         if (hubInstance.isStarted()) {
             MapValue<String, Object> hubStartedUpError =
@@ -116,7 +117,8 @@ public class HubNativeOperationHandler {
                                                 hubInstance.getHubObject());
         }
         return hubInstance.startUpHubService(Scheduler.getStrand(), basePath, subscriptionResourcePath,
-                                             publishResourcePath, topicRegistrationRequired, publicUrl, hubListener);
+                                             publishResourcePath, topicRegistrationRequired, publicUrl, hubListener,
+                                             signatureMethod, deliveryConfig);
     }
 
     /**
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.nativeimpl;
+
+import org.ballerinalang.jvm.BallerinaValues;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.net.websub.BallerinaWebSubException;
+import org.ballerinalang.net.websub.WebSubUtils;
+import org.ballerinalang.net.websub.hub.FileSubscriptionStore;
+import org.ballerinalang.net.websub.hub.FileSubscriptionStore.Subscription;
+import org.ballerinalang.net.websub.hub.Hub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.STRUCT_SUBSCRIPTION_DETAILS;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_CALLBACK;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_CREATED_AT;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_LEASE_SECONDS;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_SECRET;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_TOPIC;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_PACKAGE_ID;
+
+/**
+ * This class contains interop external functions related to the file backed Hub persistence store.
+ *
+ * @since 1.2.0
+ */
+public class HubPersistenceNativeOperationHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(HubPersistenceNativeOperationHandler.class);
+
+    private static final long EXPIRY_SCAN_INTERVAL_SECONDS = 60;
+
+    private static ScheduledExecutorService expiryScanner = null;
+
+    /**
+     * Opens the file backed subscription store in the specified directory.
+     *
+     * @param directory the directory in which the store should be maintained
+     * @return the opened store, or `error` if the store could not be opened
+     */
+    public static Object openSubscriptionStore(String directory) {
+        try {
+            return FileSubscriptionStore.open(Paths.get(directory));
+        } catch (IOException e) {
+            return WebSubUtils.createError("error opening subscription store at " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds or updates a subscription in the store.
+     *
+     * @param store               the subscription store
+     * @param subscriptionDetails the details of the subscription to add or update
+     * @return `error` if the change could not be persisted
+     */
+    public static Object addSubscriptionToStore(FileSubscriptionStore store,
+                                                MapValue<String, Object> subscriptionDetails) {
+        try {
+            store.addSubscription(new Subscription(
+                    subscriptionDetails.getStringValue(SUBSCRIPTION_DETAILS_TOPIC),
+                    subscriptionDetails.getStringValue(SUBSCRIPTION_DETAILS_CALLBACK),
+                    subscriptionDetails.getStringValue(SUBSCRIPTION_DETAILS_SECRET),
+                    subscriptionDetails.getIntValue(SUBSCRIPTION_DETAILS_LEASE_SECONDS),
+                    subscriptionDetails.getIntValue(SUBSCRIPTION_DETAILS_CREATED_AT)));
+            return null;
+        } catch (IOException e) {
+            return WebSubUtils.createError("error persisting subscription: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a subscription from the store.
+     *
+     * @param store               the subscription store
+     * @param subscriptionDetails the details of the subscription to remove
+     * @return `error` if the change could not be persisted
+     */
+    public static Object removeSubscriptionFromStore(FileSubscriptionStore store,
+                                                     MapValue<String, Object> subscriptionDetails) {
+        try {
+            store.removeSubscription(subscriptionDetails.getStringValue(SUBSCRIPTION_DETAILS_TOPIC),
+                                     subscriptionDetails.getStringValue(SUBSCRIPTION_DETAILS_CALLBACK));
+            return null;
+        } catch (IOException e) {
+            return WebSubUtils.createError("error removing persisted subscription: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a topic to the store.
+     *
+     * @param store the subscription store
+     * @param topic the topic to add
+     * @return `error` if the change could not be persisted
+     */
+    public static Object addTopicToStore(FileSubscriptionStore store, String topic) {
+        try {
+            store.addTopic(topic);
+            return null;
+        } catch (IOException e) {
+            return WebSubUtils.createError("error persisting topic: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a topic from the store.
+     *
+     * @param store the subscription store
+     * @param topic the topic to remove
+     * @return `error` if the change could not be persisted
+     */
+    public static Object removeTopicFromStore(FileSubscriptionStore store, String topic) {
+        try {
+            store.removeTopic(topic);
+            return null;
+        } catch (IOException e) {
+            return WebSubUtils.createError("error removing persisted topic: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the topics in the store.
+     *
+     * @param store the subscription store
+     * @return an array of the topics
+     */
+    public static ArrayValue retrieveTopicsFromStore(FileSubscriptionStore store) {
+        return new ArrayValueImpl(store.getTopics().toArray(new String[0]));
+    }
+
+    /**
+     * Retrieves all the subscriptions in the store.
+     *
+     * @param store the subscription store
+     * @return an array of `SubscriptionDetails`
+     */
+    public static ArrayValue retrieveSubscriptionsFromStore(FileSubscriptionStore store) {
+        MapValue<String, Object> subscriptionDetailsRecord =
+                BallerinaValues.createRecordValue(WEBSUB_PACKAGE_ID, STRUCT_SUBSCRIPTION_DETAILS);
+        ArrayValue subscriptionDetailsArray =
+                new ArrayValueImpl(new BArrayType(subscriptionDetailsRecord.getType()));
+        for (Subscription subscription : store.getAllSubscriptions()) {
+            subscriptionDetailsArray.append(createSubscriptionDetails(subscriptionDetailsRecord, subscription));
+        }
+        return subscriptionDetailsArray;
+    }
+
+    /**
+     * Restores the topics and subscriptions in the store at the Ballerina Hub on startup. Subscriptions are added to
+     * the Hub directly, without being converted to Ballerina values in between, and expired subscriptions are removed
+     * from the store instead. Expired subscriptions are looked for periodically from then on.
+     *
+     * @param store the subscription store
+     * @return `error` if expired subscriptions could not be removed from the store
+     */
+    public static Object restoreFromSubscriptionStore(FileSubscriptionStore store) {
+        Hub hub = Hub.getInstance();
+        try {
+            store.removeExpiredSubscriptions(System.currentTimeMillis());
+        } catch (IOException e) {
+            return WebSubUtils.createError("error removing expired subscriptions: " + e.getMessage());
+        }
+
+        for (String topic : store.getTopics()) {
+            try {
+                hub.registerTopic(topic);
+            } catch (BallerinaWebSubException e) {
+                log.error("Error registering retrieved topic details: " + e.getMessage());
+            }
+        }
+
+        Strand strand = Scheduler.getStrand();
+        MapValue<String, Object> subscriptionDetailsRecord =
+                BallerinaValues.createRecordValue(WEBSUB_PACKAGE_ID, STRUCT_SUBSCRIPTION_DETAILS);
+        for (Subscription subscription : store.getAllSubscriptions()) {
+            hub.registerSubscription(strand, subscription.getTopic(), subscription.getCallback(),
+                                     createSubscriptionDetails(subscriptionDetailsRecord, subscription));
+        }
+
+        scheduleExpiryScan(store);
+        return null;
+    }
+
+    private static synchronized void scheduleExpiryScan(FileSubscriptionStore store) {
+        if (expiryScanner != null) {
+            expiryScanner.shutdownNow();
+        }
+        expiryScanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websub-hub-lease-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryScanner.scheduleWithFixedDelay(() -> removeExpiredSubscriptions(store), EXPIRY_SCAN_INTERVAL_SECONDS,
+                                             EXPIRY_SCAN_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void removeExpiredSubscriptions(FileSubscriptionStore store) {
+        Hub hub = Hub.getInstance();
+        try {
+            List<Subscription> expired = store.removeExpiredSubscriptions(System.currentTimeMillis());
+            if (!hub.isStarted()) {
+                return;
+            }
+            for (Subscription subscription : expired) {
+                hub.unregisterSubscription(null, subscription.getTopic(), subscription.getCallback());
+            }
+        } catch (IOException e) {
+            log.error("Error removing expired subscriptions: " + e.getMessage());
+        }
+    }
+
+    private static MapValue<String, Object> createSubscriptionDetails(MapValue<String, Object> record,
+                                                                      Subscription subscription) {
+        return BallerinaValues.createRecord(record, subscription.getTopic(), subscription.getCallback(),
+                                            subscription.getSecret(), subscription.getLeaseMillis(),
+                                            subscription.getCreatedAt());
+    }
+}
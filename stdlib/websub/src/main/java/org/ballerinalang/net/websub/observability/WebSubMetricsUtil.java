@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.observability;
+
+import org.ballerinalang.jvm.observability.ObserveUtils;
+import org.ballerinalang.jvm.observability.metrics.DefaultMetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.MetricId;
+import org.ballerinalang.jvm.observability.metrics.MetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.Tag;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Providing metrics functionality to the content distribution of the WebSub Hub.
+ *
+ * @since 1.2.0
+ */
+public class WebSubMetricsUtil {
+
+    private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+
+    private static final String METRIC_PREFIX = "websub_hub_";
+    private static final String TAG_TOPIC = "topic";
+
+    private static final String[] METRIC_DELIVERED = {"delivered", "Number of notifications delivered to subscribers"};
+    private static final String[] METRIC_FAILED = {"delivery_failures",
+            "Number of notifications that could not be delivered to subscribers"};
+    private static final String[] METRIC_RETRIED = {"delivery_retries", "Number of notification delivery retries"};
+    private static final String[] METRIC_DROPPED = {"dropped",
+            "Number of notifications dropped since a subscriber's delivery queue was full"};
+    private static final String[] METRIC_QUEUED = {"queued", "Number of notifications awaiting delivery"};
+
+    private WebSubMetricsUtil() {
+    }
+
+    /**
+     * Reports a notification being accepted into a subscriber's delivery queue.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportQueued(String topic) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        metricRegistry.gauge(metricId(topic, METRIC_QUEUED)).increment();
+    }
+
+    /**
+     * Reports a notification leaving a subscriber's delivery queue, irrespective of the outcome.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportDequeued(String topic) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        metricRegistry.gauge(metricId(topic, METRIC_QUEUED)).decrement();
+    }
+
+    /**
+     * Reports a notification being delivered successfully.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportDelivered(String topic) {
+        incrementCounter(topic, METRIC_DELIVERED);
+    }
+
+    /**
+     * Reports a notification which could not be delivered, once all retries are exhausted.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportFailed(String topic) {
+        incrementCounter(topic, METRIC_FAILED);
+    }
+
+    /**
+     * Reports a delivery being retried.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportRetried(String topic) {
+        incrementCounter(topic, METRIC_RETRIED);
+    }
+
+    /**
+     * Reports a notification being dropped since the subscriber's delivery queue was full.
+     *
+     * @param topic the topic the notification was published to
+     */
+    public static void reportDropped(String topic) {
+        incrementCounter(topic, METRIC_DROPPED);
+    }
+
+    private static void incrementCounter(String topic, String[] metric) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        metricRegistry.counter(metricId(topic, metric)).increment();
+    }
+
+    private static MetricId metricId(String topic, String[] metric) {
+        Set<Tag> tags = Collections.singleton(new Tag(TAG_TOPIC, topic));
+        return new MetricId(METRIC_PREFIX + metric[0], metric[1], tags);
+    }
+}
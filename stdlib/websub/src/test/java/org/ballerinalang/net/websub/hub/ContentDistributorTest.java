@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.hub;
+
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.WEBSUB_CONTENT_PAYLOAD;
+
+/**
+ * Test cases for the bounded, per-subscriber delivery of {@link ContentDistributor}.
+ *
+ * @since 1.2.0
+ */
+public class ContentDistributorTest {
+
+    private static final String TOPIC = "http://topic.ballerina.com";
+    private static final long TIMEOUT_IN_SECONDS = 30;
+
+    private ContentDistributor distributor;
+
+    @AfterMethod
+    public void shutdown() {
+        if (distributor != null) {
+            distributor.shutdown();
+            distributor = null;
+        }
+    }
+
+    @Test(description = "Test that no more than the configured number of workers deliver at a time")
+    public void testBoundedFanOut() throws InterruptedException {
+        int concurrency = 3;
+        int subscriberCount = 20;
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(subscriberCount * 5);
+        distributor = new ContentDistributor((subscriber, notification) -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(2);
+            active.decrementAndGet();
+            delivered.countDown();
+            return true;
+        }, concurrency, 10, 0, 1);
+
+        List<HubSubscriber> subscribers = createSubscribers(subscriberCount);
+        for (int i = 0; i < 5; i++) {
+            Notification notification = createNotification("content-" + i);
+            for (HubSubscriber subscriber : subscribers) {
+                distributor.distribute(subscriber, notification);
+            }
+        }
+
+        Assert.assertTrue(delivered.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "notifications not delivered");
+        Assert.assertTrue(maxActive.get() <= concurrency, "concurrent deliveries: " + maxActive.get());
+        Assert.assertTrue(maxActive.get() > 1, "notifications were not delivered concurrently");
+    }
+
+    @Test(description = "Test that a subscriber receives notifications in order, one at a time")
+    public void testPerSubscriberOrdering() throws InterruptedException {
+        int notificationCount = 200;
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(notificationCount * 4);
+        distributor = new ContentDistributor((subscriber, notification) -> {
+            AtomicInteger subscriberActive = active.computeIfAbsent(subscriber.getCallback(),
+                                                                    key -> new AtomicInteger());
+            if (subscriberActive.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            received.computeIfAbsent(subscriber.getCallback(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(getContent(notification));
+            subscriberActive.decrementAndGet();
+            delivered.countDown();
+            return true;
+        }, 8, notificationCount, 0, 1);
+
+        List<HubSubscriber> subscribers = createSubscribers(4);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < notificationCount; i++) {
+            Notification notification = createNotification("content-" + i);
+            expected.add("content-" + i);
+            for (HubSubscriber subscriber : subscribers) {
+                distributor.distribute(subscriber, notification);
+            }
+        }
+
+        Assert.assertTrue(delivered.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "notifications not delivered");
+        Assert.assertEquals(overlaps.get(), 0, "concurrent deliveries to the same subscriber");
+        for (HubSubscriber subscriber : subscribers) {
+            Assert.assertEquals(received.get(subscriber.getCallback()), expected);
+        }
+    }
+
+    @Test(description = "Test that notifications arriving at a full queue are dropped")
+    public void testBoundedQueue() throws InterruptedException {
+        CountDownLatch deliveryStarted = new CountDownLatch(1);
+        CountDownLatch releaseDelivery = new CountDownLatch(1);
+        BlockingDelivery delivery = new BlockingDelivery(deliveryStarted, releaseDelivery);
+        distributor = new ContentDistributor(delivery, 2, 3, 0, 1);
+
+        HubSubscriber slowSubscriber = createSubscriber("http://slow.subscriber.com");
+        distributor.distribute(slowSubscriber, createNotification("content-0"));
+        Assert.assertTrue(deliveryStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "delivery not started");
+        // the notification being delivered still occupies the queue
+        for (int i = 1; i < 10; i++) {
+            distributor.distribute(slowSubscriber, createNotification("content-" + i));
+        }
+
+        // a full queue does not hold back the other subscribers
+        HubSubscriber otherSubscriber = createSubscriber("http://other.subscriber.com");
+        distributor.distribute(otherSubscriber, createNotification("other-content"));
+        delivery.awaitDelivered(otherSubscriber, 1);
+
+        releaseDelivery.countDown();
+        delivery.awaitDelivered(slowSubscriber, 3);
+        sleep(50);
+        Assert.assertEquals(delivery.getDelivered(slowSubscriber), list("content-0", "content-1", "content-2"));
+
+        // the queue accepts notifications again once drained
+        distributor.distribute(slowSubscriber, createNotification("content-10"));
+        delivery.awaitDelivered(slowSubscriber, 4);
+        Assert.assertEquals(delivery.getDelivered(slowSubscriber).get(3), "content-10");
+    }
+
+    @Test(description = "Test that a failed delivery is retried before the rest of the queue is delivered")
+    public void testRetry() throws InterruptedException {
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        distributor = new ContentDistributor((subscriber, notification) -> {
+            String content = getContent(notification);
+            int attempt = attempts.computeIfAbsent(content, key -> new AtomicInteger()).incrementAndGet();
+            // "flaky" succeeds on the third attempt, while "failing" never succeeds
+            boolean success = !content.equals("failing") && (!content.equals("flaky") || attempt == 3);
+            if (success) {
+                delivered.add(content);
+            }
+            if (success || content.equals("failing") && attempt == 3) {
+                done.countDown();
+            }
+            return success;
+        }, 2, 10, 2, 1);
+
+        HubSubscriber subscriber = createSubscriber("http://subscriber.com");
+        distributor.distribute(subscriber, createNotification("flaky"));
+        distributor.distribute(subscriber, createNotification("failing"));
+        distributor.distribute(subscriber, createNotification("last"));
+
+        Assert.assertTrue(done.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "notifications not delivered");
+        Assert.assertEquals(delivered, list("flaky", "last"));
+        Assert.assertEquals(attempts.get("flaky").get(), 3);
+        Assert.assertEquals(attempts.get("failing").get(), 3);
+        Assert.assertEquals(attempts.get("last").get(), 1);
+    }
+
+    @Test(description = "Test that cancelling a subscriber discards the notifications pending delivery")
+    public void testCancel() throws InterruptedException {
+        CountDownLatch deliveryStarted = new CountDownLatch(1);
+        CountDownLatch releaseDelivery = new CountDownLatch(1);
+        BlockingDelivery delivery = new BlockingDelivery(deliveryStarted, releaseDelivery);
+        distributor = new ContentDistributor(delivery, 2, 10, 3, 1);
+
+        HubSubscriber cancelledSubscriber = createSubscriber("http://cancelled.subscriber.com");
+        HubSubscriber otherSubscriber = createSubscriber("http://other.subscriber.com");
+        distributor.distribute(cancelledSubscriber, createNotification("content-0"));
+        Assert.assertTrue(deliveryStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "delivery not started");
+        for (int i = 1; i < 5; i++) {
+            distributor.distribute(cancelledSubscriber, createNotification("content-" + i));
+        }
+
+        distributor.cancel(cancelledSubscriber);
+        // notifications for a cancelled subscriber are ignored
+        distributor.distribute(cancelledSubscriber, createNotification("content-5"));
+        distributor.distribute(otherSubscriber, createNotification("other-content"));
+        releaseDelivery.countDown();
+
+        delivery.awaitDelivered(otherSubscriber, 1);
+        sleep(50);
+        // the delivery in progress completes, but nothing else is delivered
+        Assert.assertEquals(delivery.getDelivered(cancelledSubscriber), list("content-0"));
+    }
+
+    @Test(description = "Test that unsubscribing at the hub discards the notifications pending delivery")
+    public void testUnsubscribe() throws InterruptedException {
+        CountDownLatch deliveryStarted = new CountDownLatch(1);
+        CountDownLatch releaseDelivery = new CountDownLatch(1);
+        BlockingDelivery delivery = new BlockingDelivery(deliveryStarted, releaseDelivery);
+        distributor = new ContentDistributor(delivery, 2, 10, 3, 1);
+        Hub hub = Hub.getInstance();
+        hub.startDistribution(distributor, false);
+        try {
+            hub.registerSubscription(null, TOPIC, "http://removed.subscriber.com", new MapValueImpl<>());
+            hub.registerSubscription(null, TOPIC, "http://other.subscriber.com", new MapValueImpl<>());
+            HubSubscriber removedSubscriber = getSubscriber(hub, "http://removed.subscriber.com");
+            HubSubscriber otherSubscriber = getSubscriber(hub, "http://other.subscriber.com");
+            distributor.distribute(removedSubscriber, createNotification("content-0"));
+            Assert.assertTrue(deliveryStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "delivery not started");
+            for (int i = 1; i < 5; i++) {
+                distributor.distribute(removedSubscriber, createNotification("content-" + i));
+            }
+
+            hub.unregisterSubscription(null, TOPIC, "http://removed.subscriber.com");
+            distributor.distribute(otherSubscriber, createNotification("other-content"));
+            releaseDelivery.countDown();
+
+            delivery.awaitDelivered(otherSubscriber, 1);
+            sleep(50);
+            Assert.assertEquals(delivery.getDelivered(removedSubscriber), list("content-0"));
+            Assert.assertEquals(hub.getSubscribers(TOPIC), list(otherSubscriber));
+        } finally {
+            hub.stopHubService();
+        }
+    }
+
+    @Test(description = "Test that the signature of a notification is computed once per secret")
+    public void testSignature() {
+        Notification notification = createNotification("{\"action\":\"publish\"}");
+        Assert.assertEquals(notification.getSignature(null, "SHA256"), "");
+        Assert.assertEquals(notification.getSignature("", "SHA256"), "");
+
+        String signature = notification.getSignature("secret", "SHA256");
+        Assert.assertEquals(signature,
+                            "SHA256=ec335ab47c1d8178d633fb85193d457a7e5f5fc31dad4db84e3200e2b95e0e4c");
+        Assert.assertSame(notification.getSignature("secret", "SHA256"), signature);
+        Assert.assertEquals(createNotification("{\"action\":\"publish\"}").getSignature("secret", "SHA1"),
+                            "SHA1=1ef8003c50b60d669871dcfb5a618130c4c5c2f3");
+        Assert.assertNotEquals(notification.getSignature("other-secret", "SHA256"), signature);
+    }
+
+    @Test(description = "Test that a string payload is serialized as UTF-8")
+    public void testPayloadSerialization() {
+        Assert.assertEquals(Notification.toBytes("héllo"), "héllo".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values) {
+        List<T> list = new ArrayList<>();
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    private static String getContent(Notification notification) {
+        ArrayValue payload = (ArrayValue) notification.getContent().get(WEBSUB_CONTENT_PAYLOAD);
+        return new String(payload.getBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static Notification createNotification(String content) {
+        return new Notification(TOPIC, content.getBytes(StandardCharsets.UTF_8), new MapValueImpl<>());
+    }
+
+    private List<HubSubscriber> createSubscribers(int count) {
+        List<HubSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            subscribers.add(createSubscriber("http://subscriber" + i + ".com"));
+        }
+        return subscribers;
+    }
+
+    private HubSubscriber createSubscriber(String callback) {
+        return new HubSubscriber(TOPIC + "_" + callback, TOPIC, callback, new MapValueImpl<>(), distributor);
+    }
+
+    private static HubSubscriber getSubscriber(Hub hub, String callback) {
+        return hub.getSubscribers(TOPIC).stream()
+                .filter(subscriber -> subscriber.getCallback().equals(callback))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("subscriber not registered: " + callback));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Delivers notifications, blocking the first delivery until released.
+     */
+    private static class BlockingDelivery implements BiPredicate<HubSubscriber, Notification> {
+
+        private final CountDownLatch deliveryStarted;
+        private final CountDownLatch releaseDelivery;
+        private final Map<String, List<String>> delivered = new ConcurrentHashMap<>();
+        private final AtomicInteger deliveries = new AtomicInteger();
+
+        BlockingDelivery(CountDownLatch deliveryStarted, CountDownLatch releaseDelivery) {
+            this.deliveryStarted = deliveryStarted;
+            this.releaseDelivery = releaseDelivery;
+        }
+
+        @Override
+        public boolean test(HubSubscriber subscriber, Notification notification) {
+            if (deliveries.getAndIncrement() == 0) {
+                deliveryStarted.countDown();
+                try {
+                    releaseDelivery.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            getDelivered(subscriber).add(getContent(notification));
+            return true;
+        }
+
+        List<String> getDelivered(HubSubscriber subscriber) {
+            return delivered.computeIfAbsent(subscriber.getCallback(),
+                                             key -> Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        void awaitDelivered(HubSubscriber subscriber, int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_IN_SECONDS);
+            while (getDelivered(subscriber).size() < count) {
+                Assert.assertTrue(System.currentTimeMillis() < deadline, "notifications not delivered");
+                Thread.sleep(5);
+            }
+        }
+    }
+}
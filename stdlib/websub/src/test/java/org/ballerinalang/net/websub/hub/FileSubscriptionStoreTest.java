@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.websub.hub;
+
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.net.websub.nativeimpl.HubPersistenceNativeOperationHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_CALLBACK;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_CREATED_AT;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_LEASE_SECONDS;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_SECRET;
+import static org.ballerinalang.net.websub.WebSubSubscriberConstants.SUBSCRIPTION_DETAILS_TOPIC;
+
+/**
+ * Test cases for loading, compacting and recovering the log of {@link FileSubscriptionStore}.
+ *
+ * @since 1.2.0
+ */
+public class FileSubscriptionStoreTest {
+
+    private static final String TOPIC_ONE = "http://one.topic.com";
+    private static final String TOPIC_TWO = "http://two.topic.com";
+    private static final long CREATED_AT = 1577836800000L;
+
+    private Path directory;
+    private FileSubscriptionStore store;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("websub-subscription-store");
+        store = FileSubscriptionStore.open(directory);
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test(description = "Test that topics and subscriptions are loaded from the log")
+    public void testLoad() throws IOException {
+        store.addTopic(TOPIC_ONE);
+        store.addTopic(TOPIC_TWO);
+        store.addTopic("http://removed.topic.com");
+        store.removeTopic("http://removed.topic.com");
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://one.callback.com", "secret", 3600));
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://two.callback.com", "", 60));
+        store.addSubscription(createSubscription(TOPIC_TWO, "http://one.callback.com", "", 60));
+        // a renewed subscription replaces the previous one
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://two.callback.com", "renewed", 7200));
+        store.removeSubscription(TOPIC_TWO, "http://one.callback.com");
+
+        reopen();
+        Assert.assertEquals(store.getTopics().toString(), "[" + TOPIC_ONE + ", " + TOPIC_TWO + "]");
+        Assert.assertEquals(toString(store.getSubscriptions(TOPIC_ONE)),
+                            "[http://one.callback.com secret 3600000, http://two.callback.com renewed 7200000]");
+        Assert.assertTrue(store.getSubscriptions(TOPIC_TWO).isEmpty());
+        Assert.assertEquals(store.getAllSubscriptions().size(), 2);
+        Assert.assertEquals(store.getSubscriptions(TOPIC_ONE).get(0).getCreatedAt(), CREATED_AT);
+    }
+
+    @Test(description = "Test that only the expired subscriptions are removed, and that the removal is persisted")
+    public void testRemoveExpiredSubscriptions() throws IOException {
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://short.callback.com", "", 60));
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://long.callback.com", "", 3600));
+        store.addSubscription(createSubscription(TOPIC_TWO, "http://short.callback.com", "", 10));
+
+        Assert.assertTrue(store.removeExpiredSubscriptions(CREATED_AT + 5000).isEmpty());
+        Assert.assertEquals(toString(store.removeExpiredSubscriptions(CREATED_AT + 61000)),
+                            "[http://short.callback.com  10000, http://short.callback.com  60000]");
+
+        reopen();
+        Assert.assertEquals(toString(store.getAllSubscriptions()), "[http://long.callback.com  3600000]");
+    }
+
+    @Test(description = "Test that a subscription added as the hub adds it expires once its lease has elapsed")
+    public void testAddSubscriptionFromHub() throws IOException {
+        // the subscription details as built by the hub on intent verification
+        MapValue<String, Object> subscriptionDetails = new MapValueImpl<>();
+        subscriptionDetails.put(SUBSCRIPTION_DETAILS_TOPIC, TOPIC_ONE);
+        subscriptionDetails.put(SUBSCRIPTION_DETAILS_CALLBACK, "http://one.callback.com");
+        subscriptionDetails.put(SUBSCRIPTION_DETAILS_SECRET, "");
+        subscriptionDetails.put(SUBSCRIPTION_DETAILS_LEASE_SECONDS, 60 * 1000L);
+        subscriptionDetails.put(SUBSCRIPTION_DETAILS_CREATED_AT, CREATED_AT);
+        Assert.assertNull(HubPersistenceNativeOperationHandler.addSubscriptionToStore(store, subscriptionDetails));
+
+        Assert.assertTrue(store.removeExpiredSubscriptions(CREATED_AT + 60000).isEmpty());
+        Assert.assertEquals(toString(store.removeExpiredSubscriptions(CREATED_AT + 61000)),
+                            "[http://one.callback.com  60000]");
+        reopen();
+        Assert.assertTrue(store.getAllSubscriptions().isEmpty());
+    }
+
+    @Test(description = "Test that the log is compacted once it outgrows the live state")
+    public void testCompaction() throws IOException {
+        store.addTopic(TOPIC_ONE);
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://kept.callback.com", "secret", 3600));
+        Path logFile = directory.resolve(FileSubscriptionStore.LOG_FILE_NAME);
+        long previousLogSize = Files.size(logFile);
+        int compactions = 0;
+        for (int i = 0; i < 1000; i++) {
+            store.addSubscription(createSubscription(TOPIC_TWO, "http://callback" + (i % 10) + ".com", "", 60));
+            store.removeSubscription(TOPIC_TWO, "http://callback" + (i % 10) + ".com");
+            long logSize = Files.size(logFile);
+            if (logSize < previousLogSize) {
+                compactions++;
+                // only the live topic and subscription are left
+                Assert.assertTrue(logSize < 256, "log size after compaction: " + logSize);
+            }
+            previousLogSize = logSize;
+        }
+        Assert.assertEquals(compactions, 1);
+
+        // records appended after compaction are kept
+        store.addSubscription(createSubscription(TOPIC_TWO, "http://new.callback.com", "", 60));
+        reopen();
+        Assert.assertEquals(store.getTopics().toString(), "[" + TOPIC_ONE + "]");
+        Assert.assertEquals(toString(store.getSubscriptions(TOPIC_ONE)), "[http://kept.callback.com secret 3600000]");
+        Assert.assertEquals(toString(store.getSubscriptions(TOPIC_TWO)), "[http://new.callback.com  60000]");
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 1);
+        }
+    }
+
+    @Test(description = "Test that a torn record at the end of the log is discarded")
+    public void testTornTail() throws IOException {
+        store.addTopic(TOPIC_ONE);
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://one.callback.com", "", 60));
+        Path logFile = directory.resolve(FileSubscriptionStore.LOG_FILE_NAME);
+        long validSize = Files.size(logFile);
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://two.callback.com", "", 60));
+        store.close();
+
+        // cut the last record short, as if the write of the record was interrupted by a crash
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(logFile) - 3);
+        }
+        store = FileSubscriptionStore.open(directory);
+        Assert.assertEquals(toString(store.getAllSubscriptions()), "[http://one.callback.com  60000]");
+        Assert.assertEquals(Files.size(logFile), validSize);
+
+        // records appended after recovery follow the last valid record
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://three.callback.com", "", 60));
+        reopen();
+        Assert.assertEquals(toString(store.getAllSubscriptions()),
+                            "[http://one.callback.com  60000, http://three.callback.com  60000]");
+    }
+
+    @Test(description = "Test that a record with a checksum mismatch at the end of the log is discarded")
+    public void testCorruptTail() throws IOException {
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://one.callback.com", "", 60));
+        store.addSubscription(createSubscription(TOPIC_ONE, "http://two.callback.com", "", 60));
+        store.close();
+
+        Path logFile = directory.resolve(FileSubscriptionStore.LOG_FILE_NAME);
+        byte[] content = Files.readAllBytes(logFile);
+        content[content.length - 1] ^= 0xFF;
+        Files.write(logFile, content);
+
+        store = FileSubscriptionStore.open(directory);
+        Assert.assertEquals(toString(store.getAllSubscriptions()), "[http://one.callback.com  60000]");
+    }
+
+    @Test(description = "Test that changes are rejected once the store is closed",
+          expectedExceptions = IOException.class)
+    public void testClosedStore() throws IOException {
+        store.close();
+        store.addTopic(TOPIC_ONE);
+    }
+
+    private void reopen() throws IOException {
+        store.close();
+        store = FileSubscriptionStore.open(directory);
+    }
+
+    private static FileSubscriptionStore.Subscription createSubscription(String topic, String callback,
+                                                                         String secret, long leaseSeconds) {
+        // the hub keeps the lease in milliseconds
+        return new FileSubscriptionStore.Subscription(topic, callback, secret, leaseSeconds * 1000, CREATED_AT);
+    }
+
+    private static String toString(List<FileSubscriptionStore.Subscription> subscriptions) {
+        return subscriptions.stream()
+                .map(subscription -> subscription.getCallback() + " " + subscription.getSecret() + " "
+                        + subscription.getLeaseMillis())
+                .collect(Collectors.toList()).toString();
+    }
+}